@@ -0,0 +1,53 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.BoardDealer;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.FourteenHCPPlusDoubletonRuledBoardDealer;
+import br.com.sbk.sbking.core.MinibridgeBoardDealer;
+import br.com.sbk.sbking.core.ShuffledBoardDealer;
+
+/**
+ * Deals one board with each dealer the games use. Each thread deals with its
+ * own dealers, as each game does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardDealerBenchmark {
+
+    private final BoardDealer shuffledBoardDealer = new ShuffledBoardDealer();
+    private final BoardDealer fourteenHCPPlusDoubletonRuledBoardDealer = new FourteenHCPPlusDoubletonRuledBoardDealer();
+    private final BoardDealer minibridgeBoardDealer = new MinibridgeBoardDealer();
+
+    @Benchmark
+    public Board shuffled() {
+        return this.shuffledBoardDealer.dealBoard(Direction.NORTH);
+    }
+
+    @Benchmark
+    public Board fourteenHCPPlusDoubleton() {
+        return this.fourteenHCPPlusDoubletonRuledBoardDealer.dealBoard(Direction.NORTH);
+    }
+
+    @Benchmark
+    public Board minibridge() {
+        return this.minibridgeBoardDealer.dealBoard(Direction.NORTH);
+    }
+
+}
@@ -0,0 +1,69 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.rulesets.RulesetFromShortDescriptionIdentifier;
+
+/**
+ * Plays whole deals through Deal.playCard, every rule checked as in a game.
+ * The cards were chosen before measuring, so only playing them is measured,
+ * together with making the deal: newDeal measures that alone, to be taken out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DealBenchmark {
+
+    private static final int NUMBER_OF_DEALS = 256;
+    private static final long SEED = 2021;
+
+    @Param({ "Negative tricks", "Negative hearts", "Negative last two", "Positive no trumps", "Positive spades" })
+    private String ruleset;
+
+    private RecordedDeals recordedDeals;
+    private int number;
+
+    @Setup
+    public void recordDeals() {
+        this.recordedDeals = new RecordedDeals(RulesetFromShortDescriptionIdentifier.identify(this.ruleset),
+                NUMBER_OF_DEALS, SEED);
+    }
+
+    @Benchmark
+    public Deal newDeal() {
+        return this.recordedDeals.newDeal(this.nextNumber());
+    }
+
+    @Benchmark
+    public Deal playFullDeal() {
+        int dealNumber = this.nextNumber();
+        Deal deal = this.recordedDeals.newDeal(dealNumber);
+        for (Card card : this.recordedDeals.getPlayedCards(dealNumber)) {
+            deal.playCard(card);
+        }
+        return deal;
+    }
+
+    private int nextNumber() {
+        this.number = (this.number + 1) % NUMBER_OF_DEALS;
+        return this.number;
+    }
+
+}
@@ -0,0 +1,67 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.sbk.sbking.core.rulesets.RulesetFromShortDescriptionIdentifier;
+import br.com.sbk.sbking.core.solver.DoubleDummyResult;
+import br.com.sbk.sbking.core.solver.DoubleDummySolver;
+
+/**
+ * Solves whole deals before the opening lead with a single search on one
+ * thread, so the time is that of one core. The negative rulesets left out
+ * still take minutes on some deals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DoubleDummySolverBenchmark {
+
+    private static final int NUMBER_OF_DEALS = 16;
+    private static final long SEED = 2021;
+
+    @Param({ "Positive no trumps", "Positive spades", "Negative hearts", "Negative king" })
+    private String ruleset;
+
+    private RecordedDeals recordedDeals;
+    private ExecutorService executorService;
+    private DoubleDummySolver solver;
+    private int number;
+
+    @Setup
+    public void recordDeals() {
+        this.recordedDeals = new RecordedDeals(RulesetFromShortDescriptionIdentifier.identify(this.ruleset),
+                NUMBER_OF_DEALS, SEED);
+        this.executorService = Executors.newSingleThreadExecutor();
+        this.solver = new DoubleDummySolver(this.executorService, 1);
+    }
+
+    @TearDown
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    @Benchmark
+    public DoubleDummyResult solveFullDeal() {
+        this.number = (this.number + 1) % NUMBER_OF_DEALS;
+        return this.solver.solve(this.recordedDeals.newDeal(this.number));
+    }
+
+}
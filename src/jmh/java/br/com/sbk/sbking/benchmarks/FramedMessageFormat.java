@@ -0,0 +1,38 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import br.com.sbk.sbking.networking.core.serialization.FramedSerializator;
+import br.com.sbk.sbking.networking.core.serialization.MessageCodec;
+
+/**
+ * A codec behind the length prefixed frames of a FramedSerializator.
+ */
+final class FramedMessageFormat implements MessageFormat {
+
+    private static final int FRAME_HEADER_LENGTH = Integer.BYTES;
+
+    private final MessageCodec messageCodec;
+
+    FramedMessageFormat(MessageCodec messageCodec) {
+        this.messageCodec = messageCodec;
+    }
+
+    @Override
+    public int write(Object message) throws IOException {
+        return this.toPayload(message).length;
+    }
+
+    @Override
+    public byte[] toPayload(Object message) throws IOException {
+        return FramedSerializator.frameOf(this.messageCodec.encode(message));
+    }
+
+    @Override
+    public Object read(byte[] payload) throws IOException {
+        return this.messageCodec.decode(
+                ByteBuffer.wrap(payload, FRAME_HEADER_LENGTH, payload.length - FRAME_HEADER_LENGTH));
+    }
+
+}
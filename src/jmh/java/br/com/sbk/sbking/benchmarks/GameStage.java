@@ -0,0 +1,65 @@
+package br.com.sbk.sbking.benchmarks;
+
+import static br.com.sbk.sbking.core.GameConstants.NUMBER_OF_HANDS;
+import static br.com.sbk.sbking.core.GameConstants.SIZE_OF_HAND;
+import static br.com.sbk.sbking.core.GameConstants.TOTAL_GAMES;
+
+import java.util.function.Predicate;
+
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.KingGame;
+import br.com.sbk.sbking.core.Player;
+import br.com.sbk.sbking.core.bot.GreedyStrategy;
+import br.com.sbk.sbking.core.bot.RulesetChooser;
+import br.com.sbk.sbking.core.dealing.NumberedBoardDealer;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+
+/**
+ * How far a King game has gone when its messages are sent: the first deal with
+ * no card played, the sixth deal with half its cards played, and the last deal
+ * played to the end. The rulesets are chosen and the cards played as the
+ * server's bots do, so the same seed always stops at the same game.
+ */
+public enum GameStage {
+
+    EMPTY(1, 0), MID_DEAL(6, NUMBER_OF_HANDS * SIZE_OF_HAND / 2), FINISHED(TOTAL_GAMES, NUMBER_OF_HANDS * SIZE_OF_HAND);
+
+    private final int dealNumber;
+    private final int numberOfPlayedCards;
+
+    GameStage(int dealNumber, int numberOfPlayedCards) {
+        this.dealNumber = dealNumber;
+        this.numberOfPlayedCards = numberOfPlayedCards;
+    }
+
+    KingGame playUntil(long seed) {
+        RulesetChooser rulesetChooser = new RulesetChooser();
+        GreedyStrategy strategy = new GreedyStrategy();
+        KingGame kingGame = new KingGame(new NumberedBoardDealer(seed));
+        for (int deal = 1; deal <= this.dealNumber; deal++) {
+            kingGame.dealNewBoard();
+            Direction dealer = kingGame.getDealer();
+            Direction chooser = dealer.getPositiveOrNegativeChooserWhenDealer();
+            Predicate<Ruleset> permitted = ruleset -> kingGame.isGameModePermitted(ruleset, chooser);
+            boolean positive = rulesetChooser.choosesPositive(kingGame.getCurrentBoard().getHandOf(chooser), permitted);
+            Direction gameModeChooser = dealer.getGameModeOrStrainChooserWhenDealer();
+            kingGame.addRuleset(rulesetChooser.chooseGameModeOrStrain(
+                    kingGame.getCurrentBoard().getHandOf(gameModeChooser), positive, permitted));
+            for (Direction direction : Direction.values()) {
+                kingGame.setPlayerOf(direction, new Player(direction.getCompleteName()));
+            }
+
+            Deal currentDeal = kingGame.getCurrentDeal();
+            int cardsToPlay = deal < this.dealNumber ? Integer.MAX_VALUE : this.numberOfPlayedCards;
+            for (int card = 0; card < cardsToPlay && !currentDeal.isFinished(); card++) {
+                currentDeal.playCard(strategy.chooseCard(currentDeal));
+            }
+            if (currentDeal.isFinished()) {
+                kingGame.finishDeal();
+            }
+        }
+        return kingGame;
+    }
+
+}
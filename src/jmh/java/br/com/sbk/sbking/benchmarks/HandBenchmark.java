@@ -0,0 +1,71 @@
+package br.com.sbk.sbking.benchmarks;
+
+import static br.com.sbk.sbking.core.GameConstants.NUMBER_OF_HANDS;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeTricksRuleset;
+
+/**
+ * Evaluates the starting hands of dealt boards, as the ruled dealers do for
+ * every hand they deal. The time reported is for one hand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandBenchmark {
+
+    private static final int NUMBER_OF_DEALS = 256;
+    private static final int NUMBER_OF_DEALT_HANDS = NUMBER_OF_DEALS * NUMBER_OF_HANDS;
+    private static final long SEED = 2021;
+
+    private Hand[] hands;
+
+    @Setup
+    public void dealHands() {
+        RecordedDeals recordedDeals = new RecordedDeals(new NegativeTricksRuleset(), NUMBER_OF_DEALS, SEED);
+        this.hands = new Hand[NUMBER_OF_DEALT_HANDS];
+        int hand = 0;
+        for (int number = 0; number < NUMBER_OF_DEALS; number++) {
+            for (Direction direction : Direction.values()) {
+                this.hands[hand] = new Hand(recordedDeals.getStartingHand(number, direction));
+                hand++;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_DEALT_HANDS)
+    public void hcp(Blackhole blackhole) {
+        for (Hand hand : this.hands) {
+            blackhole.consume(hand.getHCP());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_DEALT_HANDS)
+    public void shortestSuitLength(Blackhole blackhole) {
+        for (Hand hand : this.hands) {
+            blackhole.consume(hand.getShortestSuitLength());
+        }
+    }
+
+}
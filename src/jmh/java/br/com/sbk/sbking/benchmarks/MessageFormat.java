@@ -0,0 +1,26 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.io.IOException;
+
+/**
+ * One way of putting messages on the wire, written and read as a connection
+ * using it would. Not thread safe: each thread measures its own.
+ */
+interface MessageFormat {
+
+    /**
+     * Writes the message, returning how many bytes it took.
+     */
+    int write(Object message) throws IOException;
+
+    /**
+     * The bytes write puts on the wire for the message.
+     */
+    byte[] toPayload(Object message) throws IOException;
+
+    /**
+     * Reads a message back from the bytes toPayload returned.
+     */
+    Object read(byte[] payload) throws IOException, ClassNotFoundException;
+
+}
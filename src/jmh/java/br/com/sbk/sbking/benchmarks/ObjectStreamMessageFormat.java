@@ -0,0 +1,103 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import br.com.sbk.sbking.networking.core.serialization.ObjectInputStreamWrapper;
+import br.com.sbk.sbking.networking.core.serialization.ObjectOutputStreamWrapper;
+
+/**
+ * The object streams a Serializator keeps open for the whole connection. Every
+ * message is written after a reset, so it is written whole however many were
+ * written before, and is read from a stream that repeats it forever, as if the
+ * server sent it again and again.
+ */
+final class ObjectStreamMessageFormat implements MessageFormat {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final ObjectOutputStream objectOutputStream;
+    private final ObjectOutputStreamWrapper objectOutputStreamWrapper;
+    private final byte[] streamHeader;
+
+    private byte[] readPayload;
+    private ObjectInputStreamWrapper objectInputStreamWrapper;
+
+    ObjectStreamMessageFormat() throws IOException {
+        this.objectOutputStream = new ObjectOutputStream(this.bytes);
+        this.objectOutputStream.flush();
+        this.streamHeader = this.bytes.toByteArray();
+        this.objectOutputStreamWrapper = new ObjectOutputStreamWrapper(this.objectOutputStream);
+    }
+
+    @Override
+    public int write(Object message) throws IOException {
+        this.bytes.reset();
+        this.objectOutputStreamWrapper.resetAndWriteObject(message);
+        this.objectOutputStream.flush();
+        return this.bytes.size();
+    }
+
+    @Override
+    public byte[] toPayload(Object message) throws IOException {
+        this.write(message);
+        return this.bytes.toByteArray();
+    }
+
+    @Override
+    public Object read(byte[] payload) throws IOException, ClassNotFoundException {
+        if (payload != this.readPayload) {
+            this.readPayload = payload;
+            this.objectInputStreamWrapper = new ObjectInputStreamWrapper(
+                    new ObjectInputStream(new RepeatingInputStream(this.streamHeader, payload)));
+        }
+        return this.objectInputStreamWrapper.readObject();
+    }
+
+    /**
+     * The header once, then the payload over and over.
+     */
+    private static final class RepeatingInputStream extends InputStream {
+
+        private final byte[] header;
+        private final byte[] payload;
+        private int headerPosition;
+        private int payloadPosition;
+
+        RepeatingInputStream(byte[] header, byte[] payload) {
+            this.header = header;
+            this.payload = payload;
+        }
+
+        @Override
+        public int read() {
+            if (this.headerPosition < this.header.length) {
+                return this.header[this.headerPosition++] & 0xFF;
+            }
+            int next = this.payload[this.payloadPosition] & 0xFF;
+            this.payloadPosition = (this.payloadPosition + 1) % this.payload.length;
+            return next;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (this.headerPosition < this.header.length) {
+                int count = Math.min(length, this.header.length - this.headerPosition);
+                System.arraycopy(this.header, this.headerPosition, buffer, offset, count);
+                this.headerPosition += count;
+                return count;
+            }
+            int count = Math.min(length, this.payload.length - this.payloadPosition);
+            System.arraycopy(this.payload, this.payloadPosition, buffer, offset, count);
+            this.payloadPosition = (this.payloadPosition + count) % this.payload.length;
+            return count;
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.io.IOException;
+
+import br.com.sbk.sbking.core.KingGame;
+
+/**
+ * Prints how many bytes each message of SerializationBenchmark takes on the
+ * wire at each stage of the game, one column for each wire format:
+ *
+ * java -cp sbking-benchmarks.jar br.com.sbk.sbking.benchmarks.PayloadSizes
+ */
+public final class PayloadSizes {
+
+    private PayloadSizes() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        StringBuilder header = new StringBuilder(String.format("%-22s %-10s", "message", "stage"));
+        for (WireFormat wireFormat : WireFormat.values()) {
+            header.append(String.format(" %14s", wireFormat));
+        }
+        System.out.println(header);
+
+        for (WireMessage message : WireMessage.values()) {
+            for (GameStage stage : GameStage.values()) {
+                KingGame kingGame = stage.playUntil(SerializationBenchmark.SEED);
+                StringBuilder row = new StringBuilder(String.format("%-22s %-10s", message, stage));
+                for (WireFormat wireFormat : WireFormat.values()) {
+                    int bytes = wireFormat.newMessageFormat().toPayload(message.of(kingGame)).length;
+                    row.append(String.format(" %14d", bytes));
+                }
+                System.out.println(row);
+            }
+        }
+    }
+
+}
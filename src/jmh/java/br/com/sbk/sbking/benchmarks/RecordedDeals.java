@@ -0,0 +1,86 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.bot.GreedyStrategy;
+import br.com.sbk.sbking.core.dealing.BitmaskDealer;
+import br.com.sbk.sbking.core.dealing.NumberedBoardDealer;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+
+/**
+ * Deals played greedily to the end once, before measuring, keeping their
+ * starting hands and the cards in the order they were played, so a benchmark
+ * can play them again without choosing cards. The same seed records the same
+ * deals.
+ */
+final class RecordedDeals {
+
+    private static final int NUMBER_OF_HANDS = Direction.values().length;
+
+    private final Ruleset ruleset;
+    private final long[][] startingHands;
+    private final Direction[] dealers;
+    private final Card[][] playedCards;
+    private final List<Trick> tricks = new ArrayList<Trick>();
+
+    RecordedDeals(Ruleset ruleset, int numberOfDeals, long seed) {
+        this.ruleset = ruleset;
+        this.startingHands = new long[numberOfDeals][NUMBER_OF_HANDS];
+        this.dealers = new Direction[numberOfDeals];
+        this.playedCards = new Card[numberOfDeals][];
+        NumberedBoardDealer boardDealer = new NumberedBoardDealer(seed);
+        GreedyStrategy strategy = new GreedyStrategy();
+        for (int number = 0; number < numberOfDeals; number++) {
+            Direction dealer = Direction.values()[number % NUMBER_OF_HANDS];
+            Board board = boardDealer.dealBoard(number + 1, dealer);
+            for (Direction direction : Direction.values()) {
+                this.startingHands[number][direction.ordinal()] = board.getHandOf(direction).getCardMask();
+            }
+            this.dealers[number] = dealer;
+
+            Deal deal = new Deal(board, ruleset);
+            List<Card> cards = new ArrayList<Card>();
+            while (!deal.isFinished()) {
+                Card card = strategy.chooseCard(deal);
+                deal.playCard(card);
+                cards.add(card);
+            }
+            this.playedCards[number] = cards.toArray(new Card[cards.size()]);
+            this.tricks.addAll(deal.getTricks());
+        }
+    }
+
+    int getNumberOfDeals() {
+        return this.dealers.length;
+    }
+
+    /**
+     * A new deal on a new board with the starting hands of the recorded deal,
+     * no card played.
+     */
+    Deal newDeal(int number) {
+        return new Deal(BitmaskDealer.toBoard(this.startingHands[number], this.dealers[number]), this.ruleset);
+    }
+
+    Card[] getPlayedCards(int number) {
+        return this.playedCards[number];
+    }
+
+    long getStartingHand(int number, Direction direction) {
+        return this.startingHands[number][direction.ordinal()];
+    }
+
+    /**
+     * Every trick of every recorded deal, all complete.
+     */
+    Trick[] getTricks() {
+        return this.tricks.toArray(new Trick[this.tricks.size()]);
+    }
+
+}
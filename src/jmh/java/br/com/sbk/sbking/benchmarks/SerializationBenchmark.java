@@ -0,0 +1,65 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes and reads the messages the server sends the most, at each stage of a
+ * King game, in every wire format. With the object streams write measures
+ * ObjectOutputStreamWrapper.resetAndWriteObject, as Serializator.tryToSerialize
+ * calls it, and read ObjectInputStreamWrapper.readObject. PayloadSizes prints
+ * how many bytes each of them takes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    static final long SEED = 2021;
+
+    @Param
+    private WireMessage message;
+
+    @Param
+    private GameStage stage;
+
+    @Param
+    private WireFormat wireFormat;
+
+    private Object messageToWrite;
+    private MessageFormat messageFormat;
+    private byte[] payload;
+
+    @Setup
+    public void prepareMessage() throws IOException {
+        this.messageToWrite = this.message.of(this.stage.playUntil(SEED));
+        this.messageFormat = this.wireFormat.newMessageFormat();
+        this.payload = this.messageFormat.toPayload(this.messageToWrite);
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        return this.messageFormat.write(this.messageToWrite);
+    }
+
+    @Benchmark
+    public Object read() throws IOException, ClassNotFoundException {
+        return this.messageFormat.read(this.payload);
+    }
+
+}
@@ -0,0 +1,63 @@
+package br.com.sbk.sbking.benchmarks;
+
+import static br.com.sbk.sbking.core.GameConstants.NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeTricksRuleset;
+
+/**
+ * Finds the winners of the complete tricks of played deals, with and without a
+ * trump suit. The time reported is for one trick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrickBenchmark {
+
+    private static final int NUMBER_OF_DEALS = 64;
+    private static final int NUMBER_OF_TRICKS = NUMBER_OF_DEALS * NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND;
+    private static final long SEED = 2021;
+
+    private Trick[] tricks;
+
+    @Setup
+    public void recordTricks() {
+        this.tricks = new RecordedDeals(new NegativeTricksRuleset(), NUMBER_OF_DEALS, SEED).getTricks();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_TRICKS)
+    public void winnerWithTrumpSuit(Blackhole blackhole) {
+        for (Trick trick : this.tricks) {
+            blackhole.consume(trick.getWinnerWithTrumpSuit(Suit.SPADES));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_TRICKS)
+    public void winnerWithoutTrumpSuit(Blackhole blackhole) {
+        for (Trick trick : this.tricks) {
+            blackhole.consume(trick.getWinnerWithoutTrumpSuit());
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package br.com.sbk.sbking.benchmarks;
+
+import java.io.IOException;
+
+import br.com.sbk.sbking.networking.core.serialization.BinaryMessageCodec;
+import br.com.sbk.sbking.networking.core.serialization.JavaSerializationMessageCodec;
+
+/**
+ * The protocols of SerializatorFactory. Every benchmark over wire formats runs
+ * with each of them, so a codec added here is compared side by side with the
+ * others, time, allocation and payload size alike.
+ */
+public enum WireFormat {
+
+    OBJECT_STREAM {
+        @Override
+        MessageFormat newMessageFormat() throws IOException {
+            return new ObjectStreamMessageFormat();
+        }
+    },
+    FRAMED {
+        @Override
+        MessageFormat newMessageFormat() {
+            return new FramedMessageFormat(new JavaSerializationMessageCodec());
+        }
+    },
+    BINARY {
+        @Override
+        MessageFormat newMessageFormat() {
+            return new FramedMessageFormat(new BinaryMessageCodec());
+        }
+    };
+
+    abstract MessageFormat newMessageFormat() throws IOException;
+
+}
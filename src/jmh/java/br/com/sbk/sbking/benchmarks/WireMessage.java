@@ -0,0 +1,31 @@
+package br.com.sbk.sbking.benchmarks;
+
+import br.com.sbk.sbking.core.KingGame;
+
+/**
+ * The messages the server sends the most, taken from a King game.
+ */
+public enum WireMessage {
+
+    DEAL {
+        @Override
+        Object of(KingGame kingGame) {
+            return kingGame.getCurrentDeal();
+        }
+    },
+    BOARD {
+        @Override
+        Object of(KingGame kingGame) {
+            return kingGame.getCurrentBoard();
+        }
+    },
+    KING_GAME_SCOREBOARD {
+        @Override
+        Object of(KingGame kingGame) {
+            return kingGame.getGameScoreboard();
+        }
+    };
+
+    abstract Object of(KingGame kingGame);
+
+}
@@ -1,18 +1,71 @@
 package br.com.sbk.sbking.core;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * There is exactly one instance of each of the 52 cards: get them with of or
+ * byIndex. Deserialized cards are replaced by the canonical instance, so two
+ * cards are equal only when they are the same object.
+ */
 @SuppressWarnings("serial")
-public class Card implements Serializable {
+public final class Card implements Serializable {
 
-    private Suit suit;
-    private Rank rank;
+    public static final int NUMBER_OF_CARDS = Suit.values().length * Rank.values().length;
 
-    public Card(Suit suit, Rank rank) {
+    private static final int[] POINTS_BY_RANK = createPointsByRank();
+    private static final Card[] CARDS = createCards();
+
+    private final Suit suit;
+    private final Rank rank;
+    private final transient int index;
+
+    private Card(Suit suit, Rank rank) {
         this.suit = suit;
         this.rank = rank;
+        this.index = indexOf(suit, rank);
+    }
+
+    private static int indexOf(Suit suit, Rank rank) {
+        return suit.ordinal() * Rank.values().length + rank.ordinal();
+    }
+
+    private static int[] createPointsByRank() {
+        int[] pointsByRank = new int[Rank.values().length];
+        pointsByRank[Rank.ACE.ordinal()] = 4;
+        pointsByRank[Rank.KING.ordinal()] = 3;
+        pointsByRank[Rank.QUEEN.ordinal()] = 2;
+        pointsByRank[Rank.JACK.ordinal()] = 1;
+        return pointsByRank;
+    }
+
+    private static Card[] createCards() {
+        Card[] cards = new Card[NUMBER_OF_CARDS];
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                cards[indexOf(suit, rank)] = new Card(suit, rank);
+            }
+        }
+        return cards;
+    }
+
+    public static Card of(Suit suit, Rank rank) {
+        return CARDS[indexOf(suit, rank)];
+    }
+
+    /**
+     * The card at the given position of the canonical table, ordered by suit and
+     * then by rank, from the Two of Diamonds (0) to the Ace of Spades (51).
+     */
+    public static Card byIndex(int index) {
+        return CARDS[index];
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    private Object readResolve() {
+        return of(this.suit, this.rank);
     }
 
     public Suit getSuit() {
@@ -57,32 +110,12 @@ public class Card implements Serializable {
 
     @Override
     public boolean equals(Object obj) {
-        if (this == obj) {
-            return true;
-        }
-        if (obj == null) {
-            return false;
-        }
-        if (this.getClass() != obj.getClass()) {
-            return false;
-        }
-        Card other = (Card) obj;
-        if (this.getRank() != other.getRank()) {
-            return false;
-        }
-        if (this.getSuit() != other.getSuit()) {
-            return false;
-        }
-        return true;
+        return this == obj;
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((rank == null) ? 0 : rank.hashCode());
-        result = prime * result + ((suit == null) ? 0 : suit.hashCode());
-        return result;
+        return this.index;
     }
 
     @Override
@@ -91,18 +124,7 @@ public class Card implements Serializable {
     }
 
     public int getPoints() {
-        Map<Rank, Integer> points = new HashMap<Rank, Integer>();
-        points.put(Rank.ACE, 4);
-        points.put(Rank.KING, 3);
-        points.put(Rank.QUEEN, 2);
-        points.put(Rank.JACK, 1);
-
-        Integer value = points.get(this.rank);
-        if (value == null) {
-            return 0;
-        } else {
-            return value;
-        }
+        return POINTS_BY_RANK[this.rank.ordinal()];
     }
 
 }
@@ -4,11 +4,13 @@ import static br.com.sbk.sbking.core.GameConstants.NUMBER_OF_TRICKS_IN_A_COMPLET
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import br.com.sbk.sbking.core.exceptions.DoesNotFollowSuitException;
+import br.com.sbk.sbking.core.exceptions.NoCardToUnplayException;
 import br.com.sbk.sbking.core.exceptions.PlayedCardInAnotherPlayersTurnException;
 import br.com.sbk.sbking.core.exceptions.PlayedHeartsWhenProhibitedException;
 import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
@@ -28,6 +30,7 @@ public class Deal implements Serializable {
     private List<Trick> tricks;
     private Trick currentTrick;
     private Direction dummy;
+    private transient List<Trick> spareTricks;
 
     public Deal(Board board, Ruleset ruleset) {
         this.board = board;
@@ -64,6 +67,10 @@ public class Deal implements Serializable {
         }
     }
 
+    public List<Trick> getTricks() {
+        return Collections.unmodifiableList(this.tricks);
+    }
+
     public Direction getCurrentPlayer() {
         return this.currentPlayer;
     }
@@ -116,11 +123,50 @@ public class Deal implements Serializable {
         if (currentTrickAlreadyHasCards()) {
             throwExceptionIfCardDoesNotFollowSuit(card, handOfCurrentPlayer);
         }
+        this.play(card);
+    }
+
+    /**
+     * The cards the current player may play, one bit per card index, as
+     * playCard would accept them under the suit following and hearts rules of
+     * the ruleset. Hidden cards are not included and a finished deal has none.
+     */
+    public long legalMoves() {
+        if (this.isFinished()) {
+            return 0;
+        }
+        Hand handOfCurrentPlayer = getHandOfCurrentPlayer();
+        long cards = handOfCurrentPlayer.getCardMask();
+        if (currentTrickNotStartedYet()) {
+            if (this.ruleset.prohibitsHeartsUntilOnlySuitLeft() && !handOfCurrentPlayer.onlyHasHearts()) {
+                return cards & ~Hand.suitMaskOf(Suit.HEARTS);
+            }
+            return cards;
+        }
+        long legalMoves = 0;
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            if (this.ruleset.followsSuit(this.currentTrick, handOfCurrentPlayer, Card.byIndex(index))) {
+                legalMoves |= 1L << index;
+            }
+        }
+        return legalMoves;
+    }
+
+    public boolean isLegalMove(Card card) {
+        return (this.legalMoves() & (1L << card.getIndex())) != 0;
+    }
+
+    /**
+     * Plays the card without checking it, reusing the tricks taken back by
+     * unplay. Meant for searches that only play legal moves.
+     */
+    public void play(Card card) {
         if (currentTrickNotStartedYet()) {
             this.currentTrick = startNewTrick();
         }
 
-        moveCardFromHandToCurrentTrick(card, handOfCurrentPlayer);
+        moveCardFromHandToCurrentTrick(card, getHandOfCurrentPlayer());
 
         if (currentTrick.isComplete()) {
             Direction currentTrickWinner = this.getWinnerOfCurrentTrick();
@@ -130,7 +176,35 @@ public class Deal implements Serializable {
         } else {
             currentPlayer = currentPlayer.next();
         }
+    }
+
+    /**
+     * Takes back the last card played, giving it back to its hand and undoing
+     * the score of the trick it completed.
+     */
+    public void unplay() {
+        if (this.currentTrick == null || this.currentTrick.isEmpty()) {
+            throw new NoCardToUnplayException();
+        }
+        if (this.currentTrick.isComplete()) {
+            this.score.removeTrickFromDirection(this.currentTrick, this.currentPlayer);
+            this.completedTricks--;
+        }
+        Card card = this.currentTrick.removeLastCard();
+        this.currentPlayer = this.currentTrick.getLeader().next(this.currentTrick.getNumberOfCards());
+        this.getHandOfCurrentPlayer().addCard(card);
+        if (this.currentTrick.isEmpty()) {
+            this.tricks.remove(this.tricks.size() - 1);
+            this.getSpareTricks().add(this.currentTrick);
+            this.currentTrick = this.tricks.isEmpty() ? null : this.tricks.get(this.tricks.size() - 1);
+        }
+    }
 
+    private List<Trick> getSpareTricks() {
+        if (this.spareTricks == null) {
+            this.spareTricks = new ArrayList<Trick>();
+        }
+        return this.spareTricks;
     }
 
     private Hand getHandOfCurrentPlayer() {
@@ -165,7 +239,14 @@ public class Deal implements Serializable {
     }
 
     private Trick startNewTrick() {
-        Trick currentTrick = new Trick(currentPlayer);
+        Trick currentTrick;
+        List<Trick> spareTricks = this.getSpareTricks();
+        if (spareTricks.isEmpty()) {
+            currentTrick = new Trick(currentPlayer);
+        } else {
+            currentTrick = spareTricks.remove(spareTricks.size() - 1);
+            currentTrick.restart(currentPlayer);
+        }
         tricks.add(currentTrick);
         boolean isOneOfLastTwoTricks = completedTricks >= (NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND - 2);
         if (isOneOfLastTwoTricks) {
@@ -266,6 +347,10 @@ public class Deal implements Serializable {
         return this.score;
     }
 
+    public int getStartingNumberOfCardsInTheHand() {
+        return this.startingNumberOfCardsInTheHand;
+    }
+
     public void setStartingNumberOfCardsInTheHand(int startingNumberOfCardsInTheHand) {
         this.startingNumberOfCardsInTheHand = startingNumberOfCardsInTheHand;
     }
@@ -1,33 +1,20 @@
 package br.com.sbk.sbking.core;
 
-import java.util.HashMap;
-import java.util.Map;
+import br.com.sbk.sbking.core.dealing.BitmaskDealer;
+import br.com.sbk.sbking.core.dealing.SeatConstraint;
 
 public class FourteenHCPPlusDoubletonRuledBoardDealer implements BoardDealer {
 
-    private Map<Direction, Hand> hands = new HashMap<Direction, Hand>();
+    private static final int MINIMUM_HCP = 14;
+    private static final int SHORTEST_SUIT_LENGTH = 2;
+
+    private BitmaskDealer bitmaskDealer = new BitmaskDealer();
 
     @Override
     public Board dealBoard(Direction dealer) {
-        Direction currentDirection;
-        Hand currentHand;
-        ShuffledDeck currentDeck;
-        do {
-            currentDeck = new ShuffledDeck();
-            hands.clear();
-            for (Direction direction : Direction.values()) {
-                hands.put(direction, new Hand());
-            }
-            for (currentDirection = dealer; currentDeck.hasCard(); currentDirection = currentDirection.next()) {
-                currentHand = this.hands.get(currentDirection);
-                currentHand.addCard(currentDeck.dealCard());
-            }
-        } while (!validateHand(hands.get(dealer.getPositiveOrNegativeChooserWhenDealer())));
-        return new Board(hands, dealer);
-    }
-
-    private boolean validateHand(Hand hand) {
-        return hand.getHCP() >= 14 && hand.getShortestSuitLength() >= 2;
+        SeatConstraint chooserConstraint = new SeatConstraint(dealer.getPositiveOrNegativeChooserWhenDealer())
+                .withMinimumHCP(MINIMUM_HCP).withShortestSuitLength(SHORTEST_SUIT_LENGTH);
+        return this.bitmaskDealer.dealBoard(dealer, chooserConstraint);
     }
 
 }
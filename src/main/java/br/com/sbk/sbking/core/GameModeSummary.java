@@ -19,6 +19,26 @@ public class GameModeSummary implements Serializable {
         this.score = score;
     }
 
+    public Direction getChosenByDirection() {
+        return this.chosenBy;
+    }
+
+    public Ruleset getRuleset() {
+        return this.ruleset;
+    }
+
+    public int getOrderOfPlayNumber() {
+        return this.orderOfPlay;
+    }
+
+    public int getNorthSouthPoints() {
+        return this.score.getNorthSouthPoints();
+    }
+
+    public int getEastWestPoints() {
+        return this.score.getEastWestPoints();
+    }
+
     public String getName() {
         return this.ruleset.getShortDescription();
     }
@@ -1,106 +1,156 @@
 package br.com.sbk.sbking.core;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The cards of a hand as a bit mask of their indexes, thirteen bits per suit,
+ * so membership, suit lengths and points need no scan.
+ * Cards are always kept in the order of the hand: first Spades, then Hearts,
+ * then Clubs, then Diamonds and, inside each suit, from the Ace down to the Two.
+ */
 @SuppressWarnings("serial")
 public class Hand implements Serializable {
 
-    private List<Card> cards = new ArrayList<Card>();
+    private static final int CARDS_PER_SUIT = 13;
+    private static final long SUIT_MASK = (1L << CARDS_PER_SUIT) - 1;
+    private static final long JACKS = ranksOf(Rank.JACK);
+    private static final long QUEENS = ranksOf(Rank.QUEEN);
+    private static final long KINGS = ranksOf(Rank.KING);
+    private static final long ACES = ranksOf(Rank.ACE);
 
-    public void addCard(Card card) {
-        this.cards.add(card);
+    private long cards;
+    private int numberOfHiddenCards = 0;
+
+    public Hand() {
     }
 
-    public void removeCard(Card card) {
-        this.cards.remove(card);
+    /**
+     * A hand holding the cards of the mask, one bit per card index.
+     */
+    public Hand(long cardMask) {
+        this.cards = cardMask;
     }
 
-    public Card removeOneRandomCard() {
-        int size = cards.size();
-        int lastCardPosition = size - 1;
-        Card removedCard = null;
-        if (size > 0) {
-            this.shuffle(); // FIXME make this more performatic
+    private static long ranksOf(Rank rank) {
+        long mask = 0;
+        for (Suit suit : Suit.values()) {
+            mask |= 1L << Card.of(suit, rank).getIndex();
+        }
+        return mask;
+    }
 
-            removedCard = cards.get(lastCardPosition);
-            cards.remove(lastCardPosition);
+    private static long bitOf(Card card) {
+        return 1L << card.getIndex();
+    }
 
-            this.sort();
-        }
-        return removedCard;
+    /**
+     * The bits of every card of the suit.
+     */
+    public static long suitMaskOf(Suit suit) {
+        return SUIT_MASK << (suit.ordinal() * CARDS_PER_SUIT);
     }
 
-    public Card get(int position) {
-        return this.getCards().get(position);
+    public void addCard(Card card) {
+        this.cards |= bitOf(card);
     }
 
-    public int size() {
-        return this.getCards().size();
+    /**
+     * Adds cards that are in this hand but that the holder of this object is not
+     * allowed to see. They come after the known cards and get returns null for
+     * them.
+     */
+    public void addHiddenCards(int numberOfHiddenCards) {
+        this.numberOfHiddenCards += numberOfHiddenCards;
     }
 
-    private void shuffle() {
-        Collections.shuffle(this.cards);
+    public int getNumberOfHiddenCards() {
+        return this.numberOfHiddenCards;
     }
 
-    public void sort() {
-        Collections.sort(this.cards, new CardInsideHandComparator());
+    public void removeCard(Card card) {
+        long bit = bitOf(card);
+        if ((this.cards & bit) != 0) {
+            this.cards &= ~bit;
+        } else if (this.numberOfHiddenCards > 0) {
+            this.numberOfHiddenCards--;
+        }
     }
 
-    private static class CardInsideHandComparator implements Comparator<Card> {
+    public Card removeOneRandomCard() {
+        int numberOfKnownCards = Long.bitCount(this.cards);
+        if (numberOfKnownCards == 0) {
+            return null;
+        }
+        long remaining = this.cards;
+        for (int skipped = ThreadLocalRandom.current().nextInt(numberOfKnownCards); skipped > 0; skipped--) {
+            remaining &= remaining - 1;
+        }
+        long bit = Long.lowestOneBit(remaining);
+        this.cards &= ~bit;
+        return Card.byIndex(Long.numberOfTrailingZeros(bit));
+    }
 
-        @Override
-        public int compare(Card card1, Card card2) {
-            int suitDifference = card1.compareSuit(card2);
-            if (suitDifference != 0) {
-                return -suitDifference;
-            } else {
-                int rankDifference = card1.compareRank(card2);
-                return -rankDifference;
-            }
+    public Card get(int position) {
+        int numberOfKnownCards = Long.bitCount(this.cards);
+        if (position >= numberOfKnownCards && position < this.size()) {
+            return null;
         }
+        if (position < 0 || position >= numberOfKnownCards) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + this.size());
+        }
+        long remaining = this.cards;
+        for (int skipped = 0; skipped < position; skipped++) {
+            remaining &= ~Long.highestOneBit(remaining);
+        }
+        return Card.byIndex(63 - Long.numberOfLeadingZeros(remaining));
+    }
 
+    public int size() {
+        return Long.bitCount(this.cards) + this.numberOfHiddenCards;
+    }
+
+    /**
+     * Kept for the callers that sort a hand after dealing it: the mask is always
+     * in the order of the hand.
+     */
+    public void sort() {
     }
 
     public boolean containsCard(Card card) {
-        return this.getCards().contains(card);
+        return (this.cards & bitOf(card)) != 0 || this.numberOfHiddenCards > 0;
     }
 
     public boolean hasSuit(Suit suit) {
-        for (Card card : this.getCards()) {
-            if (card.getSuit() == suit) {
-                return true;
-            }
-        }
-        return false;
+        return (this.cards & suitMaskOf(suit)) != 0;
     }
 
     public boolean onlyHasHearts() {
-        for (Card card : this.getCards()) {
-            if (!card.isHeart()) {
-                return false;
-            }
-        }
-        return true;
+        return (this.cards & ~suitMaskOf(Suit.HEARTS)) == 0;
     }
 
-    private List<Card> getCards() {
-        return Collections.unmodifiableList(this.cards);
+    /**
+     * The known cards of this hand, one bit per card index.
+     */
+    public long getCardMask() {
+        return this.cards;
+    }
+
+    public int getNumberOfCardsOf(Suit suit) {
+        return Long.bitCount(this.cards & suitMaskOf(suit));
     }
 
     @Override
     public String toString() {
         StringBuilder response = new StringBuilder();
         response.append("|");
-        for (Card card : cards) {
-            response.append(card.toString());
+        for (long remaining = this.cards; remaining != 0; remaining &= ~Long.highestOneBit(remaining)) {
+            response.append(Card.byIndex(63 - Long.numberOfLeadingZeros(remaining)).toString());
             response.append("|");
         }
+        for (int i = 0; i < this.numberOfHiddenCards; i++) {
+            response.append("?|");
+        }
         return response.toString();
     }
 
@@ -108,7 +158,8 @@ public class Hand implements Serializable {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((cards == null) ? 0 : cards.hashCode());
+        result = prime * result + Long.hashCode(cards);
+        result = prime * result + numberOfHiddenCards;
         return result;
     }
 
@@ -124,36 +175,34 @@ public class Hand implements Serializable {
             return false;
         }
         Hand other = (Hand) obj;
-        if (cards == null) {
-            if (other.cards != null) {
-                return false;
-            }
-        } else if (!cards.equals(other.cards)) {
+        if (cards != other.cards) {
+            return false;
+        }
+        if (numberOfHiddenCards != other.numberOfHiddenCards) {
             return false;
         }
         return true;
     }
 
     public int getHCP() {
-        int sum = 0;
-        for (Card card : cards) {
-            sum += card.getPoints();
-        }
-        return sum;
+        return hcpOf(this.cards);
     }
 
     public int getShortestSuitLength() {
-        Map<Suit, Integer> numberOfCards = new HashMap<Suit, Integer>();
+        return shortestSuitLengthOf(this.cards);
+    }
+
+    public static int hcpOf(long cardMask) {
+        return 4 * Long.bitCount(cardMask & ACES) + 3 * Long.bitCount(cardMask & KINGS)
+                + 2 * Long.bitCount(cardMask & QUEENS) + Long.bitCount(cardMask & JACKS);
+    }
+
+    public static int shortestSuitLengthOf(long cardMask) {
+        int shortestSuitLength = CARDS_PER_SUIT;
         for (Suit suit : Suit.values()) {
-            numberOfCards.put(suit, 0);
-        }
-        for (Card card : cards) {
-            Suit currentSuit = card.getSuit();
-            int currentValue = numberOfCards.get(currentSuit);
-            currentValue++;
-            numberOfCards.put(currentSuit, currentValue);
+            shortestSuitLength = Math.min(shortestSuitLength, Long.bitCount(cardMask & suitMaskOf(suit)));
         }
-        return numberOfCards.values().stream().reduce(Math::min).orElse(0);
+        return shortestSuitLength;
     }
 
 }
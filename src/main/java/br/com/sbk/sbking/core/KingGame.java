@@ -25,8 +25,17 @@ public class KingGame extends TrickGame {
     private int playedHands = 0;
 
     public KingGame() {
+        this(new ShuffledBoardDealer());
+    }
+
+    /**
+     * A game dealing its boards with the board dealer. Tables that must play
+     * the same boards each get their own NumberedBoardDealer built from the
+     * same seed, as a dealer counts the boards it has dealt.
+     */
+    public KingGame(BoardDealer boardDealer) {
         this.gameScoreboard = new KingGameScoreboard();
-        this.boardDealer = new ShuffledBoardDealer();
+        this.boardDealer = boardDealer;
         this.dealNewBoard();
     }
 
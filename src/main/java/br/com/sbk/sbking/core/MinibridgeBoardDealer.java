@@ -1,56 +1,47 @@
 package br.com.sbk.sbking.core;
 
-import java.util.HashMap;
-import java.util.Map;
+import br.com.sbk.sbking.core.dealing.BitmaskDealer;
+import br.com.sbk.sbking.core.dealing.DealConstraint;
 
 public class MinibridgeBoardDealer implements BoardDealer {
 
-  private Board board;
+  private static final int NUMBER_OF_HANDS = Direction.values().length;
+  private static final DealConstraint UNEQUAL_PARTNERSHIPS = hands -> partnershipHCP(hands, Direction.NORTH) != partnershipHCP(
+      hands, Direction.EAST);
+
+  private BitmaskDealer bitmaskDealer = new BitmaskDealer();
 
   /**
    * Deals a Board where the partnership of the dealer has strictly more points
    * than the other partnership and the dealer has more or equal HCP than its
-   * partner.
+   * partner. Only ties are dealt again, the other deals are rotated into place.
    */
   @Override
   public Board dealBoard(Direction dealer) {
-    Map<Direction, Integer> hcps = new HashMap<Direction, Integer>();
-    ShuffledBoardDealer shuffledBoardDealer = new ShuffledBoardDealer();
-    int dealerPartnershipHCP;
-    int nonDealerPartnershipHCP;
-
-    do {
-      dealerPartnershipHCP = 0;
-      nonDealerPartnershipHCP = 0;
-      this.board = shuffledBoardDealer.dealBoard(dealer);
-      for (Direction direction : Direction.values()) {
-        int hcp = this.board.getHandOf(direction).getHCP();
-        hcps.put(direction, hcp);
-        if (direction.isNorthSouth() == dealer.isNorthSouth()) {
-          dealerPartnershipHCP += hcp;
-        } else {
-          nonDealerPartnershipHCP += hcp;
-        }
-      }
-    } while (dealerPartnershipHCP == nonDealerPartnershipHCP);
-
-    if (dealerPartnershipHCP < nonDealerPartnershipHCP) {
-      this.board = this.rotateHands(this.board, 1);
+    long[] hands = new long[NUMBER_OF_HANDS];
+    this.bitmaskDealer.deal(hands, UNEQUAL_PARTNERSHIPS);
+
+    if (partnershipHCP(hands, dealer) < partnershipHCP(hands, dealer.next())) {
+      hands = this.rotateHands(hands, 1);
     }
 
-    if (this.board.getHandOf(dealer).getHCP() < this.board.getHandOf(dealer.next(2)).getHCP()) {
-      this.board = this.rotateHands(this.board, 2);
+    if (Hand.hcpOf(hands[dealer.ordinal()]) < Hand.hcpOf(hands[dealer.next(2).ordinal()])) {
+      hands = this.rotateHands(hands, 2);
     }
 
-    return this.board;
+    return BitmaskDealer.toBoard(hands, dealer);
+  }
+
+  private static int partnershipHCP(long[] hands, Direction direction) {
+    return Hand.hcpOf(hands[direction.ordinal()]) + Hand.hcpOf(hands[direction.next(2).ordinal()]);
   }
 
-  private Board rotateHands(Board board, int i) {
-    Map<Direction, Hand> hands = new HashMap<Direction, Hand>();
+  private long[] rotateHands(long[] hands, int i) {
+    long[] rotatedHands = new long[NUMBER_OF_HANDS];
     for (Direction direction : Direction.values()) {
-      hands.put(direction.next(i), board.getHandOf(direction));
+      rotatedHands[direction.next(i).ordinal()] = hands[direction.ordinal()];
     }
-    return new Board(hands, board.getDealer());
+    return rotatedHands;
   }
 
 }
@@ -15,6 +15,12 @@ public class Score implements Serializable {
         this.scoreable = scoreable;
     }
 
+    public Score(Scoreable scoreable, int northSouthPoints, int eastWestPoints) {
+        this.scoreable = scoreable;
+        this.northSouthPoints = northSouthPoints;
+        this.eastWestPoints = eastWestPoints;
+    }
+
     public int getNorthSouthPoints() {
         return northSouthPoints;
     }
@@ -31,6 +37,14 @@ public class Score implements Serializable {
         }
     }
 
+    public void removeTrickFromDirection(Trick trick, Direction winner) {
+        if (winner.isNorthSouth()) {
+            northSouthPoints -= this.scoreable.getPoints(trick);
+        } else {
+            eastWestPoints -= this.scoreable.getPoints(trick);
+        }
+    }
+
     private void addNorthSouth(Trick trick) {
         northSouthPoints += this.scoreable.getPoints(trick);
     }
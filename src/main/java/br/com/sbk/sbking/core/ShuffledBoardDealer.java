@@ -2,16 +2,26 @@ package br.com.sbk.sbking.core;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 public class ShuffledBoardDealer implements BoardDealer {
 
   private Map<Direction, Hand> hands;
+  private Random random;
+
+  public ShuffledBoardDealer() {
+    this(new Random());
+  }
+
+  public ShuffledBoardDealer(Random random) {
+    this.random = random;
+  }
 
   @Override
   public Board dealBoard(Direction dealer) {
     Direction currentDirection;
     Hand currentHand;
-    ShuffledDeck currentDeck = new ShuffledDeck();
+    ShuffledDeck currentDeck = new ShuffledDeck(this.random);
     hands = new HashMap<Direction, Hand>();
     for (Direction direction : Direction.values()) {
       hands.put(direction, new Hand());
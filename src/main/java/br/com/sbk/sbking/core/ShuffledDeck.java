@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import br.com.sbk.sbking.core.exceptions.DealingCardFromAnEmptyDeckException;
 
@@ -12,14 +13,22 @@ public class ShuffledDeck {
     private Iterator<Card> iterator;
 
     public ShuffledDeck() {
+        this(new Random());
+    }
+
+    /**
+     * A deck shuffled with the given random, so a seeded one always deals the
+     * same cards.
+     */
+    public ShuffledDeck(Random random) {
         this.deck = new ArrayList<Card>();
         for (Suit suit : Suit.values()) {
             for (Rank rank : Rank.values()) {
-                Card card = new Card(suit, rank);
+                Card card = Card.of(suit, rank);
                 this.deck.add(card);
             }
         }
-        Collections.shuffle(this.deck);
+        Collections.shuffle(this.deck, random);
         iterator = this.deck.iterator();
     }
 
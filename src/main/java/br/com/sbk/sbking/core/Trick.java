@@ -3,42 +3,61 @@ package br.com.sbk.sbking.core;
 import static br.com.sbk.sbking.core.GameConstants.COMPLETE_TRICK_NUMBER_OF_CARDS;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 import br.com.sbk.sbking.core.exceptions.TrickAlreadyFullException;
 
 @SuppressWarnings("serial")
 public class Trick implements Serializable {
 
-    private List<Card> cards;
+    private Card[] cards;
+    private int numberOfCards;
     private Direction leader;
     private boolean lastTwo;
 
     public Trick(Direction leader) {
         this.leader = leader;
-        this.cards = new ArrayList<Card>();
+        this.cards = new Card[COMPLETE_TRICK_NUMBER_OF_CARDS];
+        this.numberOfCards = 0;
         this.lastTwo = false;
     }
 
     public void addCard(Card card) {
         if (!this.isComplete()) {
-            this.cards.add(card);
+            this.cards[this.numberOfCards++] = card;
         } else {
             throw new TrickAlreadyFullException();
         }
     }
 
+    /**
+     * Takes back the last card played, for searches that undo their moves.
+     */
+    Card removeLastCard() {
+        Card card = this.cards[--this.numberOfCards];
+        this.cards[this.numberOfCards] = null;
+        return card;
+    }
+
+    /**
+     * Empties this trick so a deal can reuse it for a new one.
+     */
+    void restart(Direction leader) {
+        while (this.numberOfCards > 0) {
+            this.removeLastCard();
+        }
+        this.leader = leader;
+        this.lastTwo = false;
+    }
+
     public boolean isComplete() {
         return this.getNumberOfCards() == COMPLETE_TRICK_NUMBER_OF_CARDS;
     }
 
     public boolean isEmpty() {
-        return this.cards.isEmpty();
+        return this.numberOfCards == 0;
     }
 
     public Direction getLeader() {
@@ -46,7 +65,17 @@ public class Trick implements Serializable {
     }
 
     public List<Card> getCards() {
-        return Collections.unmodifiableList(this.cards);
+        return Collections.unmodifiableList(Arrays.asList(this.cards).subList(0, this.numberOfCards));
+    }
+
+    /**
+     * The card played at the given position, the leader's being the first.
+     */
+    public Card getCard(int position) {
+        if (position < 0 || position >= this.numberOfCards) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + this.numberOfCards);
+        }
+        return this.cards[position];
     }
 
     public Suit getLeadSuit() {
@@ -54,67 +83,39 @@ public class Trick implements Serializable {
     }
 
     private Card getLeadCard() {
-        return this.getCards().get(0);
+        return this.getCard(0);
     }
 
     public Direction getWinnerWithoutTrumpSuit() {
-        Card card = this.highestCardOfSuit(this.getLeadSuit());
-        return this.directionOfCard(card);
-    }
-
-    private Card highestCardOfSuit(Suit suit) {
-        SortedSet<Card> sortedCardsOfSuit = new TreeSet<Card>(new CardOfSameSuitComparator());
-        for (Card card : this.getCards()) {
-            if (card.getSuit() == suit) {
-                sortedCardsOfSuit.add(card);
-            }
-        }
-        return sortedCardsOfSuit.last();
-    }
-
-    private static class CardOfSameSuitComparator implements Comparator<Card> {
-        @Override
-        public int compare(Card card1, Card card2) {
-            return card1.compareRank(card2);
-        }
-    }
-
-    private Direction directionOfCard(Card card) {
-        Direction currentDirection = leader;
-        Direction response = null;
-        for (Card cardFromTrick : this.getCards()) {
-            if (card.equals(cardFromTrick)) {
-                response = currentDirection;
-                break;
-            } else {
-                currentDirection = currentDirection.next();
-            }
-        }
-        return response;
+        return this.getWinnerWithTrumpSuit(null);
     }
 
+    /**
+     * Walks the cards once, keeping the offset from the leader of the card that
+     * is winning so far, and allocates nothing.
+     */
     public Direction getWinnerWithTrumpSuit(Suit trumpSuit) {
-        Card card;
-        if (this.hasSuit(trumpSuit)) {
-            card = this.highestCardOfSuit(trumpSuit);
-        } else {
-            card = this.highestCardOfSuit(this.getLeadSuit());
-        }
-        return this.directionOfCard(card);
-    }
-
-    private boolean hasSuit(Suit suit) {
-        for (Card card : this.getCards()) {
-            if (card.getSuit() == suit) {
-                return true;
+        Card winningCard = this.getLeadCard();
+        int winnerOffset = 0;
+        for (int offset = 1; offset < this.numberOfCards; offset++) {
+            Card card = this.cards[offset];
+            if (card.getSuit() == winningCard.getSuit()) {
+                if (card.getRank().ordinal() > winningCard.getRank().ordinal()) {
+                    winningCard = card;
+                    winnerOffset = offset;
+                }
+            } else if (card.getSuit() == trumpSuit) {
+                winningCard = card;
+                winnerOffset = offset;
             }
         }
-        return false;
+        return this.leader.next(winnerOffset);
     }
 
     public int getNumberOfMen() {
         int men = 0;
-        for (Card c : this.getCards()) {
+        for (int i = 0; i < this.numberOfCards; i++) {
+            Card c = this.cards[i];
             if (c.isMan()) {
                 men++;
             }
@@ -124,7 +125,8 @@ public class Trick implements Serializable {
 
     public int getNumberOfWomen() {
         int women = 0;
-        for (Card c : this.getCards()) {
+        for (int i = 0; i < this.numberOfCards; i++) {
+            Card c = this.cards[i];
             if (c.isWoman()) {
                 women++;
             }
@@ -141,7 +143,8 @@ public class Trick implements Serializable {
     }
 
     public boolean hasKingOfHearts() {
-        for (Card c : this.getCards()) {
+        for (int i = 0; i < this.numberOfCards; i++) {
+            Card c = this.cards[i];
             if (c.isKingOfHearts()) {
                 return true;
             }
@@ -151,7 +154,8 @@ public class Trick implements Serializable {
 
     public int getNumberOfHeartsCards() {
         int hearts = 0;
-        for (Card c : this.getCards()) {
+        for (int i = 0; i < this.numberOfCards; i++) {
+            Card c = this.cards[i];
             if (c.isHeart()) {
                 hearts++;
             }
@@ -159,15 +163,15 @@ public class Trick implements Serializable {
         return hearts;
     }
 
-    private int getNumberOfCards() {
-        return this.getCards().size();
+    public int getNumberOfCards() {
+        return this.numberOfCards;
     }
 
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((cards == null) ? 0 : cards.hashCode());
+        result = prime * result + Arrays.hashCode(cards);
         result = prime * result + (lastTwo ? 1231 : 1237);
         result = prime * result + ((leader == null) ? 0 : leader.hashCode());
         return result;
@@ -185,11 +189,7 @@ public class Trick implements Serializable {
             return false;
         }
         Trick other = (Trick) obj;
-        if (cards == null) {
-            if (other.cards != null) {
-                return false;
-            }
-        } else if (!cards.equals(other.cards)) {
+        if (!Arrays.equals(cards, other.cards)) {
             return false;
         }
         if (lastTwo != other.lastTwo) {
@@ -203,7 +203,7 @@ public class Trick implements Serializable {
 
     @Override
     public String toString() {
-        return this.cards.toString();
+        return this.getCards().toString();
     }
 
 }
@@ -0,0 +1,96 @@
+package br.com.sbk.sbking.core.bot;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.PositiveRuleset;
+
+/**
+ * Plays each trick on its own, looking at nothing but the hand and the trick.
+ * Under a positive ruleset it wins the trick as cheaply as it can unless its
+ * partner already wins it, under a negative one it plays the highest card that
+ * still loses the trick. It is cheap enough to play out whole deals thousands
+ * of times a second.
+ */
+public final class GreedyStrategy implements PlayingStrategy {
+
+    private static final int CARDS_PER_SUIT = 13;
+
+    @Override
+    public Card chooseCard(Deal deal) {
+        long legalMoves = deal.legalMoves();
+        if (legalMoves == 0) {
+            throw new IllegalArgumentException("There is no card to play in this deal.");
+        }
+        boolean positive = deal.getRuleset() instanceof PositiveRuleset;
+        Trick trick = deal.getCurrentTrick();
+        if (trick.isEmpty() || trick.isComplete()) {
+            return Card.byIndex(positive ? highest(legalMoves) : lowest(legalMoves));
+        }
+
+        Suit trumpSuit = deal.getRuleset().getTrumpSuit();
+        int winningPosition = 0;
+        for (int position = 1; position < trick.getNumberOfCards(); position++) {
+            if (beats(trick.getCard(position), trick.getCard(winningPosition), trumpSuit)) {
+                winningPosition = position;
+            }
+        }
+        Card winningCard = trick.getCard(winningPosition);
+        long winningMoves = 0;
+        for (long moves = legalMoves; moves != 0; moves &= moves - 1) {
+            int index = Long.numberOfTrailingZeros(moves);
+            if (beats(Card.byIndex(index), winningCard, trumpSuit)) {
+                winningMoves |= 1L << index;
+            }
+        }
+
+        if (positive) {
+            Direction winner = trick.getLeader().next(winningPosition);
+            boolean partnerWins = winner == deal.getCurrentPlayer().next(2);
+            if (partnerWins || winningMoves == 0) {
+                return Card.byIndex(lowest(legalMoves));
+            }
+            return Card.byIndex(lowest(winningMoves));
+        }
+        long losingMoves = legalMoves & ~winningMoves;
+        return Card.byIndex(highest(losingMoves != 0 ? losingMoves : legalMoves));
+    }
+
+    private static boolean beats(Card card, Card winningCard, Suit trumpSuit) {
+        if (card.getSuit() == winningCard.getSuit()) {
+            return card.compareRank(winningCard) > 0;
+        }
+        return card.getSuit() == trumpSuit;
+    }
+
+    /**
+     * The index of the card of lowest rank, whatever its suit.
+     */
+    private static int lowest(long cards) {
+        int lowest = -1;
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            if (lowest < 0 || index % CARDS_PER_SUIT < lowest % CARDS_PER_SUIT) {
+                lowest = index;
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * The index of the card of highest rank, whatever its suit.
+     */
+    private static int highest(long cards) {
+        int highest = -1;
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            if (highest < 0 || index % CARDS_PER_SUIT > highest % CARDS_PER_SUIT) {
+                highest = index;
+            }
+        }
+        return highest;
+    }
+
+}
@@ -0,0 +1,204 @@
+package br.com.sbk.sbking.core.bot;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+
+/**
+ * Deals the cards the player on turn cannot see among the hands it cannot see,
+ * consistently with what the play so far tells: how many cards each hand
+ * holds, the suits a hand did not follow and, when hearts may not be led while
+ * other suits are left, that whoever led hearts held nothing else. Everything
+ * is read from the deal when the sampler is created, so samples may be drawn
+ * from any thread while the deal goes on.
+ *
+ * The player on turn sees its own hand, the dummy once it is open and, when it
+ * is the dummy, the hand of the declarer who plays for it.
+ */
+final class LayoutSampler {
+
+    private static final int NUMBER_OF_HANDS = Direction.values().length;
+    private static final int MAXIMUM_ATTEMPTS = 1000;
+    private static final long ALL_CARDS = (1L << Card.NUMBER_OF_CARDS) - 1;
+
+    private final Ruleset ruleset;
+    private final Direction dealer;
+    private final Direction dummy;
+    private final int startingNumberOfCardsInTheHand;
+    private final Direction firstLeader;
+    private final int[] playedCards;
+    private final long[] cardsPlayedBy = new long[NUMBER_OF_HANDS];
+    private final long[] knownHands = new long[NUMBER_OF_HANDS];
+    private final boolean[] known = new boolean[NUMBER_OF_HANDS];
+    private final int[] handSizes = new int[NUMBER_OF_HANDS];
+    private final long[] voidSuits = new long[NUMBER_OF_HANDS];
+    private final long unknownCards;
+
+    LayoutSampler(Deal deal) {
+        this.ruleset = deal.getRuleset();
+        this.dealer = deal.getDealer();
+        this.dummy = deal.getDummy();
+        this.startingNumberOfCardsInTheHand = deal.getStartingNumberOfCardsInTheHand();
+
+        Direction player = deal.getCurrentPlayer();
+        this.know(deal, player);
+        if (this.dummy != null && deal.isDummyOpen()) {
+            this.know(deal, this.dummy);
+            if (player == this.dummy) {
+                this.know(deal, player.next(2));
+            }
+        }
+
+        List<Trick> tricks = deal.getTricks();
+        this.firstLeader = tricks.isEmpty() ? player : tricks.get(0).getLeader();
+        long playedMask = 0;
+        int numberOfPlayedCards = 0;
+        for (Trick trick : tricks) {
+            numberOfPlayedCards += trick.getNumberOfCards();
+        }
+        this.playedCards = new int[numberOfPlayedCards];
+        int played = 0;
+        for (Trick trick : tricks) {
+            this.inferVoids(trick);
+            for (int position = 0; position < trick.getNumberOfCards(); position++) {
+                int index = trick.getCard(position).getIndex();
+                this.playedCards[played++] = index;
+                this.cardsPlayedBy[trick.getLeader().next(position).ordinal()] |= 1L << index;
+                playedMask |= 1L << index;
+            }
+        }
+
+        long unknownCards = ALL_CARDS & ~playedMask;
+        for (Direction direction : Direction.values()) {
+            this.handSizes[direction.ordinal()] = deal.getHandOf(direction).size();
+            unknownCards &= ~this.knownHands[direction.ordinal()];
+        }
+        this.unknownCards = unknownCards;
+    }
+
+    private void know(Deal deal, Direction direction) {
+        this.known[direction.ordinal()] = true;
+        this.knownHands[direction.ordinal()] = deal.getHandOf(direction).getCardMask();
+    }
+
+    private void inferVoids(Trick trick) {
+        Card lead = trick.getCard(0);
+        if (lead.isHeart() && this.ruleset.prohibitsHeartsUntilOnlySuitLeft()) {
+            this.voidSuits[trick.getLeader().ordinal()] |= ~Hand.suitMaskOf(Suit.HEARTS);
+        }
+        for (int position = 1; position < trick.getNumberOfCards(); position++) {
+            if (trick.getCard(position).getSuit() != lead.getSuit()) {
+                this.voidSuits[trick.getLeader().next(position).ordinal()] |= Hand.suitMaskOf(lead.getSuit());
+            }
+        }
+    }
+
+    /**
+     * The cards each hand holds now in one sampled layout, indexed by the
+     * ordinal of their direction. Should the voids be too tight for random
+     * tries, which the true layout proves they never are, the last try ignores
+     * them.
+     */
+    long[] sampleHands(SplittableRandom random) {
+        long[] hands = new long[NUMBER_OF_HANDS];
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS; attempt++) {
+            if (this.dealUnknownCards(hands, random, true)) {
+                return hands;
+            }
+        }
+        this.dealUnknownCards(hands, random, false);
+        return hands;
+    }
+
+    /**
+     * A deal in the same position as the one sampled from, with the hidden
+     * hands replaced by a sampled layout and every card played so far played
+     * again.
+     */
+    Deal sampleDeal(SplittableRandom random) {
+        long[] hands = this.sampleHands(random);
+        Map<Direction, Hand> startingHands = new HashMap<Direction, Hand>();
+        for (Direction direction : Direction.values()) {
+            startingHands.put(direction, new Hand(hands[direction.ordinal()] | this.cardsPlayedBy[direction.ordinal()]));
+        }
+        Deal deal = new Deal(new Board(startingHands, this.dealer), this.ruleset);
+        deal.setStartingNumberOfCardsInTheHand(this.startingNumberOfCardsInTheHand);
+        deal.setDummy(this.dummy);
+        deal.setCurrentPlayer(this.firstLeader);
+        for (int index : this.playedCards) {
+            deal.play(Card.byIndex(index));
+        }
+        return deal;
+    }
+
+    /**
+     * Fills the hidden hands one at a time, always the one with the fewest
+     * cards to spare among those it may hold.
+     */
+    private boolean dealUnknownCards(long[] hands, SplittableRandom random, boolean respectVoids) {
+        long remaining = this.unknownCards;
+        boolean[] dealt = new boolean[NUMBER_OF_HANDS];
+        for (int seat = 0; seat < NUMBER_OF_HANDS; seat++) {
+            hands[seat] = this.knownHands[seat];
+            dealt[seat] = this.known[seat];
+        }
+        while (true) {
+            int tightestSeat = -1;
+            int tightestSpare = Integer.MAX_VALUE;
+            for (int seat = 0; seat < NUMBER_OF_HANDS; seat++) {
+                if (!dealt[seat]) {
+                    int spare = Long.bitCount(this.allowedCards(seat, remaining, respectVoids)) - this.handSizes[seat];
+                    if (spare < tightestSpare) {
+                        tightestSeat = seat;
+                        tightestSpare = spare;
+                    }
+                }
+            }
+            if (tightestSeat < 0) {
+                return true;
+            }
+            if (tightestSpare < 0) {
+                return false;
+            }
+            long allowed = this.allowedCards(tightestSeat, remaining, respectVoids);
+            hands[tightestSeat] = pick(allowed, this.handSizes[tightestSeat], random);
+            remaining &= ~hands[tightestSeat];
+            dealt[tightestSeat] = true;
+        }
+    }
+
+    private long allowedCards(int seat, long remaining, boolean respectVoids) {
+        return respectVoids ? remaining & ~this.voidSuits[seat] : remaining;
+    }
+
+    /**
+     * A uniformly random subset of the cards with the given number of them.
+     */
+    private static long pick(long cards, int numberOfCards, SplittableRandom random) {
+        int[] indexes = new int[Long.bitCount(cards)];
+        int size = 0;
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            indexes[size++] = Long.numberOfTrailingZeros(remaining);
+        }
+        long picked = 0;
+        for (int i = 0; i < numberOfCards; i++) {
+            int chosen = i + random.nextInt(size - i);
+            int index = indexes[chosen];
+            indexes[chosen] = indexes[i];
+            indexes[i] = index;
+            picked |= 1L << index;
+        }
+        return picked;
+    }
+
+}
@@ -0,0 +1,228 @@
+package br.com.sbk.sbking.core.bot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.PositiveRuleset;
+import br.com.sbk.sbking.core.solver.DoubleDummySolver;
+
+/**
+ * Plays single dummy: it samples layouts of the hands it cannot see that agree
+ * with the play so far, scores every card it may play on each of them and
+ * plays the card with the best total, maximizing the points of its side under
+ * a positive ruleset and minimizing them under a negative one.
+ *
+ * A sample is scored exactly by the double dummy solver once few tricks are
+ * left and by a greedy play out of the deal before that, where solving each
+ * sample would take longer than a move may. The samples are drawn by parallel
+ * searches on the executor until the time budget, counted from when the move
+ * was asked for, is spent. A search samples for a short slice at a time and then
+ * goes back to the end of the executor's queue, so the moves of many tables
+ * share the threads in turn instead of the first of them holding every thread
+ * for its whole budget.
+ */
+public final class MonteCarloBot implements PlayingStrategy {
+
+    public static final long DEFAULT_TIME_BUDGET_IN_MILLISECONDS = 1000;
+    public static final int DEFAULT_MAXIMUM_NUMBER_OF_SAMPLES = 500;
+
+    private static final int DOUBLE_DUMMY_REMAINING_TRICKS = 5;
+    private static final long TIME_SLICE_IN_NANOSECONDS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Executor executor;
+    private final int parallelism;
+    private final long timeBudgetInNanoseconds;
+    private final int maximumNumberOfSamples;
+    private final SplittableRandom random;
+    private final DoubleDummySolver solver = new DoubleDummySolver();
+    private final GreedyStrategy greedyStrategy = new GreedyStrategy();
+
+    public MonteCarloBot(Executor executor, int parallelism, long timeBudgetInMilliseconds) {
+        this(executor, parallelism, timeBudgetInMilliseconds, DEFAULT_MAXIMUM_NUMBER_OF_SAMPLES, System.nanoTime());
+    }
+
+    /**
+     * A bot drawing at most maximumNumberOfSamples samples a move, from
+     * generators split off one seeded with the seed.
+     */
+    public MonteCarloBot(Executor executor, int parallelism, long timeBudgetInMilliseconds, int maximumNumberOfSamples,
+            long seed) {
+        if (maximumNumberOfSamples < 1) {
+            throw new IllegalArgumentException("A bot needs at least one sample a move.");
+        }
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        this.timeBudgetInNanoseconds = TimeUnit.MILLISECONDS.toNanos(timeBudgetInMilliseconds);
+        this.maximumNumberOfSamples = maximumNumberOfSamples;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Card chooseCard(Deal deal) {
+        return this.chooseCardAsync(deal).join();
+    }
+
+    /**
+     * Reads the deal on the calling thread and searches on the executor, so the
+     * deal may go on as soon as this returns. Every search draws at least one
+     * sample, even when the budget ran out while it was queued.
+     */
+    public CompletableFuture<Card> chooseCardAsync(Deal deal) {
+        long legalMoves = deal.legalMoves();
+        if (legalMoves == 0) {
+            throw new IllegalArgumentException("There is no card to play in this deal.");
+        }
+        if (Long.bitCount(legalMoves) == 1) {
+            return CompletableFuture.completedFuture(Card.byIndex(Long.numberOfTrailingZeros(legalMoves)));
+        }
+        LayoutSampler sampler = new LayoutSampler(deal);
+        int remainingTricks = deal.getHandOf(deal.getCurrentPlayer()).size();
+        boolean doubleDummy = remainingTricks <= DOUBLE_DUMMY_REMAINING_TRICKS;
+        boolean positive = deal.getRuleset() instanceof PositiveRuleset;
+        boolean maximizing = deal.getCurrentPlayer().isNorthSouth() == positive;
+
+        long deadline = System.nanoTime() + this.timeBudgetInNanoseconds;
+        AtomicInteger samplesLeft = new AtomicInteger(this.maximumNumberOfSamples);
+        List<CompletableFuture<long[]>> searches = new ArrayList<CompletableFuture<long[]>>();
+        for (int search = 0; search < this.parallelism; search++) {
+            Search slicedSearch = new Search(sampler, legalMoves, doubleDummy, samplesLeft, this.splitRandom(), deadline);
+            searches.add(slicedSearch.result);
+            slicedSearch.resubmit();
+        }
+        return CompletableFuture.allOf(searches.toArray(new CompletableFuture<?>[searches.size()]))
+                .thenApply(ignored -> bestCard(searches, legalMoves, maximizing));
+    }
+
+    private synchronized SplittableRandom splitRandom() {
+        return this.random.split();
+    }
+
+    /**
+     * Sums the North-South points each legal card ends the deal with over the
+     * samples it draws, one time slice per run.
+     */
+    private final class Search implements Runnable {
+
+        private final CompletableFuture<long[]> result = new CompletableFuture<long[]>();
+        private final long[] pointsByCard = new long[Card.NUMBER_OF_CARDS];
+        private final LayoutSampler sampler;
+        private final long legalMoves;
+        private final boolean doubleDummy;
+        private final AtomicInteger samplesLeft;
+        private final SplittableRandom random;
+        private final long deadline;
+
+        Search(LayoutSampler sampler, long legalMoves, boolean doubleDummy, AtomicInteger samplesLeft,
+                SplittableRandom random, long deadline) {
+            this.sampler = sampler;
+            this.legalMoves = legalMoves;
+            this.doubleDummy = doubleDummy;
+            this.samplesLeft = samplesLeft;
+            this.random = random;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (this.sampleForASlice()) {
+                    this.result.complete(this.pointsByCard);
+                } else {
+                    this.resubmit();
+                }
+            } catch (RuntimeException e) {
+                this.result.completeExceptionally(e);
+            }
+        }
+
+        void resubmit() {
+            try {
+                MonteCarloBot.this.executor.execute(this);
+            } catch (RuntimeException e) {
+                this.result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Whether the search is over, once the samples or the budget ran out.
+         */
+        private boolean sampleForASlice() {
+            long sliceEnd = System.nanoTime() + TIME_SLICE_IN_NANOSECONDS;
+            while (this.samplesLeft.getAndDecrement() > 0) {
+                this.addPointsOf(this.sampler.sampleDeal(this.random));
+                long now = System.nanoTime();
+                if (now - this.deadline >= 0) {
+                    return true;
+                }
+                if (now - sliceEnd >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void addPointsOf(Deal sample) {
+            if (this.doubleDummy) {
+                Map<Card, Integer> pointsAfter = MonteCarloBot.this.solver.solveEachCard(sample);
+                for (long moves = this.legalMoves; moves != 0; moves &= moves - 1) {
+                    int index = Long.numberOfTrailingZeros(moves);
+                    this.pointsByCard[index] += pointsAfter.get(Card.byIndex(index));
+                }
+            } else {
+                for (long moves = this.legalMoves; moves != 0; moves &= moves - 1) {
+                    int index = Long.numberOfTrailingZeros(moves);
+                    this.pointsByCard[index] += MonteCarloBot.this.playOut(sample, Card.byIndex(index));
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The North-South points of the deal played greedily to the end after the
+     * card, leaving the deal as it was.
+     */
+    private int playOut(Deal sample, Card card) {
+        sample.play(card);
+        int playedCards = 1;
+        while (!sample.isFinished()) {
+            sample.play(this.greedyStrategy.chooseCard(sample));
+            playedCards++;
+        }
+        int northSouthPoints = sample.getNorthSouthPoints();
+        for (; playedCards > 0; playedCards--) {
+            sample.unplay();
+        }
+        return northSouthPoints;
+    }
+
+    /**
+     * Ties go to the lower card.
+     */
+    private static Card bestCard(List<CompletableFuture<long[]>> searches, long legalMoves, boolean maximizing) {
+        long[] pointsByCard = new long[Card.NUMBER_OF_CARDS];
+        for (CompletableFuture<long[]> search : searches) {
+            long[] pointsOfSearch = search.join();
+            for (int index = 0; index < pointsByCard.length; index++) {
+                pointsByCard[index] += pointsOfSearch[index];
+            }
+        }
+        int best = -1;
+        for (long moves = legalMoves; moves != 0; moves &= moves - 1) {
+            int index = Long.numberOfTrailingZeros(moves);
+            if (best < 0 || (maximizing ? pointsByCard[index] > pointsByCard[best] : pointsByCard[index] < pointsByCard[best])) {
+                best = index;
+            }
+        }
+        return Card.byIndex(best);
+    }
+
+}
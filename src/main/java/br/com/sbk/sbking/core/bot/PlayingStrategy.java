@@ -0,0 +1,15 @@
+package br.com.sbk.sbking.core.bot;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+
+/**
+ * Chooses the card the player on turn plays. The deal holds every hand, so a
+ * strategy is trusted to look only at what that player may see: its own hand,
+ * the dummy once it is open and the cards already played.
+ */
+public interface PlayingStrategy {
+
+    Card chooseCard(Deal deal);
+
+}
@@ -0,0 +1,32 @@
+package br.com.sbk.sbking.core.bot;
+
+import java.util.SplittableRandom;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+
+/**
+ * Plays any legal card, each as likely as the others. Not thread safe: give
+ * every thread its own.
+ */
+public final class RandomStrategy implements PlayingStrategy {
+
+    private final SplittableRandom random;
+
+    public RandomStrategy(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public Card chooseCard(Deal deal) {
+        long legalMoves = deal.legalMoves();
+        if (legalMoves == 0) {
+            throw new IllegalArgumentException("There is no card to play in this deal.");
+        }
+        for (int skipped = this.random.nextInt(Long.bitCount(legalMoves)); skipped > 0; skipped--) {
+            legalMoves &= legalMoves - 1;
+        }
+        return Card.byIndex(Long.numberOfTrailingZeros(legalMoves));
+    }
+
+}
@@ -0,0 +1,73 @@
+package br.com.sbk.sbking.core.bot;
+
+import java.util.function.Predicate;
+
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.rulesets.NegativeRulesetsEnum;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveNoTrumpsRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveWithTrumpsRuleset;
+
+/**
+ * The choices a bot makes before the play, looking only at the hand of the
+ * chooser and at which rulesets the game still permits.
+ */
+public final class RulesetChooser {
+
+    private static final int POSITIVE_MINIMUM_HCP = 13;
+    private static final int TRUMP_SUIT_MINIMUM_LENGTH = 5;
+
+    /**
+     * Positive with a hand a king above the average, as long as both positive
+     * and negative are still permitted.
+     */
+    public boolean choosesPositive(Hand hand, Predicate<Ruleset> permitted) {
+        boolean positivePermitted = permitted.test(new PositiveNoTrumpsRuleset());
+        boolean negativePermitted = this.chooseNegative(permitted) != null;
+        if (positivePermitted != negativePermitted) {
+            return positivePermitted;
+        }
+        return hand.getHCP() >= POSITIVE_MINIMUM_HCP;
+    }
+
+    public Ruleset chooseGameModeOrStrain(Hand hand, boolean positive, Predicate<Ruleset> permitted) {
+        if (positive) {
+            return this.chooseStrain(hand);
+        }
+        return this.chooseNegative(permitted);
+    }
+
+    /**
+     * The longest suit as trumps when it has at least five cards, no trumps
+     * otherwise.
+     */
+    public Ruleset chooseStrain(Hand hand) {
+        Suit longestSuit = null;
+        int longestLength = TRUMP_SUIT_MINIMUM_LENGTH - 1;
+        for (Suit suit : Suit.values()) {
+            int length = hand.getNumberOfCardsOf(suit);
+            if (length > longestLength) {
+                longestSuit = suit;
+                longestLength = length;
+            }
+        }
+        if (longestSuit == null) {
+            return new PositiveNoTrumpsRuleset();
+        }
+        return new PositiveWithTrumpsRuleset(longestSuit);
+    }
+
+    /**
+     * The first negative ruleset still permitted, or null when none is.
+     */
+    public Ruleset chooseNegative(Predicate<Ruleset> permitted) {
+        for (NegativeRulesetsEnum negative : NegativeRulesetsEnum.values()) {
+            if (permitted.test(negative.getNegativeRuleset())) {
+                return negative.getNegativeRuleset();
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,88 @@
+package br.com.sbk.sbking.core.dealing;
+
+import static br.com.sbk.sbking.core.GameConstants.SIZE_OF_HAND;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+
+/**
+ * Deals the four hands straight into card masks, shuffling a deck of card
+ * indexes in place, and deals again until the constraint accepts them. Nothing
+ * is allocated per attempt. Not thread safe: each thread deals with its own,
+ * made from a split of the random.
+ */
+public final class BitmaskDealer {
+
+    private static final int NUMBER_OF_HANDS = Direction.values().length;
+
+    private final SplittableRandom random;
+    private final byte[] deck = new byte[Card.NUMBER_OF_CARDS];
+
+    public BitmaskDealer() {
+        this(new SplittableRandom());
+    }
+
+    public BitmaskDealer(SplittableRandom random) {
+        this.random = random;
+        for (int index = 0; index < Card.NUMBER_OF_CARDS; index++) {
+            this.deck[index] = (byte) index;
+        }
+    }
+
+    /**
+     * Fills hands, indexed by the ordinal of their direction, with a deal the
+     * constraint accepts. Each hand is tested on its own as soon as it is
+     * dealt, starting from the seat the constraint asks for, and a rejected one
+     * starts the deal over.
+     */
+    public void deal(long[] hands, DealConstraint constraint) {
+        int firstSeat = constraint.getFirstSeatToDeal();
+        boolean accepted;
+        do {
+            accepted = this.shuffleInto(hands, constraint, firstSeat) && constraint.accepts(hands);
+        } while (!accepted);
+    }
+
+    public Board dealBoard(Direction dealer, DealConstraint constraint) {
+        long[] hands = new long[NUMBER_OF_HANDS];
+        this.deal(hands, constraint);
+        return toBoard(hands, dealer);
+    }
+
+    public static Board toBoard(long[] hands, Direction dealer) {
+        Map<Direction, Hand> handsByDirection = new HashMap<Direction, Hand>();
+        for (Direction direction : Direction.values()) {
+            handsByDirection.put(direction, new Hand(hands[direction.ordinal()]));
+        }
+        return new Board(handsByDirection, dealer);
+    }
+
+    private boolean shuffleInto(long[] hands, DealConstraint constraint, int firstSeat) {
+        byte[] deck = this.deck;
+        int seat = firstSeat;
+        long cards = 0;
+        for (int position = Card.NUMBER_OF_CARDS - 1; position >= 0; position--) {
+            int chosen = position == 0 ? 0 : this.random.nextInt(position + 1);
+            byte card = deck[chosen];
+            deck[chosen] = deck[position];
+            deck[position] = card;
+            cards |= 1L << card;
+            if (position % SIZE_OF_HAND == 0) {
+                if (!constraint.acceptsHand(seat, cards)) {
+                    return false;
+                }
+                hands[seat] = cards;
+                seat = (seat + 1) % NUMBER_OF_HANDS;
+                cards = 0;
+            }
+        }
+        return true;
+    }
+
+}
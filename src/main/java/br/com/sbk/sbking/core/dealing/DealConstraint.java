@@ -0,0 +1,51 @@
+package br.com.sbk.sbking.core.dealing;
+
+/**
+ * A condition a deal must meet to be dealt, tested on the card masks of the
+ * four hands, indexed by the ordinal of their direction. A constraint on a
+ * single hand can also say so, letting a dealer reject a deal as soon as that
+ * hand is dealt.
+ */
+public interface DealConstraint {
+
+    DealConstraint ANY = hands -> true;
+
+    boolean accepts(long[] hands);
+
+    /**
+     * Whether the hand dealt to the seat can still be part of an accepted deal.
+     */
+    default boolean acceptsHand(int seat, long hand) {
+        return true;
+    }
+
+    /**
+     * The seat whose hand is best dealt and tested first.
+     */
+    default int getFirstSeatToDeal() {
+        return 0;
+    }
+
+    default DealConstraint and(DealConstraint other) {
+        DealConstraint first = this;
+        return new DealConstraint() {
+
+            @Override
+            public boolean accepts(long[] hands) {
+                return first.accepts(hands) && other.accepts(hands);
+            }
+
+            @Override
+            public boolean acceptsHand(int seat, long hand) {
+                return first.acceptsHand(seat, hand) && other.acceptsHand(seat, hand);
+            }
+
+            @Override
+            public int getFirstSeatToDeal() {
+                return first.getFirstSeatToDeal();
+            }
+
+        };
+    }
+
+}
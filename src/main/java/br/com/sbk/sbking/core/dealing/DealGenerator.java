@@ -0,0 +1,68 @@
+package br.com.sbk.sbking.core.dealing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import br.com.sbk.sbking.core.Direction;
+
+/**
+ * Generates many deals meeting a constraint in parallel. The deals are made in
+ * chunks of a fixed size, each from its own split of a random seeded once, so
+ * the same seed gives the same deals whatever the number of threads.
+ */
+public final class DealGenerator {
+
+    private static final int NUMBER_OF_HANDS = Direction.values().length;
+    private static final int DEALS_PER_CHUNK = 4096;
+
+    private final ExecutorService executorService;
+
+    public DealGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public DealGenerator(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public PackedDeals generate(int numberOfDeals, DealConstraint constraint, long seed) {
+        long[] hands = new long[numberOfDeals * NUMBER_OF_HANDS];
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int first = 0; first < numberOfDeals; first += DEALS_PER_CHUNK) {
+            int start = first;
+            int end = Math.min(numberOfDeals, first + DEALS_PER_CHUNK);
+            BitmaskDealer dealer = new BitmaskDealer(random.split());
+            futures.add(this.executorService.submit(() -> dealChunk(dealer, constraint, hands, start, end)));
+        }
+        for (Future<?> future : futures) {
+            waitFor(future);
+        }
+        return new PackedDeals(hands);
+    }
+
+    private static void dealChunk(BitmaskDealer dealer, DealConstraint constraint, long[] hands, int start, int end) {
+        long[] handsOfDeal = new long[NUMBER_OF_HANDS];
+        for (int deal = start; deal < end; deal++) {
+            dealer.deal(handsOfDeal, constraint);
+            System.arraycopy(handsOfDeal, 0, hands, deal * NUMBER_OF_HANDS, NUMBER_OF_HANDS);
+        }
+    }
+
+    private static void waitFor(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating deals.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not generate deals.", e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package br.com.sbk.sbking.core.dealing;
+
+import static br.com.sbk.sbking.core.GameConstants.SIZE_OF_HAND;
+
+import java.math.BigInteger;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Direction;
+
+/**
+ * Numbers every possible deal from 0 to NUMBER_OF_DEALS - 1, as in Pavlicek's
+ * and Andrews' deal numbering: going from the Ace of Spades down, the deals
+ * where a card goes to North come first, then those where it goes to East, and
+ * so on, each group sized by the hands still to fill. A deal is then 96 bits,
+ * as good as its four hands.
+ */
+public final class DealNumbering {
+
+    private static final int NUMBER_OF_HANDS = Direction.values().length;
+
+    public static final BigInteger NUMBER_OF_DEALS = numberOfDeals();
+
+    private DealNumbering() {
+    }
+
+    private static BigInteger numberOfDeals() {
+        BigInteger deals = BigInteger.ONE;
+        for (int cards = 1; cards <= Card.NUMBER_OF_CARDS; cards++) {
+            deals = deals.multiply(BigInteger.valueOf(cards));
+        }
+        BigInteger handOrderings = BigInteger.ONE;
+        for (int cards = 1; cards <= SIZE_OF_HAND; cards++) {
+            handOrderings = handOrderings.multiply(BigInteger.valueOf(cards));
+        }
+        return deals.divide(handOrderings.pow(NUMBER_OF_HANDS));
+    }
+
+    /**
+     * The card masks of the four hands of the deal, indexed by the ordinal of
+     * their direction.
+     */
+    public static long[] handsOf(BigInteger dealNumber) {
+        if (dealNumber.signum() < 0 || dealNumber.compareTo(NUMBER_OF_DEALS) >= 0) {
+            throw new IllegalArgumentException("There is no deal number " + dealNumber);
+        }
+        long[] hands = new long[NUMBER_OF_HANDS];
+        int[] vacancies = fullVacancies();
+        BigInteger remainingNumber = dealNumber;
+        BigInteger dealsOfRemainingCards = NUMBER_OF_DEALS;
+        for (int card = Card.NUMBER_OF_CARDS - 1; card >= 0; card--) {
+            BigInteger remainingCards = BigInteger.valueOf(card + 1);
+            for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+                BigInteger dealsWithCardInHand = dealsOfRemainingCards.multiply(BigInteger.valueOf(vacancies[hand]))
+                        .divide(remainingCards);
+                if (remainingNumber.compareTo(dealsWithCardInHand) < 0) {
+                    hands[hand] |= 1L << card;
+                    vacancies[hand]--;
+                    dealsOfRemainingCards = dealsWithCardInHand;
+                    break;
+                }
+                remainingNumber = remainingNumber.subtract(dealsWithCardInHand);
+            }
+        }
+        return hands;
+    }
+
+    /**
+     * The number of the deal of the four hands, indexed by the ordinal of their
+     * direction.
+     */
+    public static BigInteger numberOf(long[] hands) {
+        int[] vacancies = fullVacancies();
+        BigInteger dealNumber = BigInteger.ZERO;
+        BigInteger dealsOfRemainingCards = NUMBER_OF_DEALS;
+        for (int card = Card.NUMBER_OF_CARDS - 1; card >= 0; card--) {
+            BigInteger remainingCards = BigInteger.valueOf(card + 1);
+            for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+                BigInteger dealsWithCardInHand = dealsOfRemainingCards.multiply(BigInteger.valueOf(vacancies[hand]))
+                        .divide(remainingCards);
+                if ((hands[hand] & (1L << card)) != 0) {
+                    vacancies[hand]--;
+                    dealsOfRemainingCards = dealsWithCardInHand;
+                    break;
+                }
+                dealNumber = dealNumber.add(dealsWithCardInHand);
+            }
+        }
+        return dealNumber;
+    }
+
+    private static int[] fullVacancies() {
+        int[] vacancies = new int[NUMBER_OF_HANDS];
+        for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+            vacancies[hand] = SIZE_OF_HAND;
+        }
+        return vacancies;
+    }
+
+}
@@ -0,0 +1,55 @@
+package br.com.sbk.sbking.core.dealing;
+
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.BoardDealer;
+import br.com.sbk.sbking.core.Direction;
+
+/**
+ * Deals the boards of a seed by their number, so any table given the same seed
+ * and board number deals the same board, and a board can be kept or sent as
+ * its deal number alone. Boards are numbered from 1, and dealBoard deals them
+ * one after the other.
+ */
+public class NumberedBoardDealer implements BoardDealer {
+
+    private static final long BOARD_NUMBER_MULTIPLIER = 0xD1B54A32D192ED03L;
+    private static final int BITS_OF_A_LONG = 64;
+
+    private final long seed;
+    private int nextBoardNumber = 1;
+
+    public NumberedBoardDealer(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public Board dealBoard(Direction dealer) {
+        return this.dealBoard(this.nextBoardNumber++, dealer);
+    }
+
+    public Board dealBoard(int boardNumber, Direction dealer) {
+        return BitmaskDealer.toBoard(DealNumbering.handsOf(this.getDealNumber(boardNumber)), dealer);
+    }
+
+    /**
+     * A deal number drawn uniformly from the seed and the board number alone.
+     */
+    public BigInteger getDealNumber(int boardNumber) {
+        SplittableRandom random = new SplittableRandom(this.seed + boardNumber * BOARD_NUMBER_MULTIPLIER);
+        BigInteger dealNumber;
+        do {
+            BigInteger highBits = BigInteger.valueOf(random.nextInt() & 0xFFFFFFFFL);
+            BigInteger lowBits = new BigInteger(Long.toUnsignedString(random.nextLong()));
+            dealNumber = highBits.shiftLeft(BITS_OF_A_LONG).or(lowBits);
+        } while (dealNumber.compareTo(DealNumbering.NUMBER_OF_DEALS) >= 0);
+        return dealNumber;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+}
@@ -0,0 +1,34 @@
+package br.com.sbk.sbking.core.dealing;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Direction;
+
+/**
+ * Deals kept as the card masks of their four hands, one after the other, so
+ * millions of them fit in a single array. A Board is only built when asked.
+ */
+public final class PackedDeals {
+
+    private static final int NUMBER_OF_HANDS = Direction.values().length;
+
+    private final long[] hands;
+
+    PackedDeals(long[] hands) {
+        this.hands = hands;
+    }
+
+    public int size() {
+        return this.hands.length / NUMBER_OF_HANDS;
+    }
+
+    public long getHandOf(int deal, Direction direction) {
+        return this.hands[deal * NUMBER_OF_HANDS + direction.ordinal()];
+    }
+
+    public Board getBoard(int deal, Direction dealer) {
+        long[] handsOfDeal = new long[NUMBER_OF_HANDS];
+        System.arraycopy(this.hands, deal * NUMBER_OF_HANDS, handsOfDeal, 0, NUMBER_OF_HANDS);
+        return BitmaskDealer.toBoard(handsOfDeal, dealer);
+    }
+
+}
@@ -0,0 +1,115 @@
+package br.com.sbk.sbking.core.dealing;
+
+import static br.com.sbk.sbking.core.GameConstants.SIZE_OF_HAND;
+
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Suit;
+
+/**
+ * The HCP, suit lengths and shape one seat must have. Every bound starts open
+ * and is narrowed by the with methods.
+ */
+public final class SeatConstraint implements DealConstraint {
+
+    private static final int MAXIMUM_HCP = 37;
+    private static final int BITS_PER_SHAPE_COUNT = 4;
+    private static final long ANY_SHAPE = -1;
+
+    private final int seat;
+    private int minimumHCP = 0;
+    private int maximumHCP = MAXIMUM_HCP;
+    private final long[] suitMasks = new long[Suit.values().length];
+    private final int[] minimumLengths = new int[Suit.values().length];
+    private final int[] maximumLengths = new int[Suit.values().length];
+    /** One count of suits per length, so suit order does not matter. */
+    private long shape = ANY_SHAPE;
+
+    public SeatConstraint(Direction seat) {
+        this.seat = seat.ordinal();
+        for (Suit suit : Suit.values()) {
+            this.suitMasks[suit.ordinal()] = Hand.suitMaskOf(suit);
+            this.maximumLengths[suit.ordinal()] = SIZE_OF_HAND;
+        }
+    }
+
+    public SeatConstraint withHCP(int minimumHCP, int maximumHCP) {
+        this.minimumHCP = minimumHCP;
+        this.maximumHCP = maximumHCP;
+        return this;
+    }
+
+    public SeatConstraint withMinimumHCP(int minimumHCP) {
+        this.minimumHCP = minimumHCP;
+        return this;
+    }
+
+    public SeatConstraint withSuitLength(Suit suit, int minimumLength, int maximumLength) {
+        this.minimumLengths[suit.ordinal()] = minimumLength;
+        this.maximumLengths[suit.ordinal()] = maximumLength;
+        return this;
+    }
+
+    /**
+     * At least this many cards in every suit.
+     */
+    public SeatConstraint withShortestSuitLength(int minimumLength) {
+        for (Suit suit : Suit.values()) {
+            this.minimumLengths[suit.ordinal()] = Math.max(this.minimumLengths[suit.ordinal()], minimumLength);
+        }
+        return this;
+    }
+
+    /**
+     * Suit lengths in any order of suits, such as 4, 4, 3, 2 for any 4-4-3-2.
+     */
+    public SeatConstraint withShape(int... lengths) {
+        int numberOfCards = 0;
+        long shape = 0;
+        for (int length : lengths) {
+            numberOfCards += length;
+            shape += shapeCountOf(length);
+        }
+        if (lengths.length != Suit.values().length || numberOfCards != SIZE_OF_HAND) {
+            throw new IllegalArgumentException("A shape needs one length per suit adding up to a hand.");
+        }
+        this.shape = shape;
+        return this;
+    }
+
+    @Override
+    public boolean accepts(long[] hands) {
+        return this.acceptsHandOfSeat(hands[this.seat]);
+    }
+
+    @Override
+    public boolean acceptsHand(int seat, long hand) {
+        return seat != this.seat || this.acceptsHandOfSeat(hand);
+    }
+
+    @Override
+    public int getFirstSeatToDeal() {
+        return this.seat;
+    }
+
+    private boolean acceptsHandOfSeat(long hand) {
+        int hcp = Hand.hcpOf(hand);
+        if (hcp < this.minimumHCP || hcp > this.maximumHCP) {
+            return false;
+        }
+        long shape = 0;
+        for (int suit = 0; suit < this.suitMasks.length; suit++) {
+            int length = Long.bitCount(hand & this.suitMasks[suit]);
+            if (length < this.minimumLengths[suit] || length > this.maximumLengths[suit]) {
+                return false;
+            }
+            shape += shapeCountOf(length);
+        }
+        return this.shape == ANY_SHAPE || this.shape == shape;
+    }
+
+    private static long shapeCountOf(int length) {
+        return 1L << (length * BITS_PER_SHAPE_COUNT);
+    }
+
+}
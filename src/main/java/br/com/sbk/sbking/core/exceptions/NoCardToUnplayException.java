@@ -0,0 +1,10 @@
+package br.com.sbk.sbking.core.exceptions;
+
+@SuppressWarnings("serial")
+public class NoCardToUnplayException extends RuntimeException {
+
+    public NoCardToUnplayException() {
+        super("No card was played in this deal yet.");
+    }
+
+}
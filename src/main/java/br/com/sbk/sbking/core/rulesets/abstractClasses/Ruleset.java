@@ -5,6 +5,7 @@ import java.io.Serializable;
 import br.com.sbk.sbking.core.Card;
 import br.com.sbk.sbking.core.Direction;
 import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Suit;
 import br.com.sbk.sbking.core.Trick;
 import br.com.sbk.sbking.core.rulesets.interfaces.Descriptionable;
 import br.com.sbk.sbking.core.rulesets.interfaces.HeartsProhibitable;
@@ -35,6 +36,11 @@ public abstract class Ruleset
         return winnable.getWinner(trick);
     }
 
+    @Override
+    public Suit getTrumpSuit() {
+        return winnable.getTrumpSuit();
+    }
+
     @Override
     public int hashCode() {
         return this.getClass().hashCode();
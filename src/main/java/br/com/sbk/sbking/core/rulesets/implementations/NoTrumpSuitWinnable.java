@@ -3,6 +3,7 @@ package br.com.sbk.sbking.core.rulesets.implementations;
 import java.io.Serializable;
 
 import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Suit;
 import br.com.sbk.sbking.core.Trick;
 import br.com.sbk.sbking.core.rulesets.interfaces.Winnable;
 
@@ -14,4 +15,9 @@ public class NoTrumpSuitWinnable implements Winnable, Serializable {
         return trick.getWinnerWithoutTrumpSuit();
     }
 
+    @Override
+    public Suit getTrumpSuit() {
+        return null;
+    }
+
 }
@@ -21,4 +21,9 @@ public class TrumpSuitWinnable implements Winnable, Serializable {
         return trick.getWinnerWithTrumpSuit(this.trumpSuit);
     }
 
+    @Override
+    public Suit getTrumpSuit() {
+        return this.trumpSuit;
+    }
+
 }
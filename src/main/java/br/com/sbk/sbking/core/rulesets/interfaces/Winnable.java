@@ -1,10 +1,16 @@
 package br.com.sbk.sbking.core.rulesets.interfaces;
 
 import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Suit;
 import br.com.sbk.sbking.core.Trick;
 
 public interface Winnable {
 
     Direction getWinner(Trick trick);
 
+    /**
+     * The suit that wins over the lead suit, or null when there is none.
+     */
+    Suit getTrumpSuit();
+
 }
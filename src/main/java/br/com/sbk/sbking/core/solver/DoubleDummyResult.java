@@ -0,0 +1,43 @@
+package br.com.sbk.sbking.core.solver;
+
+import java.util.Collections;
+import java.util.List;
+
+import br.com.sbk.sbking.core.Card;
+
+/**
+ * The points each partnership ends the deal with when every player plays
+ * perfectly seeing all hands: tricks for positive rulesets and penalty points
+ * for negative ones. Also holds the cards the player on turn can play to get
+ * there.
+ */
+public class DoubleDummyResult {
+
+    private final int northSouthPoints;
+    private final int eastWestPoints;
+    private final List<Card> bestCards;
+
+    public DoubleDummyResult(int northSouthPoints, int eastWestPoints, List<Card> bestCards) {
+        this.northSouthPoints = northSouthPoints;
+        this.eastWestPoints = eastWestPoints;
+        this.bestCards = Collections.unmodifiableList(bestCards);
+    }
+
+    public int getNorthSouthPoints() {
+        return this.northSouthPoints;
+    }
+
+    public int getEastWestPoints() {
+        return this.eastWestPoints;
+    }
+
+    public List<Card> getBestCards() {
+        return this.bestCards;
+    }
+
+    @Override
+    public String toString() {
+        return "NS " + this.northSouthPoints + " EW " + this.eastWestPoints + " playing any of " + this.bestCards;
+    }
+
+}
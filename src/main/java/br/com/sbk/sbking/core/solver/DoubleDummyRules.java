@@ -0,0 +1,112 @@
+package br.com.sbk.sbking.core.solver;
+
+import static br.com.sbk.sbking.core.GameConstants.NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+
+/**
+ * What a search needs to know of a ruleset, read once. The points of a trick
+ * are split into a part for the trick itself, which may depend on it being one
+ * of the last two, and a part for each of its cards, both measured with the
+ * ruleset's getPoints. That holds for every ruleset of the game; the searches
+ * also assume the default rule of following the lead suit when possible.
+ */
+final class DoubleDummyRules {
+
+    static final int LAST_TWO_TRICKS_START = NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND - 2;
+    static final int CARDS_PER_SUIT = 13;
+
+    final boolean negative;
+    final boolean prohibitsHearts;
+    final long heartsMask;
+    final long trumpMask;
+    final int[] pointsOfCard = new int[Card.NUMBER_OF_CARDS];
+    final long[] suitMaskOfCard = new long[Card.NUMBER_OF_CARDS];
+    final long[] suitMasks = new long[Suit.values().length];
+    final boolean[] uniformSuits = new boolean[Suit.values().length];
+    private final int[] pointsOfEachCardOfSuit = new int[Suit.values().length];
+    private final int[] pointsOfTricksBefore = new int[NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND + 1];
+    final long pointCards;
+    final int pointsOfTrick;
+    final int pointsOfLastTwoTrick;
+    final boolean countsOnlyTricks;
+
+    DoubleDummyRules(Ruleset ruleset) {
+        this.negative = ruleset.isNegative();
+        this.prohibitsHearts = ruleset.prohibitsHeartsUntilOnlySuitLeft();
+        this.heartsMask = Hand.suitMaskOf(Suit.HEARTS);
+        Suit trumpSuit = ruleset.getTrumpSuit();
+        this.trumpMask = trumpSuit == null ? 0 : Hand.suitMaskOf(trumpSuit);
+
+        Trick emptyTrick = new Trick(Direction.NORTH);
+        this.pointsOfTrick = ruleset.getPoints(emptyTrick);
+        Trick emptyLastTwoTrick = new Trick(Direction.NORTH);
+        emptyLastTwoTrick.setLastTwo();
+        this.pointsOfLastTwoTrick = ruleset.getPoints(emptyLastTwoTrick);
+
+        long pointCards = 0;
+        for (int index = 0; index < Card.NUMBER_OF_CARDS; index++) {
+            Card card = Card.byIndex(index);
+            Trick probe = new Trick(Direction.NORTH);
+            probe.addCard(card);
+            this.pointsOfCard[index] = ruleset.getPoints(probe) - this.pointsOfTrick;
+            this.suitMaskOfCard[index] = Hand.suitMaskOf(card.getSuit());
+            if (this.pointsOfCard[index] != 0) {
+                pointCards |= 1L << index;
+            }
+        }
+        this.pointCards = pointCards;
+        this.countsOnlyTricks = pointCards == 0 && this.pointsOfTrick == this.pointsOfLastTwoTrick;
+
+        for (Suit suit : Suit.values()) {
+            this.suitMasks[suit.ordinal()] = Hand.suitMaskOf(suit);
+            boolean uniform = true;
+            int first = suit.ordinal() * CARDS_PER_SUIT;
+            for (int index = first + 1; index < first + CARDS_PER_SUIT; index++) {
+                uniform &= this.pointsOfCard[index] == this.pointsOfCard[first];
+            }
+            this.uniformSuits[suit.ordinal()] = uniform;
+            this.pointsOfEachCardOfSuit[suit.ordinal()] = uniform ? this.pointsOfCard[first] : 0;
+        }
+
+        for (int trickNumber = 0; trickNumber < NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND; trickNumber++) {
+            this.pointsOfTricksBefore[trickNumber + 1] = this.pointsOfTricksBefore[trickNumber] + this.pointsOfTrick(trickNumber);
+        }
+    }
+
+    /**
+     * Suits whose cards are all worth the same are counted at once.
+     */
+    int pointsOfCards(long cards) {
+        int points = 0;
+        for (int suit = 0; suit < this.suitMasks.length; suit++) {
+            long cardsOfSuit = cards & this.suitMasks[suit] & this.pointCards;
+            if (this.uniformSuits[suit]) {
+                points += Long.bitCount(cardsOfSuit) * this.pointsOfEachCardOfSuit[suit];
+                continue;
+            }
+            for (long remaining = cardsOfSuit; remaining != 0; remaining &= remaining - 1) {
+                points += this.pointsOfCard[Long.numberOfTrailingZeros(remaining)];
+            }
+        }
+        return points;
+    }
+
+    /**
+     * The points of the tricks themselves from the first trick given, of a
+     * complete hand, on.
+     */
+    int pointsOfTricks(int firstTrick, int numberOfTricks) {
+        return this.pointsOfTricksBefore[firstTrick + numberOfTricks] - this.pointsOfTricksBefore[firstTrick];
+    }
+
+    int pointsOfTrick(int trickNumber) {
+        return trickNumber >= LAST_TWO_TRICKS_START ? this.pointsOfLastTwoTrick : this.pointsOfTrick;
+    }
+
+}
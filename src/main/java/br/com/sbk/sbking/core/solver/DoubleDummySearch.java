@@ -0,0 +1,912 @@
+package br.com.sbk.sbking.core.solver;
+
+import static br.com.sbk.sbking.core.GameConstants.COMPLETE_TRICK_NUMBER_OF_CARDS;
+import static br.com.sbk.sbking.core.GameConstants.NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND;
+import static br.com.sbk.sbking.core.solver.DoubleDummyRules.CARDS_PER_SUIT;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+
+/**
+ * A single-threaded double dummy search over bit masks of the four hands. It
+ * answers whether North-South can still take at least a target of points with
+ * zero-window searches and finds the exact value by bisecting the target. The
+ * bounds found for each position at the start of a trick are kept in a
+ * transposition table, where suits whose cards are all worth the same have
+ * their ranks renumbered over the live cards only, so positions that differ
+ * only by the small cards already played share an entry. Before the table,
+ * the tricks each side is sure of, or cannot do without, often settle a
+ * target on their own.
+ *
+ * Cards of the same suit and points with no live card between them play the
+ * same and are searched once, and moves are tried in an order that usually
+ * proves a result early: cheap winners when winning helps, ducks otherwise.
+ */
+final class DoubleDummySearch {
+
+    private static final int NUMBER_OF_HANDS = Direction.values().length;
+    private static final int MAXIMUM_DEPTH = Card.NUMBER_OF_CARDS + 1;
+    private static final int MAXIMUM_TRANSPOSITION_TABLE_LOG2_ENTRIES = 21;
+    private static final int TRANSPOSITION_TABLE_LOG2_ENTRIES_PER_TRICK = 2;
+    private static final int BITS_PER_OWNER = 2;
+    private static final int BITS_PER_SUIT_PATTERN = CARDS_PER_SUIT * BITS_PER_OWNER;
+    private static final int SUIT_BITS = (1 << CARDS_PER_SUIT) - 1;
+    private static final int PART_BITS = 7;
+    private static final int PART_MASK = (1 << PART_BITS) - 1;
+    /** The bits of a part of a suit picked by a mask of the same part, packed from the bottom. */
+    private static final byte[][] PICKED_BITS = new byte[1 << PART_BITS][1 << PART_BITS];
+    /** The bits of a part of a suit moved to the even positions. */
+    private static final short[] SPREAD_BITS = new short[1 << PART_BITS];
+    private static final int REACHED = 1;
+    private static final int NOT_REACHED = 0;
+    private static final int UNKNOWN = -1;
+    private static final int FIRST_CHOICE = 300;
+    private static final int SECOND_CHOICE = 200;
+    private static final int LAST_CHOICE = 100;
+
+    static {
+        for (int mask = 0; mask <= PART_MASK; mask++) {
+            for (int bits = 0; bits <= PART_MASK; bits++) {
+                int picked = 0;
+                int position = 0;
+                for (int bit = 0; bit < PART_BITS; bit++) {
+                    if ((mask >>> bit & 1) != 0) {
+                        picked |= (bits >>> bit & 1) << position++;
+                    }
+                }
+                PICKED_BITS[mask][bits] = (byte) picked;
+            }
+        }
+        for (int bits = 0; bits <= PART_MASK; bits++) {
+            for (int bit = 0; bit < PART_BITS; bit++) {
+                SPREAD_BITS[bits] |= (bits >>> bit & 1) << (bit * BITS_PER_OWNER);
+            }
+        }
+    }
+
+    private final DoubleDummyRules rules;
+    private final long[] hands = new long[NUMBER_OF_HANDS];
+    private final int[] playedCards = new int[Card.NUMBER_OF_CARDS];
+    /** For each card played, the offset in its trick of the card winning it so far. */
+    private final int[] winningOffsets = new int[Card.NUMBER_OF_CARDS];
+    private int trickSize;
+    /** The cards in hand or in the current trick. */
+    private long liveCards;
+    private int leader;
+    private int completedTricks;
+
+    private final int transpositionTableLog2Entries;
+    /** Made on the first search, as a search only asked for its moves never needs one. */
+    private TranspositionTable transpositionTable;
+    private final long[][] keysByTrick = new long[NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND][NUMBER_OF_HANDS];
+    private final long[][] patternsByTrick = new long[NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND][TranspositionTable.NUMBER_OF_SUITS];
+    private final int[] topCards = new int[TranspositionTable.NUMBER_OF_SUITS];
+    private long relevantCards;
+    private long winningRank;
+    private long equivalentMoves;
+    private final int[][] movesByDepth = new int[MAXIMUM_DEPTH][CARDS_PER_SUIT];
+    private final int[][] scoresByDepth = new int[MAXIMUM_DEPTH][CARDS_PER_SUIT];
+    private final int[] sureTricksBySide = new int[2];
+    private final long[] sureCardsBySide = new long[2];
+
+    DoubleDummySearch(DoubleDummyRules rules, Deal deal) {
+        this.rules = rules;
+        for (Direction direction : Direction.values()) {
+            this.hands[direction.ordinal()] = deal.getHandOf(direction).getCardMask();
+        }
+        int[] cardsOfCurrentTrick = DoubleDummySolver.trickCardsOf(deal);
+        this.trickSize = cardsOfCurrentTrick.length;
+        this.leader = deal.getCurrentPlayer().ordinal() + NUMBER_OF_HANDS - this.trickSize;
+        this.leader %= NUMBER_OF_HANDS;
+        this.completedTricks = deal.getCompletedTricks();
+        int firstPosition = this.completedTricks * COMPLETE_TRICK_NUMBER_OF_CARDS;
+        System.arraycopy(cardsOfCurrentTrick, 0, this.playedCards, firstPosition, this.trickSize);
+        for (int offset = 1; offset < this.trickSize; offset++) {
+            int winningOffset = this.winningOffsets[firstPosition + offset - 1];
+            boolean beats = this.beats(cardsOfCurrentTrick[offset], cardsOfCurrentTrick[winningOffset]);
+            this.winningOffsets[firstPosition + offset] = beats ? offset : winningOffset;
+        }
+        this.liveCards = this.hands[0] | this.hands[1] | this.hands[2] | this.hands[3];
+        for (int card : cardsOfCurrentTrick) {
+            this.liveCards |= 1L << card;
+        }
+        int remainingTricks = (Long.bitCount(this.liveCards) + COMPLETE_TRICK_NUMBER_OF_CARDS - 1) / COMPLETE_TRICK_NUMBER_OF_CARDS;
+        this.transpositionTableLog2Entries = transpositionTableLog2EntriesFor(remainingTricks);
+    }
+
+    /**
+     * The positions to keep grow about fourfold with each trick left, so a
+     * search of the last few tricks does not pay for a table sized for a whole
+     * deal.
+     */
+    private static int transpositionTableLog2EntriesFor(int remainingTricks) {
+        return Math.min(MAXIMUM_TRANSPOSITION_TABLE_LOG2_ENTRIES, remainingTricks * TRANSPOSITION_TABLE_LOG2_ENTRIES_PER_TRICK);
+    }
+
+    boolean isMaximizing() {
+        return this.isMaximizing(this.currentPlayer());
+    }
+
+    private boolean isMaximizing(int player) {
+        return isNorthSouth(player) != this.rules.negative;
+    }
+
+    private static boolean isNorthSouth(int player) {
+        return (player & 1) == 0;
+    }
+
+    private int currentPlayer() {
+        return (this.leader + this.trickSize) % NUMBER_OF_HANDS;
+    }
+
+    /**
+     * The points North-South take from here with perfect play once the card is
+     * played, counting those of the trick it is in, when known to lie between
+     * lowest and highest. The position is left as it was, so the bounds learnt
+     * for one card serve the next.
+     */
+    int solveAfter(int card, int lowest, int highest) {
+        this.makeTranspositionTable();
+        int player = this.currentPlayer();
+        int previousLeader = this.leader;
+        int pointsOfCard = this.play(card, player);
+        int lowestFromThere = Math.max(0, lowest - pointsOfCard);
+        int highestFromThere = Math.min(this.getMaximumRemainingPoints(), highest - pointsOfCard);
+        while (lowestFromThere < highestFromThere) {
+            int target = (lowestFromThere + highestFromThere + 1) / 2;
+            if (this.reaches(target)) {
+                lowestFromThere = target;
+            } else {
+                highestFromThere = target - 1;
+            }
+        }
+        this.unplay(card, player, previousLeader);
+        return pointsOfCard + lowestFromThere;
+    }
+
+    /**
+     * Whether North-South take at least the target of the points from here
+     * once the card is played.
+     */
+    boolean reachesAfter(int card, int target) {
+        this.makeTranspositionTable();
+        int player = this.currentPlayer();
+        int previousLeader = this.leader;
+        int pointsOfCard = this.play(card, player);
+        boolean reached = this.reaches(target - pointsOfCard);
+        this.unplay(card, player, previousLeader);
+        return reached;
+    }
+
+    private void makeTranspositionTable() {
+        if (this.transpositionTable == null) {
+            this.transpositionTable = new TranspositionTable(this.transpositionTableLog2Entries);
+        }
+    }
+
+    /**
+     * Plays the card, returning the points North-South take if it completes a
+     * trick.
+     */
+    private int play(int card, int player) {
+        this.hands[player] &= ~(1L << card);
+        int position = this.completedTricks * COMPLETE_TRICK_NUMBER_OF_CARDS + this.trickSize;
+        this.playedCards[position] = card;
+        if (this.trickSize == 0) {
+            this.winningOffsets[position] = 0;
+        } else {
+            int winningOffset = this.winningOffsets[position - 1];
+            this.winningOffsets[position] = this.beats(card, this.trickCard(winningOffset)) ? this.trickSize : winningOffset;
+        }
+        this.trickSize++;
+        this.winningRank = 0;
+        if (this.trickSize < COMPLETE_TRICK_NUMBER_OF_CARDS) {
+            return 0;
+        }
+        int winningOffset = this.winningOffset();
+        int winningCard = this.trickCard(winningOffset);
+        for (int i = 0; i < COMPLETE_TRICK_NUMBER_OF_CARDS; i++) {
+            if (i != winningOffset && this.rules.suitMaskOfCard[this.trickCard(i)] == this.rules.suitMaskOfCard[winningCard]) {
+                this.winningRank = 1L << winningCard;
+            }
+        }
+        int winner = (this.leader + winningOffset) % NUMBER_OF_HANDS;
+        int points = isNorthSouth(winner) ? this.pointsOfCompleteTrick() : 0;
+        this.leader = winner;
+        for (int i = 0; i < COMPLETE_TRICK_NUMBER_OF_CARDS; i++) {
+            this.liveCards &= ~(1L << this.trickCard(i));
+        }
+        this.completedTricks++;
+        this.trickSize = 0;
+        return points;
+    }
+
+    private void unplay(int card, int player, int previousLeader) {
+        if (this.trickSize == 0) {
+            this.completedTricks--;
+            this.trickSize = COMPLETE_TRICK_NUMBER_OF_CARDS;
+            this.leader = previousLeader;
+            for (int i = 0; i < COMPLETE_TRICK_NUMBER_OF_CARDS; i++) {
+                this.liveCards |= 1L << this.trickCard(i);
+            }
+        }
+        this.trickSize--;
+        this.hands[player] |= 1L << card;
+    }
+
+    /**
+     * All the points still to be taken, including those of the current trick.
+     */
+    int getMaximumRemainingPoints() {
+        long cards = this.liveCards;
+        int remainingTricks = Long.bitCount(cards) / COMPLETE_TRICK_NUMBER_OF_CARDS;
+        return this.rules.pointsOfCards(cards) + this.rules.pointsOfTricks(this.completedTricks, remainingTricks);
+    }
+
+    /**
+     * Whether North-South take at least the target of the points still to
+     * play, the current trick included.
+     */
+    private boolean reaches(int target) {
+        if (this.trickSize > 0) {
+            return this.searchMoves(target);
+        }
+        int known = this.lookUp(target);
+        if (known != UNKNOWN) {
+            return known == REACHED;
+        }
+        return this.searchAndStore(target);
+    }
+
+    /**
+     * Searches a position at the start of a trick whose key is computed,
+     * keeping the bounds learnt in the transposition table.
+     */
+    private boolean searchAndStore(int target) {
+        long[] key = this.keysByTrick[this.completedTricks];
+        long[] pattern = this.patternsByTrick[this.completedTricks];
+        boolean reached = this.searchMoves(target);
+        long relevantCards = this.relevantCards;
+        this.computeTopCards(relevantCards);
+        if (reached) {
+            this.transpositionTable.store(key, this.leader, pattern, this.topCards, target, this.getMaximumRemainingPoints());
+        } else {
+            this.transpositionTable.store(key, this.leader, pattern, this.topCards, 0, target - 1);
+        }
+        this.relevantCards = relevantCards;
+        return reached;
+    }
+
+    /**
+     * Whether North-South take at least the target from the start of a trick
+     * as far as it is known without searching, leaving the key of the position
+     * computed when it is not.
+     */
+    private int lookUp(int target) {
+        this.relevantCards = 0;
+        if (target <= 0) {
+            return REACHED;
+        }
+        int remaining = this.getMaximumRemainingPoints();
+        if (target > remaining) {
+            return NOT_REACHED;
+        }
+        if (this.rules.countsOnlyTricks) {
+            int known = this.knownFromSureTricks(target, remaining);
+            if (known != UNKNOWN) {
+                return known;
+            }
+        }
+        if (this.rules.negative && (this.liveCards & this.rules.trumpMask) == 0) {
+            int known = this.knownFromForcedTricks(target, remaining);
+            if (known != UNKNOWN) {
+                return known;
+            }
+        }
+        long[] key = this.keysByTrick[this.completedTricks];
+        long[] pattern = this.patternsByTrick[this.completedTricks];
+        this.computeKey(key, pattern);
+        int entry = this.transpositionTable.findCutoff(key, this.leader, pattern, target);
+        if (entry < 0) {
+            return UNKNOWN;
+        }
+        this.relevantCards = this.cardsOfTopCardsFound();
+        return this.transpositionTable.getLowerBound(entry) >= target ? REACHED : NOT_REACHED;
+    }
+
+    /**
+     * Whether North-South take at least the target as far as the tricks each
+     * side is sure of tell: those the leader's side can cash at once under a
+     * positive ruleset, and under any ruleset those each side's top trumps win
+     * whenever they are played. The cards counted are the relevant ones.
+     */
+    private int knownFromSureTricks(int target, int remaining) {
+        int leaderSide = this.leader & 1;
+        int[] sureTricks = this.sureTricksBySide;
+        long[] sureCards = this.sureCardsBySide;
+        for (int side = 0; side < 2; side++) {
+            sureTricks[side] = 0;
+            sureCards[side] = 0;
+            if (this.rules.trumpMask != 0) {
+                for (int hand = side; hand < NUMBER_OF_HANDS; hand += 2) {
+                    long trumps = this.sureTrumpsOf(hand);
+                    if (Long.bitCount(trumps) > sureTricks[side]) {
+                        sureTricks[side] = Long.bitCount(trumps);
+                        sureCards[side] = this.relevantCards;
+                    }
+                }
+            }
+        }
+        if (!this.rules.negative) {
+            int quickTricks = this.quickTricksOfLeader();
+            if (quickTricks > sureTricks[leaderSide]) {
+                sureTricks[leaderSide] = quickTricks;
+                sureCards[leaderSide] = this.relevantCards;
+            }
+        }
+        if (target <= sureTricks[0] * this.rules.pointsOfTrick) {
+            this.relevantCards = sureCards[0];
+            return REACHED;
+        }
+        if (target > remaining - sureTricks[1] * this.rules.pointsOfTrick) {
+            this.relevantCards = sureCards[1];
+            return NOT_REACHED;
+        }
+        if (!this.rules.negative && (this.liveCards & this.rules.trumpMask) == 0) {
+            int remainingTricks = remaining / this.rules.pointsOfTrick;
+            if (target > remaining - this.rules.pointsOfTrick && this.mostTricksOnTop(0) < remainingTricks) {
+                return NOT_REACHED;
+            }
+            if (target <= this.rules.pointsOfTrick && this.mostTricksOnTop(1) < remainingTricks) {
+                return REACHED;
+            }
+        }
+        this.relevantCards = 0;
+        return UNKNOWN;
+    }
+
+    /**
+     * Whether North-South take at least the target as far as the tricks each
+     * side cannot avoid under a negative ruleset with no trumps tell. The
+     * leader's side takes the trick when every card the leader may lead is
+     * above the opponents' cards of its suit, and every trick left when that
+     * holds for all its cards; the other side takes it when the leader can
+     * lead a suit one of its hands must win, holding only cards of it above
+     * the leader's side's. Each counts the fewest points the trick can hold.
+     * The cards counted are the relevant ones.
+     */
+    private int knownFromForcedTricks(int target, int remaining) {
+        int leaderSide = this.leader & 1;
+        int[] forcedPoints = this.sureTricksBySide;
+        long[] forcedCards = this.sureCardsBySide;
+        forcedPoints[0] = 0;
+        forcedPoints[1] = 0;
+        long leaderSideCards = this.hands[this.leader] | this.hands[(this.leader + 2) % NUMBER_OF_HANDS];
+        long opponentsCards = this.hands[(this.leader + 1) % NUMBER_OF_HANDS] | this.hands[(this.leader + 3) % NUMBER_OF_HANDS];
+        long legalLeads = this.legalMoves();
+        long unbeatable = this.cardsAbove(leaderSideCards, opponentsCards);
+        if (unbeatable == leaderSideCards) {
+            forcedPoints[leaderSide] = remaining;
+            forcedCards[leaderSide] = leaderSideCards | this.relevantCards;
+        } else if ((legalLeads & ~unbeatable) == 0) {
+            int fewestPoints = Integer.MAX_VALUE;
+            for (long leads = legalLeads; leads != 0; leads &= leads - 1) {
+                fewestPoints = Math.min(fewestPoints, this.fewestPointsOfTrickLedWith(Long.numberOfTrailingZeros(leads)));
+            }
+            this.cardsAbove(legalLeads, opponentsCards);
+            forcedPoints[leaderSide] = fewestPoints;
+            forcedCards[leaderSide] = legalLeads | this.relevantCards;
+        }
+        for (long suitMask : this.rules.suitMasks) {
+            long leadsOfSuit = legalLeads & suitMask;
+            if (leadsOfSuit == 0) {
+                continue;
+            }
+            long highestOfLeaderSide = Long.highestOneBit(leaderSideCards & suitMask);
+            for (int opponent = 1; opponent < NUMBER_OF_HANDS; opponent += 2) {
+                long cardsOfSuit = this.hands[(this.leader + opponent) % NUMBER_OF_HANDS] & suitMask;
+                if (cardsOfSuit == 0 || Long.lowestOneBit(cardsOfSuit) < highestOfLeaderSide) {
+                    continue;
+                }
+                int mostPoints = 0;
+                for (long leads = leadsOfSuit; leads != 0; leads &= leads - 1) {
+                    mostPoints = Math.max(mostPoints, this.fewestPointsOfTrickLedWith(Long.numberOfTrailingZeros(leads)));
+                }
+                if (mostPoints > forcedPoints[1 - leaderSide]) {
+                    forcedPoints[1 - leaderSide] = mostPoints;
+                    forcedCards[1 - leaderSide] = cardsOfSuit | highestOfLeaderSide;
+                }
+            }
+        }
+        if (target <= forcedPoints[0]) {
+            this.relevantCards = forcedCards[0];
+            return REACHED;
+        }
+        if (target > remaining - forcedPoints[1]) {
+            this.relevantCards = forcedCards[1];
+            return NOT_REACHED;
+        }
+        this.relevantCards = 0;
+        return UNKNOWN;
+    }
+
+    /**
+     * The cards above every card of the others in their suit, leaving in
+     * relevantCards the highest of the others in each suit.
+     */
+    private long cardsAbove(long cards, long others) {
+        long above = 0;
+        long highestOthers = 0;
+        for (long suitMask : this.rules.suitMasks) {
+            long highestOther = Long.highestOneBit(others & suitMask);
+            highestOthers |= highestOther;
+            above |= cards & suitMask & (highestOther == 0 ? -1L : -(highestOther << 1));
+        }
+        this.relevantCards = highestOthers;
+        return above;
+    }
+
+    /**
+     * The fewest points the trick can hold once the leader leads the card:
+     * each other hand follows suit with its cheapest card of it, or throws its
+     * cheapest card.
+     */
+    private int fewestPointsOfTrickLedWith(int card) {
+        int points = this.rules.pointsOfTrick(this.completedTricks) + this.rules.pointsOfCard[card];
+        long leadSuit = this.rules.suitMaskOfCard[card];
+        for (int i = 1; i < NUMBER_OF_HANDS; i++) {
+            long hand = this.hands[(this.leader + i) % NUMBER_OF_HANDS];
+            long cards = (hand & leadSuit) != 0 ? hand & leadSuit : hand;
+            if ((cards & ~this.rules.pointCards) != 0) {
+                continue;
+            }
+            int fewest = Integer.MAX_VALUE;
+            for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+                fewest = Math.min(fewest, this.rules.pointsOfCard[Long.numberOfTrailingZeros(remaining)]);
+            }
+            points += fewest;
+        }
+        return points;
+    }
+
+    /**
+     * With no trumps left, a side takes a trick only with the top card of the
+     * suit led at the time, and an opponent gives up a top card only when it
+     * must. So the side takes every trick left only if the suits it is on top
+     * of have as many rounds in one of its hands, which leaves in
+     * relevantCards the top card of each suit.
+     */
+    private int mostTricksOnTop(int side) {
+        int tricks = 0;
+        long topCards = 0;
+        for (long suitMask : this.rules.suitMasks) {
+            long topCard = Long.highestOneBit(this.liveCards & suitMask);
+            topCards |= topCard;
+            if (((this.hands[side] | this.hands[side + 2]) & topCard) != 0) {
+                tricks += Math.max(Long.bitCount(this.hands[side] & suitMask), Long.bitCount(this.hands[side + 2] & suitMask));
+            }
+        }
+        this.relevantCards = topCards;
+        return tricks;
+    }
+
+    /**
+     * The trumps of the hand above every trump of its opponents. Each wins the
+     * trick it is played to, or its partner's higher trump does, leaving in
+     * relevantCards those trumps and the opponents' highest.
+     */
+    private long sureTrumpsOf(int hand) {
+        long opponentsTrumps = (this.hands[(hand + 1) % NUMBER_OF_HANDS] | this.hands[(hand + 3) % NUMBER_OF_HANDS])
+                & this.rules.trumpMask;
+        long highestOpponentTrump = Long.highestOneBit(opponentsTrumps);
+        long trumps = this.hands[hand] & this.rules.trumpMask & (highestOpponentTrump == 0 ? -1L : -(highestOpponentTrump << 1));
+        this.relevantCards = trumps | highestOpponentTrump;
+        return trumps;
+    }
+
+    /**
+     * Tricks the leader's side can cash with the top cards of a suit, as long
+     * as no opponent can ruff them: the leader's own, then the partner's once
+     * reached with a small card of a suit the partner is on top of. Both count
+     * when the partner can follow or throw other cards while the leader cashes;
+     * otherwise only the larger of them does. The cards counted are the
+     * relevant ones.
+     */
+    private int quickTricksOfLeader() {
+        long hand = this.hands[this.leader];
+        long partner = this.hands[(this.leader + 2) % NUMBER_OF_HANDS];
+        long firstOpponent = this.hands[(this.leader + 1) % NUMBER_OF_HANDS];
+        long secondOpponent = this.hands[(this.leader + 3) % NUMBER_OF_HANDS];
+        boolean opponentsMayRuff = ((firstOpponent | secondOpponent) & this.rules.trumpMask) != 0;
+        long leaderTopCards = 0;
+        long partnerTopCards = 0;
+        long entries = 0;
+        int partnerFollows = 0;
+        for (long suitMask : this.rules.suitMasks) {
+            int maximumTopCards = CARDS_PER_SUIT;
+            if (opponentsMayRuff && suitMask != this.rules.trumpMask) {
+                maximumTopCards = Math.min(Long.bitCount(firstOpponent & suitMask), Long.bitCount(secondOpponent & suitMask));
+            }
+            long leaderTopCardsOfSuit = this.topCardsOf(hand, suitMask, maximumTopCards);
+            leaderTopCards |= leaderTopCardsOfSuit;
+            partnerFollows += Math.min(Long.bitCount(leaderTopCardsOfSuit), Long.bitCount(partner & suitMask));
+            long partnerTopCardsOfSuit = this.topCardsOf(partner, suitMask, maximumTopCards);
+            partnerTopCards |= partnerTopCardsOfSuit;
+            if (partnerTopCardsOfSuit != 0 && (hand & suitMask) != 0) {
+                entries |= suitMask;
+            }
+        }
+        int leaderQuickTricks = Long.bitCount(leaderTopCards);
+        int partnerQuickTricks = entries == 0 ? 0 : Long.bitCount(partnerTopCards);
+        int partnerDiscards = leaderQuickTricks - partnerFollows;
+        int partnerOtherCards = Long.bitCount(partner) - partnerQuickTricks - partnerFollows;
+        if (partnerQuickTricks > 0 && partnerDiscards <= partnerOtherCards) {
+            this.relevantCards = leaderTopCards | partnerTopCards;
+            return leaderQuickTricks + partnerQuickTricks;
+        }
+        this.relevantCards = leaderQuickTricks >= partnerQuickTricks ? leaderTopCards : partnerTopCards;
+        return Math.max(leaderQuickTricks, partnerQuickTricks);
+    }
+
+    private long topCardsOf(long hand, long suitMask, int maximumTopCards) {
+        long liveCardsOfSuit = this.liveCards & suitMask;
+        long topCards = 0;
+        for (int i = 0; i < maximumTopCards && (Long.highestOneBit(liveCardsOfSuit) & hand) != 0; i++) {
+            topCards |= Long.highestOneBit(liveCardsOfSuit);
+            liveCardsOfSuit &= ~Long.highestOneBit(liveCardsOfSuit);
+        }
+        return topCards;
+    }
+
+    /**
+     * Leaves in relevantCards the cards whose ranks decided the result: the
+     * ones of the move that settled it, or of every move when none did.
+     */
+    private boolean searchMoves(int target) {
+        int player = this.currentPlayer();
+        boolean maximizing = this.isMaximizing(player);
+        int depth = this.completedTricks * COMPLETE_TRICK_NUMBER_OF_CARDS + this.trickSize;
+        int[] moves = this.movesByDepth[depth];
+        int numberOfMoves = this.orderedMoves(player, moves, this.scoresByDepth[depth]);
+        long equivalentMoves = this.equivalentMoves;
+        if (this.trickSize == COMPLETE_TRICK_NUMBER_OF_CARDS - 1) {
+            return this.searchLastMoves(player, target, moves, numberOfMoves, equivalentMoves);
+        }
+        long relevantCardsOfAllMoves = 0;
+        for (int i = 0; i < numberOfMoves; i++) {
+            int card = moves[i];
+            int previousLeader = this.leader;
+            int points = this.play(card, player);
+            long winningRank = this.winningRank;
+            boolean reached = this.reaches(target - points);
+            this.unplay(card, player, previousLeader);
+            if (reached == maximizing) {
+                this.relevantCards |= winningRank;
+                return reached;
+            }
+            relevantCardsOfAllMoves |= this.relevantCards | winningRank;
+        }
+        this.relevantCards = this.withEquivalentMoves(relevantCardsOfAllMoves, equivalentMoves);
+        return !maximizing;
+    }
+
+    /**
+     * The moves completing a trick are all looked up first, as one of them
+     * often leads to a position known to be good enough for the player; only
+     * those not known either way are then searched.
+     */
+    private boolean searchLastMoves(int player, int target, int[] moves, int numberOfMoves, long equivalentMoves) {
+        boolean maximizing = this.isMaximizing(player);
+        int wanted = maximizing ? REACHED : NOT_REACHED;
+        long relevantCardsOfAllMoves = 0;
+        int numberOfUnknownMoves = 0;
+        for (int i = 0; i < numberOfMoves; i++) {
+            int card = moves[i];
+            int previousLeader = this.leader;
+            int points = this.play(card, player);
+            long winningRank = this.winningRank;
+            int known = this.lookUp(target - points);
+            this.unplay(card, player, previousLeader);
+            if (known == wanted) {
+                this.relevantCards |= winningRank;
+                return maximizing;
+            }
+            if (known == UNKNOWN) {
+                moves[numberOfUnknownMoves++] = card;
+            } else {
+                relevantCardsOfAllMoves |= this.relevantCards | winningRank;
+            }
+        }
+        for (int i = 0; i < numberOfUnknownMoves; i++) {
+            int card = moves[i];
+            int previousLeader = this.leader;
+            int points = this.play(card, player);
+            long winningRank = this.winningRank;
+            this.computeKey(this.keysByTrick[this.completedTricks], this.patternsByTrick[this.completedTricks]);
+            boolean reached = this.searchAndStore(target - points);
+            this.unplay(card, player, previousLeader);
+            if (reached == maximizing) {
+                this.relevantCards |= winningRank;
+                return reached;
+            }
+            relevantCardsOfAllMoves |= this.relevantCards | winningRank;
+        }
+        this.relevantCards = this.withEquivalentMoves(relevantCardsOfAllMoves, equivalentMoves);
+        return !maximizing;
+    }
+
+    /**
+     * A card left out as equal to the next live card up is only so elsewhere
+     * if its rank is kept as well when that one's is.
+     */
+    private long withEquivalentMoves(long relevantCards, long equivalentMoves) {
+        long liveCards = this.liveCards;
+        long cards = relevantCards;
+        for (long remaining = equivalentMoves; remaining != 0; remaining &= ~Long.highestOneBit(remaining)) {
+            long card = Long.highestOneBit(remaining);
+            long higherLiveCards = liveCards & this.rules.suitMaskOfCard[Long.numberOfTrailingZeros(card)] & -(card << 1);
+            if ((cards & Long.lowestOneBit(higherLiveCards)) != 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+
+    private int trickCard(int position) {
+        return this.playedCards[this.completedTricks * COMPLETE_TRICK_NUMBER_OF_CARDS + position];
+    }
+
+    private int pointsOfCompleteTrick() {
+        int points = this.rules.pointsOfTrick(this.completedTricks);
+        for (int i = 0; i < COMPLETE_TRICK_NUMBER_OF_CARDS; i++) {
+            points += this.rules.pointsOfCard[this.trickCard(i)];
+        }
+        return points;
+    }
+
+    private int winnerOfTrick() {
+        return (this.leader + this.winningOffset()) % NUMBER_OF_HANDS;
+    }
+
+    private int winningOffset() {
+        return this.winningOffsets[this.completedTricks * COMPLETE_TRICK_NUMBER_OF_CARDS + this.trickSize - 1];
+    }
+
+    private boolean beats(int card, int winningCard) {
+        if (this.rules.suitMaskOfCard[card] == this.rules.suitMaskOfCard[winningCard]) {
+            return card > winningCard;
+        }
+        return ((1L << card) & this.rules.trumpMask) != 0;
+    }
+
+    long legalMoves() {
+        long hand = this.hands[this.currentPlayer()];
+        if (this.trickSize > 0) {
+            long cardsOfLeadSuit = hand & this.rules.suitMaskOfCard[this.trickCard(0)];
+            return cardsOfLeadSuit != 0 ? cardsOfLeadSuit : hand;
+        }
+        if (this.rules.prohibitsHearts && (hand & ~this.rules.heartsMask) != 0) {
+            return hand & ~this.rules.heartsMask;
+        }
+        return hand;
+    }
+
+    /**
+     * The index of the next live card above this one when it is also a legal
+     * move worth the same points, or -1.
+     */
+    int equivalentHigherCard(int card, long legalMoves) {
+        long higherLiveCards = this.liveCards & this.rules.suitMaskOfCard[card] & -(1L << (card + 1));
+        long nextHigherCard = Long.lowestOneBit(higherLiveCards);
+        if ((legalMoves & nextHigherCard) == 0) {
+            return -1;
+        }
+        int nextHigherIndex = Long.numberOfTrailingZeros(nextHigherCard);
+        return this.rules.pointsOfCard[card] == this.rules.pointsOfCard[nextHigherIndex] ? nextHigherIndex : -1;
+    }
+
+    private int orderedMoves(int player, int[] moves, int[] scores) {
+        long legalMoves = this.legalMoves();
+        long liveCards = this.liveCards;
+        int winningCard = -1;
+        boolean partnerWins = false;
+        long beatable = 0;
+        if (this.trickSize > 0) {
+            int winningOffset = this.winningOffset();
+            winningCard = this.trickCard(winningOffset);
+            beatable = this.beatableByLaterOpponents(player);
+            partnerWins = (this.leader + winningOffset) % NUMBER_OF_HANDS == (player + 2) % NUMBER_OF_HANDS
+                    && (beatable & (1L << winningCard)) == 0;
+        }
+
+        this.equivalentMoves = 0;
+        int numberOfMoves = 0;
+        for (long remaining = legalMoves; remaining != 0; remaining &= remaining - 1) {
+            int card = Long.numberOfTrailingZeros(remaining);
+            long higherLiveCards = liveCards & this.rules.suitMaskOfCard[card] & -(1L << (card + 1));
+            long nextHigherCard = Long.lowestOneBit(higherLiveCards);
+            if ((legalMoves & nextHigherCard) != 0
+                    && this.rules.pointsOfCard[card] == this.rules.pointsOfCard[Long.numberOfTrailingZeros(nextHigherCard)]) {
+                this.equivalentMoves |= 1L << card;
+                continue;
+            }
+            int score;
+            if (winningCard < 0) {
+                score = this.leadScore(player, card, higherLiveCards);
+            } else {
+                score = this.followScore(card, winningCard, partnerWins, (beatable & (1L << card)) != 0);
+            }
+            int position = numberOfMoves++;
+            while (position > 0 && scores[position - 1] < score) {
+                moves[position] = moves[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            moves[position] = card;
+            scores[position] = score;
+        }
+        return numberOfMoves;
+    }
+
+    /**
+     * Tricks are taken cashing winners and leading toward the partner's;
+     * avoided leading cards both opponents can beat.
+     */
+    private int leadScore(int player, int card, long higherLiveCards) {
+        int rank = card % CARDS_PER_SUIT;
+        if (this.rules.negative) {
+            long lowerLiveCards = this.liveCards & this.rules.suitMaskOfCard[card] & ((1L << card) - 1);
+            int choice = LAST_CHOICE;
+            for (int opponent = 1; opponent < NUMBER_OF_HANDS; opponent += 2) {
+                long cardsOfSuit = this.hands[(player + opponent) % NUMBER_OF_HANDS] & this.rules.suitMaskOfCard[card];
+                if (cardsOfSuit != 0 && (cardsOfSuit & lowerLiveCards) == 0) {
+                    return FIRST_CHOICE + rank;
+                }
+                if ((cardsOfSuit & higherLiveCards) != 0) {
+                    choice = SECOND_CHOICE;
+                }
+            }
+            return choice - rank;
+        }
+        if (higherLiveCards == 0) {
+            return FIRST_CHOICE + rank;
+        }
+        long partner = this.hands[(player + 2) % NUMBER_OF_HANDS];
+        return (partner & Long.highestOneBit(higherLiveCards)) != 0 ? SECOND_CHOICE - rank : LAST_CHOICE - rank;
+    }
+
+    /**
+     * Tricks are won as cheaply as possible, or left to a partner sure to win
+     * them; avoided getting rid of the highest cards, and of the points when
+     * the opponents win, that cannot win.
+     */
+    private int followScore(int card, int winningCard, boolean partnerWins, boolean beatable) {
+        int rank = card % CARDS_PER_SUIT;
+        boolean beats = this.beats(card, winningCard);
+        boolean surelyWins = beats && !beatable;
+        if (this.rules.negative) {
+            if (partnerWins) {
+                return FIRST_CHOICE + rank - this.rules.pointsOfCard[card] * CARDS_PER_SUIT;
+            }
+            if (!beats) {
+                return FIRST_CHOICE + rank + this.rules.pointsOfCard[card] * CARDS_PER_SUIT;
+            }
+            return surelyWins ? LAST_CHOICE + rank : SECOND_CHOICE - rank;
+        }
+        if (partnerWins) {
+            return beats ? LAST_CHOICE - rank : FIRST_CHOICE - rank;
+        }
+        if (surelyWins) {
+            return FIRST_CHOICE - rank;
+        }
+        if (beats && this.trickSize == 2) {
+            return SECOND_CHOICE + rank;
+        }
+        return beats ? LAST_CHOICE - rank : SECOND_CHOICE - rank;
+    }
+
+    /**
+     * The cards an opponent still to play in the trick could beat.
+     */
+    private long beatableByLaterOpponents(int player) {
+        long leadSuit = this.rules.suitMaskOfCard[this.trickCard(0)];
+        long beatable = 0;
+        for (int position = this.trickSize + 1; position < COMPLETE_TRICK_NUMBER_OF_CARDS; position++) {
+            int later = (this.leader + position) % NUMBER_OF_HANDS;
+            if (isNorthSouth(later) == isNorthSouth(player)) {
+                continue;
+            }
+            long hand = this.hands[later];
+            long cardsOfLeadSuit = hand & leadSuit;
+            if (cardsOfLeadSuit != 0) {
+                beatable |= leadSuit & (Long.highestOneBit(cardsOfLeadSuit) - 1);
+            } else if ((hand & this.rules.trumpMask) != 0) {
+                beatable |= ~this.rules.trumpMask | (Long.highestOneBit(hand & this.rules.trumpMask) - 1);
+            }
+        }
+        return beatable;
+    }
+
+    /**
+     * The exact key holds the four hands with the suits whose cards are all
+     * worth the same reduced to their lengths; the pattern of each of those
+     * suits says, from the top, which hand holds each of its live cards. The
+     * two bits of each owner are gathered over the live cards of the suit a
+     * few cards at a time from tables.
+     */
+    private void computeKey(long[] key, long[] pattern) {
+        for (int i = 0; i < NUMBER_OF_HANDS; i++) {
+            key[i] = 0;
+        }
+        long liveCards = this.liveCards;
+        for (int suit = 0; suit < this.rules.suitMasks.length; suit++) {
+            long suitMask = this.rules.suitMasks[suit];
+            pattern[suit] = 0;
+            if (!this.rules.uniformSuits[suit]) {
+                for (int i = 0; i < NUMBER_OF_HANDS; i++) {
+                    key[i] |= this.hands[i] & suitMask;
+                }
+                continue;
+            }
+            for (int i = 0; i < NUMBER_OF_HANDS; i++) {
+                key[i] |= (long) Long.bitCount(this.hands[i] & suitMask) << (suit * CARDS_PER_SUIT);
+            }
+            int shift = suit * CARDS_PER_SUIT;
+            int liveCardsOfSuit = (int) (liveCards >>> shift) & SUIT_BITS;
+            int lowOwnerBits = (int) ((this.hands[1] | this.hands[3]) >>> shift) & SUIT_BITS;
+            int highOwnerBits = (int) ((this.hands[2] | this.hands[3]) >>> shift) & SUIT_BITS;
+            long suitPattern = spread(pick(lowOwnerBits, liveCardsOfSuit)) | spread(pick(highOwnerBits, liveCardsOfSuit)) << 1;
+            pattern[suit] = suitPattern << (BITS_PER_SUIT_PATTERN - Integer.bitCount(liveCardsOfSuit) * BITS_PER_OWNER);
+        }
+    }
+
+    /**
+     * The bits of a suit under the mask, packed from the bottom.
+     */
+    private static int pick(int bits, int mask) {
+        int lowMask = mask & PART_MASK;
+        int low = PICKED_BITS[lowMask][bits & PART_MASK];
+        int high = PICKED_BITS[mask >>> PART_BITS][bits >>> PART_BITS];
+        return low | high << Integer.bitCount(lowMask);
+    }
+
+    private static long spread(int bits) {
+        return SPREAD_BITS[bits & PART_MASK] | (long) SPREAD_BITS[bits >>> PART_BITS] << (PART_BITS * BITS_PER_OWNER);
+    }
+
+    /**
+     * The number of top cards of the pattern of each suit down to its lowest
+     * relevant card.
+     */
+    private void computeTopCards(long relevantCards) {
+        long liveCards = this.liveCards;
+        for (int suit = 0; suit < this.rules.suitMasks.length; suit++) {
+            this.topCards[suit] = 0;
+            long relevantCardsOfSuit = relevantCards & this.rules.suitMasks[suit];
+            if (!this.rules.uniformSuits[suit] || relevantCardsOfSuit == 0) {
+                continue;
+            }
+            long lowestRelevantCard = Long.lowestOneBit(relevantCardsOfSuit);
+            this.topCards[suit] = Long.bitCount(liveCards & this.rules.suitMasks[suit] & -lowestRelevantCard);
+        }
+    }
+
+    /**
+     * The live cards the top cards of the entry last found stand for.
+     */
+    private long cardsOfTopCardsFound() {
+        long liveCards = this.liveCards;
+        long cards = 0;
+        for (int suit = 0; suit < this.rules.suitMasks.length; suit++) {
+            int topCards = this.transpositionTable.getTopCards(suit);
+            long liveCardsOfSuit = liveCards & this.rules.suitMasks[suit];
+            for (int i = 0; i < topCards; i++) {
+                cards |= Long.highestOneBit(liveCardsOfSuit);
+                liveCardsOfSuit &= ~Long.highestOneBit(liveCardsOfSuit);
+            }
+        }
+        return cards;
+    }
+
+}
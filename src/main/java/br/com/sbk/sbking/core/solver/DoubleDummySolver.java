@@ -0,0 +1,210 @@
+package br.com.sbk.sbking.core.solver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Trick;
+
+/**
+ * Solves a deal double dummy, from whatever point it is at, with every hand
+ * known. North-South maximize their points under a positive ruleset and
+ * minimize them under a negative one, East-West do the opposite. The cards the
+ * player on turn may play are split among parallel searches, each of them
+ * single threaded over bit masks; see DoubleDummySearch.
+ */
+public final class DoubleDummySolver {
+
+    private final ExecutorService executorService;
+    private final int parallelism;
+
+    public DoubleDummySolver() {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Splits the cards to try at the start into at most parallelism searches
+     * running on the executor service.
+     */
+    public DoubleDummySolver(ExecutorService executorService, int parallelism) {
+        this.executorService = executorService;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public DoubleDummyResult solve(Deal deal) {
+        checkEveryCardIsKnown(deal);
+        int northSouthPoints = deal.getNorthSouthPoints();
+        int eastWestPoints = deal.getEastWestPoints();
+        if (deal.isFinished()) {
+            return new DoubleDummyResult(northSouthPoints, eastWestPoints, new ArrayList<Card>());
+        }
+
+        DoubleDummyRules rules = new DoubleDummyRules(deal.getRuleset());
+        DoubleDummySearch root = new DoubleDummySearch(rules, deal);
+        int pointsStillToPlay = root.getMaximumRemainingPoints();
+        boolean maximizing = root.isMaximizing();
+        long legalMoves = root.legalMoves();
+        long distinctMoves = 0;
+        for (long moves = legalMoves; moves != 0; moves &= moves - 1) {
+            int index = Long.numberOfTrailingZeros(moves);
+            if (root.equivalentHigherCard(index, legalMoves) < 0) {
+                distinctMoves |= 1L << index;
+            }
+        }
+
+        int numberOfSearches = Math.min(this.parallelism, Long.bitCount(distinctMoves));
+        long[] movesOfSearch = new long[numberOfSearches];
+        int search = 0;
+        for (long moves = distinctMoves; moves != 0; moves &= ~Long.highestOneBit(moves)) {
+            movesOfSearch[search++ % numberOfSearches] |= Long.highestOneBit(moves);
+        }
+        List<Future<BestMoves>> futures = new ArrayList<Future<BestMoves>>();
+        for (long moves : movesOfSearch) {
+            DoubleDummySearch searchOfMoves = new DoubleDummySearch(rules, deal);
+            futures.add(this.executorService.submit(() -> bestOf(searchOfMoves, moves, maximizing, pointsStillToPlay)));
+        }
+
+        int best = maximizing ? -1 : pointsStillToPlay + 1;
+        long bestMoves = 0;
+        for (Future<BestMoves> future : futures) {
+            BestMoves bestMovesOfSearch = getResult(future);
+            if (bestMovesOfSearch.points == best) {
+                bestMoves |= bestMovesOfSearch.moves;
+            } else if (maximizing == bestMovesOfSearch.points > best) {
+                best = bestMovesOfSearch.points;
+                bestMoves = bestMovesOfSearch.moves;
+            }
+        }
+
+        List<Card> bestCards = new ArrayList<Card>();
+        for (long moves = legalMoves; moves != 0; moves &= ~Long.highestOneBit(moves)) {
+            int index = 63 - Long.numberOfLeadingZeros(moves);
+            int representative = index;
+            while ((distinctMoves & (1L << representative)) == 0) {
+                representative = root.equivalentHigherCard(representative, legalMoves);
+            }
+            if ((bestMoves & (1L << representative)) != 0) {
+                bestCards.add(Card.byIndex(index));
+            }
+        }
+        return new DoubleDummyResult(northSouthPoints + best, eastWestPoints + pointsStillToPlay - best, bestCards);
+    }
+
+    /**
+     * The points North-South end the deal with after each card the player on
+     * turn may play, from the highest card down. Every card is solved exactly in
+     * a single search on the calling thread, so callers that already solve many
+     * deals at once, such as the bot, keep their own parallelism.
+     */
+    public Map<Card, Integer> solveEachCard(Deal deal) {
+        checkEveryCardIsKnown(deal);
+        Map<Card, Integer> pointsByCard = new LinkedHashMap<Card, Integer>();
+        if (deal.isFinished()) {
+            return pointsByCard;
+        }
+        DoubleDummySearch search = new DoubleDummySearch(new DoubleDummyRules(deal.getRuleset()), deal);
+        int pointsStillToPlay = search.getMaximumRemainingPoints();
+        long legalMoves = search.legalMoves();
+        int[] pointsAfter = new int[Card.NUMBER_OF_CARDS];
+        for (long moves = legalMoves; moves != 0; moves &= ~Long.highestOneBit(moves)) {
+            int index = 63 - Long.numberOfLeadingZeros(moves);
+            int equivalent = search.equivalentHigherCard(index, legalMoves);
+            if (equivalent < 0) {
+                pointsAfter[index] = search.solveAfter(index, 0, pointsStillToPlay);
+            } else {
+                pointsAfter[index] = pointsAfter[equivalent];
+            }
+            pointsByCard.put(Card.byIndex(index), deal.getNorthSouthPoints() + pointsAfter[index]);
+        }
+        return pointsByCard;
+    }
+
+    private static void checkEveryCardIsKnown(Deal deal) {
+        for (Direction direction : Direction.values()) {
+            if (deal.getHandOf(direction).getNumberOfHiddenCards() > 0) {
+                throw new IllegalArgumentException("A double dummy solution needs every card to be known.");
+            }
+        }
+    }
+
+    /**
+     * The best the moves can do and which of them do it. Their value is found
+     * first by bisecting the target over all of them at once, trying first the
+     * move that settled the last target, so each move is then tested only
+     * against that value.
+     */
+    private static BestMoves bestOf(DoubleDummySearch search, long moves, boolean maximizing, int pointsStillToPlay) {
+        int lowest = 0;
+        int highest = pointsStillToPlay;
+        int decisive = 63 - Long.numberOfLeadingZeros(moves);
+        while (lowest < highest) {
+            int target = (lowest + highest + 1) / 2;
+            boolean reached = search.reachesAfter(decisive, target);
+            for (long remaining = moves & ~(1L << decisive); reached != maximizing && remaining != 0;
+                    remaining &= ~Long.highestOneBit(remaining)) {
+                int index = 63 - Long.numberOfLeadingZeros(remaining);
+                if (search.reachesAfter(index, target) == maximizing) {
+                    reached = maximizing;
+                    decisive = index;
+                }
+            }
+            if (reached) {
+                lowest = target;
+            } else {
+                highest = target - 1;
+            }
+        }
+        BestMoves bestMoves = new BestMoves(lowest, 0);
+        for (long remaining = moves; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            if (search.reachesAfter(index, maximizing ? lowest : lowest + 1) == maximizing) {
+                bestMoves.moves |= 1L << index;
+            }
+        }
+        return bestMoves;
+    }
+
+    private static final class BestMoves {
+
+        private final int points;
+        private long moves;
+
+        private BestMoves(int points, long moves) {
+            this.points = points;
+            this.moves = moves;
+        }
+
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving a deal.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not solve a deal.", e.getCause());
+        }
+    }
+
+    static int[] trickCardsOf(Deal deal) {
+        Trick currentTrick = deal.getCurrentTrick();
+        if (currentTrick.isComplete()) {
+            return new int[0];
+        }
+        int[] trickCards = new int[currentTrick.getNumberOfCards()];
+        for (int i = 0; i < trickCards.length; i++) {
+            trickCards[i] = currentTrick.getCard(i).getIndex();
+        }
+        return trickCards;
+    }
+
+}
@@ -0,0 +1,284 @@
+package br.com.sbk.sbking.core.solver;
+
+import java.util.Arrays;
+
+/**
+ * Bounds on the points North-South still take from a position at the start of
+ * a trick. A position is given by an exact key, the four hands with the suits
+ * whose ranks matter to the search reduced to their lengths, and by a pattern
+ * for each suit saying which hand holds each card of those suits, in rank
+ * order over the live cards. An entry only keeps the part of each pattern that
+ * decided the tricks, that of its top cards, so it matches every position that
+ * differs from it in the small cards alone.
+ *
+ * Many patterns share an exact key, so each key found by open addressing heads
+ * a tree of its own entries, one level for each suit: a node holds the top of
+ * a pattern of its suit, and its children the entries agreeing with it there.
+ * A suit that does not match leaves out every entry below it, and at each
+ * level the node last used comes first. A node whose entries all leave the
+ * target open is passed over without visiting them. A key never loses entries
+ * to another.
+ * A node is packed in two adjacent longs, so visiting one reads memory once,
+ * and probing allocates nothing; when the keys or the nodes run out the table
+ * starts over empty.
+ */
+final class TranspositionTable {
+
+    static final int NUMBER_OF_SUITS = 4;
+
+    private static final int NUMBER_OF_HANDS = 4;
+    private static final int KEYS_PER_NODE_LOG2 = 3;
+    private static final int NONE = -1;
+
+    private static final int BITS_PER_OWNER = 2;
+    private static final int BITS_PER_SUIT_PATTERN = DoubleDummyRules.CARDS_PER_SUIT * BITS_PER_OWNER;
+    private static final int LONGS_PER_SLOT = NUMBER_OF_HANDS + 1;
+    private static final int LONGS_PER_NODE = 2;
+    private static final int TOP_CARDS_SHIFT = BITS_PER_SUIT_PATTERN;
+    private static final long TOP_CARDS_MASK = 0xF;
+    private static final int LOWER_BOUND_SHIFT = 32;
+    private static final int UPPER_BOUND_SHIFT = 40;
+    private static final long BOUND_MASK = 0xFF;
+    private static final long NO_UPPER_BOUND = Byte.MAX_VALUE;
+    private static final long LINK_MASK = 0xFFFFFFFFL;
+    private static final long PATTERN_MASK = (1L << BITS_PER_SUIT_PATTERN) - 1;
+    private static final long[] PATTERN_MASK_OF_TOP_CARDS = new long[DoubleDummyRules.CARDS_PER_SUIT + 1];
+
+    static {
+        for (int topCards = 0; topCards < PATTERN_MASK_OF_TOP_CARDS.length; topCards++) {
+            PATTERN_MASK_OF_TOP_CARDS[topCards] = -1L << (BITS_PER_SUIT_PATTERN - topCards * BITS_PER_OWNER) & PATTERN_MASK;
+        }
+    }
+
+    private final int keyMask;
+    private final int maximumNumberOfKeys;
+    /**
+     * For each slot, the four hands of its key, then a long with its leader
+     * plus one in the high half, so that zero stands for an empty slot, and
+     * its first node in the low one.
+     */
+    private final long[] slots;
+    private int numberOfKeys;
+
+    /**
+     * For each node, a long with its pattern, the number of top cards it keeps
+     * and its bounds, on the last suit those of its entry and above it the
+     * highest lower and lowest upper bound of the entries below; then one with
+     * its first child in the high half and its next sibling in the low one.
+     */
+    private final long[] nodes;
+    private int numberOfNodes;
+
+    private final int[] topCardsFound = new int[NUMBER_OF_SUITS];
+
+    /**
+     * A table of at most 2^log2NumberOfNodes nodes, with room for an eighth as
+     * many keys.
+     */
+    TranspositionTable(int log2NumberOfNodes) {
+        int keySlots = 1 << Math.max(1, log2NumberOfNodes - KEYS_PER_NODE_LOG2 + 1);
+        this.keyMask = keySlots - 1;
+        this.maximumNumberOfKeys = keySlots / 2;
+        this.slots = new long[keySlots * LONGS_PER_SLOT];
+        this.nodes = new long[(1 << log2NumberOfNodes) * LONGS_PER_NODE];
+    }
+
+    /**
+     * An entry matching the position whose bounds settle whether North-South
+     * reach the target, or -1 when there is none. The number of top cards it
+     * keeps of each suit is left for getTopCards.
+     */
+    int findCutoff(long[] key, int leader, long[] pattern, int target) {
+        int slot = this.slotOf(key, leader);
+        if (this.isEmpty(slot)) {
+            return NONE;
+        }
+        int entry = this.findCutoff(this.firstNodeOf(slot), 0, pattern, target);
+        if (entry != NONE) {
+            this.setFirstNode(slot, this.moveToFront(this.firstNodeOf(slot), pattern[0], this.topCardsFound[0]));
+        }
+        return entry;
+    }
+
+    private int findCutoff(int firstNode, int suit, long[] pattern, int target) {
+        for (int node = firstNode; node != NONE; node = this.nextOf(node)) {
+            long data = this.nodes[node * LONGS_PER_NODE];
+            if ((data >>> LOWER_BOUND_SHIFT & BOUND_MASK) < target && (data >>> UPPER_BOUND_SHIFT & BOUND_MASK) >= target) {
+                continue;
+            }
+            int topCards = (int) (data >>> TOP_CARDS_SHIFT & TOP_CARDS_MASK);
+            if ((pattern[suit] & PATTERN_MASK_OF_TOP_CARDS[topCards]) != (data & PATTERN_MASK)) {
+                continue;
+            }
+            if (suit == NUMBER_OF_SUITS - 1) {
+                this.topCardsFound[suit] = topCards;
+                return node;
+            }
+            int entry = this.findCutoff(this.childOf(node), suit + 1, pattern, target);
+            if (entry != NONE) {
+                this.topCardsFound[suit] = topCards;
+                this.setChild(node, this.moveToFront(this.childOf(node), pattern[suit + 1], this.topCardsFound[suit + 1]));
+                return entry;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * The list starting at firstNode with the node of the pattern's top cards
+     * moved to its front, as a position met once tends to be met again soon.
+     */
+    private int moveToFront(int firstNode, long pattern, int topCards) {
+        int previous = NONE;
+        for (int node = firstNode; node != NONE; node = this.nextOf(node)) {
+            if (this.keepsTopCardsOf(node, pattern, topCards)) {
+                if (previous == NONE) {
+                    return firstNode;
+                }
+                this.setNext(previous, this.nextOf(node));
+                this.setNext(node, firstNode);
+                return node;
+            }
+            previous = node;
+        }
+        return firstNode;
+    }
+
+    int getLowerBound(int entry) {
+        return (int) (this.nodes[entry * LONGS_PER_NODE] >>> LOWER_BOUND_SHIFT & BOUND_MASK);
+    }
+
+    /**
+     * The number of top cards of the suit kept by the entry last found.
+     */
+    int getTopCards(int suit) {
+        return this.topCardsFound[suit];
+    }
+
+    void store(long[] key, int leader, long[] pattern, int[] topCards, int lowerBound, int upperBound) {
+        int slot = this.slotOf(key, leader);
+        if (this.isEmpty(slot)) {
+            if (this.numberOfKeys == this.maximumNumberOfKeys) {
+                this.clear();
+                slot = this.slotOf(key, leader);
+            }
+            System.arraycopy(key, 0, this.slots, slot * LONGS_PER_SLOT, NUMBER_OF_HANDS);
+            this.slots[slot * LONGS_PER_SLOT + NUMBER_OF_HANDS] = (long) (leader + 1) << Integer.SIZE | NONE & LINK_MASK;
+            this.numberOfKeys++;
+        }
+        if (this.numberOfNodes > this.nodes.length / LONGS_PER_NODE - NUMBER_OF_SUITS) {
+            this.clear();
+            this.store(key, leader, pattern, topCards, lowerBound, upperBound);
+            return;
+        }
+        int node = this.nodeOf(this.firstNodeOf(slot), pattern[0], topCards[0]);
+        if (node == NONE) {
+            node = this.addNode(this.firstNodeOf(slot), pattern[0], topCards[0]);
+            this.setFirstNode(slot, node);
+        }
+        this.tightenBounds(node, lowerBound, upperBound);
+        for (int suit = 1; suit < NUMBER_OF_SUITS; suit++) {
+            int child = this.nodeOf(this.childOf(node), pattern[suit], topCards[suit]);
+            if (child == NONE) {
+                child = this.addNode(this.childOf(node), pattern[suit], topCards[suit]);
+                this.setChild(node, child);
+            }
+            node = child;
+            this.tightenBounds(node, lowerBound, upperBound);
+        }
+    }
+
+    private void tightenBounds(int node, int lowerBound, int upperBound) {
+        long data = this.nodes[node * LONGS_PER_NODE];
+        long lower = Math.max(data >>> LOWER_BOUND_SHIFT & BOUND_MASK, lowerBound);
+        long upper = Math.min(data >>> UPPER_BOUND_SHIFT & BOUND_MASK, upperBound);
+        this.nodes[node * LONGS_PER_NODE] = data & ((1L << LOWER_BOUND_SHIFT) - 1) | lower << LOWER_BOUND_SHIFT
+                | upper << UPPER_BOUND_SHIFT;
+    }
+
+    private int nodeOf(int firstNode, long pattern, int topCards) {
+        for (int node = firstNode; node != NONE; node = this.nextOf(node)) {
+            if (this.keepsTopCardsOf(node, pattern, topCards)) {
+                return node;
+            }
+        }
+        return NONE;
+    }
+
+    private boolean keepsTopCardsOf(int node, long pattern, int topCards) {
+        long data = this.nodes[node * LONGS_PER_NODE];
+        return (data >>> TOP_CARDS_SHIFT & TOP_CARDS_MASK) == topCards
+                && (data & PATTERN_MASK) == (pattern & PATTERN_MASK_OF_TOP_CARDS[topCards]);
+    }
+
+    /**
+     * A node of the pattern's top cards, with no children and bounds that say
+     * nothing yet, ahead of the list starting at nextNode.
+     */
+    private int addNode(int nextNode, long pattern, int topCards) {
+        int node = this.numberOfNodes++;
+        this.nodes[node * LONGS_PER_NODE] = pattern & PATTERN_MASK_OF_TOP_CARDS[topCards] | (long) topCards << TOP_CARDS_SHIFT
+                | NO_UPPER_BOUND << UPPER_BOUND_SHIFT;
+        this.nodes[node * LONGS_PER_NODE + 1] = (long) NONE << Integer.SIZE | nextNode & LINK_MASK;
+        return node;
+    }
+
+    private int childOf(int node) {
+        return (int) (this.nodes[node * LONGS_PER_NODE + 1] >> Integer.SIZE);
+    }
+
+    private int nextOf(int node) {
+        return (int) this.nodes[node * LONGS_PER_NODE + 1];
+    }
+
+    private void setChild(int node, int child) {
+        int index = node * LONGS_PER_NODE + 1;
+        this.nodes[index] = (long) child << Integer.SIZE | this.nodes[index] & LINK_MASK;
+    }
+
+    private void setNext(int node, int next) {
+        int index = node * LONGS_PER_NODE + 1;
+        this.nodes[index] = this.nodes[index] & ~LINK_MASK | next & LINK_MASK;
+    }
+
+    private void clear() {
+        Arrays.fill(this.slots, 0);
+        this.numberOfKeys = 0;
+        this.numberOfNodes = 0;
+    }
+
+    /**
+     * The slot holding the key, or the empty one where it would go.
+     */
+    private int slotOf(long[] key, int leader) {
+        long hash = leader;
+        for (long hand : key) {
+            hash = (hash ^ hand) * 0x9E3779B97F4A7C15L;
+        }
+        int slot = (int) (hash >>> 32) & this.keyMask;
+        while (!this.isEmpty(slot) && !this.holds(slot, key, leader)) {
+            slot = (slot + 1) & this.keyMask;
+        }
+        return slot;
+    }
+
+    private boolean holds(int slot, long[] key, int leader) {
+        int base = slot * LONGS_PER_SLOT;
+        return this.slots[base + NUMBER_OF_HANDS] >>> Integer.SIZE == leader + 1 && this.slots[base] == key[0]
+                && this.slots[base + 1] == key[1] && this.slots[base + 2] == key[2] && this.slots[base + 3] == key[3];
+    }
+
+    private boolean isEmpty(int slot) {
+        return this.slots[slot * LONGS_PER_SLOT + NUMBER_OF_HANDS] == 0;
+    }
+
+    private int firstNodeOf(int slot) {
+        return (int) this.slots[slot * LONGS_PER_SLOT + NUMBER_OF_HANDS];
+    }
+
+    private void setFirstNode(int slot, int node) {
+        int index = slot * LONGS_PER_SLOT + NUMBER_OF_HANDS;
+        this.slots[index] = this.slots[index] & ~LINK_MASK | node & LINK_MASK;
+    }
+
+}
@@ -0,0 +1,79 @@
+package br.com.sbk.sbking.core.tournament;
+
+/**
+ * The North-South scores every table got on one board, counted by score in a
+ * Fenwick tree. Adding a result and comparing a score with all the others both
+ * take time logarithmic in the range of scores, however many tables played.
+ */
+public final class BoardStandings {
+
+    /**
+     * The IMP scale of duplicate bridge divided by ten, to fit the scores of a
+     * King deal: a difference of at least each threshold is worth one more IMP.
+     */
+    private static final int[] IMP_THRESHOLDS = {2, 5, 9, 13, 17, 22, 27, 32, 37, 43, 50, 60, 75, 90, 110, 130, 150,
+        175, 200, 225, 250, 300, 350, 400};
+
+    private final int minimumScore;
+    private final FenwickTree resultsByScore;
+    private int numberOfResults;
+
+    public BoardStandings(int minimumScore, int maximumScore) {
+        this.minimumScore = minimumScore;
+        this.resultsByScore = new FenwickTree(maximumScore - minimumScore + 1);
+    }
+
+    public void addResult(int northSouthScore) {
+        if (northSouthScore < this.minimumScore || this.positionOf(northSouthScore) >= this.resultsByScore.size()) {
+            throw new IllegalArgumentException("Score " + northSouthScore + " is out of the range of this board.");
+        }
+        this.resultsByScore.add(this.positionOf(northSouthScore), 1);
+        this.numberOfResults++;
+    }
+
+    public int getNumberOfResults() {
+        return this.numberOfResults;
+    }
+
+    /**
+     * Two matchpoints for each other result the score beats and one for each
+     * other result it ties, for a result already added.
+     */
+    public int getMatchpoints(int northSouthScore) {
+        int below = this.resultsBelow(northSouthScore);
+        int equal = this.resultsBelow(northSouthScore + 1) - below;
+        return 2 * below + equal - 1;
+    }
+
+    /**
+     * The most matchpoints a result can get, beating every other one.
+     */
+    public int getTop() {
+        return 2 * (this.numberOfResults - 1);
+    }
+
+    /**
+     * The IMPs of the score against each of the other results, added up.
+     */
+    public int getCrossImps(int northSouthScore) {
+        int imps = 0;
+        for (int threshold : IMP_THRESHOLDS) {
+            imps += this.resultsBelow(northSouthScore - threshold + 1);
+            imps -= this.numberOfResults - this.resultsBelow(northSouthScore + threshold);
+        }
+        return imps;
+    }
+
+    private int resultsBelow(int northSouthScore) {
+        int position = this.positionOf(northSouthScore);
+        if (position <= 0) {
+            return 0;
+        }
+        return this.resultsByScore.sumBelow(position);
+    }
+
+    private int positionOf(int northSouthScore) {
+        return northSouthScore - this.minimumScore;
+    }
+
+}
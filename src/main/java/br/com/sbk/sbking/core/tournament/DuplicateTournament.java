@@ -0,0 +1,130 @@
+package br.com.sbk.sbking.core.tournament;
+
+import static br.com.sbk.sbking.core.GameConstants.TOTAL_GAMES;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import br.com.sbk.sbking.core.BoardDealer;
+import br.com.sbk.sbking.core.GameModeSummary;
+import br.com.sbk.sbking.core.dealing.NumberedBoardDealer;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveNoTrumpsRuleset;
+import br.com.sbk.sbking.gui.models.KingGameScoreboard;
+
+/**
+ * A King tournament where every table plays the same boards, dealt from one
+ * seed, and each table is compared with all the others on each board. Boards
+ * are known by their order of play, which is the same at every table since
+ * each table deals its boards from a NumberedBoardDealer of the seed. Results
+ * may arrive from the tables' threads in any order.
+ */
+public class DuplicateTournament {
+
+    private static final int NOT_PLAYED = Integer.MIN_VALUE;
+
+    private final long seed;
+    private final BoardStandings[] standingsOfBoards = new BoardStandings[TOTAL_GAMES];
+    private final Map<Integer, int[]> scoresOfTables = new HashMap<Integer, int[]>();
+
+    public DuplicateTournament(long seed) {
+        this.seed = seed;
+        // No deal scores more than all the tricks of a positive
+        Ruleset positive = new PositiveNoTrumpsRuleset();
+        int maximumScore = positive.getTotalPoints() * positive.getScoreMultiplier();
+        for (int board = 0; board < TOTAL_GAMES; board++) {
+            this.standingsOfBoards[board] = new BoardStandings(-maximumScore, maximumScore);
+        }
+    }
+
+    /**
+     * A dealer for one more table, dealing the boards of the tournament in
+     * order.
+     */
+    public BoardDealer newBoardDealer() {
+        return new NumberedBoardDealer(this.seed);
+    }
+
+    /**
+     * Adds the North-South score of the table on the board, numbered from 1.
+     * A board already added for the table is ignored.
+     *
+     * @throws IllegalArgumentException if the board number is not one of the
+     *                                  tournament's.
+     */
+    public synchronized void addResult(int tableId, int boardNumber, int northSouthScore) {
+        checkBoardNumber(boardNumber);
+        int[] scores = this.scoresOfTables.computeIfAbsent(tableId, DuplicateTournament::newScores);
+        int board = boardNumber - 1;
+        if (scores[board] != NOT_PLAYED) {
+            return;
+        }
+        scores[board] = northSouthScore;
+        this.standingsOfBoards[board].addResult(northSouthScore);
+    }
+
+    /**
+     * Adds every finished deal of the table's scoreboard not added yet.
+     */
+    public synchronized void addScoreboard(int tableId, KingGameScoreboard scoreboard) {
+        for (GameModeSummary gameModeSummary : scoreboard.getGameModeSummaries()) {
+            if (gameModeSummary != null) {
+                this.addResult(tableId, gameModeSummary.getOrderOfPlayNumber(), gameModeSummary.getScore());
+            }
+        }
+    }
+
+    /**
+     * The matchpoints North-South of the table got over the boards it played,
+     * against the results known so far.
+     */
+    public synchronized int getNorthSouthMatchpoints(int tableId) {
+        int[] scores = this.scoresOfTables.getOrDefault(tableId, newScores(tableId));
+        int matchpoints = 0;
+        for (int board = 0; board < TOTAL_GAMES; board++) {
+            if (scores[board] != NOT_PLAYED) {
+                matchpoints += this.standingsOfBoards[board].getMatchpoints(scores[board]);
+            }
+        }
+        return matchpoints;
+    }
+
+    /**
+     * The cross IMPs North-South of the table got over the boards it played,
+     * against the results known so far.
+     */
+    public synchronized int getNorthSouthImps(int tableId) {
+        int[] scores = this.scoresOfTables.getOrDefault(tableId, newScores(tableId));
+        int imps = 0;
+        for (int board = 0; board < TOTAL_GAMES; board++) {
+            if (scores[board] != NOT_PLAYED) {
+                imps += this.standingsOfBoards[board].getCrossImps(scores[board]);
+            }
+        }
+        return imps;
+    }
+
+    public synchronized int getNumberOfResults(int boardNumber) {
+        checkBoardNumber(boardNumber);
+        return this.standingsOfBoards[boardNumber - 1].getNumberOfResults();
+    }
+
+    private static void checkBoardNumber(int boardNumber) {
+        if (boardNumber < 1 || boardNumber > TOTAL_GAMES) {
+            throw new IllegalArgumentException(
+                    "Invalid board number " + boardNumber + ". Valid numbers are 1 to " + TOTAL_GAMES + " (inclusive).");
+        }
+    }
+
+    private static int[] newScores(int tableId) {
+        int[] scores = new int[TOTAL_GAMES];
+        Arrays.fill(scores, NOT_PLAYED);
+        return scores;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+}
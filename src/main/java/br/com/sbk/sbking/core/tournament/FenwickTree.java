@@ -0,0 +1,36 @@
+package br.com.sbk.sbking.core.tournament;
+
+/**
+ * Counts over the positions 0 to size - 1 that are added to, and summed over
+ * a prefix, in time logarithmic in the size.
+ */
+final class FenwickTree {
+
+    private final int[] tree;
+
+    FenwickTree(int size) {
+        this.tree = new int[size + 1];
+    }
+
+    void add(int position, int delta) {
+        for (int i = position + 1; i < this.tree.length; i += i & -i) {
+            this.tree[i] += delta;
+        }
+    }
+
+    /**
+     * The sum of the counts at the positions below this one.
+     */
+    int sumBelow(int position) {
+        int sum = 0;
+        for (int i = Math.min(position, this.tree.length - 1); i > 0; i -= i & -i) {
+            sum += this.tree[i];
+        }
+        return sum;
+    }
+
+    int size() {
+        return this.tree.length - 1;
+    }
+
+}
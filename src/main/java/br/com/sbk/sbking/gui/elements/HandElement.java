@@ -32,11 +32,12 @@ public class HandElement {
 
         for (int i = hand.size() - 1; i >= 0; i--) { // This way, it draws correctly
             Card card = hand.get(i);
+            boolean isCardVisible = isVisible && card != null; // Hidden cards arrive as null
             CardButton cardButton = new CardButton(card, deckCardImageInformation);
-            if (!isVisible) {
+            if (!isCardVisible) {
                 cardButton.flip();
             }
-            if (actionListener != null && isVisible) {
+            if (actionListener != null && isCardVisible) {
                 cardButton.addActionListener(actionListener);
             }
             container.add(cardButton); // This line needs to go before setting the button location
@@ -36,7 +36,7 @@ public class AssetLoader {
 
         for (Suit suit : Suit.values()) {
             for (Rank rank : Rank.values()) {
-                Card card = new Card(suit, rank);
+                Card card = Card.of(suit, rank);
                 ImageIcon cardImage = deckCardImageInformation.createFrontImage(card);
                 imageByCard.put(card, cardImage);
             }
@@ -25,6 +25,27 @@ public class KingGameScoreboard implements Serializable {
     private int gamesPlayed = 0;
     int positivesPlayed = 0;
 
+    public KingGameScoreboard() {
+    }
+
+    public KingGameScoreboard(GameModeSummary[] games, int gamesPlayed, int positivesPlayed) {
+        this.games = games.clone();
+        this.gamesPlayed = gamesPlayed;
+        this.positivesPlayed = positivesPlayed;
+    }
+
+    public GameModeSummary[] getGameModeSummaries() {
+        return this.games.clone();
+    }
+
+    public int getGamesPlayed() {
+        return this.gamesPlayed;
+    }
+
+    public int getPositivesPlayed() {
+        return this.positivesPlayed;
+    }
+
     public void addFinishedDeal(Deal deal) {
         if (!deal.isFinished()) {
             throw new DealNotFinishedException();
@@ -0,0 +1,42 @@
+package br.com.sbk.sbking.gui.models;
+
+import java.io.Serializable;
+
+@SuppressWarnings("serial")
+public class TableSummary implements Serializable {
+
+    private final int id;
+    private final String gameName;
+    private final int numberOfPlayers;
+    private final int numberOfSpectators;
+
+    public TableSummary(int id, String gameName, int numberOfPlayers, int numberOfSpectators) {
+        this.id = id;
+        this.gameName = gameName;
+        this.numberOfPlayers = numberOfPlayers;
+        this.numberOfSpectators = numberOfSpectators;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getGameName() {
+        return gameName;
+    }
+
+    public int getNumberOfPlayers() {
+        return numberOfPlayers;
+    }
+
+    public int getNumberOfSpectators() {
+        return numberOfSpectators;
+    }
+
+    @Override
+    public String toString() {
+        return "Table " + id + " (" + gameName + "): " + numberOfPlayers + " players and " + numberOfSpectators
+                + " spectators";
+    }
+
+}
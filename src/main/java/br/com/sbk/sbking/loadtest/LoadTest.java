@@ -0,0 +1,156 @@
+package br.com.sbk.sbking.loadtest;
+
+import static br.com.sbk.sbking.core.GameConstants.NUMBER_OF_HANDS;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.gui.models.TableSummary;
+import br.com.sbk.sbking.networking.client.HeadlessClient;
+import br.com.sbk.sbking.networking.server.GameServerFromGameNameIdentifier;
+
+/**
+ * Fills King tables on a running LobbyServer with headless clients, four to a
+ * table, and lets them play until the time is up or every game has ended. The
+ * tables are created one after the other, each taking the highest id in the
+ * list the server answers its creation with, so only one load test should
+ * create tables on a server at a time. Every client reads on its own thread,
+ * as the blocking server expects, and all of them think on one scheduler.
+ */
+public final class LoadTest {
+
+    private static final long TABLE_CREATION_TIMEOUT_IN_SECONDS = 30;
+
+    private final String host;
+    private final int port;
+    private final String protocol;
+    private final long minimumThinkTimeInMilliseconds;
+    private final long maximumThinkTimeInMilliseconds;
+
+    private final LoadTestStatistics statistics = new LoadTestStatistics();
+    private final List<LoadTestPlayer> players = new ArrayList<LoadTestPlayer>();
+    private final ExecutorService readers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "load-test-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-test-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LoadTest(String host, int port, String protocol, long minimumThinkTimeInMilliseconds,
+            long maximumThinkTimeInMilliseconds) {
+        this.host = host;
+        this.port = port;
+        this.protocol = protocol;
+        this.minimumThinkTimeInMilliseconds = minimumThinkTimeInMilliseconds;
+        this.maximumThinkTimeInMilliseconds = Math.max(minimumThinkTimeInMilliseconds, maximumThinkTimeInMilliseconds);
+    }
+
+    /**
+     * Seats the clients at new tables, four to a table, rounding down to a
+     * whole number of tables.
+     */
+    public void seat(int numberOfClients, long seed) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int table = 0; table < numberOfClients / NUMBER_OF_HANDS; table++) {
+            this.seatTable(table, random.split());
+        }
+    }
+
+    private void seatTable(int tableNumber, SplittableRandom random) throws IOException, InterruptedException {
+        List<LoadTestPlayer> playersOfTable = new ArrayList<LoadTestPlayer>();
+        for (Direction direction : Direction.values()) {
+            LoadTestPlayer player = new LoadTestPlayer(this.statistics, this.scheduler,
+                    this.minimumThinkTimeInMilliseconds, this.maximumThinkTimeInMilliseconds, random.nextLong(),
+                    playersOfTable.isEmpty());
+            HeadlessClient client = HeadlessClient.connect(this.host, this.port, this.protocol, player);
+            player.setClient(client);
+            this.players.add(player);
+            playersOfTable.add(player);
+            this.readers.execute(client);
+            client.sendNickname("load-" + tableNumber + "-" + direction.getAbbreviation());
+        }
+
+        LoadTestPlayer creator = playersOfTable.get(0);
+        creator.getClient().sendCreateTable(GameServerFromGameNameIdentifier.KING);
+        int tableId = highestIdOf(await(creator.getTables()));
+        for (int seat = 0; seat < playersOfTable.size(); seat++) {
+            HeadlessClient client = playersOfTable.get(seat).getClient();
+            if (seat > 0) {
+                client.sendJoinTable(tableId);
+            }
+            client.sendSitOrLeave(Direction.values()[seat]);
+        }
+    }
+
+    private static List<TableSummary> await(CompletableFuture<List<TableSummary>> tables)
+            throws IOException, InterruptedException {
+        try {
+            return tables.get(TABLE_CREATION_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            throw new IOException("The server did not answer the creation of a table.", e);
+        }
+    }
+
+    private static int highestIdOf(List<TableSummary> tables) throws IOException {
+        int highestId = -1;
+        for (TableSummary table : tables) {
+            highestId = Math.max(highestId, table.getId());
+        }
+        if (highestId < 0) {
+            throw new IOException("The server answered the creation of a table with no table.");
+        }
+        return highestId;
+    }
+
+    /**
+     * Waits until every game has ended or the duration is over.
+     */
+    public void play(long durationInMilliseconds) throws InterruptedException {
+        List<CompletableFuture<Void>> gamesFinished = new ArrayList<CompletableFuture<Void>>();
+        for (LoadTestPlayer player : this.players) {
+            gamesFinished.add(player.getGameFinished());
+        }
+        try {
+            CompletableFuture.allOf(gamesFinished.toArray(new CompletableFuture<?>[gamesFinished.size()]))
+                    .get(durationInMilliseconds, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return;
+        }
+    }
+
+    public void close() {
+        this.scheduler.shutdownNow();
+        for (LoadTestPlayer player : this.players) {
+            player.getClient().close();
+        }
+        this.readers.shutdownNow();
+    }
+
+    public LoadTestStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    public int getNumberOfClients() {
+        return this.players.size();
+    }
+
+    public int getNumberOfTables() {
+        return this.players.size() / NUMBER_OF_HANDS;
+    }
+
+}
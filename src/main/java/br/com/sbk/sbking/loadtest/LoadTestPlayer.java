@@ -0,0 +1,274 @@
+package br.com.sbk.sbking.loadtest;
+
+import static br.com.sbk.sbking.core.GameConstants.MAXIMUM_NEGATIVES_PERMITTED_BY_DIRECTION;
+import static br.com.sbk.sbking.core.GameConstants.MAXIMUM_POSITIVES_PERMITTED_BY_DIRECTION;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.GameModeSummary;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.bot.RandomStrategy;
+import br.com.sbk.sbking.core.bot.RulesetChooser;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.PositiveRuleset;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.gui.models.KingGameScoreboard;
+import br.com.sbk.sbking.gui.models.TableSummary;
+import br.com.sbk.sbking.networking.client.HeadlessClient;
+import br.com.sbk.sbking.networking.client.HeadlessClientListener;
+import br.com.sbk.sbking.networking.messages.CardPlayedEvent;
+import br.com.sbk.sbking.networking.messages.DealEvent;
+import br.com.sbk.sbking.networking.messages.RulesetChosenEvent;
+
+/**
+ * One seat of a King table in a load test. When it is its turn it waits a
+ * random think time on the scheduler and then chooses as the server's bots do
+ * or plays any legal card, timing the card until the server sends it back.
+ * Only the reading thread of its client and the scheduler touch it.
+ */
+final class LoadTestPlayer implements HeadlessClientListener {
+
+    static final long CARD_TIMEOUT_IN_NANOSECONDS = TimeUnit.SECONDS.toNanos(90);
+
+    private final LoadTestStatistics statistics;
+    private final ScheduledExecutorService scheduler;
+    private final long minimumThinkTimeInMilliseconds;
+    private final long maximumThinkTimeInMilliseconds;
+    private final SplittableRandom random;
+    private final RandomStrategy strategy;
+    private final RulesetChooser rulesetChooser = new RulesetChooser();
+    private final boolean countsTable;
+    private final CompletableFuture<List<TableSummary>> tables = new CompletableFuture<List<TableSummary>>();
+    private final CompletableFuture<Void> gameFinished = new CompletableFuture<Void>();
+
+    private volatile HeadlessClient client;
+    private int scheduledAtPlayedCards = -1;
+    private Card sentCard;
+    private long sentAt;
+
+    /**
+     * Only one player of each table counts its deals and its game.
+     */
+    LoadTestPlayer(LoadTestStatistics statistics, ScheduledExecutorService scheduler,
+            long minimumThinkTimeInMilliseconds, long maximumThinkTimeInMilliseconds, long seed, boolean countsTable) {
+        this.statistics = statistics;
+        this.scheduler = scheduler;
+        this.minimumThinkTimeInMilliseconds = minimumThinkTimeInMilliseconds;
+        this.maximumThinkTimeInMilliseconds = maximumThinkTimeInMilliseconds;
+        this.random = new SplittableRandom(seed);
+        this.strategy = new RandomStrategy(this.random.split());
+        this.countsTable = countsTable;
+    }
+
+    void setClient(HeadlessClient client) {
+        this.client = client;
+    }
+
+    HeadlessClient getClient() {
+        return this.client;
+    }
+
+    /**
+     * The first list of tables the server sends.
+     */
+    CompletableFuture<List<TableSummary>> getTables() {
+        return this.tables;
+    }
+
+    CompletableFuture<Void> getGameFinished() {
+        return this.gameFinished;
+    }
+
+    @Override
+    public void onTables(List<TableSummary> tableSummaries) {
+        this.tables.complete(tableSummaries);
+    }
+
+    @Override
+    public void onChooserPositiveOrNegative(Direction chooser) {
+        if (chooser == this.client.getDirection()) {
+            this.afterThinking(() -> {
+                if (this.rulesetChooser.choosesPositive(this.getHand(), this.permitted())) {
+                    this.client.sendPositive();
+                } else {
+                    this.client.sendNegative();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onChooserGameModeOrStrain(Direction chooser) {
+        if (chooser == this.client.getDirection()) {
+            this.afterThinking(() -> {
+                Ruleset ruleset = this.rulesetChooser.chooseGameModeOrStrain(this.getHand(),
+                        this.client.isPositiveSelected(), this.permitted());
+                if (ruleset != null) {
+                    this.client.sendGameModeOrStrain(ruleset.getShortDescription());
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onDealSnapshot(Deal deal) {
+        synchronized (this) {
+            if (this.sentCard != null && deal != null && playedCardsOf(deal) > this.scheduledAtPlayedCards) {
+                this.statistics.addCard(System.nanoTime() - this.sentAt);
+                this.sentCard = null;
+            }
+        }
+        this.scheduleCardIfMyTurn(deal);
+    }
+
+    @Override
+    public void onDealEvent(DealEvent dealEvent, Deal deal) {
+        if (dealEvent instanceof RulesetChosenEvent) {
+            this.startNewDeal();
+        } else if (dealEvent instanceof CardPlayedEvent) {
+            CardPlayedEvent cardPlayedEvent = (CardPlayedEvent) dealEvent;
+            synchronized (this) {
+                if (cardPlayedEvent.getCard() == this.sentCard
+                        && cardPlayedEvent.getDirection() == this.client.getDirection()) {
+                    this.statistics.addCard(System.nanoTime() - this.sentAt);
+                    this.sentCard = null;
+                }
+            }
+        }
+        this.scheduleCardIfMyTurn(deal);
+    }
+
+    @Override
+    public void onInitializeDeal() {
+        this.startNewDeal();
+    }
+
+    @Override
+    public void onFinishDeal() {
+        if (this.countsTable) {
+            this.statistics.addFinishedDeal();
+        }
+    }
+
+    @Override
+    public void onFinishGame() {
+        if (this.countsTable) {
+            this.statistics.addFinishedGame();
+        }
+        this.gameFinished.complete(null);
+    }
+
+    @Override
+    public void onDisconnected() {
+        this.statistics.addDisconnection();
+        this.tables.cancel(false);
+        this.gameFinished.complete(null);
+    }
+
+    /**
+     * A snapshot taken while the ruleset was being chosen may show the deal
+     * before, so the count of played cards starts over with every deal.
+     */
+    private synchronized void startNewDeal() {
+        this.scheduledAtPlayedCards = -1;
+    }
+
+    private synchronized void scheduleCardIfMyTurn(Deal deal) {
+        if (deal == null || deal.isFinished() || deal.getCurrentPlayer() != this.client.getDirection()) {
+            return;
+        }
+        if (this.sentCard != null) {
+            if (System.nanoTime() - this.sentAt < CARD_TIMEOUT_IN_NANOSECONDS) {
+                return;
+            }
+            this.statistics.addLostCard();
+            this.sentCard = null;
+        }
+        int playedCards = playedCardsOf(deal);
+        if (playedCards == this.scheduledAtPlayedCards) {
+            return;
+        }
+        this.scheduledAtPlayedCards = playedCards;
+        this.afterThinking(() -> this.playCard(playedCards));
+    }
+
+    private synchronized void playCard(int playedCards) {
+        Deal deal = this.client.getDeal();
+        if (deal == null || deal.isFinished() || deal.getCurrentPlayer() != this.client.getDirection()
+                || playedCardsOf(deal) != playedCards) {
+            return;
+        }
+        this.sentCard = this.strategy.chooseCard(deal);
+        this.sentAt = System.nanoTime();
+        this.client.play(this.sentCard);
+    }
+
+    private synchronized void afterThinking(Runnable move) {
+        long thinkTime = this.minimumThinkTimeInMilliseconds;
+        if (this.maximumThinkTimeInMilliseconds > this.minimumThinkTimeInMilliseconds) {
+            thinkTime += this.random.nextLong(this.maximumThinkTimeInMilliseconds - this.minimumThinkTimeInMilliseconds + 1);
+        }
+        this.scheduler.schedule(move, thinkTime, TimeUnit.MILLISECONDS);
+    }
+
+    private Hand getHand() {
+        return this.client.getCurrentBoard().getHandOf(this.client.getDirection());
+    }
+
+    private Predicate<Ruleset> permitted() {
+        return permittedBy(this.client.getGameScoreboard(), this.client.getDirection());
+    }
+
+    /**
+     * The rulesets KingGame permits the side of the chooser, worked out from
+     * the deals already on the scoreboard.
+     */
+    static Predicate<Ruleset> permittedBy(KingGameScoreboard gameScoreboard, Direction chooser) {
+        int positivesOfSide = 0;
+        int negativesOfSide = 0;
+        for (GameModeSummary gameModeSummary : gameScoreboard.getGameModeSummaries()) {
+            if (gameModeSummary != null
+                    && gameModeSummary.getChosenByDirection().isNorthSouth() == chooser.isNorthSouth()) {
+                if (gameModeSummary.getRuleset() instanceof PositiveRuleset) {
+                    positivesOfSide++;
+                } else {
+                    negativesOfSide++;
+                }
+            }
+        }
+        boolean positivePermitted = positivesOfSide < MAXIMUM_POSITIVES_PERMITTED_BY_DIRECTION;
+        boolean negativePermitted = negativesOfSide < MAXIMUM_NEGATIVES_PERMITTED_BY_DIRECTION;
+        return ruleset -> {
+            if (ruleset instanceof PositiveRuleset) {
+                return positivePermitted;
+            }
+            return negativePermitted && !wasPlayed(gameScoreboard, ruleset);
+        };
+    }
+
+    private static boolean wasPlayed(KingGameScoreboard gameScoreboard, Ruleset ruleset) {
+        for (GameModeSummary gameModeSummary : gameScoreboard.getGameModeSummaries()) {
+            if (gameModeSummary != null && ruleset.equals(gameModeSummary.getRuleset())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int playedCardsOf(Deal deal) {
+        int playedCards = 0;
+        for (Trick trick : deal.getTricks()) {
+            playedCards += trick.getNumberOfCards();
+        }
+        return playedCards;
+    }
+
+}
@@ -0,0 +1,73 @@
+package br.com.sbk.sbking.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.sbk.sbking.metrics.Histogram;
+
+/**
+ * What the clients of a load test saw, recorded from all of their threads at
+ * once: how long each card took from being sent to coming back in a deal
+ * event, and how many cards, deals and games were played.
+ */
+public final class LoadTestStatistics {
+
+    private static final long HIGHEST_LATENCY_IN_NANOSECONDS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Histogram cardLatencies = new Histogram(HIGHEST_LATENCY_IN_NANOSECONDS);
+    private final AtomicLong lostCards = new AtomicLong();
+    private final AtomicLong finishedDeals = new AtomicLong();
+    private final AtomicLong finishedGames = new AtomicLong();
+    private final AtomicLong disconnections = new AtomicLong();
+
+    void addCard(long latencyInNanoseconds) {
+        this.cardLatencies.record(latencyInNanoseconds);
+    }
+
+    void addLostCard() {
+        this.lostCards.incrementAndGet();
+    }
+
+    void addFinishedDeal() {
+        this.finishedDeals.incrementAndGet();
+    }
+
+    void addFinishedGame() {
+        this.finishedGames.incrementAndGet();
+    }
+
+    void addDisconnection() {
+        this.disconnections.incrementAndGet();
+    }
+
+    /**
+     * Card sent to deal event received, in nanoseconds.
+     */
+    public Histogram getCardLatencies() {
+        return this.cardLatencies;
+    }
+
+    public long getNumberOfPlayedCards() {
+        return this.cardLatencies.getTotalCount();
+    }
+
+    /**
+     * Cards the server never echoed back, within the card timeout.
+     */
+    public long getNumberOfLostCards() {
+        return this.lostCards.get();
+    }
+
+    public long getNumberOfFinishedDeals() {
+        return this.finishedDeals.get();
+    }
+
+    public long getNumberOfFinishedGames() {
+        return this.finishedGames.get();
+    }
+
+    public long getNumberOfDisconnections() {
+        return this.disconnections.get();
+    }
+
+}
@@ -0,0 +1,149 @@
+package br.com.sbk.sbking.loadtest.main;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import br.com.sbk.sbking.gui.models.TableSummary;
+import br.com.sbk.sbking.networking.core.properties.FileProperties;
+import br.com.sbk.sbking.networking.core.properties.NetworkingProperties;
+import br.com.sbk.sbking.networking.core.properties.SystemProperties;
+import br.com.sbk.sbking.networking.server.Lobby;
+import br.com.sbk.sbking.networking.server.LobbyServer;
+
+/**
+ * Starts a lobby server in this JVM, connects idle clients to it until each of
+ * the given counts is reached and prints the live platform threads, the heap
+ * in use after a garbage collection and the resident memory of the process.
+ * The clients live in the same process, so compare runs with the same counts:
+ *
+ * java -Dtransport=blocking -Dthreads=platform -cp sbking-loadtest.jar
+ * br.com.sbk.sbking.loadtest.main.ConnectionBenchmark 1000 5000 10000
+ *
+ * and again with -Dthreads=virtual on Java 21. Ten thousand clients need about
+ * twenty thousand file descriptors (ulimit -n).
+ */
+public final class ConnectionBenchmark {
+
+    private static final int[] DEFAULT_NUMBERS_OF_CLIENTS = {1000, 5000, 10000};
+    private static final long SETTLE_TIMEOUT_IN_MILLISECONDS = 120000;
+    private static final long BYTES_IN_A_MEGABYTE = 1024 * 1024;
+
+    private ConnectionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Configurator.setRootLevel(Level.WARN);
+        int[] numbersOfClients = parseNumbersOfClients(args);
+
+        NetworkingProperties networkingProperties = new NetworkingProperties(
+                new FileProperties("networkConfiguration.cfg"), new SystemProperties());
+        LobbyServer lobbyServer = new LobbyServer();
+        Thread serverThread = new Thread(lobbyServer::run, "lobby-server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        String host = "127.0.0.1";
+        int port = networkingProperties.getPort();
+        waitForServer(host, port);
+        Lobby lobby = lobbyServer.getLobby();
+        int baselineClients = countClients(lobby);
+
+        System.out.println("transport=" + networkingProperties.getTransport() + " threads="
+                + networkingProperties.getThreads() + " java=" + System.getProperty("java.version"));
+        System.out.println(String.format("%8s %10s %10s %10s %10s %12s", "clients", "threads", "peak", "heapMB",
+                "rssMB", "connectMs"));
+
+        List<Socket> clients = new ArrayList<Socket>();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        for (int numberOfClients : numbersOfClients) {
+            long start = System.nanoTime();
+            while (clients.size() < numberOfClients) {
+                clients.add(new Socket(host, port));
+            }
+            waitForClients(lobby, baselineClients + numberOfClients);
+            long connectMilliseconds = (System.nanoTime() - start) / 1000000;
+
+            System.gc();
+            long heapBytes = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            System.out.println(String.format("%8d %10d %10d %10d %10s %12d", numberOfClients,
+                    threadMXBean.getThreadCount(), threadMXBean.getPeakThreadCount(),
+                    heapBytes / BYTES_IN_A_MEGABYTE, residentMegabytes(), connectMilliseconds));
+        }
+
+        // Exiting closes the clients and the server together, without logging every disconnection
+        System.exit(0);
+    }
+
+    private static int[] parseNumbersOfClients(String[] args) {
+        if (args.length == 0) {
+            return DEFAULT_NUMBERS_OF_CLIENTS;
+        }
+        int[] numbersOfClients = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            numbersOfClients[i] = Integer.parseInt(args[i]);
+        }
+        return numbersOfClients;
+    }
+
+    private static void waitForServer(String host, int port) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT_IN_MILLISECONDS;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                new Socket(host, port).close();
+                return;
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("Lobby server did not start listening on port " + port + ".");
+    }
+
+    private static void waitForClients(Lobby lobby, int expectedClients) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT_IN_MILLISECONDS;
+        while (countClients(lobby) < expectedClients) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Only " + countClients(lobby) + " of " + expectedClients
+                        + " clients joined the lobby.");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static int countClients(Lobby lobby) {
+        int clients = 0;
+        for (TableSummary tableSummary : lobby.getTableSummaries()) {
+            clients += tableSummary.getNumberOfPlayers() + tableSummary.getNumberOfSpectators();
+        }
+        return clients;
+    }
+
+    private static String residentMegabytes() {
+        Path status = Paths.get("/proc/self/status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    long kilobytes = Long.parseLong(line.replaceAll("[^0-9]", ""));
+                    return Long.toString(kilobytes / 1024);
+                }
+            }
+        } catch (IOException e) {
+            return "n/a";
+        }
+        return "n/a";
+    }
+
+}
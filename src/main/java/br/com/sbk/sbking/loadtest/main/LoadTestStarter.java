@@ -0,0 +1,95 @@
+package br.com.sbk.sbking.loadtest.main;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import br.com.sbk.sbking.loadtest.LoadTest;
+import br.com.sbk.sbking.loadtest.LoadTestStatistics;
+import br.com.sbk.sbking.metrics.Histogram;
+import br.com.sbk.sbking.networking.core.properties.FileProperties;
+import br.com.sbk.sbking.networking.core.properties.NetworkingProperties;
+import br.com.sbk.sbking.networking.core.properties.SystemProperties;
+
+/**
+ * Plays King on a running server with many headless clients and prints how
+ * long their cards took to come back:
+ *
+ * java -jar sbking-loadtest.jar [clients] [seconds] [minimum think ms]
+ * [maximum think ms] [seed]
+ *
+ * The host, port and protocol are the client's, from networkConfiguration.cfg
+ * or -Dhost, -Dport and -Dprotocol. Every client holds a thread and a socket,
+ * so thousands of clients need as many file descriptors (ulimit -n).
+ */
+public final class LoadTestStarter {
+
+    private static final int DEFAULT_NUMBER_OF_CLIENTS = 400;
+    private static final long DEFAULT_DURATION_IN_SECONDS = 120;
+    private static final long DEFAULT_MINIMUM_THINK_TIME_IN_MILLISECONDS = 500;
+    private static final long DEFAULT_MAXIMUM_THINK_TIME_IN_MILLISECONDS = 2000;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final double NANOSECONDS_IN_A_MILLISECOND = 1e6;
+    private static final double MILLISECONDS_IN_A_SECOND = 1e3;
+
+    private LoadTestStarter() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Configurator.setRootLevel(Level.WARN);
+        int numberOfClients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_CLIENTS;
+        long durationInSeconds = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_DURATION_IN_SECONDS;
+        long minimumThinkTime = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MINIMUM_THINK_TIME_IN_MILLISECONDS;
+        long maximumThinkTime = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_MAXIMUM_THINK_TIME_IN_MILLISECONDS;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        NetworkingProperties networkingProperties = new NetworkingProperties(
+                new FileProperties("networkConfiguration.cfg"), new SystemProperties());
+        LoadTest loadTest = new LoadTest(networkingProperties.getHost(), networkingProperties.getPort(),
+                networkingProperties.getProtocol(), minimumThinkTime, maximumThinkTime);
+
+        long start = System.nanoTime();
+        loadTest.seat(numberOfClients, seed);
+        long seatedAt = System.nanoTime();
+        System.out.println(String.format("%d clients seated at %d tables of %s:%d (%s) in %.1f s, seed %d",
+                loadTest.getNumberOfClients(), loadTest.getNumberOfTables(), networkingProperties.getHost(),
+                networkingProperties.getPort(), networkingProperties.getProtocol(), seconds(seatedAt - start), seed));
+
+        loadTest.play(TimeUnit.SECONDS.toMillis(durationInSeconds));
+        double playedSeconds = seconds(System.nanoTime() - seatedAt);
+        LoadTestStatistics statistics = loadTest.getStatistics();
+        long disconnections = statistics.getNumberOfDisconnections();
+        loadTest.close();
+
+        System.out.println(String.format("%d cards in %.1f s, %.1f cards/s; %d deals and %d games finished",
+                statistics.getNumberOfPlayedCards(), playedSeconds, statistics.getNumberOfPlayedCards() / playedSeconds,
+                statistics.getNumberOfFinishedDeals(), statistics.getNumberOfFinishedGames()));
+        System.out.println(String.format("%d cards lost, %d clients disconnected by the server",
+                statistics.getNumberOfLostCards(), disconnections));
+        printLatencies(statistics.getCardLatencies());
+        System.exit(0);
+    }
+
+    private static void printLatencies(Histogram latencies) {
+        System.out.println();
+        System.out.println("card sent -> card played event received, in ms");
+        StringBuilder header = new StringBuilder(String.format("%10s", "mean"));
+        StringBuilder values = new StringBuilder(String.format("%10.2f",
+                latencies.getMean() / NANOSECONDS_IN_A_MILLISECOND));
+        for (double percentile : PERCENTILES) {
+            header.append(String.format(" %10s", "p" + percentile));
+            values.append(String.format(" %10.2f",
+                    latencies.getValueAtPercentile(percentile) / NANOSECONDS_IN_A_MILLISECOND));
+        }
+        header.append(String.format(" %10s", "max"));
+        values.append(String.format(" %10.2f", latencies.getMaximumValue() / NANOSECONDS_IN_A_MILLISECOND));
+        System.out.println(header);
+        System.out.println(values);
+    }
+
+    private static double seconds(long nanoseconds) {
+        return nanoseconds / NANOSECONDS_IN_A_MILLISECOND / MILLISECONDS_IN_A_SECOND;
+    }
+
+}
@@ -0,0 +1,25 @@
+package br.com.sbk.sbking.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count that only goes up, such as cards played or bytes sent. Many threads
+ * may add to it at once without contending on a single variable.
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        this.count.increment();
+    }
+
+    public void add(long value) {
+        this.count.add(value);
+    }
+
+    public long get() {
+        return this.count.sum();
+    }
+
+}
@@ -0,0 +1,140 @@
+package br.com.sbk.sbking.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts non negative values, such as latencies in nanoseconds, in buckets
+ * that are linear within each power of two, as HdrHistogram does: a value is
+ * kept with its 8 most significant bits, within 1% of what was recorded,
+ * whatever its magnitude. Recording takes no lock and allocates nothing, so
+ * any number of threads may record into the same histogram while another reads
+ * it. Values above the highest trackable one are counted as that one.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final double ONE_HUNDRED_PERCENT = 100.0;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong maximumValue = new AtomicLong();
+
+    public Histogram(long highestTrackableValue) {
+        if (highestTrackableValue < SUB_BUCKET_COUNT) {
+            throw new IllegalArgumentException("A histogram must track values up to at least " + SUB_BUCKET_COUNT + ".");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+    }
+
+    public void record(long value) {
+        long trackedValue = Math.min(Math.max(value, 0), this.highestTrackableValue);
+        this.counts.incrementAndGet(indexOf(trackedValue));
+        this.totalCount.incrementAndGet();
+        this.totalValue.addAndGet(trackedValue);
+        long maximum = this.maximumValue.get();
+        while (trackedValue > maximum && !this.maximumValue.compareAndSet(maximum, trackedValue)) {
+            maximum = this.maximumValue.get();
+        }
+    }
+
+    public long getTotalCount() {
+        return this.totalCount.get();
+    }
+
+    /**
+     * The sum of the recorded values, each counted as recorded, not as the
+     * bucket it went into.
+     */
+    public long getTotalValue() {
+        return this.totalValue.get();
+    }
+
+    public long getMaximumValue() {
+        return this.maximumValue.get();
+    }
+
+    public double getMean() {
+        long count = this.totalCount.get();
+        return count == 0 ? 0 : (double) this.totalValue.get() / count;
+    }
+
+    /**
+     * The highest value of the bucket holding the given percentile of the
+     * recorded values, never above the highest value recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = this.totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, ONE_HUNDRED_PERCENT)
+                / ONE_HUNDRED_PERCENT * count));
+        long seen = 0;
+        for (int index = 0; index < this.counts.length(); index++) {
+            seen += this.counts.get(index);
+            if (seen >= countAtPercentile) {
+                return Math.min(highestValueOf(index), this.maximumValue.get());
+            }
+        }
+        return this.maximumValue.get();
+    }
+
+    /**
+     * Adds the values recorded into the other histogram, which must track the
+     * same values, to this one.
+     */
+    public void add(Histogram other) {
+        if (other.highestTrackableValue != this.highestTrackableValue) {
+            throw new IllegalArgumentException("Can only add histograms tracking the same values.");
+        }
+        for (int index = 0; index < this.counts.length(); index++) {
+            this.counts.addAndGet(index, other.counts.get(index));
+        }
+        this.totalCount.addAndGet(other.totalCount.get());
+        this.totalValue.addAndGet(other.totalValue.get());
+        long otherMaximum = other.maximumValue.get();
+        long maximum = this.maximumValue.get();
+        while (otherMaximum > maximum && !this.maximumValue.compareAndSet(maximum, otherMaximum)) {
+            maximum = this.maximumValue.get();
+        }
+    }
+
+    public void reset() {
+        for (int index = 0; index < this.counts.length(); index++) {
+            this.counts.set(index, 0);
+        }
+        this.totalCount.set(0);
+        this.totalValue.set(0);
+        this.maximumValue.set(0);
+    }
+
+    /**
+     * Values below SUB_BUCKET_COUNT have an index each. Above that, each power
+     * of two is split into SUB_BUCKET_HALF_COUNT buckets by the bits right
+     * after its most significant one.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT
+                + (int) ((value >>> shift) - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
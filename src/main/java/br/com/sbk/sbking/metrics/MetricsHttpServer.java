@@ -0,0 +1,71 @@
+package br.com.sbk.sbking.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves the metrics of a registry as plain text on /metrics, for Prometheus
+ * or curl to scrape. It listens on the loopback address only and on its own
+ * thread, away from the game's port and executors.
+ */
+public final class MetricsHttpServer {
+
+    public static final String PATH = "/metrics";
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int OK = 200;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int INITIAL_TEXT_LENGTH = 8192;
+
+    private final MetricsRegistry metricsRegistry;
+    private HttpServer httpServer;
+
+    public MetricsHttpServer(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    /**
+     * Starts listening on the port, or on any free port when it is 0.
+     */
+    public void start(int port) throws IOException {
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.httpServer.createContext(PATH, this::scrape);
+        this.httpServer.start();
+    }
+
+    public int getPort() {
+        return this.httpServer.getAddress().getPort();
+    }
+
+    public void stop() {
+        if (this.httpServer != null) {
+            this.httpServer.stop(0);
+        }
+    }
+
+    private void scrape(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(METHOD_NOT_ALLOWED, -1);
+                return;
+            }
+            StringBuilder text = new StringBuilder(INITIAL_TEXT_LENGTH);
+            this.metricsRegistry.writeText(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(OK, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package br.com.sbk.sbking.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * Shows the metrics of a registry as read only JMX attributes, one for each
+ * attribute of MetricsRegistry.getAttributes, so metrics registered after the
+ * bean, such as those of a new table, show up without registering it again.
+ */
+public final class MetricsMBean implements DynamicMBean {
+
+    private final MetricsRegistry metricsRegistry;
+
+    public MetricsMBean(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    /**
+     * Registers the bean with the platform MBean server, where jconsole and
+     * other JMX clients find it.
+     */
+    public void register(String objectName) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(objectName));
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Number value = this.metricsRegistry.getAttributes().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException("There is no metric --" + attribute + "--");
+        }
+        return value;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read only.");
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Number> values = this.metricsRegistry.getAttributes();
+        AttributeList attributeList = new AttributeList();
+        for (String attribute : attributes) {
+            Number value = values.get(attribute);
+            if (value != null) {
+                attributeList.add(new Attribute(attribute, value));
+            }
+        }
+        return attributeList;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName), "Metrics have no operations.");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributeInfos = new ArrayList<MBeanAttributeInfo>();
+        for (Map.Entry<String, Number> attribute : this.metricsRegistry.getAttributes().entrySet()) {
+            attributeInfos.add(new MBeanAttributeInfo(attribute.getKey(), attribute.getValue().getClass().getName(),
+                    attribute.getKey(), true, false, false));
+        }
+        return new MBeanInfo(this.getClass().getName(), "SBKing metrics",
+                attributeInfos.toArray(new MBeanAttributeInfo[attributeInfos.size()]), null,
+                new MBeanOperationInfo[0], null);
+    }
+
+}
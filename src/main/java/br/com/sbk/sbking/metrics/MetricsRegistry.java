@@ -0,0 +1,201 @@
+package br.com.sbk.sbking.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The counters, gauges and histograms of a process, by name and labels.
+ * Metrics are registered once, when what they measure is created, and the code
+ * being measured keeps the Counter or Histogram it got back, so measuring
+ * never looks anything up and allocates nothing. Metrics of something that
+ * goes away, such as a table, are unregistered with it. Only registering,
+ * unregistering and reading take the registry's lock.
+ *
+ * Every metric can be written in the plain text format Prometheus scrapes,
+ * histograms as summaries whose quantile 1.0 is the maximum, and read as flat
+ * attributes, as JMX shows them.
+ */
+public final class MetricsRegistry {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] QUANTILE_NAMES = {"p50", "p90", "p99", "p999"};
+    private static final double ONE_HUNDRED_PERCENT = 100.0;
+
+    private enum Type {
+        COUNTER, GAUGE, SUMMARY
+    }
+
+    private final Map<String, Family> families = new LinkedHashMap<String, Family>();
+
+    /**
+     * Labels are given as names followed by their values, such as "table",
+     * "2".
+     */
+    public Counter counter(String name, String help, String... labels) {
+        Counter counter = new Counter();
+        this.register(name, help, Type.COUNTER, labels, counter);
+        return counter;
+    }
+
+    public void gauge(String name, String help, LongSupplier gauge, String... labels) {
+        this.register(name, help, Type.GAUGE, labels, gauge);
+    }
+
+    public Histogram histogram(String name, String help, long highestTrackableValue, String... labels) {
+        Histogram histogram = new Histogram(highestTrackableValue);
+        this.register(name, help, Type.SUMMARY, labels, histogram);
+        return histogram;
+    }
+
+    private synchronized void register(String name, String help, Type type, String[] labels, Object instrument) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels of " + name + " must come in pairs of name and value.");
+        }
+        Family family = this.families.get(name);
+        if (family == null) {
+            family = new Family(help, type);
+            this.families.put(name, family);
+        } else if (family.type != type) {
+            throw new IllegalArgumentException(name + " is already registered as a " + family.type + ".");
+        }
+        family.metrics.add(new Metric(labels, instrument));
+    }
+
+    /**
+     * Forgets the metric registered under the name with exactly these labels,
+     * and the name itself once it has no metric left. Does nothing when there
+     * is no such metric.
+     */
+    public synchronized void unregister(String name, String... labels) {
+        Family family = this.families.get(name);
+        if (family == null) {
+            return;
+        }
+        family.metrics.removeIf(metric -> Arrays.equals(metric.labels, labels));
+        if (family.metrics.isEmpty()) {
+            this.families.remove(name);
+        }
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format.
+     */
+    public synchronized void writeText(StringBuilder text) {
+        for (Map.Entry<String, Family> entry : this.families.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            text.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            text.append("# TYPE ").append(name).append(' ').append(family.type.name().toLowerCase()).append('\n');
+            for (Metric metric : family.metrics) {
+                if (family.type == Type.SUMMARY) {
+                    writeSummary(text, name, metric.labels, (Histogram) metric.instrument);
+                } else {
+                    writeSample(text, name, labelsOf(metric.labels, null, null), valueOf(metric.instrument));
+                }
+            }
+        }
+    }
+
+    private static void writeSummary(StringBuilder text, String name, String[] labels, Histogram histogram) {
+        for (double quantile : QUANTILES) {
+            writeSample(text, name, labelsOf(labels, "quantile", Double.toString(quantile)),
+                    histogram.getValueAtPercentile(quantile * ONE_HUNDRED_PERCENT));
+        }
+        writeSample(text, name, labelsOf(labels, "quantile", "1.0"), histogram.getMaximumValue());
+        writeSample(text, name + "_sum", labelsOf(labels, null, null), histogram.getTotalValue());
+        writeSample(text, name + "_count", labelsOf(labels, null, null), histogram.getTotalCount());
+    }
+
+    private static void writeSample(StringBuilder text, String name, String labels, long value) {
+        text.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static String labelsOf(String[] labels, String extraName, String extraValue) {
+        if (labels.length == 0 && extraName == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder("{");
+        for (int i = 0; i < labels.length; i += 2) {
+            appendLabel(text, labels[i], labels[i + 1]);
+        }
+        if (extraName != null) {
+            appendLabel(text, extraName, extraValue);
+        }
+        return text.append('}').toString();
+    }
+
+    private static void appendLabel(StringBuilder text, String name, String value) {
+        if (text.length() > 1) {
+            text.append(',');
+        }
+        text.append(name).append("=\"").append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+    }
+
+    /**
+     * Every metric as attributes named by the metric and the values of its
+     * labels, such as sbking_table_played_cards.2, with the quantiles, mean,
+     * maximum and count of each histogram as attributes of their own.
+     */
+    public synchronized Map<String, Number> getAttributes() {
+        Map<String, Number> attributes = new LinkedHashMap<String, Number>();
+        for (Map.Entry<String, Family> entry : this.families.entrySet()) {
+            for (Metric metric : entry.getValue().metrics) {
+                StringBuilder attribute = new StringBuilder(entry.getKey());
+                for (int i = 1; i < metric.labels.length; i += 2) {
+                    attribute.append('.').append(metric.labels[i]);
+                }
+                String name = attribute.toString();
+                if (metric.instrument instanceof Histogram) {
+                    Histogram histogram = (Histogram) metric.instrument;
+                    for (int quantile = 0; quantile < QUANTILES.length; quantile++) {
+                        attributes.put(name + "." + QUANTILE_NAMES[quantile],
+                                histogram.getValueAtPercentile(QUANTILES[quantile] * ONE_HUNDRED_PERCENT));
+                    }
+                    attributes.put(name + ".max", histogram.getMaximumValue());
+                    attributes.put(name + ".mean", histogram.getMean());
+                    attributes.put(name + ".count", histogram.getTotalCount());
+                } else {
+                    attributes.put(name, valueOf(metric.instrument));
+                }
+            }
+        }
+        return attributes;
+    }
+
+    private static long valueOf(Object instrument) {
+        if (instrument instanceof Counter) {
+            return ((Counter) instrument).get();
+        }
+        return ((LongSupplier) instrument).getAsLong();
+    }
+
+    private static final class Family {
+
+        private final String help;
+        private final Type type;
+        private final List<Metric> metrics = new ArrayList<Metric>();
+
+        private Family(String help, Type type) {
+            this.help = help;
+            this.type = type;
+        }
+
+    }
+
+    private static final class Metric {
+
+        private final String[] labels;
+        private final Object instrument;
+
+        private Metric(String[] labels, Object instrument) {
+            this.labels = labels.clone();
+            this.instrument = instrument;
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package br.com.sbk.sbking.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts what happened during the last window of time, such as the deals
+ * finished in the last minute. The window is split into slots of equal length
+ * and a slot is cleared when its time comes round again, so the count moves a
+ * slot at a time and an increment racing with that clearing may be lost.
+ */
+public final class SlidingWindowCounter {
+
+    private final long slotLengthInMilliseconds;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray slotNumbers;
+
+    public SlidingWindowCounter(long windowLengthInMilliseconds, int numberOfSlots) {
+        if (numberOfSlots < 1 || windowLengthInMilliseconds < numberOfSlots) {
+            throw new IllegalArgumentException("A window needs at least one slot of at least a millisecond.");
+        }
+        this.slotLengthInMilliseconds = windowLengthInMilliseconds / numberOfSlots;
+        this.counts = new AtomicLongArray(numberOfSlots);
+        this.slotNumbers = new AtomicLongArray(numberOfSlots);
+    }
+
+    public void increment() {
+        this.increment(now());
+    }
+
+    public long getCount() {
+        return this.getCount(now());
+    }
+
+    void increment(long nowInMilliseconds) {
+        long slotNumber = Math.floorDiv(nowInMilliseconds, this.slotLengthInMilliseconds);
+        int index = (int) Math.floorMod(slotNumber, (long) this.counts.length());
+        long currentSlotNumber = this.slotNumbers.get(index);
+        if (currentSlotNumber != slotNumber && this.slotNumbers.compareAndSet(index, currentSlotNumber, slotNumber)) {
+            this.counts.set(index, 0);
+        }
+        this.counts.incrementAndGet(index);
+    }
+
+    long getCount(long nowInMilliseconds) {
+        long slotNumber = Math.floorDiv(nowInMilliseconds, this.slotLengthInMilliseconds);
+        long count = 0;
+        for (int index = 0; index < this.counts.length(); index++) {
+            if (slotNumber - this.slotNumbers.get(index) < this.counts.length()) {
+                count += this.counts.get(index);
+            }
+        }
+        return count;
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+}
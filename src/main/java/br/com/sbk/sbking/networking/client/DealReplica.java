@@ -0,0 +1,255 @@
+package br.com.sbk.sbking.networking.client;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Player;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.networking.messages.CardPlayedEvent;
+import br.com.sbk.sbking.networking.messages.DealEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
+import br.com.sbk.sbking.networking.messages.HandRevealedEvent;
+import br.com.sbk.sbking.networking.messages.RulesetChosenEvent;
+import br.com.sbk.sbking.networking.messages.SeatChangedEvent;
+import br.com.sbk.sbking.networking.messages.TrickWonEvent;
+
+/**
+ * Client side copy of the deal being played on the table. It keeps the
+ * starting hands and the played cards and rebuilds a new Deal after every
+ * event, so the Deal handed to the screens is never changed while they paint
+ * it. Hands the client is not allowed to see are kept as the cards already
+ * played from them plus a number of hidden cards.
+ */
+public class DealReplica {
+
+    private long lastSequence = 0;
+
+    private Direction dealer;
+    private Map<Direction, List<Card>> startingHands;
+    private Map<Direction, Integer> hiddenCards = new EnumMap<Direction, Integer>(Direction.class);
+    private Ruleset ruleset;
+    private int startingNumberOfCardsInTheHand;
+    private Direction dummy;
+    private Direction leader;
+    private List<Card> playedCards = new ArrayList<Card>();
+    private Map<Direction, String> playerNames = new EnumMap<Direction, String>(Direction.class);
+
+    private volatile Deal deal;
+
+    public Deal getDeal() {
+        return this.deal;
+    }
+
+    public long getLastSequence() {
+        return this.lastSequence;
+    }
+
+    public synchronized void setBoard(Board board) {
+        Map<Direction, Hand> hands = new EnumMap<Direction, Hand>(Direction.class);
+        for (Direction direction : Direction.values()) {
+            hands.put(direction, board.getHandOf(direction));
+        }
+        this.setStartingHands(board.getDealer(), hands);
+    }
+
+    private void setStartingHands(Direction dealer, Map<Direction, Hand> hands) {
+        this.dealer = dealer;
+        this.startingHands = new EnumMap<Direction, List<Card>>(Direction.class);
+        for (Direction direction : Direction.values()) {
+            Hand hand = hands.get(direction);
+            List<Card> cards = new ArrayList<Card>();
+            for (int i = 0; i < hand.size() - hand.getNumberOfHiddenCards(); i++) {
+                cards.add(hand.get(i));
+            }
+            this.startingHands.put(direction, cards);
+            this.hiddenCards.put(direction, hand.getNumberOfHiddenCards());
+        }
+    }
+
+    public synchronized void unsetDeal() {
+        this.deal = null;
+        this.ruleset = null;
+        this.playedCards.clear();
+    }
+
+    public synchronized void applySnapshot(DealSnapshot dealSnapshot) {
+        this.lastSequence = dealSnapshot.getSequence();
+        Deal snapshotDeal = dealSnapshot.getDeal();
+        if (snapshotDeal == null) {
+            this.unsetDeal();
+            return;
+        }
+
+        Map<Direction, Hand> hands = new EnumMap<Direction, Hand>(Direction.class);
+        for (Direction direction : Direction.values()) {
+            hands.put(direction, snapshotDeal.getHandOf(direction));
+        }
+        this.setStartingHands(snapshotDeal.getDealer(), hands);
+
+        List<Trick> tricks = snapshotDeal.getTricks();
+        this.playedCards.clear();
+        for (Trick trick : tricks) {
+            Direction current = trick.getLeader();
+            for (Card card : trick.getCards()) {
+                this.startingHands.get(current).add(card);
+                this.playedCards.add(card);
+                current = current.next();
+            }
+        }
+        this.ruleset = snapshotDeal.getRuleset();
+        this.startingNumberOfCardsInTheHand = snapshotDeal.getStartingNumberOfCardsInTheHand();
+        this.dummy = snapshotDeal.getDummy();
+        this.leader = tricks.isEmpty() ? snapshotDeal.getCurrentPlayer() : tricks.get(0).getLeader();
+        this.playerNames.clear();
+        for (Direction direction : Direction.values()) {
+            Player player = snapshotDeal.getPlayerOf(direction);
+            if (player != null) {
+                this.playerNames.put(direction, player.getName());
+            }
+        }
+        this.deal = this.rebuildDeal();
+    }
+
+    /**
+     * Applies the event if it is the next one in the sequence. Events that are
+     * already part of the replica are ignored.
+     *
+     * @return false when the replica missed an event or could not apply it and
+     *         needs a new snapshot.
+     */
+    public synchronized boolean apply(DealEvent dealEvent) {
+        if (dealEvent.getSequence() <= this.lastSequence) {
+            return true;
+        }
+        if (dealEvent.getSequence() != this.lastSequence + 1) {
+            LOGGER.info("Missed deal events {} to {}", this.lastSequence + 1, dealEvent.getSequence() - 1);
+            return false;
+        }
+        boolean applied;
+        try {
+            applied = this.applyInOrder(dealEvent);
+        } catch (RuntimeException e) {
+            LOGGER.debug(e);
+            applied = false;
+        }
+        if (applied) {
+            this.lastSequence = dealEvent.getSequence();
+        } else {
+            LOGGER.info("Could not apply deal event {}", dealEvent.getSequence());
+        }
+        return applied;
+    }
+
+    private boolean applyInOrder(DealEvent dealEvent) {
+        if (dealEvent instanceof SeatChangedEvent) {
+            return this.applySeatChanged((SeatChangedEvent) dealEvent);
+        } else if (dealEvent instanceof RulesetChosenEvent) {
+            return this.applyRulesetChosen((RulesetChosenEvent) dealEvent);
+        } else if (dealEvent instanceof CardPlayedEvent) {
+            return this.applyCardPlayed((CardPlayedEvent) dealEvent);
+        } else if (dealEvent instanceof TrickWonEvent) {
+            return this.applyTrickWon((TrickWonEvent) dealEvent);
+        } else if (dealEvent instanceof HandRevealedEvent) {
+            return this.applyHandRevealed((HandRevealedEvent) dealEvent);
+        }
+        return false;
+    }
+
+    private boolean applySeatChanged(SeatChangedEvent seatChangedEvent) {
+        if (seatChangedEvent.isEmptySeat()) {
+            this.playerNames.remove(seatChangedEvent.getDirection());
+        } else {
+            this.playerNames.put(seatChangedEvent.getDirection(), seatChangedEvent.getPlayerName());
+        }
+        if (this.deal != null) {
+            this.deal = this.rebuildDeal();
+        }
+        return true;
+    }
+
+    private boolean applyRulesetChosen(RulesetChosenEvent rulesetChosenEvent) {
+        if (this.startingHands == null) {
+            return false;
+        }
+        this.ruleset = rulesetChosenEvent.getRuleset();
+        this.leader = rulesetChosenEvent.getLeader();
+        this.dummy = rulesetChosenEvent.getDummy();
+        this.startingNumberOfCardsInTheHand = this.startingHands.get(this.leader).size()
+                + this.hiddenCards.get(this.leader);
+        this.playedCards.clear();
+        this.deal = this.rebuildDeal();
+        return true;
+    }
+
+    private boolean applyCardPlayed(CardPlayedEvent cardPlayedEvent) {
+        if (this.deal == null || this.deal.getCurrentPlayer() != cardPlayedEvent.getDirection()) {
+            return false;
+        }
+        this.playedCards.add(cardPlayedEvent.getCard());
+        try {
+            this.deal = this.rebuildDeal();
+        } catch (RuntimeException e) {
+            this.playedCards.remove(this.playedCards.size() - 1);
+            throw e;
+        }
+        return true;
+    }
+
+    private boolean applyTrickWon(TrickWonEvent trickWonEvent) {
+        Deal currentDeal = this.deal;
+        return currentDeal != null && currentDeal.getCurrentPlayer() == trickWonEvent.getWinner()
+                && currentDeal.getNorthSouthPoints() == trickWonEvent.getNorthSouthPoints()
+                && currentDeal.getEastWestPoints() == trickWonEvent.getEastWestPoints();
+    }
+
+    private boolean applyHandRevealed(HandRevealedEvent handRevealedEvent) {
+        if (this.startingHands == null) {
+            return false;
+        }
+        Direction direction = handRevealedEvent.getDirection();
+        int startingSize = this.startingHands.get(direction).size() + this.hiddenCards.get(direction);
+        if (handRevealedEvent.getCards().size() != startingSize) {
+            return false;
+        }
+        this.startingHands.put(direction, new ArrayList<Card>(handRevealedEvent.getCards()));
+        this.hiddenCards.put(direction, 0);
+        if (this.deal != null) {
+            this.deal = this.rebuildDeal();
+        }
+        return true;
+    }
+
+    private Deal rebuildDeal() {
+        Map<Direction, Hand> hands = new EnumMap<Direction, Hand>(Direction.class);
+        for (Direction direction : Direction.values()) {
+            Hand hand = new Hand();
+            for (Card card : this.startingHands.get(direction)) {
+                hand.addCard(card);
+            }
+            hand.addHiddenCards(this.hiddenCards.get(direction));
+            hands.put(direction, hand);
+        }
+        Deal rebuiltDeal = new Deal(new Board(hands, this.dealer), this.ruleset);
+        rebuiltDeal.setStartingNumberOfCardsInTheHand(this.startingNumberOfCardsInTheHand);
+        rebuiltDeal.setDummy(this.dummy);
+        rebuiltDeal.setCurrentPlayer(this.leader);
+        for (Card card : this.playedCards) {
+            rebuiltDeal.playCard(card);
+        }
+        for (Map.Entry<Direction, String> playerName : this.playerNames.entrySet()) {
+            rebuiltDeal.setPlayerOf(playerName.getKey(), new Player(playerName.getValue()));
+        }
+        return rebuiltDeal;
+    }
+
+}
@@ -0,0 +1,254 @@
+package br.com.sbk.sbking.networking.client;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.gui.models.KingGameScoreboard;
+import br.com.sbk.sbking.gui.models.TableSummary;
+import br.com.sbk.sbking.networking.core.serialization.DisconnectedObject;
+import br.com.sbk.sbking.networking.core.serialization.Serializator;
+import br.com.sbk.sbking.networking.core.serialization.SerializatorFactory;
+import br.com.sbk.sbking.networking.messages.DealEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
+import br.com.sbk.sbking.networking.messages.MessageConstants;
+
+/**
+ * The protocol of SBKingClient with no screen: it reads what the server sends
+ * into a replica of the table, tells a listener about it and sends the moves
+ * it is asked to. Acknowledgements are answered as soon as they are read and a
+ * missed deal event asks the server for a snapshot, as the game client does.
+ *
+ * Nothing here exits the JVM: connecting throws and a lost connection ends run
+ * and calls onDisconnected, so many clients can share a process. The send
+ * methods may be called from any thread.
+ */
+public class HeadlessClient implements Runnable {
+
+    private final Socket socket;
+    private final Serializator serializator;
+    private final HeadlessClientListener listener;
+
+    private volatile Direction direction;
+    private volatile boolean spectator;
+    private volatile Board currentBoard;
+    private final DealReplica dealReplica = new DealReplica();
+    private volatile boolean resyncRequested;
+    private volatile String positiveOrNegative;
+    private volatile KingGameScoreboard gameScoreboard = new KingGameScoreboard();
+    private volatile List<TableSummary> tables = new ArrayList<TableSummary>();
+    private volatile boolean closed;
+
+    public HeadlessClient(Socket socket, String protocol, HeadlessClientListener listener) throws IOException {
+        this.socket = socket;
+        this.serializator = new SerializatorFactory(protocol).getSerializator(socket);
+        this.listener = listener;
+    }
+
+    public static HeadlessClient connect(String host, int port, String protocol, HeadlessClientListener listener)
+            throws IOException {
+        Socket socket = new Socket(host, port);
+        try {
+            return new HeadlessClient(socket, protocol, listener);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads from the server until the connection is lost or closed.
+     */
+    @Override
+    public void run() {
+        while (!this.closed) {
+            Object readObject = this.serializator.tryToDeserialize(Object.class);
+            if (readObject instanceof DisconnectedObject) {
+                this.closed = true;
+                this.listener.onDisconnected();
+                return;
+            }
+            if (readObject instanceof String) {
+                this.processControl((String) readObject);
+            } else {
+                LOGGER.debug("Ignoring a message without a control: {}", readObject);
+            }
+        }
+    }
+
+    private void processControl(String controlMessage) {
+        if (MessageConstants.BOARD.equals(controlMessage)) {
+            this.currentBoard = this.serializator.tryToDeserialize(Board.class);
+            this.dealReplica.setBoard(this.currentBoard);
+        } else if (MessageConstants.SNAPSHOT.equals(controlMessage)) {
+            DealSnapshot dealSnapshot = this.serializator.tryToDeserialize(DealSnapshot.class);
+            this.dealReplica.applySnapshot(dealSnapshot);
+            this.resyncRequested = false;
+            this.listener.onDealSnapshot(this.dealReplica.getDeal());
+        } else if (MessageConstants.EVENT.equals(controlMessage)) {
+            this.applyDealEvent(this.serializator.tryToDeserialize(DealEvent.class));
+        } else if (MessageConstants.DIRECTION.equals(controlMessage)) {
+            this.direction = this.serializator.tryToDeserialize(Direction.class);
+            this.listener.onDirection(this.direction);
+        } else if (MessageConstants.WAIT.equals(controlMessage)) {
+            String message;
+            do {
+                message = this.serializator.tryToDeserialize(String.class);
+            } while (!MessageConstants.CONTINUE.equals(message) && !this.closed);
+        } else if (MessageConstants.CHOOSERPOSITIVENEGATIVE.equals(controlMessage)) {
+            this.listener.onChooserPositiveOrNegative(this.serializator.tryToDeserialize(Direction.class));
+        } else if (MessageConstants.POSITIVEORNEGATIVE.equals(controlMessage)) {
+            this.positiveOrNegative = this.serializator.tryToDeserialize(String.class);
+        } else if (MessageConstants.CHOOSERGAMEMODEORSTRAIN.equals(controlMessage)) {
+            this.listener.onChooserGameModeOrStrain(this.serializator.tryToDeserialize(Direction.class));
+        } else if (MessageConstants.MESSAGE.equals(controlMessage)
+                || MessageConstants.GAMEMODEORSTRAIN.equals(controlMessage)) {
+            this.serializator.tryToDeserialize(String.class);
+        } else if (MessageConstants.INITIALIZEDEAL.equals(controlMessage)) {
+            this.initializeDeal();
+            this.listener.onInitializeDeal();
+        } else if (MessageConstants.FINISHDEAL.equals(controlMessage)) {
+            this.initializeDeal();
+            this.listener.onFinishDeal();
+        } else if (MessageConstants.FINISHGAME.equals(controlMessage)) {
+            this.listener.onFinishGame();
+        } else if (MessageConstants.INVALIDRULESET.equals(controlMessage)) {
+            this.listener.onInvalidRuleset();
+        } else if (MessageConstants.GAMESCOREBOARD.equals(controlMessage)) {
+            this.gameScoreboard = this.serializator.tryToDeserialize(KingGameScoreboard.class);
+            this.listener.onGameScoreboard(this.gameScoreboard);
+        } else if (MessageConstants.ISSPECTATOR.equals(controlMessage)) {
+            this.direction = null;
+            this.spectator = true;
+        } else if (MessageConstants.ISNOTSPECTATOR.equals(controlMessage)) {
+            this.spectator = false;
+        } else if (MessageConstants.ACKREQUEST.equals(controlMessage)) {
+            String acknowledgement = this.serializator.tryToDeserialize(String.class);
+            this.send(MessageConstants.ACK + acknowledgement);
+        } else if (MessageConstants.TABLES.equals(controlMessage)) {
+            @SuppressWarnings("unchecked")
+            List<TableSummary> readTables = this.serializator.tryToDeserialize(List.class);
+            this.tables = readTables;
+            this.listener.onTables(readTables);
+        } else if (!MessageConstants.VALIDRULESET.equals(controlMessage)) {
+            LOGGER.debug("Could not understand control --{}--", controlMessage);
+        }
+    }
+
+    private void applyDealEvent(DealEvent dealEvent) {
+        if (this.dealReplica.apply(dealEvent)) {
+            this.listener.onDealEvent(dealEvent, this.dealReplica.getDeal());
+        } else if (!this.resyncRequested) {
+            this.resyncRequested = true;
+            this.send(MessageConstants.RESYNC);
+        }
+    }
+
+    private void initializeDeal() {
+        this.positiveOrNegative = null;
+        this.dealReplica.unsetDeal();
+    }
+
+    private synchronized void send(Object message) {
+        if (!this.closed) {
+            this.serializator.tryToSerialize(message);
+        }
+    }
+
+    public void sendNickname(String nickname) {
+        this.send(MessageConstants.NICKNAME + nickname);
+    }
+
+    public void sendCreateTable(String gameName) {
+        this.send(MessageConstants.CREATETABLE + gameName);
+    }
+
+    public void sendListTables() {
+        this.send(MessageConstants.LISTTABLES);
+    }
+
+    public void sendJoinTable(int id) {
+        this.send(MessageConstants.JOINTABLE + id);
+    }
+
+    /**
+     * Sits on the direction, or leaves it when already sitting there.
+     */
+    public void sendSitOrLeave(Direction direction) {
+        this.send(direction);
+    }
+
+    public void sendPositive() {
+        this.send(MessageConstants.POSITIVE);
+    }
+
+    public void sendNegative() {
+        this.send(MessageConstants.NEGATIVE);
+    }
+
+    public void sendGameModeOrStrain(String shortDescription) {
+        this.send(shortDescription);
+    }
+
+    public void play(Card card) {
+        this.send(card);
+    }
+
+    public void sendPing() {
+        this.send(MessageConstants.PING);
+    }
+
+    public void close() {
+        this.closed = true;
+        this.serializator.close();
+        try {
+            this.socket.close();
+        } catch (IOException e) {
+            LOGGER.debug(e);
+        }
+    }
+
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    public boolean isSpectator() {
+        return this.spectator;
+    }
+
+    public Board getCurrentBoard() {
+        return this.currentBoard;
+    }
+
+    /**
+     * The deal as the client sees it, a new one after every change, or null
+     * while no ruleset is chosen.
+     */
+    public Deal getDeal() {
+        return this.dealReplica.getDeal();
+    }
+
+    public boolean isPositiveSelected() {
+        return MessageConstants.POSITIVE.equals(this.positiveOrNegative);
+    }
+
+    public KingGameScoreboard getGameScoreboard() {
+        return this.gameScoreboard;
+    }
+
+    public List<TableSummary> getTables() {
+        return this.tables;
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+}
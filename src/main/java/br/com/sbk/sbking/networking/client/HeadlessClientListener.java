@@ -0,0 +1,60 @@
+package br.com.sbk.sbking.networking.client;
+
+import java.util.List;
+
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.gui.models.KingGameScoreboard;
+import br.com.sbk.sbking.gui.models.TableSummary;
+import br.com.sbk.sbking.networking.messages.DealEvent;
+
+/**
+ * What a HeadlessClient tells about the table it is on. Every method is called
+ * on the thread reading from the server, after the client has applied the
+ * message, so the client's getters already answer with it.
+ */
+public interface HeadlessClientListener {
+
+    default void onDirection(Direction direction) {
+    }
+
+    default void onTables(List<TableSummary> tables) {
+    }
+
+    default void onInitializeDeal() {
+    }
+
+    default void onChooserPositiveOrNegative(Direction chooser) {
+    }
+
+    default void onChooserGameModeOrStrain(Direction chooser) {
+    }
+
+    default void onInvalidRuleset() {
+    }
+
+    /**
+     * The deal is null until a ruleset is chosen.
+     */
+    default void onDealSnapshot(Deal deal) {
+    }
+
+    /**
+     * Called only for the events the replica of the deal could apply.
+     */
+    default void onDealEvent(DealEvent dealEvent, Deal deal) {
+    }
+
+    default void onGameScoreboard(KingGameScoreboard gameScoreboard) {
+    }
+
+    default void onFinishDeal() {
+    }
+
+    default void onFinishGame() {
+    }
+
+    default void onDisconnected() {
+    }
+
+}
@@ -3,6 +3,8 @@ package br.com.sbk.sbking.networking.client;
 import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
 import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -16,12 +18,15 @@ import br.com.sbk.sbking.core.constants.ErrorCodes;
 import br.com.sbk.sbking.gui.listeners.ClientActionListener;
 import br.com.sbk.sbking.gui.models.KingGameScoreboard;
 import br.com.sbk.sbking.gui.models.PositiveOrNegative;
+import br.com.sbk.sbking.gui.models.TableSummary;
 import br.com.sbk.sbking.networking.core.properties.FileProperties;
 import br.com.sbk.sbking.networking.core.properties.NetworkingProperties;
 import br.com.sbk.sbking.networking.core.properties.SystemProperties;
 import br.com.sbk.sbking.networking.core.serialization.DisconnectedObject;
 import br.com.sbk.sbking.networking.core.serialization.Serializator;
 import br.com.sbk.sbking.networking.core.serialization.SerializatorFactory;
+import br.com.sbk.sbking.networking.messages.DealEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
 import br.com.sbk.sbking.networking.messages.MessageConstants;
 
 public class SBKingClient implements Runnable {
@@ -38,8 +43,9 @@ public class SBKingClient implements Runnable {
     private Board currentBoard;
     private boolean boardHasChanged = true;
 
-    private Deal currentDeal;
+    private DealReplica dealReplica = new DealReplica();
     private boolean dealHasChanged = true;
+    private boolean resyncRequested = false;
 
     private boolean dealFinished;
     private Boolean rulesetValid = null;
@@ -52,8 +58,11 @@ public class SBKingClient implements Runnable {
 
     private boolean spectator;
 
+    private List<TableSummary> tables = new ArrayList<TableSummary>();
+
     private String nickname;
     private String hostname;
+    private String protocol;
 
     public SBKingClient(String nickname, String hostname) {
         this.hostname = hostname;
@@ -96,6 +105,7 @@ public class SBKingClient implements Runnable {
                 host = hostname;
             }
             port = networkingProperties.getPort();
+            this.protocol = networkingProperties.getProtocol();
         } catch (Exception e) {
             LOGGER.fatal("Could not get network information from properties.");
             LOGGER.debug(e);
@@ -114,7 +124,7 @@ public class SBKingClient implements Runnable {
     }
 
     private Serializator initializeSerializatorOrExit(Socket socket) {
-        SerializatorFactory serializatorFactory = new SerializatorFactory();
+        SerializatorFactory serializatorFactory = new SerializatorFactory(this.protocol);
         try {
             return serializatorFactory.getSerializator(socket);
         } catch (Exception e) {
@@ -173,11 +183,13 @@ public class SBKingClient implements Runnable {
             Board board = this.serializator.tryToDeserialize(Board.class);
             LOGGER.info("I received a board.");
             this.setCurrentBoard(board);
-        } else if (MessageConstants.DEAL.equals(controlMessage)) {
-            Deal deal = this.serializator.tryToDeserialize(Deal.class);
-            LOGGER.info("I received a deal that contains this trick: " + deal.getCurrentTrick()
-                    + " and will paint it on screen");
-            this.setCurrentDeal(deal);
+        } else if (MessageConstants.SNAPSHOT.equals(controlMessage)) {
+            DealSnapshot dealSnapshot = this.serializator.tryToDeserialize(DealSnapshot.class);
+            LOGGER.info("I received a snapshot of the deal at event {}", dealSnapshot.getSequence());
+            this.applyDealSnapshot(dealSnapshot);
+        } else if (MessageConstants.EVENT.equals(controlMessage)) {
+            DealEvent dealEvent = this.serializator.tryToDeserialize(DealEvent.class);
+            this.applyDealEvent(dealEvent);
         } else if (MessageConstants.DIRECTION.equals(controlMessage)) {
             Direction direction = this.serializator.tryToDeserialize(Direction.class);
             LOGGER.info("I received my direction: " + direction);
@@ -230,23 +242,41 @@ public class SBKingClient implements Runnable {
         } else if (MessageConstants.ISNOTSPECTATOR.equals(controlMessage)) {
             this.spectator = false;
             LOGGER.info("Received ISNOTSPECTATOR.");
+        } else if (MessageConstants.ACKREQUEST.equals(controlMessage)) {
+            String acknowledgement = this.serializator.tryToDeserialize(String.class);
+            this.serializator.tryToSerialize(MessageConstants.ACK + acknowledgement);
+        } else if (MessageConstants.TABLES.equals(controlMessage)) {
+            @SuppressWarnings("unchecked")
+            List<TableSummary> tables = this.serializator.tryToDeserialize(List.class);
+            this.tables = tables;
+            LOGGER.info("Received {} tables.", tables.size());
         } else {
             LOGGER.error("Could not understand control.");
         }
-
-        // FIXME remove this if possible
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
     }
 
     private void setCurrentBoard(Board board) {
         this.currentBoard = board;
+        this.dealReplica.setBoard(board);
         this.boardHasChanged = true;
     }
 
+    private void applyDealSnapshot(DealSnapshot dealSnapshot) {
+        this.dealReplica.applySnapshot(dealSnapshot);
+        this.resyncRequested = false;
+        this.dealHasChanged = true;
+    }
+
+    private void applyDealEvent(DealEvent dealEvent) {
+        if (this.dealReplica.apply(dealEvent)) {
+            this.dealHasChanged = true;
+        } else if (!this.resyncRequested) {
+            LOGGER.info("Asking server for a new snapshot of the deal.");
+            this.resyncRequested = true;
+            this.serializator.tryToSerialize(MessageConstants.RESYNC);
+        }
+    }
+
     private void finishDeal() {
         this.initializeEverythingToNextDeal();
         this.dealFinished = true;
@@ -360,21 +390,16 @@ public class SBKingClient implements Runnable {
     }
 
     public boolean newDealAvailable() {
-        return currentDeal != null;
-    }
-
-    private void setCurrentDeal(Deal deal) {
-        this.currentDeal = deal;
-        this.dealHasChanged = true;
+        return this.dealReplica.getDeal() != null;
     }
 
     private void unsetCurrentDeal() {
-        this.currentDeal = null;
+        this.dealReplica.unsetDeal();
     }
 
     public Deal getDeal() {
         this.dealHasChanged = false;
-        return this.currentDeal;
+        return this.dealReplica.getDeal();
     }
 
     public boolean getDealHasChanged() {
@@ -434,6 +459,25 @@ public class SBKingClient implements Runnable {
         this.serializator.tryToSerialize("NICKNAME" + nickname);
     }
 
+    public void sendCreateTable(String gameName) {
+        LOGGER.info("Sending create table to server");
+        this.serializator.tryToSerialize(MessageConstants.CREATETABLE + gameName);
+    }
+
+    public void sendListTables() {
+        LOGGER.info("Sending list tables to server");
+        this.serializator.tryToSerialize(MessageConstants.LISTTABLES);
+    }
+
+    public void sendJoinTable(int id) {
+        LOGGER.info("Sending join table to server");
+        this.serializator.tryToSerialize(MessageConstants.JOINTABLE + id);
+    }
+
+    public List<TableSummary> getTables() {
+        return this.tables;
+    }
+
     private void sendPingToServer() {
         LOGGER.info("Sending ping to server");
         this.serializator.tryToSerialize("PING");
@@ -2,7 +2,15 @@ package br.com.sbk.sbking.networking.core.properties;
 
 import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.HOST;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.MAXIMUM_TABLES;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.JMX_METRICS;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.METRICS_PORT;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.OUTBOUND_QUEUE_CAPACITY;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.OUTBOUND_QUEUE_MAXIMUM_LAG;
 import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.PORT;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.PROTOCOL;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.THREADS;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.TRANSPORT;
 
 import java.io.InputStreamReader;
 import java.util.Properties;
@@ -29,6 +37,38 @@ public class FileProperties {
         return configFile.getProperty(PORT);
     }
 
+    public String getProtocol() {
+        return configFile.getProperty(PROTOCOL);
+    }
+
+    public String getTransport() {
+        return configFile.getProperty(TRANSPORT);
+    }
+
+    public String getOutboundQueueCapacity() {
+        return configFile.getProperty(OUTBOUND_QUEUE_CAPACITY);
+    }
+
+    public String getOutboundQueueMaximumLag() {
+        return configFile.getProperty(OUTBOUND_QUEUE_MAXIMUM_LAG);
+    }
+
+    public String getThreads() {
+        return configFile.getProperty(THREADS);
+    }
+
+    public String getMetricsPort() {
+        return configFile.getProperty(METRICS_PORT);
+    }
+
+    public String getJmxMetrics() {
+        return configFile.getProperty(JMX_METRICS);
+    }
+
+    public String getMaximumTables() {
+        return configFile.getProperty(MAXIMUM_TABLES);
+    }
+
     public String getIP(String serverName) {
         return configFile.getProperty(serverName);
     }
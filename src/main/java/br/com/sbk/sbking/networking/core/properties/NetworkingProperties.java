@@ -1,7 +1,15 @@
 package br.com.sbk.sbking.networking.core.properties;
 
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
 public class NetworkingProperties {
 
+    public static final int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 256;
+    public static final int DEFAULT_OUTBOUND_QUEUE_MAXIMUM_LAG = 30000;
+    public static final String DEFAULT_THREADS = "platform";
+    public static final int DEFAULT_METRICS_PORT = 0;
+    public static final int DEFAULT_MAXIMUM_TABLES = 500;
+
     private final FileProperties fileProperties;
     private final SystemProperties systemProperties;
 
@@ -29,6 +37,85 @@ public class NetworkingProperties {
         }
     }
 
+    public String getProtocol() {
+        String protocolFromSystem = this.systemProperties.getProtocol();
+        if (protocolFromSystem != null) {
+            return protocolFromSystem;
+        } else {
+            return this.fileProperties.getProtocol();
+        }
+    }
+
+    public String getTransport() {
+        String transportFromSystem = this.systemProperties.getTransport();
+        if (transportFromSystem != null) {
+            return transportFromSystem;
+        } else {
+            return this.fileProperties.getTransport();
+        }
+    }
+
+    public int getOutboundQueueCapacity() {
+        return this.getIntOrDefault(this.systemProperties.getOutboundQueueCapacity(),
+                this.fileProperties.getOutboundQueueCapacity(), DEFAULT_OUTBOUND_QUEUE_CAPACITY);
+    }
+
+    public long getOutboundQueueMaximumLag() {
+        return this.getIntOrDefault(this.systemProperties.getOutboundQueueMaximumLag(),
+                this.fileProperties.getOutboundQueueMaximumLag(), DEFAULT_OUTBOUND_QUEUE_MAXIMUM_LAG);
+    }
+
+    public String getThreads() {
+        String threadsFromSystem = this.systemProperties.getThreads();
+        if (threadsFromSystem != null) {
+            return threadsFromSystem;
+        }
+        String threadsFromFile = this.fileProperties.getThreads();
+        if (threadsFromFile != null) {
+            return threadsFromFile.trim();
+        }
+        return DEFAULT_THREADS;
+    }
+
+    /**
+     * The loopback port the server serves its metrics on, or 0 to not serve
+     * them.
+     */
+    public int getMetricsPort() {
+        return this.getIntOrDefault(this.systemProperties.getMetricsPort(), this.fileProperties.getMetricsPort(),
+                DEFAULT_METRICS_PORT);
+    }
+
+    /**
+     * Whether the server registers its metrics with JMX, which it does not
+     * unless asked to.
+     */
+    public boolean isJmxMetricsEnabled() {
+        String jmxMetrics = this.systemProperties.getJmxMetrics();
+        if (jmxMetrics == null) {
+            jmxMetrics = this.fileProperties.getJmxMetrics();
+        }
+        return jmxMetrics != null && Boolean.parseBoolean(jmxMetrics.trim());
+    }
+
+    public int getMaximumTables() {
+        return this.getIntOrDefault(this.systemProperties.getMaximumTables(), this.fileProperties.getMaximumTables(),
+                DEFAULT_MAXIMUM_TABLES);
+    }
+
+    private int getIntOrDefault(String fromSystem, String fromFile, int defaultValue) {
+        String value = fromSystem != null ? fromSystem : fromFile;
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.error("Could not read {} as a number. Using {}.", value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     public String getIP(String serverName) {
         return this.fileProperties.getIP(serverName);
     }
@@ -4,5 +4,13 @@ public class PropertiesConstants {
 
     public static final String PORT = "port";
     public static final String HOST = "host";
+    public static final String PROTOCOL = "protocol";
+    public static final String TRANSPORT = "transport";
+    public static final String OUTBOUND_QUEUE_CAPACITY = "outboundQueueCapacity";
+    public static final String OUTBOUND_QUEUE_MAXIMUM_LAG = "outboundQueueMaximumLag";
+    public static final String THREADS = "threads";
+    public static final String METRICS_PORT = "metricsPort";
+    public static final String JMX_METRICS = "jmxMetrics";
+    public static final String MAXIMUM_TABLES = "maximumTables";
 
 }
@@ -1,7 +1,15 @@
 package br.com.sbk.sbking.networking.core.properties;
 
 import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.HOST;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.MAXIMUM_TABLES;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.JMX_METRICS;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.METRICS_PORT;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.OUTBOUND_QUEUE_CAPACITY;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.OUTBOUND_QUEUE_MAXIMUM_LAG;
 import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.PORT;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.PROTOCOL;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.THREADS;
+import static br.com.sbk.sbking.networking.core.properties.PropertiesConstants.TRANSPORT;
 
 public class SystemProperties {
 
@@ -13,4 +21,36 @@ public class SystemProperties {
         return System.getProperty(PORT);
     }
 
+    public String getProtocol() {
+        return System.getProperty(PROTOCOL);
+    }
+
+    public String getTransport() {
+        return System.getProperty(TRANSPORT);
+    }
+
+    public String getOutboundQueueCapacity() {
+        return System.getProperty(OUTBOUND_QUEUE_CAPACITY);
+    }
+
+    public String getOutboundQueueMaximumLag() {
+        return System.getProperty(OUTBOUND_QUEUE_MAXIMUM_LAG);
+    }
+
+    public String getThreads() {
+        return System.getProperty(THREADS);
+    }
+
+    public String getMetricsPort() {
+        return System.getProperty(METRICS_PORT);
+    }
+
+    public String getJmxMetrics() {
+        return System.getProperty(JMX_METRICS);
+    }
+
+    public String getMaximumTables() {
+        return System.getProperty(MAXIMUM_TABLES);
+    }
+
 }
@@ -0,0 +1,514 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.GameModeSummary;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Player;
+import br.com.sbk.sbking.core.Score;
+import br.com.sbk.sbking.core.Strain;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.rulesets.NegativeRulesetsEnum;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NoRuleset;
+import br.com.sbk.sbking.gui.models.KingGameScoreboard;
+import br.com.sbk.sbking.gui.models.TableSummary;
+import br.com.sbk.sbking.networking.messages.CardPlayedEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
+import br.com.sbk.sbking.networking.messages.HandRevealedEvent;
+import br.com.sbk.sbking.networking.messages.RulesetChosenEvent;
+import br.com.sbk.sbking.networking.messages.SeatChangedEvent;
+import br.com.sbk.sbking.networking.messages.TrickWonEvent;
+
+/**
+ * Versioned binary encoding of every message exchanged between client and
+ * server. A card is one byte (suit * 13 + rank) and a hand is a 52-bit mask
+ * followed by the number of cards the receiver is not allowed to see. A
+ * deal is sent as its starting hands plus the sequence of played cards, and is
+ * rebuilt by replaying them through Deal.playCard, so an invalid deal can not be
+ * decoded. Deal events carry their sequence number and the few bytes that
+ * changed. Nothing is ever handed to an ObjectInputStream.
+ */
+public class BinaryMessageCodec implements MessageCodec {
+
+    public static final byte VERSION = 2;
+
+    private static final byte STRING = 1;
+    private static final byte CARD = 2;
+    private static final byte DIRECTION = 3;
+    private static final byte BOARD = 4;
+    private static final byte DEAL = 5;
+    private static final byte GAME_SCOREBOARD = 6;
+    private static final byte TABLE_SUMMARIES = 7;
+    private static final byte DEAL_SNAPSHOT = 8;
+    private static final byte CARD_PLAYED = 9;
+    private static final byte TRICK_WON = 10;
+    private static final byte SEAT_CHANGED = 11;
+    private static final byte RULESET_CHOSEN = 12;
+    private static final byte HAND_REVEALED = 13;
+
+    private static final byte ABSENT = -1;
+    private static final int NUMBER_OF_CARDS = Card.NUMBER_OF_CARDS;
+    private static final long ALL_CARDS_MASK = (1L << NUMBER_OF_CARDS) - 1;
+    private static final int NUMBER_OF_GAMES_IN_SCOREBOARD = 10;
+
+    private static final Ruleset[] RULESETS = createRulesetTable();
+
+    private static Ruleset[] createRulesetTable() {
+        List<Ruleset> rulesets = new ArrayList<Ruleset>();
+        rulesets.add(new NoRuleset());
+        for (NegativeRulesetsEnum negativeRuleset : NegativeRulesetsEnum.values()) {
+            rulesets.add(negativeRuleset.getNegativeRuleset());
+        }
+        for (Strain strain : Strain.values()) {
+            rulesets.add(strain.getPositiveRuleset());
+        }
+        return rulesets.toArray(new Ruleset[rulesets.size()]);
+    }
+
+    @Override
+    public byte[] encode(Object message) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(byteArrayOutputStream);
+        out.writeByte(VERSION);
+        if (message instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) message);
+        } else if (message instanceof Card) {
+            out.writeByte(CARD);
+            out.writeByte(indexOf((Card) message));
+        } else if (message instanceof Direction) {
+            out.writeByte(DIRECTION);
+            out.writeByte(((Direction) message).ordinal());
+        } else if (message instanceof Board) {
+            out.writeByte(BOARD);
+            writeBoard(out, (Board) message);
+        } else if (message instanceof Deal) {
+            out.writeByte(DEAL);
+            writeDeal(out, (Deal) message);
+        } else if (message instanceof KingGameScoreboard) {
+            out.writeByte(GAME_SCOREBOARD);
+            writeGameScoreboard(out, (KingGameScoreboard) message);
+        } else if (message instanceof DealSnapshot) {
+            out.writeByte(DEAL_SNAPSHOT);
+            writeDealSnapshot(out, (DealSnapshot) message);
+        } else if (message instanceof CardPlayedEvent) {
+            CardPlayedEvent cardPlayedEvent = (CardPlayedEvent) message;
+            out.writeByte(CARD_PLAYED);
+            out.writeLong(cardPlayedEvent.getSequence());
+            out.writeByte(cardPlayedEvent.getDirection().ordinal());
+            out.writeByte(indexOf(cardPlayedEvent.getCard()));
+        } else if (message instanceof TrickWonEvent) {
+            TrickWonEvent trickWonEvent = (TrickWonEvent) message;
+            out.writeByte(TRICK_WON);
+            out.writeLong(trickWonEvent.getSequence());
+            out.writeByte(trickWonEvent.getWinner().ordinal());
+            out.writeShort(trickWonEvent.getNorthSouthPoints());
+            out.writeShort(trickWonEvent.getEastWestPoints());
+        } else if (message instanceof SeatChangedEvent) {
+            SeatChangedEvent seatChangedEvent = (SeatChangedEvent) message;
+            out.writeByte(SEAT_CHANGED);
+            out.writeLong(seatChangedEvent.getSequence());
+            out.writeByte(seatChangedEvent.getDirection().ordinal());
+            writeNullableString(out, seatChangedEvent.getPlayerName());
+        } else if (message instanceof RulesetChosenEvent) {
+            RulesetChosenEvent rulesetChosenEvent = (RulesetChosenEvent) message;
+            out.writeByte(RULESET_CHOSEN);
+            out.writeLong(rulesetChosenEvent.getSequence());
+            writeRuleset(out, rulesetChosenEvent.getRuleset());
+            out.writeByte(rulesetChosenEvent.getLeader().ordinal());
+            writeNullableDirection(out, rulesetChosenEvent.getDummy());
+        } else if (message instanceof HandRevealedEvent) {
+            HandRevealedEvent handRevealedEvent = (HandRevealedEvent) message;
+            out.writeByte(HAND_REVEALED);
+            out.writeLong(handRevealedEvent.getSequence());
+            out.writeByte(handRevealedEvent.getDirection().ordinal());
+            out.writeLong(maskOf(handRevealedEvent.getCards()));
+        } else if (message instanceof List) {
+            out.writeByte(TABLE_SUMMARIES);
+            writeTableSummaries(out, (List<?>) message);
+        } else {
+            throw new IOException("Can not encode " + message);
+        }
+        out.flush();
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Override
+    public Object decode(ByteBuffer payload) throws IOException {
+        try {
+            byte version = payload.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version: " + version);
+            }
+            byte type = payload.get();
+            switch (type) {
+                case STRING:
+                    return readString(payload);
+                case CARD:
+                    return readCard(payload);
+                case DIRECTION:
+                    return readDirection(payload);
+                case BOARD:
+                    return readBoard(payload);
+                case DEAL:
+                    return readDeal(payload);
+                case GAME_SCOREBOARD:
+                    return readGameScoreboard(payload);
+                case TABLE_SUMMARIES:
+                    return readTableSummaries(payload);
+                case DEAL_SNAPSHOT:
+                    return readDealSnapshot(payload);
+                case CARD_PLAYED:
+                    return new CardPlayedEvent(payload.getLong(), readDirection(payload), readCard(payload));
+                case TRICK_WON:
+                    return new TrickWonEvent(payload.getLong(), readDirection(payload), payload.getShort(),
+                            payload.getShort());
+                case SEAT_CHANGED:
+                    return new SeatChangedEvent(payload.getLong(), readDirection(payload), readNullableString(payload));
+                case HAND_REVEALED:
+                    return new HandRevealedEvent(payload.getLong(), readDirection(payload),
+                            cardsOf(readMask(payload, ALL_CARDS_MASK)));
+                case RULESET_CHOSEN:
+                    return new RulesetChosenEvent(payload.getLong(), readRuleset(payload), readDirection(payload),
+                            readNullableDirection(payload));
+                default:
+                    throw new IOException("Unknown message type: " + type);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated message", e);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid message", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            writeString(out, string);
+        }
+    }
+
+    private static String readNullableString(ByteBuffer in) throws IOException {
+        if (in.get() == 0) {
+            return null;
+        }
+        return readString(in);
+    }
+
+    private static int indexOf(Card card) {
+        return card.getIndex();
+    }
+
+    private static Card cardOf(int index) throws IOException {
+        if (index < 0 || index >= NUMBER_OF_CARDS) {
+            throw new IOException("Invalid card: " + index);
+        }
+        return Card.byIndex(index);
+    }
+
+    private static Card readCard(ByteBuffer in) throws IOException {
+        return cardOf(in.get());
+    }
+
+    private static void writeNullableDirection(DataOutputStream out, Direction direction) throws IOException {
+        if (direction == null) {
+            out.writeByte(ABSENT);
+        } else {
+            out.writeByte(direction.ordinal());
+        }
+    }
+
+    private static Direction readNullableDirection(ByteBuffer in) throws IOException {
+        byte ordinal = in.get();
+        if (ordinal == ABSENT) {
+            return null;
+        }
+        return directionOf(ordinal);
+    }
+
+    private static Direction readDirection(ByteBuffer in) throws IOException {
+        return directionOf(in.get());
+    }
+
+    private static Direction directionOf(int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= Direction.values().length) {
+            throw new IOException("Invalid direction: " + ordinal);
+        }
+        return Direction.values()[ordinal];
+    }
+
+    private static void writeRuleset(DataOutputStream out, Ruleset ruleset) throws IOException {
+        for (int i = 0; i < RULESETS.length; i++) {
+            if (RULESETS[i].equals(ruleset)) {
+                out.writeByte(i);
+                return;
+            }
+        }
+        throw new IOException("Can not encode ruleset " + ruleset);
+    }
+
+    private static Ruleset readRuleset(ByteBuffer in) throws IOException {
+        byte code = in.get();
+        if (code < 0 || code >= RULESETS.length) {
+            throw new IOException("Invalid ruleset: " + code);
+        }
+        return RULESETS[code];
+    }
+
+    private static long maskOf(Hand hand) {
+        long mask = 0;
+        for (int i = 0; i < hand.size() - hand.getNumberOfHiddenCards(); i++) {
+            mask |= 1L << indexOf(hand.get(i));
+        }
+        return mask;
+    }
+
+    private static long maskOf(List<Card> cards) {
+        long mask = 0;
+        for (Card card : cards) {
+            mask |= 1L << indexOf(card);
+        }
+        return mask;
+    }
+
+    private static List<Card> cardsOf(long mask) throws IOException {
+        List<Card> cards = new ArrayList<Card>();
+        for (int index = 0; index < NUMBER_OF_CARDS; index++) {
+            if ((mask & (1L << index)) != 0) {
+                cards.add(cardOf(index));
+            }
+        }
+        return cards;
+    }
+
+    private static long readMask(ByteBuffer in, long allowedCards) throws IOException {
+        long mask = in.getLong();
+        if ((mask & ~allowedCards) != 0) {
+            throw new IOException("Invalid hands.");
+        }
+        return mask;
+    }
+
+    private static Map<Direction, Hand> readHands(ByteBuffer in) throws IOException {
+        Map<Direction, Hand> hands = new EnumMap<Direction, Hand>(Direction.class);
+        long usedCards = 0;
+        int numberOfCardsInAllHands = 0;
+        for (Direction direction : Direction.values()) {
+            long mask = readMask(in, ALL_CARDS_MASK & ~usedCards);
+            int numberOfHiddenCards = in.get();
+            usedCards |= mask;
+            Hand hand = new Hand();
+            for (Card card : cardsOf(mask)) {
+                hand.addCard(card);
+            }
+            if (numberOfHiddenCards < 0) {
+                throw new IOException("Invalid number of hidden cards: " + numberOfHiddenCards);
+            }
+            hand.addHiddenCards(numberOfHiddenCards);
+            numberOfCardsInAllHands += hand.size();
+            hands.put(direction, hand);
+        }
+        if (numberOfCardsInAllHands > NUMBER_OF_CARDS) {
+            throw new IOException("Invalid hands.");
+        }
+        return hands;
+    }
+
+    private static void writeHand(DataOutputStream out, long mask, int numberOfHiddenCards) throws IOException {
+        out.writeLong(mask);
+        out.writeByte(numberOfHiddenCards);
+    }
+
+    private static void writeBoard(DataOutputStream out, Board board) throws IOException {
+        out.writeByte(board.getDealer().ordinal());
+        for (Direction direction : Direction.values()) {
+            Hand hand = board.getHandOf(direction);
+            writeHand(out, maskOf(hand), hand.getNumberOfHiddenCards());
+        }
+    }
+
+    private static Board readBoard(ByteBuffer in) throws IOException {
+        Direction dealer = readDirection(in);
+        return new Board(readHands(in), dealer);
+    }
+
+    private static void writeDeal(DataOutputStream out, Deal deal) throws IOException {
+        List<Trick> tricks = deal.getTricks();
+        Direction leader = tricks.isEmpty() ? deal.getCurrentPlayer() : tricks.get(0).getLeader();
+
+        Map<Direction, Long> startingMasks = new EnumMap<Direction, Long>(Direction.class);
+        for (Direction direction : Direction.values()) {
+            startingMasks.put(direction, maskOf(deal.getHandOf(direction)));
+        }
+        List<Card> playedCards = new ArrayList<Card>();
+        for (Trick trick : tricks) {
+            Direction current = trick.getLeader();
+            for (Card card : trick.getCards()) {
+                startingMasks.put(current, startingMasks.get(current) | (1L << indexOf(card)));
+                playedCards.add(card);
+                current = current.next();
+            }
+        }
+
+        out.writeByte(deal.getDealer().ordinal());
+        writeRuleset(out, deal.getRuleset());
+        out.writeByte(deal.getStartingNumberOfCardsInTheHand());
+        writeNullableDirection(out, deal.getDummy());
+        out.writeByte(leader.ordinal());
+        for (Direction direction : Direction.values()) {
+            writeHand(out, startingMasks.get(direction), deal.getHandOf(direction).getNumberOfHiddenCards());
+        }
+        out.writeByte(playedCards.size());
+        for (Card card : playedCards) {
+            out.writeByte(indexOf(card));
+        }
+        for (Direction direction : Direction.values()) {
+            Player player = deal.getPlayerOf(direction);
+            if (player == null) {
+                writeNullableString(out, null);
+            } else {
+                writeNullableString(out, player.getName());
+            }
+        }
+    }
+
+    private static Deal readDeal(ByteBuffer in) throws IOException {
+        Direction dealer = readDirection(in);
+        Ruleset ruleset = readRuleset(in);
+        int startingNumberOfCardsInTheHand = in.get();
+        Direction dummy = readNullableDirection(in);
+        Direction leader = readDirection(in);
+        Board board = new Board(readHands(in), dealer);
+
+        Deal deal = new Deal(board, ruleset);
+        deal.setStartingNumberOfCardsInTheHand(startingNumberOfCardsInTheHand);
+        deal.setDummy(dummy);
+        deal.setCurrentPlayer(leader);
+        int numberOfPlayedCards = in.get() & 0xFF;
+        for (int i = 0; i < numberOfPlayedCards; i++) {
+            deal.playCard(readCard(in));
+        }
+        for (Direction direction : Direction.values()) {
+            String name = readNullableString(in);
+            if (name != null) {
+                deal.setPlayerOf(direction, new Player(name));
+            }
+        }
+        return deal;
+    }
+
+    private static void writeDealSnapshot(DataOutputStream out, DealSnapshot dealSnapshot) throws IOException {
+        out.writeLong(dealSnapshot.getSequence());
+        if (dealSnapshot.getDeal() == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            writeDeal(out, dealSnapshot.getDeal());
+        }
+    }
+
+    private static DealSnapshot readDealSnapshot(ByteBuffer in) throws IOException {
+        long sequence = in.getLong();
+        if (in.get() == 0) {
+            return new DealSnapshot(sequence, null);
+        }
+        return new DealSnapshot(sequence, readDeal(in));
+    }
+
+    private static void writeGameScoreboard(DataOutputStream out, KingGameScoreboard gameScoreboard)
+            throws IOException {
+        out.writeByte(gameScoreboard.getGamesPlayed());
+        out.writeByte(gameScoreboard.getPositivesPlayed());
+        for (GameModeSummary gameModeSummary : gameScoreboard.getGameModeSummaries()) {
+            if (gameModeSummary == null) {
+                out.writeBoolean(false);
+            } else {
+                out.writeBoolean(true);
+                out.writeByte(gameModeSummary.getChosenByDirection().ordinal());
+                writeRuleset(out, gameModeSummary.getRuleset());
+                out.writeByte(gameModeSummary.getOrderOfPlayNumber());
+                out.writeShort(gameModeSummary.getNorthSouthPoints());
+                out.writeShort(gameModeSummary.getEastWestPoints());
+            }
+        }
+    }
+
+    private static KingGameScoreboard readGameScoreboard(ByteBuffer in) throws IOException {
+        int gamesPlayed = in.get();
+        int positivesPlayed = in.get();
+        GameModeSummary[] games = new GameModeSummary[NUMBER_OF_GAMES_IN_SCOREBOARD];
+        for (int i = 0; i < NUMBER_OF_GAMES_IN_SCOREBOARD; i++) {
+            if (in.get() != 0) {
+                Direction chosenBy = readDirection(in);
+                Ruleset ruleset = readRuleset(in);
+                int orderOfPlay = in.get();
+                Score score = new Score(ruleset, in.getShort(), in.getShort());
+                games[i] = new GameModeSummary(chosenBy, ruleset, orderOfPlay, score);
+            }
+        }
+        return new KingGameScoreboard(games, gamesPlayed, positivesPlayed);
+    }
+
+    private static void writeTableSummaries(DataOutputStream out, List<?> tableSummaries) throws IOException {
+        out.writeInt(tableSummaries.size());
+        for (Object element : tableSummaries) {
+            if (!(element instanceof TableSummary)) {
+                throw new IOException("Can not encode list element " + element);
+            }
+            TableSummary tableSummary = (TableSummary) element;
+            out.writeInt(tableSummary.getId());
+            writeString(out, tableSummary.getGameName());
+            out.writeInt(tableSummary.getNumberOfPlayers());
+            out.writeInt(tableSummary.getNumberOfSpectators());
+        }
+    }
+
+    private static List<TableSummary> readTableSummaries(ByteBuffer in) throws IOException {
+        int size = in.getInt();
+        if (size < 0 || size > in.remaining()) {
+            throw new IOException("Invalid number of tables: " + size);
+        }
+        List<TableSummary> tableSummaries = new ArrayList<TableSummary>(size);
+        for (int i = 0; i < size; i++) {
+            int id = in.getInt();
+            String gameName = readString(in);
+            int numberOfPlayers = in.getInt();
+            int numberOfSpectators = in.getInt();
+            tableSummaries.add(new TableSummary(id, gameName, numberOfPlayers, numberOfSpectators));
+        }
+        return tableSummaries;
+    }
+
+}
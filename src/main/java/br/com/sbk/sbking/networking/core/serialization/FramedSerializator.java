@@ -0,0 +1,107 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes every message as a 4-byte length followed by its payload, encoded by
+ * a MessageCodec. This is the format the non-blocking server expects.
+ */
+public class FramedSerializator extends Serializator {
+
+    public static final int MAXIMUM_FRAME_LENGTH = 1 << 20;
+    public static final int FRAME_HEADER_LENGTH = 4;
+
+    private final DataInputStream dataInputStream;
+    private final DataOutputStream dataOutputStream;
+    private final MessageCodec messageCodec;
+    // Not a monitor, so a virtual thread blocked on the socket does not pin its carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public FramedSerializator(DataInputStream dataInputStream, DataOutputStream dataOutputStream,
+            MessageCodec messageCodec) {
+        this.dataInputStream = dataInputStream;
+        this.dataOutputStream = dataOutputStream;
+        this.messageCodec = messageCodec;
+    }
+
+    @Override
+    public void tryToSerialize(Object object) {
+        this.writeLock.lock();
+        try {
+            byte[] payload = this.messageCodec.encode(object);
+            this.dataOutputStream.writeInt(payload.length);
+            this.dataOutputStream.write(payload);
+            this.dataOutputStream.flush();
+        } catch (IOException e) {
+            LOGGER.error("Error trying to serialize object:{}", object);
+            LOGGER.error(e);
+            this.close();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void tryToSerializePrepared(PreparedMessage... preparedMessages) {
+        this.writeLock.lock();
+        try {
+            for (PreparedMessage preparedMessage : preparedMessages) {
+                this.dataOutputStream.write(preparedMessage.getFrameBytes(this.messageCodec));
+            }
+            this.dataOutputStream.flush();
+        } catch (IOException e) {
+            LOGGER.error("Error trying to serialize object:{}", preparedMessages[0].getMessage());
+            LOGGER.error(e);
+            this.close();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    public static byte[] frameOf(byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_LENGTH + payload.length);
+        frame.putInt(payload.length);
+        frame.put(payload);
+        return frame.array();
+    }
+
+    @Override
+    public <T> T tryToDeserialize(Class<T> clazz) {
+        Object deserializedObject;
+        try {
+            int length = this.dataInputStream.readInt();
+            if (length < 0 || length > MAXIMUM_FRAME_LENGTH) {
+                throw new IOException("Invalid frame length: " + length);
+            }
+            byte[] payload = new byte[length];
+            this.dataInputStream.readFully(payload);
+            deserializedObject = this.messageCodec.decode(ByteBuffer.wrap(payload));
+        } catch (Exception e) {
+            LOGGER.error("Error trying to deserialize object.");
+            LOGGER.error(e);
+            LOGGER.error("Returning new DisconnectedObject");
+            deserializedObject = new DisconnectedObject();
+        }
+        @SuppressWarnings("unchecked")
+        T deserializedType = (T) deserializedObject;
+        return deserializedType;
+    }
+
+    @Override
+    protected void finalize() throws Exception {
+        try {
+            this.dataOutputStream.close();
+            this.dataInputStream.close();
+        } catch (Exception e) {
+            LOGGER.error("Error trying to finalize serializator");
+            LOGGER.error(e);
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public interface MessageCodec {
+
+    byte[] encode(Object message) throws IOException;
+
+    Object decode(ByteBuffer payload) throws IOException;
+
+}
@@ -0,0 +1,16 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+/**
+ * The sending half of a connection. A Serializator also reads, blocking its
+ * thread, while a connection whose messages are read by an event loop only
+ * writes through this.
+ */
+public interface MessageWriter {
+
+    void tryToSerialize(Object object);
+
+    void tryToSerializePrepared(PreparedMessage... preparedMessages);
+
+    void close();
+
+}
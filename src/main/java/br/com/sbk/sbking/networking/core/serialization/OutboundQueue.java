@@ -0,0 +1,118 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import br.com.sbk.sbking.networking.messages.DealEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
+
+/**
+ * Bounded queue of messages waiting to be written to one client. Each entry is
+ * a group of messages that are always written together, like a control and its
+ * payload. A deal snapshot replaces the snapshots and deal events still waiting
+ * in the queue, because it already contains them. A client is too far behind
+ * when the queue is full or when its oldest entry has waited longer than the
+ * maximum lag; offer refuses the entry and the connection should be closed.
+ */
+public class OutboundQueue {
+
+    private final int capacity;
+    private final long maximumLagInMilliseconds;
+    private final OutboundQueueMetrics outboundQueueMetrics;
+
+    private final Deque<Entry> entries = new ArrayDeque<Entry>();
+
+    public OutboundQueue(int capacity, long maximumLagInMilliseconds, OutboundQueueMetrics outboundQueueMetrics) {
+        this.capacity = capacity;
+        this.maximumLagInMilliseconds = maximumLagInMilliseconds;
+        this.outboundQueueMetrics = outboundQueueMetrics;
+    }
+
+    public synchronized boolean offer(PreparedMessage... preparedMessages) {
+        long now = System.currentTimeMillis();
+        Entry oldest = this.entries.peekFirst();
+        if (oldest != null && now - oldest.queuedAt > this.maximumLagInMilliseconds) {
+            this.outboundQueueMetrics.evicted();
+            return false;
+        }
+        long snapshotSequence = snapshotSequenceOf(preparedMessages);
+        if (snapshotSequence >= 0) {
+            this.removeEntriesUpTo(snapshotSequence);
+        }
+        if (this.entries.size() >= this.capacity) {
+            this.outboundQueueMetrics.evicted();
+            return false;
+        }
+        this.entries.addLast(new Entry(preparedMessages, now));
+        this.outboundQueueMetrics.queued(this.entries.size());
+        return true;
+    }
+
+    public synchronized PreparedMessage[] poll() {
+        Entry entry = this.entries.pollFirst();
+        if (entry == null) {
+            return null;
+        }
+        this.outboundQueueMetrics.removed(1);
+        return entry.preparedMessages;
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    public synchronized void clear() {
+        this.outboundQueueMetrics.removed(this.entries.size());
+        this.entries.clear();
+    }
+
+    private void removeEntriesUpTo(long snapshotSequence) {
+        Iterator<Entry> iterator = this.entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.dealSequence >= 0 && entry.dealSequence <= snapshotSequence) {
+                iterator.remove();
+                this.outboundQueueMetrics.removed(1);
+                this.outboundQueueMetrics.coalesced();
+            }
+        }
+    }
+
+    private static long snapshotSequenceOf(PreparedMessage[] preparedMessages) {
+        for (PreparedMessage preparedMessage : preparedMessages) {
+            if (preparedMessage.getMessage() instanceof DealSnapshot) {
+                return ((DealSnapshot) preparedMessage.getMessage()).getSequence();
+            }
+        }
+        return -1;
+    }
+
+    private static long dealSequenceOf(PreparedMessage[] preparedMessages) {
+        for (PreparedMessage preparedMessage : preparedMessages) {
+            if (preparedMessage.getMessage() instanceof DealSnapshot) {
+                return ((DealSnapshot) preparedMessage.getMessage()).getSequence();
+            } else if (preparedMessage.getMessage() instanceof DealEvent) {
+                return ((DealEvent) preparedMessage.getMessage()).getSequence();
+            }
+        }
+        return -1;
+    }
+
+    private static final class Entry {
+        private final PreparedMessage[] preparedMessages;
+        private final long queuedAt;
+        private final long dealSequence;
+
+        private Entry(PreparedMessage[] preparedMessages, long queuedAt) {
+            this.preparedMessages = preparedMessages;
+            this.queuedAt = queuedAt;
+            this.dealSequence = dealSequenceOf(preparedMessages);
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters shared by the outbound queues of a server: how many messages are
+ * waiting in all of them, the deepest any single queue has been, how many
+ * snapshots replaced older messages and how many clients were disconnected for
+ * falling behind.
+ */
+public class OutboundQueueMetrics {
+
+    private final AtomicLong queuedMessages = new AtomicLong();
+    private final AtomicLong maximumQueueDepth = new AtomicLong();
+    private final AtomicLong coalescedMessages = new AtomicLong();
+    private final AtomicLong evictedClients = new AtomicLong();
+
+    void queued(int queueDepth) {
+        this.queuedMessages.incrementAndGet();
+        this.maximumQueueDepth.accumulateAndGet(queueDepth, Math::max);
+    }
+
+    void removed(int numberOfMessages) {
+        this.queuedMessages.addAndGet(-numberOfMessages);
+    }
+
+    void coalesced() {
+        this.coalescedMessages.incrementAndGet();
+    }
+
+    void evicted() {
+        this.evictedClients.incrementAndGet();
+    }
+
+    public long getQueuedMessages() {
+        return this.queuedMessages.get();
+    }
+
+    public long getMaximumQueueDepth() {
+        return this.maximumQueueDepth.get();
+    }
+
+    public long getCoalescedMessages() {
+        return this.coalescedMessages.get();
+    }
+
+    public long getEvictedClients() {
+        return this.evictedClients.get();
+    }
+
+    @Override
+    public String toString() {
+        return "queued=" + this.getQueuedMessages() + " maximumDepth=" + this.getMaximumQueueDepth() + " coalesced="
+                + this.getCoalescedMessages() + " evicted=" + this.getEvictedClients();
+    }
+
+}
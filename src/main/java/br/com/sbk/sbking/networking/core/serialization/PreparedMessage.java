@@ -0,0 +1,38 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A message that is sent to many connections. It is encoded into a frame the
+ * first time it is written and every framed connection using the same kind of
+ * codec writes those same bytes. Object streams still serialize the message.
+ */
+public class PreparedMessage {
+
+    private final Object message;
+
+    private Class<?> codecClass;
+    private byte[] frame;
+
+    public PreparedMessage(Object message) {
+        this.message = message;
+    }
+
+    public Object getMessage() {
+        return this.message;
+    }
+
+    public ByteBuffer getFrame(MessageCodec messageCodec) throws IOException {
+        return ByteBuffer.wrap(this.getFrameBytes(messageCodec)).asReadOnlyBuffer();
+    }
+
+    synchronized byte[] getFrameBytes(MessageCodec messageCodec) throws IOException {
+        if (this.frame == null || this.codecClass != messageCodec.getClass()) {
+            this.frame = FramedSerializator.frameOf(messageCodec.encode(this.message));
+            this.codecClass = messageCodec.getClass();
+        }
+        return this.frame;
+    }
+
+}
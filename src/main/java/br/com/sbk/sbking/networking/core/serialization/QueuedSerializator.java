@@ -0,0 +1,97 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes through another Serializator on an executor, so the thread that
+ * sends is never blocked by a slow connection. Messages of one connection are
+ * written in order, by at most one thread at a time. When the OutboundQueue
+ * refuses a message the connection is closed.
+ */
+public class QueuedSerializator extends Serializator {
+
+    private final Serializator serializator;
+    private final Executor executor;
+    private final OutboundQueue outboundQueue;
+    private final Closeable connection;
+
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /**
+     * @param connection closed when the client falls behind. Closing it must
+     *                   not block, so that a writer stuck on it is released.
+     */
+    public QueuedSerializator(Serializator serializator, Executor executor, OutboundQueue outboundQueue,
+            Closeable connection) {
+        this.serializator = serializator;
+        this.executor = executor;
+        this.outboundQueue = outboundQueue;
+        this.connection = connection;
+    }
+
+    @Override
+    public void tryToSerialize(Object object) {
+        this.tryToSerializePrepared(new PreparedMessage(object));
+    }
+
+    @Override
+    public void tryToSerializePrepared(PreparedMessage... preparedMessages) {
+        if (this.closed.get()) {
+            return;
+        }
+        if (!this.outboundQueue.offer(preparedMessages)) {
+            LOGGER.info("Closing a connection that fell behind with {} queued messages.", this.outboundQueue.size());
+            this.evict();
+            return;
+        }
+        if (this.writeScheduled.compareAndSet(false, true)) {
+            this.executor.execute(this::write);
+        }
+    }
+
+    private void write() {
+        PreparedMessage[] preparedMessages;
+        while (!this.closed.get() && (preparedMessages = this.outboundQueue.poll()) != null) {
+            this.serializator.tryToSerializePrepared(preparedMessages);
+        }
+        this.writeScheduled.set(false);
+        if (!this.closed.get() && !this.outboundQueue.isEmpty() && this.writeScheduled.compareAndSet(false, true)) {
+            this.executor.execute(this::write);
+        }
+    }
+
+    private void evict() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.outboundQueue.clear();
+            try {
+                this.connection.close();
+            } catch (IOException e) {
+                LOGGER.error(e);
+            }
+        }
+    }
+
+    public int getNumberOfQueuedMessages() {
+        return this.outboundQueue.size();
+    }
+
+    @Override
+    public <T> T tryToDeserialize(Class<T> clazz) {
+        return this.serializator.tryToDeserialize(clazz);
+    }
+
+    @Override
+    protected void finalize() throws Exception {
+        if (this.closed.compareAndSet(false, true)) {
+            this.outboundQueue.clear();
+            this.serializator.close();
+        }
+    }
+
+}
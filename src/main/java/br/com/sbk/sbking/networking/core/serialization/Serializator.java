@@ -4,7 +4,7 @@ import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
 import java.io.IOException;
 
-public class Serializator {
+public class Serializator implements MessageWriter {
 
     private final ObjectInputStreamWrapper objectInputStreamWrapper;
     private final ObjectOutputStreamWrapper objectOutputStreamWrapper;
@@ -15,6 +15,11 @@ public class Serializator {
         this.objectOutputStreamWrapper = objectOutputStreamWrapper;
     }
 
+    protected Serializator() {
+        this.objectInputStreamWrapper = null;
+        this.objectOutputStreamWrapper = null;
+    }
+
     public void tryToSerialize(Object object) {
         try {
             this.objectOutputStreamWrapper.resetAndWriteObject(object);
@@ -25,6 +30,12 @@ public class Serializator {
         }
     }
 
+    public void tryToSerializePrepared(PreparedMessage... preparedMessages) {
+        for (PreparedMessage preparedMessage : preparedMessages) {
+            this.tryToSerialize(preparedMessage.getMessage());
+        }
+    }
+
     public void close() {
         try {
             this.finalize();
@@ -1,5 +1,9 @@
 package br.com.sbk.sbking.networking.core.serialization;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -7,7 +11,32 @@ import java.net.Socket;
 
 public class SerializatorFactory {
 
+    public static final String OBJECT_STREAM_PROTOCOL = "objectstream";
+    public static final String FRAMED_PROTOCOL = "framed";
+    public static final String BINARY_PROTOCOL = "binary";
+
+    private final String protocol;
+
+    public SerializatorFactory() {
+        this(OBJECT_STREAM_PROTOCOL);
+    }
+
+    public SerializatorFactory(String protocol) {
+        if (protocol == null) {
+            this.protocol = OBJECT_STREAM_PROTOCOL;
+        } else {
+            this.protocol = protocol.trim().toLowerCase();
+        }
+    }
+
     public Serializator getSerializator(Socket socket) throws IOException {
+        if (this.isFramed()) {
+            DataOutputStream dataOutputStream = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            return new FramedSerializator(dataInputStream, dataOutputStream, this.getMessageCodec());
+        }
+
         // Should create objectOutputStream before objectInputStream
         // Don't know why.
         ObjectOutputStream objectOutputStream = new ObjectOutputStream(socket.getOutputStream());
@@ -19,4 +48,15 @@ public class SerializatorFactory {
         return new Serializator(objectInputStreamWrapper, objectOutputStreamWrapper);
     }
 
+    public boolean isFramed() {
+        return !OBJECT_STREAM_PROTOCOL.equals(this.protocol);
+    }
+
+    public MessageCodec getMessageCodec() {
+        if (BINARY_PROTOCOL.equals(this.protocol)) {
+            return new BinaryMessageCodec();
+        }
+        return new JavaSerializationMessageCodec();
+    }
+
 }
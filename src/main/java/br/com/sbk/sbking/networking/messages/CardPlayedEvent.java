@@ -0,0 +1,26 @@
+package br.com.sbk.sbking.networking.messages;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Direction;
+
+@SuppressWarnings("serial")
+public class CardPlayedEvent extends DealEvent {
+
+    private final Direction direction;
+    private final Card card;
+
+    public CardPlayedEvent(long sequence, Direction direction, Card card) {
+        super(sequence);
+        this.direction = direction;
+        this.card = card;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public Card getCard() {
+        return card;
+    }
+
+}
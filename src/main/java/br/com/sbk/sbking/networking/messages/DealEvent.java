@@ -0,0 +1,18 @@
+package br.com.sbk.sbking.networking.messages;
+
+import java.io.Serializable;
+
+@SuppressWarnings("serial")
+public abstract class DealEvent implements Serializable {
+
+    private final long sequence;
+
+    public DealEvent(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+}
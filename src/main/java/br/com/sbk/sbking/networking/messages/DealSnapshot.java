@@ -0,0 +1,26 @@
+package br.com.sbk.sbking.networking.messages;
+
+import java.io.Serializable;
+
+import br.com.sbk.sbking.core.Deal;
+
+@SuppressWarnings("serial")
+public class DealSnapshot implements Serializable {
+
+    private final long sequence;
+    private final Deal deal;
+
+    public DealSnapshot(long sequence, Deal deal) {
+        this.sequence = sequence;
+        this.deal = deal;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Deal getDeal() {
+        return deal;
+    }
+
+}
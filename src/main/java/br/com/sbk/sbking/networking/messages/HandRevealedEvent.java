@@ -0,0 +1,34 @@
+package br.com.sbk.sbking.networking.messages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Direction;
+
+@SuppressWarnings("serial")
+public class HandRevealedEvent extends DealEvent {
+
+    private final Direction direction;
+    private final List<Card> cards;
+
+    /**
+     * @param cards every card the hand started the deal with, including the ones
+     *              already played.
+     */
+    public HandRevealedEvent(long sequence, Direction direction, List<Card> cards) {
+        super(sequence);
+        this.direction = direction;
+        this.cards = new ArrayList<Card>(cards);
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public List<Card> getCards() {
+        return Collections.unmodifiableList(cards);
+    }
+
+}
@@ -7,6 +7,8 @@ public final class MessageConstants {
 
     public static final String MESSAGE = "MESSAGE";
     public static final String DEAL = "DEAL";
+    public static final String SNAPSHOT = "SNAPSHOT";
+    public static final String EVENT = "EVENT";
     public static final String BOARD = "BOARD";
     public static final String INITIALIZEDEAL = "INITIALIZEDEAL";
     public static final String FINISHDEAL = "FINISHDEAL";
@@ -23,9 +25,16 @@ public final class MessageConstants {
     public static final String VALIDRULESET = "VALIDRULESET";
     public static final String ISSPECTATOR = "ISSPECTATOR";
     public static final String ISNOTSPECTATOR = "ISNOTSPECTATOR";
+    public static final String TABLES = "TABLES";
+    public static final String ACKREQUEST = "ACKREQUEST";
 
     public static final String NICKNAME = "NICKNAME";
     public static final String POSITIVE = "POSITIVE";
     public static final String NEGATIVE = "NEGATIVE";
     public static final String PING = "PING";
+    public static final String CREATETABLE = "CREATETABLE";
+    public static final String LISTTABLES = "LISTTABLES";
+    public static final String JOINTABLE = "JOINTABLE";
+    public static final String RESYNC = "RESYNC";
+    public static final String ACK = "ACK";
 }
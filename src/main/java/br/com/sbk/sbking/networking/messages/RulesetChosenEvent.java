@@ -0,0 +1,32 @@
+package br.com.sbk.sbking.networking.messages;
+
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+
+@SuppressWarnings("serial")
+public class RulesetChosenEvent extends DealEvent {
+
+    private final Ruleset ruleset;
+    private final Direction leader;
+    private final Direction dummy;
+
+    public RulesetChosenEvent(long sequence, Ruleset ruleset, Direction leader, Direction dummy) {
+        super(sequence);
+        this.ruleset = ruleset;
+        this.leader = leader;
+        this.dummy = dummy;
+    }
+
+    public Ruleset getRuleset() {
+        return ruleset;
+    }
+
+    public Direction getLeader() {
+        return leader;
+    }
+
+    public Direction getDummy() {
+        return dummy;
+    }
+
+}
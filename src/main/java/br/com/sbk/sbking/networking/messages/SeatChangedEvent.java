@@ -0,0 +1,29 @@
+package br.com.sbk.sbking.networking.messages;
+
+import br.com.sbk.sbking.core.Direction;
+
+@SuppressWarnings("serial")
+public class SeatChangedEvent extends DealEvent {
+
+    private final Direction direction;
+    private final String playerName;
+
+    public SeatChangedEvent(long sequence, Direction direction, String playerName) {
+        super(sequence);
+        this.direction = direction;
+        this.playerName = playerName;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public boolean isEmptySeat() {
+        return playerName == null;
+    }
+
+}
@@ -0,0 +1,31 @@
+package br.com.sbk.sbking.networking.messages;
+
+import br.com.sbk.sbking.core.Direction;
+
+@SuppressWarnings("serial")
+public class TrickWonEvent extends DealEvent {
+
+    private final Direction winner;
+    private final int northSouthPoints;
+    private final int eastWestPoints;
+
+    public TrickWonEvent(long sequence, Direction winner, int northSouthPoints, int eastWestPoints) {
+        super(sequence);
+        this.winner = winner;
+        this.northSouthPoints = northSouthPoints;
+        this.eastWestPoints = eastWestPoints;
+    }
+
+    public Direction getWinner() {
+        return winner;
+    }
+
+    public int getNorthSouthPoints() {
+        return northSouthPoints;
+    }
+
+    public int getEastWestPoints() {
+        return eastWestPoints;
+    }
+
+}
@@ -2,38 +2,60 @@ package br.com.sbk.sbking.networking.server;
 
 import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
-import java.io.IOException;
 import java.net.InetAddress;
 import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import br.com.sbk.sbking.core.Board;
 import br.com.sbk.sbking.core.Card;
-import br.com.sbk.sbking.core.Deal;
 import br.com.sbk.sbking.core.Direction;
 import br.com.sbk.sbking.core.Player;
 import br.com.sbk.sbking.core.rulesets.RulesetFromShortDescriptionIdentifier;
 import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
 import br.com.sbk.sbking.gui.models.KingGameScoreboard;
 import br.com.sbk.sbking.gui.models.PositiveOrNegative;
+import br.com.sbk.sbking.gui.models.TableSummary;
 import br.com.sbk.sbking.networking.core.serialization.DisconnectedObject;
-import br.com.sbk.sbking.networking.core.serialization.Serializator;
+import br.com.sbk.sbking.networking.core.serialization.PreparedMessage;
 import br.com.sbk.sbking.networking.messages.MessageConstants;
+import br.com.sbk.sbking.networking.server.nio.ChannelMessageListener;
 
-public class ClientGameSocket implements Runnable {
+public class ClientGameSocket implements Runnable, ChannelMessageListener {
 
-    private PlayerNetworkInformation playerNetworkInformation;
-    private Table table;
+    private static final Map<String, PreparedMessage> CONTROL_MESSAGES = new ConcurrentHashMap<String, PreparedMessage>();
+
+    /**
+     * How long a blocking client may take to send its first message before the
+     * seat information is sent anyway.
+     */
+    static final long CLIENT_SETUP_TIMEOUT_IN_MILLISECONDS = 900;
+
+    private volatile PlayerNetworkInformation playerNetworkInformation;
+    private Lobby lobby;
+    private volatile Table table;
     private boolean hasDisconnected = false;
-    private Direction direction;
+    private volatile Direction direction;
+    private final AtomicBoolean setupFinished = new AtomicBoolean(false);
+    private volatile TimerWheel.Timeout setupTimeout;
 
     public boolean isSpectator() {
         return direction == null;
     }
 
-    public ClientGameSocket(PlayerNetworkInformation playerNetworkInformation, Direction direction, Table table) {
+    public ClientGameSocket(PlayerNetworkInformation playerNetworkInformation, Lobby lobby) {
         this.playerNetworkInformation = playerNetworkInformation;
+        this.lobby = lobby;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    public void setTable(Table table) {
         this.table = table;
-        this.direction = direction;
     }
 
     public void setDirection(Direction direction) {
@@ -44,32 +66,57 @@ public class ClientGameSocket implements Runnable {
         this.direction = null;
     }
 
-    private void setup() throws IOException, InterruptedException {
-        this.waitForClientSetup();
+    /**
+     * A blocking client sends its nickname as soon as its streams are ready, so
+     * the seat information goes out on its first message, or after
+     * CLIENT_SETUP_TIMEOUT_IN_MILLISECONDS if that message never comes.
+     */
+    private void setup() {
+        Lobby currentLobby = this.lobby;
+        if (currentLobby != null) {
+            this.setupTimeout = currentLobby.schedule(this::finishSetup, CLIENT_SETUP_TIMEOUT_IN_MILLISECONDS);
+        }
+    }
+
+    private void finishSetup() {
+        if (!this.setupFinished.compareAndSet(false, true)) {
+            return;
+        }
+        TimerWheel.Timeout timeout = this.setupTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        this.sendSeatInformation();
+    }
+
+    public void sendSeatInformation() {
+        this.setupFinished.set(true);
         if (this.isSpectator()) {
             this.sendIsSpectator();
         } else {
             this.sendIsNotSpectator();
-            this.waitForClientSetup();
             this.sendDirection(direction);
         }
-        this.waitForClientSetup();
     }
 
     @Override
     public void run() {
-        LOGGER.info("Connected: " + this.getSocket());
+        LOGGER.info("Connected: {}", this.getSocket());
         InetAddress inetAddress = this.getInetAddress();
         try {
             setup();
             while (!hasDisconnected) {
-                processCommand();
+                Object readObject = this.playerNetworkInformation.readMessage();
+                processCommand(readObject);
+                if (!(readObject instanceof DisconnectedObject)) {
+                    finishSetup();
+                }
             }
         } catch (Exception e) {
-            LOGGER.error("Error:" + this.getSocket(), e);
+            LOGGER.error("Error:{}", this.getSocket(), e);
         } finally {
             disconnect();
-            LOGGER.info("Disconnected gracefully to IP:" + inetAddress);
+            LOGGER.info("Disconnected gracefully to IP:{}", inetAddress);
         }
         LOGGER.info("Method run() has finished. Should TERMINATE Thread.");
     }
@@ -78,171 +125,267 @@ public class ClientGameSocket implements Runnable {
         return this.getSocket().getInetAddress();
     }
 
-    private void processCommand() {
+    @Override
+    public void onMessage(Object message) {
+        processCommand(message);
+        if (hasDisconnected) {
+            onDisconnect();
+        }
+    }
 
-        Object readObject = this.getSerializator().tryToDeserialize(Object.class);
+    @Override
+    public void onDisconnect() {
+        this.hasDisconnected = true;
+        if (this.playerNetworkInformation != null) {
+            disconnect();
+        }
+    }
+
+    private void processCommand(Object readObject) {
         if (readObject instanceof DisconnectedObject) {
             this.hasDisconnected = true;
             return;
         }
 
+        if (readObject instanceof String && this.processLobbyCommand((String) readObject)) {
+            return;
+        }
+
         if (this.isSpectator()) {
             if (readObject instanceof String) {
                 String string = (String) readObject;
-                LOGGER.info("A spectator sent this message: --" + string + "--");
+                LOGGER.debug("A spectator sent this message: --{}--", string);
                 if (string.startsWith(MessageConstants.NICKNAME)) {
                     String nickname = string.substring(MessageConstants.NICKNAME.length());
-                    LOGGER.info("Setting new nickname: --" + nickname + "--");
+                    LOGGER.info("Setting new nickname: --{}--", nickname);
                     this.playerNetworkInformation.setNickname(nickname);
                 }
             } else if (readObject instanceof Card) {
                 Card playedCard = (Card) readObject;
-                LOGGER.info("A spectator is trying to play the " + playedCard);
+                LOGGER.debug("A spectator is trying to play the {}", playedCard);
             } else if (readObject instanceof Direction) {
                 Direction direction = (Direction) readObject;
-                LOGGER.info("A spectator is trying to sit on " + direction);
+                LOGGER.debug("A spectator is trying to sit on {}", direction);
                 this.table.moveToSeat(this, direction);
             }
         } else {
             if (readObject instanceof String) {
                 String string = (String) readObject;
-                LOGGER.info(this.direction + " sent this message: --" + string + "--");
+                LOGGER.debug("{} sent this message: --{}--", this.direction, string);
                 if (string.startsWith(MessageConstants.NICKNAME)) {
                     String nickname = string.substring(MessageConstants.NICKNAME.length());
-                    LOGGER.info("Setting new nickname: --" + nickname + "--");
+                    LOGGER.info("Setting new nickname: --{}--", nickname);
                     this.playerNetworkInformation.setNickname(nickname);
                 } else {
                     if (MessageConstants.POSITIVE.equals(string) || MessageConstants.NEGATIVE.equals(string)) {
-                        KingGameServer kingGameServer = (KingGameServer) this.table.getGameServer();
                         PositiveOrNegative positiveOrNegative = new PositiveOrNegative();
                         if (MessageConstants.POSITIVE.equals(string)) {
                             positiveOrNegative.setPositive();
                         } else {
                             positiveOrNegative.setNegative();
                         }
-                        kingGameServer.notifyChoosePositiveOrNegative(positiveOrNegative, this.direction);
+                        this.table.getGameServer().notifyChoosePositiveOrNegative(positiveOrNegative, this.direction);
                     } else {
-                        MinibridgeGameServer kingGameServer = (MinibridgeGameServer) this.table.getGameServer();
                         Ruleset gameModeOrStrain = RulesetFromShortDescriptionIdentifier.identify(string);
                         if (gameModeOrStrain != null) {
-                            kingGameServer.notifyChooseGameModeOrStrain(gameModeOrStrain, direction);
+                            this.table.getGameServer().notifyChooseGameModeOrStrain(gameModeOrStrain, direction);
                         }
                     }
                 }
             } else if (readObject instanceof Card) {
                 Card playedCard = (Card) readObject;
-                LOGGER.info(this.direction + " is trying to play the " + playedCard);
+                LOGGER.debug("{} is trying to play the {}", this.direction, playedCard);
                 table.getGameServer().notifyPlayCard(playedCard, this.direction);
             } else if (readObject instanceof Direction) {
                 Direction direction = (Direction) readObject;
-                LOGGER.info(this.direction + " is trying to leave his sit or sit on " + direction);
+                LOGGER.debug("{} is trying to leave his sit or sit on {}", this.direction, direction);
                 this.table.moveToSeat(this, direction);
             }
         }
     }
 
+    private boolean processLobbyCommand(String string) {
+        if (MessageConstants.PING.equals(string)) {
+            return true;
+        } else if (isAcknowledgement(string)) {
+            Table currentTable = this.table;
+            if (currentTable != null) {
+                currentTable.getGameServer().notifyAcknowledgement(this, string.substring(MessageConstants.ACK.length()));
+            }
+            return true;
+        } else if (MessageConstants.RESYNC.equals(string)) {
+            LOGGER.debug("Client asked for a new snapshot of the deal.");
+            Table currentTable = this.table;
+            if (currentTable != null) {
+                currentTable.getGameServer().notifyResync(this);
+            }
+            return true;
+        } else if (MessageConstants.LISTTABLES.equals(string)) {
+            this.sendTables(this.lobby.getTableSummaries());
+            return true;
+        } else if (string.startsWith(MessageConstants.CREATETABLE)) {
+            String gameName = string.substring(MessageConstants.CREATETABLE.length());
+            LOGGER.info("Trying to create a table of --{}--", gameName);
+            this.lobby.createTable(this, gameName);
+            this.sendTables(this.lobby.getTableSummaries());
+            return true;
+        } else if (string.startsWith(MessageConstants.JOINTABLE)) {
+            String id = string.substring(MessageConstants.JOINTABLE.length());
+            LOGGER.info("Trying to join table --{}--", id);
+            try {
+                this.lobby.joinTable(this, Integer.parseInt(id));
+            } catch (NumberFormatException e) {
+                LOGGER.info("Could not understand table id: --{}--", id);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * An acknowledgement is ACK followed by the decimal id of its request, so
+     * other controls sharing the prefix are never taken for one.
+     */
+    static boolean isAcknowledgement(String string) {
+        if (!string.startsWith(MessageConstants.ACK) || string.length() == MessageConstants.ACK.length()) {
+            return false;
+        }
+        for (int i = MessageConstants.ACK.length(); i < string.length(); i++) {
+            if (!Character.isDigit(string.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void disconnect() {
         InetAddress inetAddress = this.getInetAddress();
-        LOGGER.info("Entered disconnect with IP:" + inetAddress);
+        LOGGER.info("Entered disconnect with IP:{}", inetAddress);
+        this.setupFinished.set(true);
+        TimerWheel.Timeout timeout = this.setupTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
         try {
-            LOGGER.info("Leaving from table.");
+            LOGGER.debug("Leaving from table.");
             this.leaveFromTable();
-            LOGGER.info("Left table.");
+            LOGGER.debug("Left table.");
 
             this.playerNetworkInformation.close();
         } catch (Exception e) {
             LOGGER.error(e);
         } finally {
+            if (this.lobby != null) {
+                this.lobby.removePlayer();
+            }
             this.releaseResources();
         }
-        LOGGER.info("Finished disconnect with IP:" + inetAddress);
+        LOGGER.info("Finished disconnect with IP:{}", inetAddress);
     }
 
     private void releaseResources() {
         this.table = null;
+        this.lobby = null;
         this.playerNetworkInformation = null;
     }
 
     private void leaveFromTable() {
-        this.table.removeClientGameSocket(this);
+        if (this.table != null) {
+            this.table.removeClientGameSocket(this);
+        }
     }
 
-    private void waitForClientSetup() throws IOException, InterruptedException {
-        LOGGER.info("Sleeping for 300ms waiting for client to setup itself");
-        Thread.sleep(300);
+    public void sendDealSnapshot(PreparedMessage dealSnapshot) {
+        this.sendPrepared(control(MessageConstants.SNAPSHOT), dealSnapshot);
     }
 
-    public void sendDeal(Deal deal) {
-        this.getSerializator().tryToSerialize(MessageConstants.DEAL);
-        this.getSerializator().tryToSerialize(deal);
+    public void sendDealEvent(PreparedMessage dealEvent) {
+        this.sendPrepared(control(MessageConstants.EVENT), dealEvent);
     }
 
     public void sendMessage(String string) {
-        this.getSerializator().tryToSerialize(MessageConstants.MESSAGE);
-        this.getSerializator().tryToSerialize(string);
+        this.sendPrepared(control(MessageConstants.MESSAGE), new PreparedMessage(string));
     }
 
-    public void sendBoard(Board board) {
-        this.getSerializator().tryToSerialize(MessageConstants.BOARD);
-        this.getSerializator().tryToSerialize(board);
+    public void sendBoard(PreparedMessage board) {
+        this.sendPrepared(control(MessageConstants.BOARD), board);
     }
 
     public void sendDirection(Direction direction) {
-        this.getSerializator().tryToSerialize(MessageConstants.DIRECTION);
-        this.getSerializator().tryToSerialize(direction);
+        this.sendPrepared(control(MessageConstants.DIRECTION), new PreparedMessage(direction));
     }
 
     public void sendChooserPositiveNegative(Direction direction) {
-        this.getSerializator().tryToSerialize(MessageConstants.CHOOSERPOSITIVENEGATIVE);
-        this.getSerializator().tryToSerialize(direction);
+        this.sendPrepared(control(MessageConstants.CHOOSERPOSITIVENEGATIVE), new PreparedMessage(direction));
     }
 
     public void sendPositiveOrNegative(String message) {
-        this.getSerializator().tryToSerialize(MessageConstants.POSITIVEORNEGATIVE);
-        this.getSerializator().tryToSerialize(message);
+        this.sendPrepared(control(MessageConstants.POSITIVEORNEGATIVE), new PreparedMessage(message));
     }
 
     public void sendChooserGameModeOrStrain(Direction chooser) {
-        this.getSerializator().tryToSerialize(MessageConstants.CHOOSERGAMEMODEORSTRAIN);
-        this.getSerializator().tryToSerialize(chooser);
+        this.sendPrepared(control(MessageConstants.CHOOSERGAMEMODEORSTRAIN), new PreparedMessage(chooser));
     }
 
     public void sendGameModeOrStrain(String message) {
-        this.getSerializator().tryToSerialize(MessageConstants.GAMEMODEORSTRAIN);
-        this.getSerializator().tryToSerialize(message);
+        this.sendPrepared(control(MessageConstants.GAMEMODEORSTRAIN), new PreparedMessage(message));
     }
 
     public void sendInitializeDeal() {
-        this.getSerializator().tryToSerialize(MessageConstants.INITIALIZEDEAL);
+        this.sendPrepared(control(MessageConstants.INITIALIZEDEAL));
     }
 
     public void sendFinishDeal() {
-        this.getSerializator().tryToSerialize(MessageConstants.FINISHDEAL);
+        this.sendPrepared(control(MessageConstants.FINISHDEAL));
     }
 
     public void sendFinishGame() {
-        this.getSerializator().tryToSerialize(MessageConstants.FINISHGAME);
+        this.sendPrepared(control(MessageConstants.FINISHGAME));
     }
 
     public void sendGameScoreboard(KingGameScoreboard gameScoreboard) {
-        this.getSerializator().tryToSerialize(MessageConstants.GAMESCOREBOARD);
-        this.getSerializator().tryToSerialize(gameScoreboard);
+        this.sendPrepared(control(MessageConstants.GAMESCOREBOARD), new PreparedMessage(gameScoreboard));
     }
 
     public void sendInvalidRuleset() {
-        this.getSerializator().tryToSerialize(MessageConstants.INVALIDRULESET);
+        this.sendPrepared(control(MessageConstants.INVALIDRULESET));
     }
 
     public void sendValidRuleset() {
-        this.getSerializator().tryToSerialize(MessageConstants.VALIDRULESET);
+        this.sendPrepared(control(MessageConstants.VALIDRULESET));
+    }
+
+    public void sendAcknowledgementRequest(String acknowledgement) {
+        this.sendPrepared(control(MessageConstants.ACKREQUEST), new PreparedMessage(acknowledgement));
+    }
+
+    public void sendTables(List<TableSummary> tableSummaries) {
+        this.sendPrepared(control(MessageConstants.TABLES), new PreparedMessage(new ArrayList<TableSummary>(tableSummaries)));
     }
 
     public void sendIsSpectator() {
-        this.getSerializator().tryToSerialize(MessageConstants.ISSPECTATOR);
+        this.sendPrepared(control(MessageConstants.ISSPECTATOR));
     }
 
     public void sendIsNotSpectator() {
-        this.getSerializator().tryToSerialize(MessageConstants.ISNOTSPECTATOR);
+        this.sendPrepared(control(MessageConstants.ISNOTSPECTATOR));
+    }
+
+    /**
+     * Queues the messages as one entry, so a control and its payload are never
+     * split by a message sent from another thread.
+     */
+    public void sendPrepared(PreparedMessage... preparedMessages) {
+        PlayerNetworkInformation currentPlayerNetworkInformation = this.playerNetworkInformation;
+        if (currentPlayerNetworkInformation == null) {
+            LOGGER.debug("Not sending messages to a disconnected socket.");
+            return;
+        }
+        currentPlayerNetworkInformation.getMessageWriter().tryToSerializePrepared(preparedMessages);
+    }
+
+    public static PreparedMessage control(String controlMessage) {
+        return CONTROL_MESSAGES.computeIfAbsent(controlMessage, PreparedMessage::new);
     }
 
     public Socket getSocket() {
@@ -253,10 +396,6 @@ public class ClientGameSocket implements Runnable {
         return this.playerNetworkInformation.getPlayer();
     }
 
-    public Serializator getSerializator() {
-        return this.playerNetworkInformation.getSerializator();
-    }
-
     public Direction getDirection() {
         return direction;
     }
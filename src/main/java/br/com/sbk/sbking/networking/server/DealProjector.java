@@ -0,0 +1,111 @@
+package br.com.sbk.sbking.networking.server;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Trick;
+
+/**
+ * Builds the board and the deal as a viewer is allowed to see them. While the
+ * deal is played, a seated player sees its own hand and the dummy once it is
+ * open, and a spectator (null viewer) sees only the open dummy. Once the deal
+ * is finished everybody, spectators included, sees every hand. Hands that can
+ * not be seen keep their cards already played and the number of cards still in
+ * them.
+ */
+public class DealProjector {
+
+    public static boolean canSee(Deal deal, Direction viewer, Direction handOwner) {
+        if (deal.isFinished()) {
+            return true;
+        }
+        if (viewer != null && handOwner == viewer) {
+            return true;
+        }
+        return handOwner == deal.getDummy() && deal.isDummyOpen();
+    }
+
+    public static Board projectBoard(Board board, Direction viewer) {
+        Map<Direction, Hand> hands = new EnumMap<Direction, Hand>(Direction.class);
+        for (Direction direction : Direction.values()) {
+            Hand hand = board.getHandOf(direction);
+            Hand projectedHand = new Hand();
+            if (direction == viewer) {
+                for (int i = 0; i < hand.size(); i++) {
+                    projectedHand.addCard(hand.get(i));
+                }
+            } else {
+                projectedHand.addHiddenCards(hand.size());
+            }
+            hands.put(direction, projectedHand);
+        }
+        return new Board(hands, board.getDealer());
+    }
+
+    public static Deal projectDeal(Deal deal, Direction viewer) {
+        Map<Direction, Hand> hands = new EnumMap<Direction, Hand>(Direction.class);
+        for (Direction direction : Direction.values()) {
+            Hand projectedHand = new Hand();
+            if (canSee(deal, viewer, direction)) {
+                for (Card card : getStartingCardsOf(deal, direction)) {
+                    projectedHand.addCard(card);
+                }
+            } else {
+                for (Card card : getPlayedCardsOf(deal, direction)) {
+                    projectedHand.addCard(card);
+                }
+                projectedHand.addHiddenCards(deal.getHandOf(direction).size());
+            }
+            hands.put(direction, projectedHand);
+        }
+
+        List<Trick> tricks = deal.getTricks();
+        Deal projectedDeal = new Deal(new Board(hands, deal.getDealer()), deal.getRuleset());
+        projectedDeal.setStartingNumberOfCardsInTheHand(deal.getStartingNumberOfCardsInTheHand());
+        projectedDeal.setDummy(deal.getDummy());
+        projectedDeal.setCurrentPlayer(tricks.isEmpty() ? deal.getCurrentPlayer() : tricks.get(0).getLeader());
+        for (Trick trick : tricks) {
+            for (Card card : trick.getCards()) {
+                projectedDeal.playCard(card);
+            }
+        }
+        for (Direction direction : Direction.values()) {
+            if (deal.getPlayerOf(direction) != null) {
+                projectedDeal.setPlayerOf(direction, deal.getPlayerOf(direction));
+            }
+        }
+        return projectedDeal;
+    }
+
+    public static List<Card> getStartingCardsOf(Deal deal, Direction direction) {
+        List<Card> startingCards = new ArrayList<Card>();
+        Hand hand = deal.getHandOf(direction);
+        for (int i = 0; i < hand.size(); i++) {
+            startingCards.add(hand.get(i));
+        }
+        startingCards.addAll(getPlayedCardsOf(deal, direction));
+        return startingCards;
+    }
+
+    private static List<Card> getPlayedCardsOf(Deal deal, Direction direction) {
+        List<Card> playedCards = new ArrayList<Card>();
+        for (Trick trick : deal.getTricks()) {
+            Direction current = trick.getLeader();
+            for (Card card : trick.getCards()) {
+                if (current == direction) {
+                    playedCards.add(card);
+                }
+                current = current.next();
+            }
+        }
+        return playedCards;
+    }
+
+}
@@ -2,33 +2,179 @@ package br.com.sbk.sbking.networking.server;
 
 import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 import br.com.sbk.sbking.core.Board;
 import br.com.sbk.sbking.core.Card;
 import br.com.sbk.sbking.core.Deal;
 import br.com.sbk.sbking.core.Direction;
 import br.com.sbk.sbking.core.TrickGame;
+import br.com.sbk.sbking.core.bot.GreedyStrategy;
+import br.com.sbk.sbking.core.bot.MonteCarloBot;
+import br.com.sbk.sbking.core.bot.RulesetChooser;
 import br.com.sbk.sbking.core.exceptions.PlayedCardInAnotherPlayersTurnException;
-import br.com.sbk.sbking.networking.server.notifications.CardPlayNotification;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.gui.models.PositiveOrNegative;
 
-public abstract class GameServer implements Runnable {
+/**
+ * State machine of the game played on a table. It holds no thread and no lock:
+ * the notify methods may be called from any thread and only submit a command
+ * to the table's inbox, every other method runs inside the inbox, as do the
+ * timeouts of the shared timer wheel. Instead of sleeping until the clients are
+ * probably ready, the server asks the seated clients to acknowledge and moves
+ * on when all of them have answered or when the acknowledgement times out.
+ *
+ * The move of an empty seat, or of a seated player who does not move in time,
+ * is made by the bot. It searches on its own executor and its card comes back
+ * through the inbox like any other, so a thinking bot never holds the table.
+ * The bot only plays while someone is seated: a table left to spectators, or
+ * to no one, pauses where it is and goes on when a player sits down.
+ */
+public abstract class GameServer {
 
-    protected CardPlayNotification cardPlayNotification = new CardPlayNotification();
-    protected boolean dealHasChanged;
-    protected Direction nextDirection = Direction.values()[0];
-    protected Table table;
+    protected static final long ACKNOWLEDGEMENT_TIMEOUT = 3000;
+    protected static final long LAST_TRICK_DELAY = 3000;
+    protected static final long MOVE_TIMEOUT = 60000;
+
+    protected enum State {
+        NOT_STARTED, OFFERING_DEAL, CHOOSING_POSITIVE_OR_NEGATIVE, CHOOSING_GAME_MODE_OR_STRAIN, PLAYING,
+        SHOWING_LAST_TRICK, FINISHING_DEAL, FINISHED
+    }
 
+    protected Table table;
     protected TrickGame game;
+    protected State state = State.NOT_STARTED;
+
+    private TimerWheel timerWheel;
+    private int nextAcknowledgementId = 1;
+    private String awaitedAcknowledgement;
+    private Set<ClientGameSocket> awaitedSockets = new HashSet<ClientGameSocket>();
+    private Runnable afterAcknowledgements;
+    private TimerWheel.Timeout acknowledgementTimeout;
+
+    protected final RulesetChooser rulesetChooser = new RulesetChooser();
+    private MonteCarloBot bot;
+    private int awaitedMove;
+    private Direction awaitedDirection;
+    private boolean botMoving;
+    private TimerWheel.Timeout moveTimeout;
+    private boolean paused;
+    private Runnable acknowledgementsOnResume;
+    private boolean stopped;
 
     public void setTable(Table table) {
         this.table = table;
     }
 
+    /**
+     * Read from outside the inbox by the metrics, so it may lag behind the
+     * table by a command.
+     */
+    public boolean isFinished() {
+        return this.state == State.FINISHED;
+    }
+
+    public void start(TimerWheel timerWheel) {
+        this.start(timerWheel, null);
+    }
+
+    /**
+     * Starts the game with the bot moving for empty and timed out seats, or
+     * with every seat waited for when the bot is null.
+     */
+    public void start(TimerWheel timerWheel, MonteCarloBot bot) {
+        this.table.submit(() -> {
+            this.timerWheel = timerWheel;
+            this.bot = bot;
+            this.startDeal();
+        });
+    }
+
+    /**
+     * Stops a game whose table was removed: its timeouts are cancelled and the
+     * moves and timeouts already on their way are ignored.
+     */
+    public void stop() {
+        this.stopped = true;
+        this.paused = false;
+        this.acknowledgementsOnResume = null;
+        this.stopAwaitingMove();
+        if (this.acknowledgementTimeout != null) {
+            this.acknowledgementTimeout.cancel();
+        }
+        this.awaitedAcknowledgement = null;
+        this.afterAcknowledgements = null;
+        this.acknowledgementTimeout = null;
+        this.awaitedSockets.clear();
+        this.state = State.FINISHED;
+    }
+
+    protected void startDeal() {
+        if (this.game.isFinished()) {
+            this.state = State.FINISHED;
+            this.table.getMessageSender().sendFinishGameAll();
+            LOGGER.info("Game has ended.");
+            this.table.onGameFinished();
+            return;
+        }
+        this.game.dealNewBoard();
+        this.setPlayersOfCurrentDeal();
+        this.offerDeal();
+    }
+
+    protected void offerDeal() {
+        this.stopAwaitingMove();
+        this.state = State.OFFERING_DEAL;
+        this.table.getMessageSender().sendInitializeDealAll();
+        this.table.getMessageSender().sendBoardAll(this.game.getCurrentBoard());
+        this.awaitAcknowledgements(this::onDealOffered);
+    }
+
+    /**
+     * Called once every seated client has the new board.
+     */
+    protected abstract void onDealOffered();
+
+    protected void startPlaying() {
+        LOGGER.info("Everything selected! Game commencing!");
+        this.state = State.PLAYING;
+        this.awaitMove();
+    }
+
+    private void finishDeal() {
+        this.state = State.FINISHING_DEAL;
+        this.game.finishDeal();
+        this.table.getMetrics().dealFinished();
+        this.onDealFinished();
+        this.sendGameScoreboardAll();
+        this.table.getMessageSender().sendFinishDealAll();
+        LOGGER.info("Deal finished!");
+        this.awaitAcknowledgements(this::startDeal);
+    }
+
+    /**
+     * Called once the finished deal is scored, before the scoreboard is sent.
+     */
+    protected void onDealFinished() {
+    }
+
+    protected void sendGameScoreboardAll() {
+    }
+
+    protected void setPlayersOfCurrentDeal() {
+        Deal currentDeal = this.game.getCurrentDeal();
+        for (Direction direction : Direction.values()) {
+            currentDeal.setPlayerOf(direction, this.table.getPlayerOf(direction));
+        }
+    }
+
     protected void playCard(Card card, Direction direction) {
-        LOGGER.info("It is currently the " + this.game.getCurrentDeal().getCurrentPlayer() + " turn");
+        LOGGER.debug("It is currently the {} turn", this.game.getCurrentDeal().getCurrentPlayer());
         try {
             if (this.game.getCurrentDeal().getCurrentPlayer() == direction) {
                 syncPlayCard(card);
-                this.dealHasChanged = true;
             } else {
                 throw new PlayedCardInAnotherPlayersTurnException();
             }
@@ -37,32 +183,321 @@ public abstract class GameServer implements Runnable {
         }
     }
 
-    protected synchronized void syncPlayCard(Card card) {
-        LOGGER.info("Entering synchronized play card");
-        this.game.getCurrentDeal().playCard(card);
-        LOGGER.info("Leaving synchronized play card");
+    protected void syncPlayCard(Card card) {
+        Deal currentDeal = this.game.getCurrentDeal();
+        Direction playedBy = currentDeal.getCurrentPlayer();
+        int completedTricks = currentDeal.getCompletedTricks();
+        boolean dummyWasOpen = currentDeal.isDummyOpen();
+        currentDeal.playCard(card);
+        this.table.getMetrics().cardPlayed();
+
+        MessageSender messageSender = this.table.getMessageSender();
+        Direction dummy = currentDeal.getDummy();
+        if (dummy != null && !dummyWasOpen) {
+            // Revealed first, so no client sees the dummy to play with its hand still hidden
+            messageSender.sendHandRevealedAll(dummy, DealProjector.getStartingCardsOf(currentDeal, dummy));
+        }
+        messageSender.sendCardPlayedAll(playedBy, card);
+        if (currentDeal.getCompletedTricks() > completedTricks) {
+            messageSender.sendTrickWonAll(currentDeal.getCurrentPlayer(), currentDeal.getNorthSouthPoints(),
+                    currentDeal.getEastWestPoints());
+        }
+        if (!currentDeal.isFinished()) {
+            this.awaitMove();
+        }
+    }
+
+    protected void sendRulesetChosenAll() {
+        Deal currentDeal = this.game.getCurrentDeal();
+        this.table.getMessageSender().sendRulesetChosenAll(currentDeal.getRuleset(), currentDeal.getCurrentPlayer(),
+                currentDeal.getDummy());
+    }
+
+    protected void sendDealAll() {
+        this.table.getMessageSender().sendDealAll(this.game.getCurrentDeal());
+    }
+
+    public void sendDealTo(ClientGameSocket clientGameSocket) {
+        this.table.getMessageSender().sendDealOne(this.game.getCurrentDeal(), clientGameSocket);
+    }
+
+    public void sendSeatViewTo(ClientGameSocket clientGameSocket) {
+        Board currentBoard = this.game.getCurrentBoard();
+        if (currentBoard != null) {
+            this.table.getMessageSender().sendBoardOne(currentBoard, clientGameSocket);
+        }
+        this.sendDealTo(clientGameSocket);
+        this.sendPhaseTo(clientGameSocket);
+    }
+
+    /**
+     * Sends a client that has just sat down whatever the table is waiting for,
+     * such as the chooser of the current deal.
+     */
+    protected void sendPhaseTo(ClientGameSocket clientGameSocket) {
     }
 
     public void notifyPlayCard(Card card, Direction direction) {
-        synchronized (cardPlayNotification) {
-            LOGGER.info("Started notifying main thread that I(" + direction + ") want to play the " + card);
-            this.releaseAllWaiters(card, direction);
-            LOGGER.info("Finished notifying main thread that I(" + direction + ") want to play the " + card);
+        this.table.submit(() -> this.onPlayCard(card, direction));
+    }
+
+    public void notifyChoosePositiveOrNegative(PositiveOrNegative positiveOrNegative, Direction direction) {
+        this.table.submit(() -> this.choosePositiveOrNegative(positiveOrNegative, direction));
+    }
+
+    public void notifyChooseGameModeOrStrain(Ruleset gameModeOrStrain, Direction direction) {
+        this.table.submit(() -> this.chooseGameModeOrStrain(gameModeOrStrain, direction));
+    }
+
+    public void notifyAcknowledgement(ClientGameSocket clientGameSocket, String acknowledgement) {
+        this.table.submit(() -> this.acknowledge(clientGameSocket, acknowledgement));
+    }
+
+    public void notifyResync(ClientGameSocket clientGameSocket) {
+        this.table.submit(() -> this.sendDealTo(clientGameSocket));
+    }
+
+    private void onPlayCard(Card card, Direction direction) {
+        if (this.state != State.PLAYING) {
+            LOGGER.debug("Ignoring the {} from {} while {}", card, direction, this.state);
+            return;
+        }
+        LOGGER.debug("{} wants to play the {}", direction, card);
+        long start = System.nanoTime();
+        this.playCard(card, direction);
+        this.table.getMetrics().recordCardPlay(System.nanoTime() - start);
+        if (this.game.getCurrentDeal().isFinished()) {
+            this.stopAwaitingMove();
+            this.state = State.SHOWING_LAST_TRICK;
+            // A finished deal is open to everyone
+            this.sendDealAll();
+            this.schedule(this::finishDeal, LAST_TRICK_DELAY);
         }
     }
 
-    private void releaseAllWaiters(Card card, Direction direction) {
-        cardPlayNotification.notifyAllWithCardAndDirection(card, direction);
+    protected void choosePositiveOrNegative(PositiveOrNegative positiveOrNegative, Direction direction) {
+        LOGGER.info("This game does not choose positive or negative. Ignoring choice from {}", direction);
     }
 
-    protected void sleepFor(int miliseconds) {
-        try {
-            Thread.sleep(miliseconds);
-        } catch (InterruptedException e) {
-            LOGGER.error(e);
+    protected void chooseGameModeOrStrain(Ruleset gameModeOrStrain, Direction direction) {
+        LOGGER.info("This game does not choose game mode or strain. Ignoring choice from {}", direction);
+    }
+
+    /**
+     * The seat whose move the table waits for, or null when it waits for none.
+     * A game where one seat moves for another answers the seat that moves.
+     */
+    protected Direction getDirectionToMove() {
+        if (this.state == State.PLAYING) {
+            return this.game.getCurrentDeal().getCurrentPlayer();
+        }
+        return null;
+    }
+
+    /**
+     * Makes the choice the table waits for on behalf of the seat. Called for the
+     * states other than playing, by the games that choose something.
+     */
+    protected void chooseForBot(Direction direction) {
+        LOGGER.info("The bot has nothing to choose for {} while {}", direction, this.state);
+    }
+
+    /**
+     * Starts waiting for the move of the seat the state asks for: the bot moves
+     * at once when the seat is empty and after the timeout otherwise, or once
+     * someone sits down when no seat is taken.
+     */
+    protected void awaitMove() {
+        this.stopAwaitingMove();
+        Direction direction = this.getDirectionToMove();
+        if (this.bot == null || direction == null) {
+            return;
+        }
+        this.awaitedDirection = direction;
+        int move = this.awaitedMove;
+        if (!this.table.hasSeatedPlayers()) {
+            this.pause();
+        } else if (this.table.isSeatOccupied(direction)) {
+            this.moveTimeout = this.schedule(() -> this.timeOutMove(move), MOVE_TIMEOUT);
+        } else {
+            this.moveForBot(move);
+        }
+    }
+
+    private void stopAwaitingMove() {
+        this.awaitedMove++;
+        this.awaitedDirection = null;
+        this.botMoving = false;
+        this.cancelMoveTimeout();
+    }
+
+    private void cancelMoveTimeout() {
+        if (this.moveTimeout != null) {
+            this.moveTimeout.cancel();
+            this.moveTimeout = null;
         }
     }
 
+    /**
+     * Lets the bot take over a move awaited from a seat that was just left,
+     * pauses the game when the last player left and resumes it when the first
+     * one sat down.
+     */
+    public void onSeatsChanged() {
+        if (this.stopped) {
+            return;
+        }
+        if (!this.table.hasSeatedPlayers()) {
+            this.pause();
+            return;
+        }
+        if (this.paused) {
+            this.resume();
+            return;
+        }
+        Direction direction = this.awaitedDirection;
+        if (direction != null && !this.botMoving && !this.table.isSeatOccupied(direction)) {
+            this.cancelMoveTimeout();
+            this.moveForBot(this.awaitedMove);
+        }
+    }
+
+    /**
+     * Keeps the awaited seat but ignores the move the bot may be making for it,
+     * so nothing is played on a table no one plays at.
+     */
+    private void pause() {
+        if (!this.paused) {
+            LOGGER.info("No one is seated at table {}. Pausing its game.", this.table.getId());
+        }
+        this.paused = true;
+        if (this.awaitedDirection != null) {
+            this.awaitedMove++;
+            this.botMoving = false;
+            this.cancelMoveTimeout();
+        }
+    }
+
+    private void resume() {
+        LOGGER.info("A player sat at table {}. Resuming its game.", this.table.getId());
+        this.paused = false;
+        Runnable next = this.acknowledgementsOnResume;
+        this.acknowledgementsOnResume = null;
+        if (next != null) {
+            this.awaitAcknowledgements(next);
+        } else if (this.awaitedDirection != null) {
+            this.awaitMove();
+        }
+    }
+
+    private void timeOutMove(int move) {
+        if (move == this.awaitedMove && !this.botMoving) {
+            LOGGER.info("{} did not move in time. The bot moves for it.", this.awaitedDirection);
+            this.moveForBot(move);
+        }
+    }
+
+    private void moveForBot(int move) {
+        Direction direction = this.awaitedDirection;
+        this.botMoving = true;
+        if (this.state != State.PLAYING) {
+            this.submitBotMove(move, () -> this.chooseForBot(direction));
+            return;
+        }
+        Deal currentDeal = this.game.getCurrentDeal();
+        this.bot.chooseCardAsync(currentDeal).whenComplete((card, error) -> this.submitBotMove(move, () -> {
+            Card cardToPlay = card;
+            if (error != null) {
+                LOGGER.error("The bot could not choose a card. Playing greedily for {}.", direction, error);
+                cardToPlay = new GreedyStrategy().chooseCard(currentDeal);
+            }
+            LOGGER.debug("The bot plays the {} for {}", cardToPlay, direction);
+            this.onPlayCard(cardToPlay, direction);
+        }));
+    }
+
+    /**
+     * Runs the move in the inbox unless the table stopped waiting for it.
+     */
+    private void submitBotMove(int move, Runnable botMove) {
+        this.table.submit(() -> {
+            if (move == this.awaitedMove && !this.stopped) {
+                botMove.run();
+            }
+        });
+    }
+
+    /**
+     * Asks every seated client to acknowledge the messages sent so far and runs
+     * next when all of them did, when the last of them left its seat or when the
+     * acknowledgement times out. With no one seated the game pauses and asks
+     * again once someone sits down.
+     */
+    protected void awaitAcknowledgements(Runnable next) {
+        if (!this.table.hasSeatedPlayers()) {
+            this.pause();
+            this.acknowledgementsOnResume = next;
+            return;
+        }
+        Collection<ClientGameSocket> seatedSockets = this.table.getSeatedSockets();
+        String acknowledgement = Integer.toString(this.nextAcknowledgementId++);
+        this.awaitedAcknowledgement = acknowledgement;
+        this.awaitedSockets = new HashSet<ClientGameSocket>(seatedSockets);
+        this.afterAcknowledgements = next;
+        this.acknowledgementTimeout = this.schedule(() -> this.timeOutAcknowledgement(acknowledgement),
+                ACKNOWLEDGEMENT_TIMEOUT);
+        for (ClientGameSocket seatedSocket : seatedSockets) {
+            seatedSocket.sendAcknowledgementRequest(acknowledgement);
+        }
+    }
+
+    private void acknowledge(ClientGameSocket clientGameSocket, String acknowledgement) {
+        if (acknowledgement.equals(this.awaitedAcknowledgement)) {
+            this.awaitedSockets.remove(clientGameSocket);
+            this.continueIfAcknowledged();
+        }
+    }
+
+    public void stopAwaitingAcknowledgementOf(ClientGameSocket clientGameSocket) {
+        if (this.awaitedAcknowledgement != null) {
+            this.awaitedSockets.remove(clientGameSocket);
+            this.continueIfAcknowledged();
+        }
+    }
+
+    private void timeOutAcknowledgement(String acknowledgement) {
+        if (acknowledgement.equals(this.awaitedAcknowledgement)) {
+            LOGGER.info("Acknowledgement {} timed out waiting for {} clients.", acknowledgement,
+                    this.awaitedSockets.size());
+            this.awaitedSockets.clear();
+            this.continueIfAcknowledged();
+        }
+    }
+
+    private void continueIfAcknowledged() {
+        if (!this.awaitedSockets.isEmpty()) {
+            return;
+        }
+        Runnable next = this.afterAcknowledgements;
+        this.acknowledgementTimeout.cancel();
+        this.awaitedAcknowledgement = null;
+        this.afterAcknowledgements = null;
+        this.acknowledgementTimeout = null;
+        next.run();
+    }
+
+    /**
+     * Submits the task to the table's inbox once the delay has passed, so it runs
+     * as any other command of the table.
+     */
+    protected TimerWheel.Timeout schedule(Runnable task, long delayInMilliseconds) {
+        return this.timerWheel.schedule(() -> this.table.submit(() -> {
+            if (!this.stopped) {
+                task.run();
+            }
+        }), delayInMilliseconds);
+    }
+
     public Deal getDeal() {
         return this.game.getCurrentDeal();
     }
@@ -71,8 +506,4 @@ public abstract class GameServer implements Runnable {
         return this.game.getCurrentBoard();
     }
 
-    protected void sleepToShowLastCard() {
-        sleepFor(4000);
-    }
-
 }
@@ -0,0 +1,31 @@
+package br.com.sbk.sbking.networking.server;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class GameServerFromGameNameIdentifier {
+
+    public static final String KING = "KING";
+    public static final String POSITIVE_KING = "POSITIVEKING";
+    public static final String MINIBRIDGE = "MINIBRIDGE";
+    public static final String CAGANDO_NO_BEQUINHO = "CAGANDONOBEQUINHO";
+
+    private static Map<String, Supplier<GameServer>> gameServersOfGameNames = new HashMap<String, Supplier<GameServer>>();
+
+    static {
+        gameServersOfGameNames.put(KING, KingGameServer::new);
+        gameServersOfGameNames.put(POSITIVE_KING, PositiveKingGameServer::new);
+        gameServersOfGameNames.put(MINIBRIDGE, MinibridgeGameServer::new);
+        gameServersOfGameNames.put(CAGANDO_NO_BEQUINHO, CagandoNoBequinhoGameServer::new);
+    }
+
+    public static GameServer identify(String gameName) {
+        Supplier<GameServer> gameServerSupplier = gameServersOfGameNames.get(gameName);
+        if (gameServerSupplier == null) {
+            return null;
+        }
+        return gameServerSupplier.get();
+    }
+
+}
@@ -0,0 +1,181 @@
+package br.com.sbk.sbking.networking.server;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.com.sbk.sbking.core.bot.MonteCarloBot;
+import br.com.sbk.sbking.core.tournament.DuplicateTournament;
+import br.com.sbk.sbking.gui.models.TableSummary;
+
+public class Lobby {
+
+    private static final String DEFAULT_GAME_NAME = GameServerFromGameNameIdentifier.MINIBRIDGE;
+
+    private Map<Integer, Table> tables = new ConcurrentSkipListMap<Integer, Table>();
+    private AtomicInteger nextTableId = new AtomicInteger(1);
+
+    private static final long TIMER_TICK_IN_MILLISECONDS = 10;
+    private static final int TIMER_NUMBER_OF_SLOTS = 512;
+
+    private ExecutorService schedulerPool;
+    private TimerWheel timerWheel;
+    private ExecutorService clientGameSocketPool;
+    private MonteCarloBot bot;
+    private ServerMetrics serverMetrics;
+    private final int maximumNumberOfTables;
+
+    public Lobby(ServerExecutors serverExecutors, ServerMetrics serverMetrics, int maximumNumberOfTables) {
+        this.serverMetrics = serverMetrics;
+        this.maximumNumberOfTables = maximumNumberOfTables;
+        this.schedulerPool = serverExecutors.newTablePool();
+        this.timerWheel = new TimerWheel(TIMER_TICK_IN_MILLISECONDS, TIMER_NUMBER_OF_SLOTS, this.schedulerPool);
+        this.clientGameSocketPool = serverExecutors.newConnectionPool();
+        this.bot = new MonteCarloBot(serverExecutors.newBotPool(), serverExecutors.getBotParallelism(),
+                MonteCarloBot.DEFAULT_TIME_BUDGET_IN_MILLISECONDS);
+    }
+
+    public void addPlayer(PlayerNetworkInformation playerNetworkInformation) {
+        ClientGameSocket clientGameSocket = new ClientGameSocket(playerNetworkInformation, this);
+        if (!this.joinDefaultTable(clientGameSocket)) {
+            throw new RuntimeException("Lobby is full. Could not find a table for the connecting player.");
+        }
+        this.serverMetrics.socketConnected();
+        playerNetworkInformation.start(clientGameSocket, this.clientGameSocketPool);
+    }
+
+    /**
+     * Called once for every player added, when its connection is closed.
+     */
+    public void removePlayer() {
+        this.serverMetrics.socketDisconnected();
+    }
+
+    /**
+     * Runs the task on the lobby's timer, off the caller's thread.
+     */
+    TimerWheel.Timeout schedule(Runnable task, long delayInMilliseconds) {
+        return this.timerWheel.schedule(task, delayInMilliseconds);
+    }
+
+    private synchronized boolean joinDefaultTable(ClientGameSocket clientGameSocket) {
+        if (this.tables.isEmpty()) {
+            return this.createTable(clientGameSocket, DEFAULT_GAME_NAME) != null;
+        }
+        Table defaultTable = this.tables.values().iterator().next();
+        defaultTable.addSpectator(clientGameSocket);
+        LOGGER.info("Added a spectator to table {}.", defaultTable.getId());
+        return true;
+    }
+
+    public synchronized Table createTable(ClientGameSocket owner, String gameName) {
+        GameServer gameServer = GameServerFromGameNameIdentifier.identify(gameName);
+        if (gameServer == null) {
+            LOGGER.info("Could not identify game: --{}--", gameName);
+            return null;
+        }
+        return this.createTable(owner, gameName, gameServer);
+    }
+
+    /**
+     * Creates a King table playing the boards of the tournament.
+     */
+    public synchronized Table createTournamentTable(ClientGameSocket owner, DuplicateTournament tournament) {
+        return this.createTable(owner, GameServerFromGameNameIdentifier.KING, new KingGameServer(tournament));
+    }
+
+    private Table createTable(ClientGameSocket owner, String gameName, GameServer gameServer) {
+        if (this.tables.size() >= this.maximumNumberOfTables) {
+            LOGGER.info("Refusing to create a new table. Lobby already has {} tables.", this.tables.size());
+            return null;
+        }
+
+        this.leaveCurrentTable(owner);
+        int id = this.nextTableId.getAndIncrement();
+        Table table = new Table(id, gameName, owner, gameServer, this, this.schedulerPool,
+                this.serverMetrics.newTableMetrics(id));
+        this.tables.put(id, table);
+        LOGGER.info("Created table {}. Owner is {} and game is {}.", id, owner.getSocket().getInetAddress(),
+                gameName);
+        gameServer.start(this.timerWheel, this.bot);
+        return table;
+    }
+
+    public synchronized boolean joinTable(ClientGameSocket clientGameSocket, int id) {
+        Table table = this.tables.get(id);
+        if (table == null) {
+            LOGGER.info("Could not find table {}.", id);
+            return false;
+        }
+        if (table.equals(clientGameSocket.getTable())) {
+            return true;
+        }
+        this.leaveCurrentTable(clientGameSocket);
+        table.addSpectator(clientGameSocket);
+        LOGGER.info("Moved a player to table {}.", id);
+        return true;
+    }
+
+    private void leaveCurrentTable(ClientGameSocket clientGameSocket) {
+        Table currentTable = clientGameSocket.getTable();
+        if (currentTable != null) {
+            currentTable.removeClientGameSocket(clientGameSocket);
+            clientGameSocket.unsetDirection();
+            clientGameSocket.sendIsSpectator();
+        }
+    }
+
+    /**
+     * Removes the table once its last client left, unless someone joined it in
+     * the meantime. Joining takes the same lock, so no one joins a removed table.
+     */
+    synchronized void removeTableIfEmpty(Table table) {
+        if (table.isEmpty()) {
+            this.removeTable(table);
+        }
+    }
+
+    /**
+     * Removes the table, its metrics and stops its game, which frees its place
+     * in the lobby.
+     */
+    synchronized void removeTable(Table table) {
+        if (this.tables.remove(table.getId(), table)) {
+            table.close();
+            this.serverMetrics.removeTableMetrics(table.getId());
+            LOGGER.info("Removed table {}.", table.getId());
+        }
+    }
+
+    public List<TableSummary> getTableSummaries() {
+        List<TableSummary> tableSummaries = new ArrayList<TableSummary>();
+        for (Table table : this.tables.values()) {
+            tableSummaries.add(table.getSummary());
+        }
+        return tableSummaries;
+    }
+
+    public Table getTable(int id) {
+        return this.tables.get(id);
+    }
+
+    public int getNumberOfTables() {
+        return this.tables.size();
+    }
+
+    public int getNumberOfActiveTables() {
+        int activeTables = 0;
+        for (Table table : this.tables.values()) {
+            if (!table.getGameServer().isFinished()) {
+                activeTables++;
+            }
+        }
+        return activeTables;
+    }
+
+}
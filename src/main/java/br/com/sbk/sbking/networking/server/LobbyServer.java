@@ -3,80 +3,146 @@ package br.com.sbk.sbking.networking.server;
 import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
 
 import br.com.sbk.sbking.core.Player;
 import br.com.sbk.sbking.core.constants.ErrorCodes;
+import br.com.sbk.sbking.metrics.MetricsHttpServer;
+import br.com.sbk.sbking.metrics.MetricsMBean;
 import br.com.sbk.sbking.networking.core.properties.FileProperties;
 import br.com.sbk.sbking.networking.core.properties.NetworkingProperties;
 import br.com.sbk.sbking.networking.core.properties.SystemProperties;
+import br.com.sbk.sbking.networking.core.serialization.OutboundQueue;
+import br.com.sbk.sbking.networking.core.serialization.OutboundQueueMetrics;
+import br.com.sbk.sbking.networking.core.serialization.QueuedSerializator;
 import br.com.sbk.sbking.networking.core.serialization.Serializator;
 import br.com.sbk.sbking.networking.core.serialization.SerializatorFactory;
+import br.com.sbk.sbking.networking.server.nio.ChannelConnection;
+import br.com.sbk.sbking.networking.server.nio.ChannelPlayerNetworkInformation;
+import br.com.sbk.sbking.networking.server.nio.EventLoop;
+import br.com.sbk.sbking.networking.server.nio.EventLoopGroup;
 
 public class LobbyServer {
 
     private static final String NETWORKING_CONFIGURATION_FILENAME = "networkConfiguration.cfg";
 
-    private Table table;
+    public static final String BLOCKING_TRANSPORT = "blocking";
+    public static final String NIO_TRANSPORT = "nio";
 
-    private boolean ownerConnected = false;
+    private static final long METRICS_LOG_PERIOD_IN_SECONDS = 60;
+    private static final String METRICS_OBJECT_NAME = "br.com.sbk.sbking:type=Metrics";
 
-    private static final int MAXIMUM_NUMBER_OF_CONCURRENT_GAME_SERVERS = 2;
-    private ExecutorService pool;
+    private Lobby lobby;
+    private NetworkingProperties networkingProperties;
+    private SerializatorFactory serializatorFactory;
+    private ExecutorService socketWriterPool;
+    private OutboundQueueMetrics outboundQueueMetrics;
+    private ScheduledExecutorService metricsLogger;
+    private ServerMetrics serverMetrics;
 
     public LobbyServer() {
-        this.pool = Executors.newFixedThreadPool(MAXIMUM_NUMBER_OF_CONCURRENT_GAME_SERVERS);
+        FileProperties fileProperties = new FileProperties(NETWORKING_CONFIGURATION_FILENAME);
+        this.networkingProperties = new NetworkingProperties(fileProperties, new SystemProperties());
+        ServerExecutors serverExecutors = new ServerExecutors(this.networkingProperties.getThreads());
+        LOGGER.info("Running connections and tables on {} threads.", serverExecutors.isVirtual() ? "virtual" : "platform");
+        this.serverMetrics = new ServerMetrics();
+        this.lobby = new Lobby(serverExecutors, this.serverMetrics, this.networkingProperties.getMaximumTables());
+        this.serializatorFactory = new SerializatorFactory(this.networkingProperties.getProtocol());
+        this.socketWriterPool = serverExecutors.newConnectionPool();
+        this.outboundQueueMetrics = new OutboundQueueMetrics();
+        this.serverMetrics.registerLobby(this.lobby);
+        this.serverMetrics.registerOutboundQueues(this.outboundQueueMetrics);
+        this.metricsLogger = Executors.newSingleThreadScheduledExecutor();
     }
 
     public void run() {
         int port = this.getPortFromNetworkingProperties();
+        this.metricsLogger.scheduleAtFixedRate(this::logOutboundQueueMetrics, METRICS_LOG_PERIOD_IN_SECONDS,
+                METRICS_LOG_PERIOD_IN_SECONDS, TimeUnit.SECONDS);
+        this.exposeMetrics();
+
+        if (NIO_TRANSPORT.equals(this.networkingProperties.getTransport())) {
+            this.runNonBlocking(port);
+        } else {
+            this.runBlocking(port);
+        }
+        LOGGER.info("Lobby has ended. Exiting main thread.");
+    }
 
+    private void runBlocking(int port) {
         try (ServerSocket listener = new ServerSocket(port)) {
             LOGGER.info("LobbyServer is Running...");
-            LOGGER.info("My InetAddress is: " + listener.getInetAddress());
-            LOGGER.info("Listening for connections on port: " + port);
+            LOGGER.info("My InetAddress is: {}", listener.getInetAddress());
+            LOGGER.info("Listening for connections on port: {}", port);
 
-            while (!ownerConnected) {
-                Socket connectingSocket = listener.accept();
-                LOGGER.info("The first client is trying to connect!");
+            while (true) {
+                Socket connectingPlayerSocket = listener.accept();
+                LOGGER.info("Someone is trying to connect!");
                 try {
-                    PlayerNetworkInformation connectedPlayerNetworkInformation = this.connectPlayer(connectingSocket);
-                    LOGGER.info("Created new gameServer");
-                    GameServer gameServer = new MinibridgeGameServer();
-
-                    this.table = new Table(connectedPlayerNetworkInformation, gameServer);
-                    gameServer.setTable(table);
-                    this.ownerConnected = true;
-                    LOGGER.info("Created a Table. Owner is "
-                            + connectedPlayerNetworkInformation.getSocket().getInetAddress()
-                            + "and GameServer is MinibridgeGameServer.");
-                    pool.execute(gameServer);
-                    LOGGER.info("Executing gameServer in the pool.");
+                    PlayerNetworkInformation connectedPlayer = this.connectPlayer(connectingPlayerSocket);
+                    this.lobby.addPlayer(connectedPlayer);
                 } catch (RuntimeException e) {
                     LOGGER.error(e.getMessage());
+                    e.printStackTrace();
                 }
             }
+        } catch (IOException e) {
+            LOGGER.fatal("Fatal error listening to new connections. Exiting lobby server.");
+            LOGGER.fatal(e);
+        }
+    }
+
+    private void runNonBlocking(int port) {
+        if (!this.serializatorFactory.isFramed()) {
+            LOGGER.fatal("The nio transport needs a framed protocol. Exiting lobby server.");
+            return;
+        }
+        int numberOfEventLoops = Runtime.getRuntime().availableProcessors();
+        EventLoopGroup eventLoopGroup;
+        try {
+            eventLoopGroup = new EventLoopGroup(numberOfEventLoops);
+        } catch (IOException e) {
+            LOGGER.fatal("Could not open selectors. Exiting lobby server.");
+            LOGGER.fatal(e);
+            return;
+        }
+        eventLoopGroup.start();
+
+        try (ServerSocketChannel listener = ServerSocketChannel.open()) {
+            listener.bind(new InetSocketAddress(port));
+            LOGGER.info("LobbyServer is Running with {} event loops...", numberOfEventLoops);
+            LOGGER.info("Listening for connections on port: {}", port);
 
             while (true) {
-                Socket connectingPlayerSocket = listener.accept();
+                SocketChannel connectingPlayerChannel = listener.accept();
                 LOGGER.info("Someone is trying to connect!");
                 try {
-                    PlayerNetworkInformation connectedPlayer = this.connectPlayer(connectingPlayerSocket);
-                    this.table.addSpectator(connectedPlayer);
-                    LOGGER.info("Added a spectator.");
-                } catch (RuntimeException e) {
-                    LOGGER.error(e.getMessage());
-                    e.printStackTrace();
+                    EventLoop eventLoop = eventLoopGroup.next();
+                    ChannelConnection channelConnection = new ChannelConnection(connectingPlayerChannel, eventLoop,
+                            this.serializatorFactory.getMessageCodec(), this.newOutboundQueue(), this.serverMetrics);
+                    eventLoop.register(channelConnection);
+                    this.lobby.addPlayer(new ChannelPlayerNetworkInformation(channelConnection, new Player("Spectator")));
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.error("Could not add connecting player.", e);
+                    connectingPlayerChannel.close();
                 }
             }
         } catch (IOException e) {
             LOGGER.fatal("Fatal error listening to new connections. Exiting lobby server.");
             LOGGER.fatal(e);
+        } finally {
+            eventLoopGroup.shutdown();
         }
-        LOGGER.info("Lobby has ended. Exiting main thread.");
     }
 
     private PlayerNetworkInformation connectPlayer(Socket connectingPlayerSocket) {
@@ -89,22 +155,61 @@ public class LobbyServer {
     }
 
     private Serializator initializeSerializator(Socket socket) {
-        SerializatorFactory serializatorFactory = new SerializatorFactory();
         try {
-            return serializatorFactory.getSerializator(socket);
+            return new QueuedSerializator(this.serializatorFactory.getSerializator(socket), this.socketWriterPool,
+                    this.newOutboundQueue(), socket);
         } catch (Exception e) {
             LOGGER.debug(e);
         }
         return null;
     }
 
+    private OutboundQueue newOutboundQueue() {
+        return new OutboundQueue(this.networkingProperties.getOutboundQueueCapacity(),
+                this.networkingProperties.getOutboundQueueMaximumLag(), this.outboundQueueMetrics);
+    }
+
+    private void exposeMetrics() {
+        if (this.networkingProperties.isJmxMetricsEnabled()) {
+            try {
+                new MetricsMBean(this.serverMetrics.getMetricsRegistry()).register(METRICS_OBJECT_NAME);
+                LOGGER.info("Registered the metrics with JMX as {}", METRICS_OBJECT_NAME);
+            } catch (JMException e) {
+                LOGGER.error("Could not register the metrics with JMX.", e);
+            }
+        }
+        int metricsPort = this.networkingProperties.getMetricsPort();
+        if (metricsPort <= 0) {
+            return;
+        }
+        try {
+            new MetricsHttpServer(this.serverMetrics.getMetricsRegistry()).start(metricsPort);
+            LOGGER.info("Serving metrics on http://localhost:{}{}", metricsPort, MetricsHttpServer.PATH);
+        } catch (IOException e) {
+            LOGGER.error("Could not serve metrics on port {}.", metricsPort, e);
+        }
+    }
+
+    private void logOutboundQueueMetrics() {
+        LOGGER.info("Outbound queues: {}", this.outboundQueueMetrics);
+    }
+
+    public Lobby getLobby() {
+        return this.lobby;
+    }
+
+    public OutboundQueueMetrics getOutboundQueueMetrics() {
+        return this.outboundQueueMetrics;
+    }
+
+    public ServerMetrics getServerMetrics() {
+        return this.serverMetrics;
+    }
+
     private int getPortFromNetworkingProperties() {
-        FileProperties fileProperties = new FileProperties(NETWORKING_CONFIGURATION_FILENAME);
         int port = 0;
         try {
-            NetworkingProperties networkingProperties = new NetworkingProperties(fileProperties,
-                    new SystemProperties());
-            port = networkingProperties.getPort();
+            port = this.networkingProperties.getPort();
         } catch (Exception e) {
             LOGGER.fatal("Could not get port from properties.");
             LOGGER.debug(e);
@@ -2,21 +2,47 @@ package br.com.sbk.sbking.networking.server;
 
 import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
 import br.com.sbk.sbking.core.Deal;
 import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
 import br.com.sbk.sbking.gui.models.KingGameScoreboard;
 import br.com.sbk.sbking.gui.models.PositiveOrNegative;
-
+import br.com.sbk.sbking.networking.core.serialization.PreparedMessage;
+import br.com.sbk.sbking.networking.messages.CardPlayedEvent;
+import br.com.sbk.sbking.networking.messages.DealEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
+import br.com.sbk.sbking.networking.messages.HandRevealedEvent;
+import br.com.sbk.sbking.networking.messages.MessageConstants;
+import br.com.sbk.sbking.networking.messages.RulesetChosenEvent;
+import br.com.sbk.sbking.networking.messages.SeatChangedEvent;
+import br.com.sbk.sbking.networking.messages.TrickWonEvent;
+import br.com.sbk.sbking.networking.server.ServerMetrics.Broadcast;
+
+/**
+ * Sends messages to everyone on a table. Changes to the current deal are sent
+ * as numbered events; a full snapshot carries the number of the last event it
+ * already contains, so a client can apply the events that follow it and ask for
+ * a new snapshot when it notices a gap. Boards and snapshots are projected so
+ * each socket only receives the hands its seat is allowed to see. Every
+ * broadcast is encoded once and the same bytes are queued to each socket, and
+ * is timed into the server metrics. It is only used from the table's inbox,
+ * which keeps the event numbers in order.
+ */
 public class MessageSender {
 
     private Collection<ClientGameSocket> playerSockets;
+    private long lastEventSequence = 0;
+    private final ServerMetrics serverMetrics;
 
-    public MessageSender() {
-        this.playerSockets = new ArrayList<ClientGameSocket>();
+    public MessageSender(ServerMetrics serverMetrics) {
+        this.playerSockets = new CopyOnWriteArrayList<ClientGameSocket>();
+        this.serverMetrics = serverMetrics;
     }
 
     public void addClientGameSocket(ClientGameSocket clientGameSocket) {
@@ -28,115 +54,172 @@ public class MessageSender {
     }
 
     public void sendDealAll(Deal deal) {
-        LOGGER.info("Sending everyone the current deal");
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone a snapshot of the current deal");
+        long sequence = this.lastEventSequence;
+        ViewerMessages dealSnapshots = new ViewerMessages(
+                viewer -> new DealSnapshot(sequence, DealProjector.projectDeal(deal, viewer)));
         for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendDeal(deal);
+            playerSocket.sendDealSnapshot(dealSnapshots.getFor(playerSocket.getDirection()));
         }
-        LOGGER.info("Finished sending deals.");
+        this.serverMetrics.recordBroadcast(Broadcast.DEAL, System.nanoTime() - start);
     }
 
     public void sendDealOne(Deal deal, ClientGameSocket clientGameSocket) {
-        LOGGER.info("Sending one player the current deal");
-        clientGameSocket.sendDeal(deal);
-        LOGGER.info("Finished sending deal.");
+        LOGGER.debug("Sending one player a snapshot of the current deal");
+        Deal projectedDeal = DealProjector.projectDeal(deal, clientGameSocket.getDirection());
+        clientGameSocket.sendDealSnapshot(new PreparedMessage(new DealSnapshot(this.lastEventSequence, projectedDeal)));
     }
 
-    public void sendBoardAll(Board board) {
-        LOGGER.info("Sending everyone the current board");
+    public void sendCardPlayedAll(Direction direction, Card card) {
+        long start = System.nanoTime();
+        this.sendEventAll(new CardPlayedEvent(this.nextEventSequence(), direction, card));
+        this.serverMetrics.recordBroadcast(Broadcast.CARD_PLAYED, System.nanoTime() - start);
+    }
+
+    public void sendTrickWonAll(Direction winner, int northSouthPoints, int eastWestPoints) {
+        long start = System.nanoTime();
+        this.sendEventAll(new TrickWonEvent(this.nextEventSequence(), winner, northSouthPoints, eastWestPoints));
+        this.serverMetrics.recordBroadcast(Broadcast.TRICK_WON, System.nanoTime() - start);
+    }
+
+    public void sendSeatChangedAll(Direction direction, String playerName) {
+        long start = System.nanoTime();
+        this.sendEventAll(new SeatChangedEvent(this.nextEventSequence(), direction, playerName));
+        this.serverMetrics.recordBroadcast(Broadcast.SEAT_CHANGED, System.nanoTime() - start);
+    }
+
+    public void sendHandRevealedAll(Direction direction, List<Card> cards) {
+        long start = System.nanoTime();
+        this.sendEventAll(new HandRevealedEvent(this.nextEventSequence(), direction, cards));
+        this.serverMetrics.recordBroadcast(Broadcast.HAND_REVEALED, System.nanoTime() - start);
+    }
+
+    public void sendRulesetChosenAll(Ruleset ruleset, Direction leader, Direction dummy) {
+        long start = System.nanoTime();
+        this.sendEventAll(new RulesetChosenEvent(this.nextEventSequence(), ruleset, leader, dummy));
+        this.serverMetrics.recordBroadcast(Broadcast.RULESET_CHOSEN, System.nanoTime() - start);
+    }
+
+    private void sendAll(String controlMessage) {
+        PreparedMessage preparedControlMessage = ClientGameSocket.control(controlMessage);
         for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendBoard(board);
+            playerSocket.sendPrepared(preparedControlMessage);
         }
-        LOGGER.info("Finished sending boards.");
     }
 
-    public void sendMessageAll(String message) {
-        LOGGER.info("Sending everyone the following message: --" + message + "--");
+    private void sendAll(String controlMessage, Object message) {
+        PreparedMessage preparedControlMessage = ClientGameSocket.control(controlMessage);
+        PreparedMessage preparedMessage = new PreparedMessage(message);
         for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendMessage(message);
+            playerSocket.sendPrepared(preparedControlMessage, preparedMessage);
         }
-        LOGGER.info("Finished sending messages.");
     }
 
-    public void sendChooserPositiveNegativeAll(Direction chooser) {
-        LOGGER.info("Sending everyone the chooser of Positive or Negative: --" + chooser + "--");
+    private long nextEventSequence() {
+        this.lastEventSequence++;
+        return this.lastEventSequence;
+    }
+
+    private void sendEventAll(DealEvent dealEvent) {
+        LOGGER.debug("Sending everyone the event {}: {}", dealEvent.getSequence(), dealEvent.getClass().getSimpleName());
+        PreparedMessage preparedDealEvent = new PreparedMessage(dealEvent);
         for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendChooserPositiveNegative(chooser);
+            playerSocket.sendDealEvent(preparedDealEvent);
         }
-        LOGGER.info("Finished sending messages.");
     }
 
-    public void sendChooserGameModeOrStrainAll(Direction chooser) {
-        LOGGER.info("Sending everyone the chooser of GameMode or Strain: --" + chooser + "--");
+    public void sendBoardOne(Board board, ClientGameSocket clientGameSocket) {
+        clientGameSocket.sendBoard(new PreparedMessage(DealProjector.projectBoard(board, clientGameSocket.getDirection())));
+    }
+
+    public void sendBoardAll(Board board) {
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone the current board");
+        ViewerMessages boards = new ViewerMessages(viewer -> DealProjector.projectBoard(board, viewer));
         for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendChooserGameModeOrStrain(chooser);
+            playerSocket.sendBoard(boards.getFor(playerSocket.getDirection()));
         }
-        LOGGER.info("Finished sending messages.");
+        this.serverMetrics.recordBroadcast(Broadcast.BOARD, System.nanoTime() - start);
+    }
+
+    public void sendMessageAll(String message) {
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone the following message: --{}--", message);
+        this.sendAll(MessageConstants.MESSAGE, message);
+        this.serverMetrics.recordBroadcast(Broadcast.MESSAGE, System.nanoTime() - start);
+    }
+
+    public void sendChooserPositiveNegativeAll(Direction chooser) {
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone the chooser of Positive or Negative: --{}--", chooser);
+        this.sendAll(MessageConstants.CHOOSERPOSITIVENEGATIVE, chooser);
+        this.serverMetrics.recordBroadcast(Broadcast.CHOOSER_POSITIVE_NEGATIVE, System.nanoTime() - start);
+    }
+
+    public void sendChooserGameModeOrStrainAll(Direction chooser) {
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone the chooser of GameMode or Strain: --{}--", chooser);
+        this.sendAll(MessageConstants.CHOOSERGAMEMODEORSTRAIN, chooser);
+        this.serverMetrics.recordBroadcast(Broadcast.CHOOSER_GAME_MODE_OR_STRAIN, System.nanoTime() - start);
     }
 
     public void sendPositiveOrNegativeAll(PositiveOrNegative positiveOrNegative) {
+        long start = System.nanoTime();
         String message = positiveOrNegative.toString().toUpperCase();
-        LOGGER.info("Sending everyone : --" + message + "--");
-        for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendPositiveOrNegative(message);
-        }
-        LOGGER.info("Finished sending messages.");
+        LOGGER.debug("Sending everyone : --{}--", message);
+        this.sendAll(MessageConstants.POSITIVEORNEGATIVE, message);
+        this.serverMetrics.recordBroadcast(Broadcast.POSITIVE_OR_NEGATIVE, System.nanoTime() - start);
     }
 
     public void sendGameModeOrStrainShortDescriptionAll(String currentGameModeOrStrain) {
+        long start = System.nanoTime();
         String message = currentGameModeOrStrain;
-        LOGGER.info("Sending everyone : --" + message + "--");
-        for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendGameModeOrStrain(message);
-        }
-        LOGGER.info("Finished sending messages.");
+        LOGGER.debug("Sending everyone : --{}--", message);
+        this.sendAll(MessageConstants.GAMEMODEORSTRAIN, message);
+        this.serverMetrics.recordBroadcast(Broadcast.GAME_MODE_OR_STRAIN, System.nanoTime() - start);
     }
 
     public void sendInitializeDealAll() {
-        LOGGER.info("Sending everyone Initialize Deal control");
-        for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendInitializeDeal();
-        }
-        LOGGER.info("Finished sending controls.");
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone Initialize Deal control");
+        this.sendAll(MessageConstants.INITIALIZEDEAL);
+        this.serverMetrics.recordBroadcast(Broadcast.INITIALIZE_DEAL, System.nanoTime() - start);
     }
 
     public void sendFinishDealAll() {
-        LOGGER.info("Sending everyone Finish deal control");
-        for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendFinishDeal();
-        }
-        LOGGER.info("Finished sending controls.");
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone Finish deal control");
+        this.sendAll(MessageConstants.FINISHDEAL);
+        this.serverMetrics.recordBroadcast(Broadcast.FINISH_DEAL, System.nanoTime() - start);
     }
 
     public void sendGameScoreboardAll(KingGameScoreboard gameScoreboard) {
-        LOGGER.info("Sending everyone the Game Scoreboard");
-        for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendGameScoreboard(gameScoreboard);
-        }
-        LOGGER.info("Finished sending Game Scoreboards.");
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone the Game Scoreboard");
+        this.sendAll(MessageConstants.GAMESCOREBOARD, gameScoreboard);
+        this.serverMetrics.recordBroadcast(Broadcast.GAME_SCOREBOARD, System.nanoTime() - start);
     }
 
     public void sendFinishGameAll() {
-        LOGGER.info("Sending everyone Finish Game control");
-        for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendFinishGame();
-        }
-        LOGGER.info("Finished sending controls.");
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone Finish Game control");
+        this.sendAll(MessageConstants.FINISHGAME);
+        this.serverMetrics.recordBroadcast(Broadcast.FINISH_GAME, System.nanoTime() - start);
     }
 
     public void sendInvalidRulesetAll() {
-        LOGGER.info("Sending everyone Invalid ruleset control");
-        for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendInvalidRuleset();
-        }
-        LOGGER.info("Finished sending controls.");
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone Invalid ruleset control");
+        this.sendAll(MessageConstants.INVALIDRULESET);
+        this.serverMetrics.recordBroadcast(Broadcast.INVALID_RULESET, System.nanoTime() - start);
     }
 
     public void sendValidRulesetAll() {
-        LOGGER.info("Sending everyone Valid ruleset control");
-        for (ClientGameSocket playerSocket : playerSockets) {
-            playerSocket.sendValidRuleset();
-        }
-        LOGGER.info("Finished sending controls.");
+        long start = System.nanoTime();
+        LOGGER.debug("Sending everyone Valid ruleset control");
+        this.sendAll(MessageConstants.VALIDRULESET);
+        this.serverMetrics.recordBroadcast(Broadcast.VALID_RULESET, System.nanoTime() - start);
     }
 
 }
@@ -3,166 +3,69 @@ package br.com.sbk.sbking.networking.server;
 import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
 import br.com.sbk.sbking.core.Card;
-import br.com.sbk.sbking.core.Deal;
 import br.com.sbk.sbking.core.Direction;
 import br.com.sbk.sbking.core.MinibridgeGame;
-import br.com.sbk.sbking.core.Player;
 import br.com.sbk.sbking.core.exceptions.PlayedCardInAnotherPlayersTurnException;
 import br.com.sbk.sbking.core.exceptions.SelectedPositiveOrNegativeInAnotherPlayersTurnException;
 import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
-import br.com.sbk.sbking.gui.models.PositiveOrNegative;
-import br.com.sbk.sbking.networking.server.notifications.GameModeOrStrainNotification;
 
 public class MinibridgeGameServer extends GameServer {
 
-  private GameModeOrStrainNotification gameModeOrStrainNotification;
-  private Ruleset currentGameModeOrStrain;
-  private boolean isRulesetPermitted;
-
   private MinibridgeGame minibridgeGame;
 
   public MinibridgeGameServer() {
     this.game = new MinibridgeGame();
+    this.minibridgeGame = (MinibridgeGame) this.game;
   }
 
   @Override
-  public void run() {
-
-    LOGGER.info("Sleeping for 500ms waiting for clients to setup themselves");
-    sleepFor(500);
-
-    this.game = new MinibridgeGame();
-    this.minibridgeGame = (MinibridgeGame) this.game;
-
-    while (!game.isFinished()) {
-      this.game.dealNewBoard();
-
-      for (Direction direction : Direction.values()) {
-        Player player = this.table.getPlayerOf(direction);
-        this.game.setPlayerOf(direction, player);
-      }
-
-      LOGGER.info("Sleeping for 300ms waiting for clients to initialize its deals.");
-      sleepFor(300);
-
-      LOGGER.info("Everything selected! Game commencing!");
-
-      Deal currentDeal = this.game.getCurrentDeal();
-      for (Direction direction : Direction.values()) {
-        currentDeal.setPlayerOf(direction, this.table.getPlayerOf(direction));
-      }
-      do {
-        this.gameModeOrStrainNotification = new GameModeOrStrainNotification();
-        LOGGER.info("Sleeping for 300ms waiting for clients to initialize its deals.");
-        sleepFor(300);
-
-        LOGGER.info("Everything selected! Game commencing!");
-
-        currentDeal = this.game.getCurrentDeal();
-        for (Direction direction : Direction.values()) {
-          currentDeal.setPlayerOf(direction, this.table.getPlayerOf(direction));
-        }
-
-        this.table.getMessageSender().sendInitializeDealAll();
-        this.table.getMessageSender().sendBoardAll(this.game.getCurrentBoard());
-        sleepFor(200);
-        this.table.getMessageSender().sendDealAll(this.game.getCurrentDeal());
-
-        PositiveOrNegative positive = new PositiveOrNegative();
-        positive.setPositive();
-
-        synchronized (gameModeOrStrainNotification) {
-          // wait until object notifies - which relinquishes the lock on the object too
-          while (gameModeOrStrainNotification.getGameModeOrStrain() == null) {
-            LOGGER.info("getGameModeOrStrain:" + gameModeOrStrainNotification.getGameModeOrStrain());
-            try {
-              LOGGER.info("I am waiting for some thread to notify that it wants to choose game Mode Or Strain");
-              gameModeOrStrainNotification.wait(3000);
-              this.table.getMessageSender().sendChooserGameModeOrStrainAll(this.getCurrentGameModeOrStrainChooser());
-            } catch (InterruptedException e) {
-              e.printStackTrace();
-            }
-          }
-        }
-        LOGGER.info("I received that is going to be "
-            + gameModeOrStrainNotification.getGameModeOrStrain().getShortDescription());
-        this.currentGameModeOrStrain = gameModeOrStrainNotification.getGameModeOrStrain();
-
-        isRulesetPermitted = this.minibridgeGame.isGameModePermitted(this.currentGameModeOrStrain,
-            this.getCurrentGameModeOrStrainChooser());
-
-        if (!isRulesetPermitted) {
-          LOGGER.info("This ruleset is not permitted. Restarting choose procedure");
-          this.table.getMessageSender().sendInvalidRulesetAll();
-        } else {
-          this.table.getMessageSender().sendValidRulesetAll();
-        }
-
-      } while (!isRulesetPermitted);
-
-      this.table.getMessageSender()
-          .sendGameModeOrStrainShortDescriptionAll(this.currentGameModeOrStrain.getShortDescription());
-
-      LOGGER.info("Sleeping for 300ms waiting for everything come out right.");
-      sleepFor(300);
-
-      LOGGER.info("Everything selected! Game commencing!");
-      this.minibridgeGame.addRuleset(currentGameModeOrStrain);
-
-      currentDeal = this.game.getCurrentDeal();
-      for (Direction direction : Direction.values()) {
-        currentDeal.setPlayerOf(direction, this.table.getPlayerOf(direction));
-      }
-
-      this.dealHasChanged = true;
-      while (!this.game.getCurrentDeal().isFinished()) {
-        LOGGER.info("Sleeping for 300ms waiting for all clients to prepare themselves.");
-        sleepFor(300);
-        if (this.dealHasChanged) {
-          LOGGER.info("Sending new 'round' of deals");
-          this.table.getMessageSender().sendDealAll(this.game.getCurrentDeal());
-          this.dealHasChanged = false;
-        }
-        synchronized (cardPlayNotification) {
-          // wait until object notifies - which relinquishes the lock on the object too
-          try {
-            LOGGER.info("I am waiting for some thread to notify that it wants to play a card.");
-            cardPlayNotification.wait();
-          } catch (InterruptedException e) {
-            e.printStackTrace();
-          }
-        }
-        Direction directionToBePlayed = cardPlayNotification.getDirection();
-        Card cardToBePlayed = cardPlayNotification.getCard();
-        LOGGER.info("Received notification that " + directionToBePlayed + " wants to play the " + cardToBePlayed);
-        try {
-          this.playCard(cardToBePlayed, directionToBePlayed);
-        } catch (Exception e) {
-          throw e;
-        }
-      }
+  protected void onDealOffered() {
+    this.sendRulesetChosenAll();
+    this.state = State.CHOOSING_GAME_MODE_OR_STRAIN;
+    this.table.getMessageSender().sendChooserGameModeOrStrainAll(this.getCurrentGameModeOrStrainChooser());
+    this.awaitMove();
+  }
 
-      this.table.getMessageSender().sendDealAll(this.game.getCurrentDeal());
-      this.sleepToShowLastCard();
+  @Override
+  protected void sendPhaseTo(ClientGameSocket clientGameSocket) {
+    if (this.state == State.CHOOSING_GAME_MODE_OR_STRAIN) {
+      clientGameSocket.sendChooserGameModeOrStrain(this.getCurrentGameModeOrStrainChooser());
+    }
+  }
 
-      this.game.finishDeal();
+  @Override
+  protected void chooseGameModeOrStrain(Ruleset gameModeOrStrain, Direction direction) {
+    if (this.state != State.CHOOSING_GAME_MODE_OR_STRAIN) {
+      LOGGER.info("Ignoring game mode or strain from {} while {}", direction, this.state);
+      return;
+    }
+    if (this.getCurrentGameModeOrStrainChooser() != direction) {
+      throw new SelectedPositiveOrNegativeInAnotherPlayersTurnException();
+    }
+    LOGGER.info("I received that is going to be {}", gameModeOrStrain.getShortDescription());
 
-      this.table.getMessageSender().sendFinishDealAll();
-      LOGGER.info("Deal finished!");
+    if (!this.minibridgeGame.isGameModePermitted(gameModeOrStrain, direction)) {
+      LOGGER.info("This ruleset is not permitted. Restarting choose procedure");
+      this.table.getMessageSender().sendInvalidRulesetAll();
+      this.offerDeal();
+      return;
     }
+    this.table.getMessageSender().sendValidRulesetAll();
+    this.table.getMessageSender().sendGameModeOrStrainShortDescriptionAll(gameModeOrStrain.getShortDescription());
 
-    this.table.getMessageSender().sendFinishGameAll();
-    LOGGER.info("Game has ended.");
+    this.minibridgeGame.addRuleset(gameModeOrStrain);
+    this.setPlayersOfCurrentDeal();
+    this.sendRulesetChosenAll();
+    this.startPlaying();
   }
 
   @Override
   protected void playCard(Card card, Direction direction) {
     Direction currentDirectionToPlay = this.game.getCurrentDeal().getCurrentPlayer();
-    LOGGER.info("It is currently the " + currentDirectionToPlay + " turn");
+    LOGGER.debug("It is currently the {} turn", currentDirectionToPlay);
     try {
       if (this.isAllowedToPlayCardInTurnOf(direction, currentDirectionToPlay)) {
         syncPlayCard(card);
-        this.dealHasChanged = true;
       } else {
         throw new PlayedCardInAnotherPlayersTurnException();
       }
@@ -171,6 +74,28 @@ public class MinibridgeGameServer extends GameServer {
     }
   }
 
+  @Override
+  protected Direction getDirectionToMove() {
+    if (this.state == State.CHOOSING_GAME_MODE_OR_STRAIN) {
+      return this.getCurrentGameModeOrStrainChooser();
+    }
+    Direction directionToMove = super.getDirectionToMove();
+    if (directionToMove != null && directionToMove == this.minibridgeGame.getDummy()) {
+      return this.minibridgeGame.getDeclarer();
+    }
+    return directionToMove;
+  }
+
+  @Override
+  protected void chooseForBot(Direction direction) {
+    if (this.state == State.CHOOSING_GAME_MODE_OR_STRAIN) {
+      this.chooseGameModeOrStrain(this.rulesetChooser.chooseStrain(this.game.getCurrentBoard().getHandOf(direction)),
+          direction);
+    } else {
+      super.chooseForBot(direction);
+    }
+  }
+
   private boolean isAllowedToPlayCardInTurnOf(Direction player, Direction currentTurn) {
     Direction declarer = this.minibridgeGame.getDeclarer();
     Direction dummy = this.minibridgeGame.getDummy();
@@ -181,16 +106,6 @@ public class MinibridgeGameServer extends GameServer {
     }
   }
 
-  public void notifyChooseGameModeOrStrain(Ruleset gameModeOrStrain, Direction direction) {
-    synchronized (gameModeOrStrainNotification) {
-      if (this.getCurrentGameModeOrStrainChooser() == direction) {
-        this.gameModeOrStrainNotification.notifyAllWithGameModeOrStrain(gameModeOrStrain);
-      } else {
-        throw new SelectedPositiveOrNegativeInAnotherPlayersTurnException();
-      }
-    }
-  }
-
   private Direction getCurrentGameModeOrStrainChooser() {
     return this.minibridgeGame.getDeclarer();
   }
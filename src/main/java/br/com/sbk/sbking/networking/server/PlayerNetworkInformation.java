@@ -4,18 +4,38 @@ import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.util.concurrent.Executor;
 
 import br.com.sbk.sbking.core.Player;
+import br.com.sbk.sbking.networking.core.serialization.MessageWriter;
 import br.com.sbk.sbking.networking.core.serialization.Serializator;
 
 public class PlayerNetworkInformation {
     private Socket socket;
     private Serializator serializator;
+    private MessageWriter messageWriter;
     private Player player;
 
+    /**
+     * A connection read by the thread of its ClientGameSocket.
+     */
     public PlayerNetworkInformation(Socket socket, Serializator serializator, Player player) {
+        this(socket, serializator, serializator, player);
+    }
+
+    /**
+     * A connection whose messages are delivered some other way, started by
+     * overriding start.
+     */
+    protected PlayerNetworkInformation(Socket socket, MessageWriter messageWriter, Player player) {
+        this(socket, null, messageWriter, player);
+    }
+
+    private PlayerNetworkInformation(Socket socket, Serializator serializator, MessageWriter messageWriter,
+            Player player) {
         this.socket = socket;
         this.serializator = serializator;
+        this.messageWriter = messageWriter;
         this.player = player;
     }
 
@@ -23,8 +43,15 @@ public class PlayerNetworkInformation {
         return this.socket;
     }
 
-    public Serializator getSerializator() {
-        return this.serializator;
+    public MessageWriter getMessageWriter() {
+        return this.messageWriter;
+    }
+
+    /**
+     * Blocks until the client sends a message.
+     */
+    public Object readMessage() {
+        return this.serializator.tryToDeserialize(Object.class);
     }
 
     public Player getPlayer() {
@@ -35,6 +62,10 @@ public class PlayerNetworkInformation {
         this.player.setName(nickname);
     }
 
+    public void start(ClientGameSocket clientGameSocket, Executor executor) {
+        executor.execute(clientGameSocket);
+    }
+
     public void close() {
         LOGGER.info("Closing socket.");
         try {
@@ -44,9 +75,9 @@ public class PlayerNetworkInformation {
         }
         LOGGER.info("Socket closed.");
 
-        LOGGER.info("Closing serializator.");
-        this.getSerializator().close();
-        LOGGER.info("Serializator closed.");
+        LOGGER.info("Closing message writer.");
+        this.getMessageWriter().close();
+        LOGGER.info("Message writer closed.");
         this.releaseResources();
     }
 
@@ -54,6 +85,7 @@ public class PlayerNetworkInformation {
         this.player = null;
         this.socket = null;
         this.serializator = null;
+        this.messageWriter = null;
     }
 
 }
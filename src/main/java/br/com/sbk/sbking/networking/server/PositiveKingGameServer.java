@@ -2,181 +2,82 @@ package br.com.sbk.sbking.networking.server;
 
 import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
-import br.com.sbk.sbking.core.Card;
-import br.com.sbk.sbking.core.Deal;
 import br.com.sbk.sbking.core.Direction;
-import br.com.sbk.sbking.core.Player;
 import br.com.sbk.sbking.core.PositiveKingGame;
 import br.com.sbk.sbking.core.exceptions.SelectedPositiveOrNegativeInAnotherPlayersTurnException;
 import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
-import br.com.sbk.sbking.gui.models.PositiveOrNegative;
-import br.com.sbk.sbking.networking.server.notifications.GameModeOrStrainNotification;
-import br.com.sbk.sbking.networking.server.notifications.PositiveOrNegativeNotification;
 
 public class PositiveKingGameServer extends GameServer {
 
-    private PositiveOrNegativeNotification positiveOrNegativeNotification;
-    private GameModeOrStrainNotification gameModeOrStrainNotification;
-    private Ruleset currentGameModeOrStrain;
-    private boolean isRulesetPermitted;
-
     private PositiveKingGame positiveKingGame;
 
     public PositiveKingGameServer() {
         this.game = new PositiveKingGame();
+        this.positiveKingGame = (PositiveKingGame) this.game;
     }
 
     @Override
-    public void run() {
-
-        LOGGER.info("Sleeping for 500ms waiting for clients to setup themselves");
-        sleepFor(500);
-
-        this.game = new PositiveKingGame();
-        this.positiveKingGame = (PositiveKingGame) this.game;
-
-        while (!game.isFinished()) {
-            this.game.dealNewBoard();
-
-            for (Direction direction : Direction.values()) {
-                Player player = this.table.getPlayerOf(direction);
-                this.game.setPlayerOf(direction, player);
-            }
-
-            do {
-                this.gameModeOrStrainNotification = new GameModeOrStrainNotification();
-                this.positiveOrNegativeNotification = new PositiveOrNegativeNotification();
-                LOGGER.info("Sleeping for 300ms waiting for clients to initialize its deals.");
-                sleepFor(300);
-
-                LOGGER.info("Everything selected! Game commencing!");
-
-                Deal currentDeal = this.game.getCurrentDeal();
-                for (Direction direction : Direction.values()) {
-                    currentDeal.setPlayerOf(direction, this.table.getPlayerOf(direction));
-                }
-
-                this.table.getMessageSender().sendInitializeDealAll();
-                this.table.getMessageSender().sendBoardAll(this.game.getCurrentBoard());
-                sleepFor(200);
-                this.table.getMessageSender().sendDealAll(this.game.getCurrentDeal());
-
-                PositiveOrNegative positive = new PositiveOrNegative();
-                positive.setPositive();
-
-                synchronized (gameModeOrStrainNotification) {
-                    // wait until object notifies - which relinquishes the lock on the object too
-                    while (gameModeOrStrainNotification.getGameModeOrStrain() == null) {
-                        LOGGER.info("getGameModeOrStrain:" + gameModeOrStrainNotification.getGameModeOrStrain());
-                        try {
-                            LOGGER.info(
-                                    "I am waiting for some thread to notify that it wants to choose game Mode Or Strain");
-                            gameModeOrStrainNotification.wait(3000);
-                            this.table.getMessageSender()
-                                    .sendChooserGameModeOrStrainAll(this.getCurrentGameModeOrStrainChooser());
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                }
-                LOGGER.info("I received that is going to be "
-                        + gameModeOrStrainNotification.getGameModeOrStrain().getShortDescription());
-                this.currentGameModeOrStrain = gameModeOrStrainNotification.getGameModeOrStrain();
-
-                isRulesetPermitted = this.positiveKingGame.isGameModePermitted(this.currentGameModeOrStrain,
-                        this.getCurrentGameModeOrStrainChooser());
-
-                if (!isRulesetPermitted) {
-                    LOGGER.info("This ruleset is not permitted. Restarting choose procedure");
-                    this.table.getMessageSender().sendInvalidRulesetAll();
-                } else {
-                    this.table.getMessageSender().sendValidRulesetAll();
-                }
-
-            } while (!isRulesetPermitted);
-
-            this.table.getMessageSender()
-                    .sendGameModeOrStrainShortDescriptionAll(this.currentGameModeOrStrain.getShortDescription());
-
-            LOGGER.info("Sleeping for 300ms waiting for everything come out right.");
-            sleepFor(300);
-
-            LOGGER.info("Everything selected! Game commencing!");
-            this.positiveKingGame.addRuleset(currentGameModeOrStrain);
-
-            Deal currentDeal = this.game.getCurrentDeal();
-            for (Direction direction : Direction.values()) {
-                currentDeal.setPlayerOf(direction, this.table.getPlayerOf(direction));
-            }
-
-            this.dealHasChanged = true;
-            while (!this.game.getCurrentDeal().isFinished()) {
-                LOGGER.info("Sleeping for 300ms waiting for all clients to prepare themselves.");
-                sleepFor(300);
-                if (this.dealHasChanged) {
-                    LOGGER.info("Sending new 'round' of deals");
-                    this.table.getMessageSender().sendDealAll(this.game.getCurrentDeal());
-                    this.dealHasChanged = false;
-                }
-                synchronized (cardPlayNotification) {
-                    // wait until object notifies - which relinquishes the lock on the object too
-                    try {
-                        LOGGER.info("I am waiting for some thread to notify that it wants to play a card.");
-                        cardPlayNotification.wait();
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-                Direction directionToBePlayed = cardPlayNotification.getDirection();
-                Card cardToBePlayed = cardPlayNotification.getCard();
-                LOGGER.info(
-                        "Received notification that " + directionToBePlayed + " wants to play the " + cardToBePlayed);
-                try {
-                    this.playCard(cardToBePlayed, directionToBePlayed);
-                } catch (Exception e) {
-                    throw e;
-                }
-            }
-
-            this.table.getMessageSender().sendDealAll(this.game.getCurrentDeal());
-            this.sleepToShowLastCard();
-
-            this.game.finishDeal();
-            this.table.getMessageSender().sendGameScoreboardAll(this.positiveKingGame.getGameScoreboard());
-
-            this.table.getMessageSender().sendFinishDealAll();
-            LOGGER.info("Deal finished!");
+    protected void onDealOffered() {
+        this.sendRulesetChosenAll();
+        this.state = State.CHOOSING_GAME_MODE_OR_STRAIN;
+        this.table.getMessageSender().sendChooserGameModeOrStrainAll(this.getCurrentGameModeOrStrainChooser());
+        this.awaitMove();
+    }
 
+    @Override
+    protected void sendPhaseTo(ClientGameSocket clientGameSocket) {
+        if (this.state == State.CHOOSING_GAME_MODE_OR_STRAIN) {
+            clientGameSocket.sendChooserGameModeOrStrain(this.getCurrentGameModeOrStrainChooser());
         }
+    }
 
-        this.table.getMessageSender().sendFinishGameAll();
+    @Override
+    protected void chooseGameModeOrStrain(Ruleset gameModeOrStrain, Direction direction) {
+        if (this.state != State.CHOOSING_GAME_MODE_OR_STRAIN) {
+            LOGGER.info("Ignoring game mode or strain from {} while {}", direction, this.state);
+            return;
+        }
+        if (this.getCurrentGameModeOrStrainChooser() != direction) {
+            throw new SelectedPositiveOrNegativeInAnotherPlayersTurnException();
+        }
+        LOGGER.info("I received that is going to be {}", gameModeOrStrain.getShortDescription());
 
-        LOGGER.info("Game has ended.");
+        if (!this.positiveKingGame.isGameModePermitted(gameModeOrStrain, direction)) {
+            LOGGER.info("This ruleset is not permitted. Restarting choose procedure");
+            this.table.getMessageSender().sendInvalidRulesetAll();
+            this.offerDeal();
+            return;
+        }
+        this.table.getMessageSender().sendValidRulesetAll();
+        this.table.getMessageSender().sendGameModeOrStrainShortDescriptionAll(gameModeOrStrain.getShortDescription());
 
+        this.positiveKingGame.addRuleset(gameModeOrStrain);
+        this.setPlayersOfCurrentDeal();
+        this.sendRulesetChosenAll();
+        this.startPlaying();
     }
 
-    public void notifyChoosePositiveOrNegative(PositiveOrNegative positiveOrNegative, Direction direction) {
-        synchronized (positiveOrNegativeNotification) {
-            if (this.getCurrentPositiveOrNegativeChooser() == direction) {
-                this.positiveOrNegativeNotification.notifyAllWithPositiveOrNegative(positiveOrNegative);
-            } else {
-                throw new SelectedPositiveOrNegativeInAnotherPlayersTurnException();
-            }
+    @Override
+    protected Direction getDirectionToMove() {
+        if (this.state == State.CHOOSING_GAME_MODE_OR_STRAIN) {
+            return this.getCurrentGameModeOrStrainChooser();
         }
+        return super.getDirectionToMove();
     }
 
-    public void notifyChooseGameModeOrStrain(Ruleset gameModeOrStrain, Direction direction) {
-        synchronized (gameModeOrStrainNotification) {
-            if (this.getCurrentGameModeOrStrainChooser() == direction) {
-                this.gameModeOrStrainNotification.notifyAllWithGameModeOrStrain(gameModeOrStrain);
-            } else {
-                throw new SelectedPositiveOrNegativeInAnotherPlayersTurnException();
-            }
+    @Override
+    protected void chooseForBot(Direction direction) {
+        if (this.state == State.CHOOSING_GAME_MODE_OR_STRAIN) {
+            this.chooseGameModeOrStrain(this.rulesetChooser.chooseStrain(this.game.getCurrentBoard().getHandOf(direction)),
+                    direction);
+        } else {
+            super.chooseForBot(direction);
         }
     }
 
-    private Direction getCurrentPositiveOrNegativeChooser() {
-        return this.game.getDealer().getPositiveOrNegativeChooserWhenDealer();
+    @Override
+    protected void sendGameScoreboardAll() {
+        this.table.getMessageSender().sendGameScoreboardAll(this.positiveKingGame.getGameScoreboard());
     }
 
     private Direction getCurrentGameModeOrStrainChooser() {
@@ -0,0 +1,78 @@
+package br.com.sbk.sbking.networking.server;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors the server runs connections and table commands on. With
+ * platform threads, connections get a cached pool and tables share a fixed
+ * pool of one thread per processor. With virtual threads, every task gets its
+ * own virtual thread. Executors.newVirtualThreadPerTaskExecutor only exists
+ * since Java 21, so it is looked up when the virtual mode is chosen and the
+ * server still builds and runs on older JDKs.
+ */
+public class ServerExecutors {
+
+    public static final String PLATFORM_THREADS = "platform";
+    public static final String VIRTUAL_THREADS = "virtual";
+
+    private final boolean virtual;
+
+    public ServerExecutors(String threads) {
+        if (VIRTUAL_THREADS.equals(threads)) {
+            this.virtual = true;
+        } else {
+            if (!PLATFORM_THREADS.equals(threads)) {
+                LOGGER.error("Unknown threads mode --{}--. Using {} threads.", threads, PLATFORM_THREADS);
+            }
+            this.virtual = false;
+        }
+    }
+
+    public boolean isVirtual() {
+        return this.virtual;
+    }
+
+    public ExecutorService newConnectionPool() {
+        if (this.virtual) {
+            return newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    public ExecutorService newTablePool() {
+        if (this.virtual) {
+            return newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * The bots search on platform threads whatever the mode, as their work is
+     * all computation, and on at most half of the processors, so they never
+     * take the whole machine from the tables.
+     */
+    public ExecutorService newBotPool() {
+        return Executors.newFixedThreadPool(this.getBotParallelism());
+    }
+
+    public int getBotParallelism() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer. Running on Java "
+                    + System.getProperty("java.version") + ".", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor.", e);
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package br.com.sbk.sbking.networking.server;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.sbk.sbking.metrics.Counter;
+import br.com.sbk.sbking.metrics.Histogram;
+import br.com.sbk.sbking.metrics.MetricsRegistry;
+import br.com.sbk.sbking.metrics.SlidingWindowCounter;
+import br.com.sbk.sbking.networking.core.serialization.OutboundQueueMetrics;
+import br.com.sbk.sbking.networking.messages.MessageConstants;
+
+/**
+ * What the server measures while it runs, registered once in a
+ * MetricsRegistry: how long playing a card and each kind of broadcast take,
+ * the bytes sent for each control message, the connected sockets, the tables
+ * and the deals finished, overall and for each table. The record methods are
+ * called on the game's hot path and only update counters and histograms made
+ * when the server or the table started.
+ */
+public class ServerMetrics {
+
+    /**
+     * The broadcasts of MessageSender, timed separately.
+     */
+    public enum Broadcast {
+        DEAL, CARD_PLAYED, TRICK_WON, SEAT_CHANGED, HAND_REVEALED, RULESET_CHOSEN, BOARD, MESSAGE,
+        CHOOSER_POSITIVE_NEGATIVE, CHOOSER_GAME_MODE_OR_STRAIN, POSITIVE_OR_NEGATIVE, GAME_MODE_OR_STRAIN,
+        INITIALIZE_DEAL, FINISH_DEAL, GAME_SCOREBOARD, FINISH_GAME, INVALID_RULESET, VALID_RULESET
+    }
+
+    private static final String[] SENT_CONTROLS = {MessageConstants.MESSAGE, MessageConstants.SNAPSHOT,
+        MessageConstants.EVENT, MessageConstants.BOARD, MessageConstants.INITIALIZEDEAL, MessageConstants.FINISHDEAL,
+        MessageConstants.DIRECTION, MessageConstants.CHOOSERPOSITIVENEGATIVE, MessageConstants.CHOOSERGAMEMODEORSTRAIN,
+        MessageConstants.POSITIVEORNEGATIVE, MessageConstants.GAMEMODEORSTRAIN, MessageConstants.FINISHGAME,
+        MessageConstants.GAMESCOREBOARD, MessageConstants.INVALIDRULESET, MessageConstants.VALIDRULESET,
+        MessageConstants.ISSPECTATOR, MessageConstants.ISNOTSPECTATOR, MessageConstants.TABLES,
+        MessageConstants.ACKREQUEST};
+    private static final String OTHER_MESSAGES = "OTHER";
+    private static final String TABLE_PLAYED_CARDS = "sbking_table_played_cards_total";
+    private static final String TABLE_FINISHED_DEALS = "sbking_table_finished_deals_total";
+    private static final String TABLE_LABEL = "table";
+
+    private static final long HIGHEST_TRACKABLE_NANOSECONDS = TimeUnit.MINUTES.toNanos(1);
+    private static final long ONE_MINUTE_IN_MILLISECONDS = TimeUnit.MINUTES.toMillis(1);
+    private static final int SLOTS_IN_A_MINUTE = 12;
+
+    private final MetricsRegistry metricsRegistry;
+    private final Histogram cardPlayNanoseconds;
+    private final Histogram[] broadcastNanoseconds = new Histogram[Broadcast.values().length];
+    private final Map<String, Counter> sentBytesByControl = new HashMap<String, Counter>();
+    private final Counter sentBytesOfOtherMessages;
+    private final AtomicLong connectedSockets = new AtomicLong();
+    private final Counter finishedDeals;
+    private final SlidingWindowCounter dealsInTheLastMinute = new SlidingWindowCounter(ONE_MINUTE_IN_MILLISECONDS,
+            SLOTS_IN_A_MINUTE);
+
+    public ServerMetrics() {
+        this(new MetricsRegistry());
+    }
+
+    public ServerMetrics(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+        this.cardPlayNanoseconds = metricsRegistry.histogram("sbking_card_play_nanoseconds",
+                "Time the table takes to play a card, from its turn being checked to the events being queued.",
+                HIGHEST_TRACKABLE_NANOSECONDS);
+        for (Broadcast broadcast : Broadcast.values()) {
+            this.broadcastNanoseconds[broadcast.ordinal()] = metricsRegistry.histogram("sbking_broadcast_nanoseconds",
+                    "Time a broadcast to everyone on a table takes to build and queue its messages.",
+                    HIGHEST_TRACKABLE_NANOSECONDS, "broadcast", broadcast.name().toLowerCase());
+        }
+        for (String control : SENT_CONTROLS) {
+            this.sentBytesByControl.put(control, this.sentBytesCounter(control));
+        }
+        this.sentBytesOfOtherMessages = this.sentBytesCounter(OTHER_MESSAGES);
+        metricsRegistry.gauge("sbking_connected_sockets", "Clients connected to the server.", this.connectedSockets::get);
+        this.finishedDeals = metricsRegistry.counter("sbking_finished_deals_total", "Deals finished on every table.");
+        metricsRegistry.gauge("sbking_deals_per_minute", "Deals finished on every table in the last minute.",
+                this.dealsInTheLastMinute::getCount);
+    }
+
+    private Counter sentBytesCounter(String control) {
+        return this.metricsRegistry.counter("sbking_sent_bytes_total",
+                "Bytes written to clients, by the control message they followed.", "message", control);
+    }
+
+    public void registerLobby(Lobby lobby) {
+        this.metricsRegistry.gauge("sbking_tables", "Tables in the lobby.", lobby::getNumberOfTables);
+        this.metricsRegistry.gauge("sbking_active_tables", "Tables whose game has not finished.",
+                lobby::getNumberOfActiveTables);
+    }
+
+    public void registerOutboundQueues(OutboundQueueMetrics outboundQueueMetrics) {
+        this.metricsRegistry.gauge("sbking_queued_messages", "Messages waiting in the outbound queues.",
+                outboundQueueMetrics::getQueuedMessages);
+        this.metricsRegistry.gauge("sbking_maximum_queue_depth", "Deepest any outbound queue has been.",
+                outboundQueueMetrics::getMaximumQueueDepth);
+        this.metricsRegistry.gauge("sbking_coalesced_messages", "Queued messages replaced by a newer snapshot.",
+                outboundQueueMetrics::getCoalescedMessages);
+        this.metricsRegistry.gauge("sbking_evicted_clients", "Clients disconnected for falling behind.",
+                outboundQueueMetrics::getEvictedClients);
+    }
+
+    /**
+     * The counters of one table, labelled with its id.
+     */
+    public TableMetrics newTableMetrics(int tableId) {
+        String id = Integer.toString(tableId);
+        return new TableMetrics(this,
+                this.metricsRegistry.counter(TABLE_PLAYED_CARDS, "Cards played on a table.", TABLE_LABEL, id),
+                this.metricsRegistry.counter(TABLE_FINISHED_DEALS, "Deals finished on a table.", TABLE_LABEL, id));
+    }
+
+    /**
+     * Unregisters the counters of a removed table, which only add to the
+     * totals of the server from then on.
+     */
+    public void removeTableMetrics(int tableId) {
+        String id = Integer.toString(tableId);
+        this.metricsRegistry.unregister(TABLE_PLAYED_CARDS, TABLE_LABEL, id);
+        this.metricsRegistry.unregister(TABLE_FINISHED_DEALS, TABLE_LABEL, id);
+    }
+
+    void recordCardPlay(long nanoseconds) {
+        this.cardPlayNanoseconds.record(nanoseconds);
+    }
+
+    void recordBroadcast(Broadcast broadcast, long nanoseconds) {
+        this.broadcastNanoseconds[broadcast.ordinal()].record(nanoseconds);
+    }
+
+    /**
+     * Counts the bytes of an entry of an outbound queue under the control
+     * message it starts with.
+     */
+    public void recordSentBytes(Object firstMessage, int bytes) {
+        Counter counter = firstMessage instanceof String ? this.sentBytesByControl.get(firstMessage) : null;
+        if (counter == null) {
+            counter = this.sentBytesOfOtherMessages;
+        }
+        counter.add(bytes);
+    }
+
+    void socketConnected() {
+        this.connectedSockets.incrementAndGet();
+    }
+
+    void socketDisconnected() {
+        this.connectedSockets.decrementAndGet();
+    }
+
+    void dealFinished() {
+        this.finishedDeals.increment();
+        this.dealsInTheLastMinute.increment();
+    }
+
+    public MetricsRegistry getMetricsRegistry() {
+        return this.metricsRegistry;
+    }
+
+}
@@ -4,58 +4,94 @@ import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 import br.com.sbk.sbking.core.Direction;
 import br.com.sbk.sbking.core.Player;
+import br.com.sbk.sbking.gui.models.TableSummary;
 
+/**
+ * Seats and spectators of a table. Joining, sitting and leaving are submitted
+ * to the table's inbox, where they run in order with the commands of the game
+ * server; only the summary is read from other threads. The clients of the
+ * table are also counted as they join and leave, outside the inbox, so the
+ * lobby removes the table as soon as the last of them leaves.
+ */
 public class Table {
 
-  private ExecutorService pool;
-  private static final int MAXIMUM_NUMBER_OF_PLAYERS_AND_KIBITZERS_IN_A_TABLE = 30;
-
-  private Map<Direction, ClientGameSocket> playerSockets = new HashMap<Direction, ClientGameSocket>();
-  private Collection<ClientGameSocket> spectatorSockets = new ArrayList<ClientGameSocket>();
-  private PlayerNetworkInformation owner;
+  private final int id;
+  private final String gameName;
+  private Map<Direction, ClientGameSocket> playerSockets = new ConcurrentHashMap<Direction, ClientGameSocket>();
+  private Collection<ClientGameSocket> spectatorSockets = new CopyOnWriteArrayList<ClientGameSocket>();
+  private ClientGameSocket owner;
   private MessageSender messageSender;
   private GameServer gameServer;
+  private TableInbox tableInbox;
+  private TableMetrics tableMetrics;
+  private Lobby lobby;
+  private Set<ClientGameSocket> clients = ConcurrentHashMap.newKeySet();
 
-  public Table(PlayerNetworkInformation owner, GameServer gameServer) {
-    this.pool = Executors.newFixedThreadPool(MAXIMUM_NUMBER_OF_PLAYERS_AND_KIBITZERS_IN_A_TABLE);
-    this.messageSender = new MessageSender();
+  public Table(int id, String gameName, ClientGameSocket owner, GameServer gameServer, Lobby lobby, Executor executor,
+      TableMetrics tableMetrics) {
+    this.id = id;
+    this.lobby = lobby;
+    this.tableInbox = new TableInbox(executor);
+    this.gameName = gameName;
+    this.tableMetrics = tableMetrics;
+    this.messageSender = new MessageSender(tableMetrics.getServerMetrics());
     this.owner = owner;
     this.gameServer = gameServer;
+    this.gameServer.setTable(this);
     this.addSpectator(owner);
   }
 
+  public void submit(Runnable command) {
+    this.tableInbox.submit(command);
+  }
+
   public void moveToSeat(ClientGameSocket spectatorGameSocket, Direction direction) {
-    LOGGER.info("Entered moveToSeat.");
+    this.submit(() -> this.seat(spectatorGameSocket, direction));
+  }
+
+  private void seat(ClientGameSocket spectatorGameSocket, Direction direction) {
+    if (spectatorGameSocket.getTable() != this) {
+      LOGGER.info("Ignoring a player that left the table before sitting.");
+      return;
+    }
+    LOGGER.debug("Entered moveToSeat.");
     ClientGameSocket currentSeatedPlayer = this.playerSockets.get(direction);
     if (currentSeatedPlayer != null) {
-      LOGGER.info("Trying to seat in an occupied seat. First unsitting player from " + direction.getCompleteName());
+      LOGGER.debug("Trying to seat in an occupied seat. First unsitting player from {}", direction.getCompleteName());
       this.unsit(direction);
     }
 
     if (!spectatorGameSocket.equals(currentSeatedPlayer)) {
-      LOGGER.info("Now trying to seat in an empty seat: " + direction.getCompleteName());
+      LOGGER.debug("Now trying to seat in an empty seat: {}", direction.getCompleteName());
       this.sitOnEmptySeat(spectatorGameSocket, direction);
     }
 
-    this.messageSender.sendDealAll(this.gameServer.getDeal());
+    this.gameServer.sendSeatViewTo(spectatorGameSocket);
+    if (currentSeatedPlayer != null && !spectatorGameSocket.equals(currentSeatedPlayer)) {
+      this.gameServer.sendSeatViewTo(currentSeatedPlayer);
+    }
+    this.gameServer.onSeatsChanged();
 
     logAllSockets();
   }
 
   private void unsit(Direction direction) {
-    LOGGER.info("Removing player from " + direction.getCompleteName() + "to spectators");
+    LOGGER.debug("Removing player from {} to spectators", direction.getCompleteName());
     ClientGameSocket currentSeatedPlayer = this.playerSockets.get(direction);
     if (currentSeatedPlayer != null) {
       currentSeatedPlayer.unsetDirection();
       this.removeFromPlayers(currentSeatedPlayer);
+      this.gameServer.stopAwaitingAcknowledgementOf(currentSeatedPlayer);
       this.gameServer.getDeal().unsetPlayerOf(direction);
+      this.messageSender.sendSeatChangedAll(direction, null);
       this.spectatorSockets.add(currentSeatedPlayer);
       currentSeatedPlayer.sendIsSpectator();
     }
@@ -64,12 +100,12 @@ public class Table {
   private void sitOnEmptySeat(ClientGameSocket clientGameSocket, Direction direction) {
     ClientGameSocket currentSeatedPlayer = this.playerSockets.get(direction);
     if (currentSeatedPlayer != null) {
-      LOGGER.info("Trying to seat on occupied seat.");
+      LOGGER.debug("Trying to seat on occupied seat.");
       return;
     }
 
     if (clientGameSocket.isSpectator()) {
-      LOGGER.info("Trying to move from espectators to " + direction.getCompleteName() + ".");
+      LOGGER.debug("Trying to move from espectators to {}.", direction.getCompleteName());
       ClientGameSocket spectatorGameSocket = clientGameSocket;
       spectatorGameSocket.setDirection(direction);
       this.playerSockets.put(direction, spectatorGameSocket);
@@ -77,37 +113,50 @@ public class Table {
       spectatorGameSocket.sendIsNotSpectator();
       spectatorGameSocket.sendDirection(direction);
       this.gameServer.getDeal().setPlayerOf(direction, spectatorGameSocket.getPlayer());
+      this.messageSender.sendSeatChangedAll(direction, spectatorGameSocket.getPlayer().getName());
     } else {
-      LOGGER.info("Trying to move from " + clientGameSocket.getDirection().getCompleteName() + " to "
-          + direction.getCompleteName() + ".");
+      LOGGER.debug("Trying to move from {} to {}.", clientGameSocket.getDirection().getCompleteName(),
+          direction.getCompleteName());
       Direction from = clientGameSocket.getDirection();
       Direction to = direction;
 
       this.removeFromPlayers(clientGameSocket);
       this.gameServer.getDeal().unsetPlayerOf(from);
+      this.messageSender.sendSeatChangedAll(from, null);
 
       playerSockets.put(to, clientGameSocket);
       clientGameSocket.setDirection(to);
       clientGameSocket.sendDirection(to);
 
       this.gameServer.getDeal().setPlayerOf(to, clientGameSocket.getPlayer());
+      this.messageSender.sendSeatChangedAll(to, clientGameSocket.getPlayer().getName());
     }
   }
 
+  /**
+   * Logs who sits where and who watches in a single debug line, built only
+   * when debug is enabled, as it is done on every seat change.
+   */
   private void logAllSockets() {
-    LOGGER.info("--- Logging sockets ---");
-    playerSockets.values().stream().forEach(socket -> printSocket(socket));
-    spectatorSockets.stream().forEach(socket -> printSocket(socket));
-    LOGGER.info("--- Finished Logging sockets ---\n\n\n");
+    if (!LOGGER.isDebugEnabled()) {
+      return;
+    }
+    StringBuilder sockets = new StringBuilder();
+    playerSockets.values().stream().forEach(socket -> appendSocket(sockets, socket));
+    spectatorSockets.stream().forEach(socket -> appendSocket(sockets, socket));
+    LOGGER.debug("Sockets of table {}:{}", this.id, sockets);
   }
 
-  private void printSocket(ClientGameSocket socket) {
+  private void appendSocket(StringBuilder sockets, ClientGameSocket socket) {
+    if (socket.getPlayerNetworkInformation() == null) {
+      return;
+    }
     String name = socket.getPlayer().getName();
     Direction direction = socket.getDirection();
     if (socket.isSpectator()) {
-      LOGGER.info("SPEC: " + name);
+      sockets.append(" SPEC: ").append(name);
     } else {
-      LOGGER.info("   " + direction.getAbbreviation() + ": " + name);
+      sockets.append(' ').append(direction.getAbbreviation()).append(": ").append(name);
     }
   }
 
@@ -122,25 +171,62 @@ public class Table {
     for (Direction direction : Direction.values()) {
       ClientGameSocket currentPlayerGameSocket = playerSockets.get(direction);
       if (playerGameSocket.equals(currentPlayerGameSocket)) {
-        LOGGER.info("Removing player from " + direction.getCompleteName());
+        LOGGER.debug("Removing player from {}", direction.getCompleteName());
         playerSockets.remove(direction);
       }
     }
 
   }
 
-  public void addSpectator(PlayerNetworkInformation playerNetworkInformation) {
-    ClientGameSocket spectatorGameSocket = new ClientGameSocket(playerNetworkInformation, null, this);
+  public void addSpectator(ClientGameSocket spectatorGameSocket) {
+    spectatorGameSocket.setTable(this);
+    this.clients.add(spectatorGameSocket);
+    this.submit(() -> this.watch(spectatorGameSocket));
+  }
+
+  private void watch(ClientGameSocket spectatorGameSocket) {
+    if (spectatorGameSocket.getTable() != this) {
+      LOGGER.info("Ignoring a spectator that left the table before joining it.");
+      return;
+    }
     this.spectatorSockets.add(spectatorGameSocket);
     this.messageSender.addClientGameSocket(spectatorGameSocket);
-    LOGGER.info("Info do spectator:" + spectatorGameSocket);
-    this.messageSender.sendDealAll(this.gameServer.getDeal());
-    pool.execute(spectatorGameSocket);
+    LOGGER.debug("Info do spectator:{}", spectatorGameSocket);
+    this.gameServer.sendDealTo(spectatorGameSocket);
 
     logAllSockets();
   }
 
   public void removeClientGameSocket(ClientGameSocket playerSocket) {
+    if (!this.clients.remove(playerSocket)) {
+      return;
+    }
+    this.submit(() -> this.leave(playerSocket));
+    if (this.clients.isEmpty()) {
+      this.lobby.removeTableIfEmpty(this);
+    }
+  }
+
+  public boolean isEmpty() {
+    return this.clients.isEmpty();
+  }
+
+  /**
+   * Called by the game server when its game is over: the table leaves the
+   * lobby, while its clients stay until they join another table.
+   */
+  public void onGameFinished() {
+    this.lobby.removeTable(this);
+  }
+
+  /**
+   * Stops the game of a table removed from the lobby.
+   */
+  void close() {
+    this.submit(this.gameServer::stop);
+  }
+
+  private void leave(ClientGameSocket playerSocket) {
     this.messageSender.removeClientGameSocket(playerSocket);
     for (Direction direction : Direction.values()) {
       ClientGameSocket current = this.playerSockets.get(direction);
@@ -149,11 +235,25 @@ public class Table {
       }
     }
     this.spectatorSockets.remove(playerSocket);
-    if (playerSocket.getSocket().equals(owner.getSocket())) {
-      LOGGER.info("Removing owner! Something bad happened!");
+    this.gameServer.stopAwaitingAcknowledgementOf(playerSocket);
+    this.gameServer.onSeatsChanged();
+    if (playerSocket.equals(owner)) {
+      LOGGER.info("Removing owner of table {}.", this.id);
     }
   }
 
+  public int getId() {
+    return id;
+  }
+
+  public String getGameName() {
+    return gameName;
+  }
+
+  public TableSummary getSummary() {
+    return new TableSummary(this.id, this.gameName, this.playerSockets.size(), this.spectatorSockets.size());
+  }
+
   public GameServer getGameServer() {
     return gameServer;
   }
@@ -162,9 +262,38 @@ public class Table {
     return messageSender;
   }
 
+  public TableMetrics getMetrics() {
+    return tableMetrics;
+  }
+
+  public Collection<ClientGameSocket> getSeatedSockets() {
+    return new ArrayList<ClientGameSocket>(this.playerSockets.values());
+  }
+
+  /**
+   * Whether a connected player sits in the seat.
+   */
+  public boolean isSeatOccupied(Direction direction) {
+    ClientGameSocket playerGameSocket = this.playerSockets.get(direction);
+    return playerGameSocket != null && playerGameSocket.getPlayerNetworkInformation() != null;
+  }
+
+  /**
+   * Whether a connected player sits in any seat.
+   */
+  public boolean hasSeatedPlayers() {
+    for (Direction direction : Direction.values()) {
+      if (this.isSeatOccupied(direction)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public Player getPlayerOf(Direction direction) {
     ClientGameSocket playerGameSocket = this.playerSockets.get(direction);
-    if (playerGameSocket == null) {
+    // A socket that disconnected is still seated until the table runs its leave command
+    if (playerGameSocket == null || playerGameSocket.getPlayerNetworkInformation() == null) {
       return new Player("Empty seat.");
     } else {
       return playerGameSocket.getPlayer();
@@ -0,0 +1,62 @@
+package br.com.sbk.sbking.networking.server;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Commands sent to one table by any number of threads, run one at a time and
+ * in the order they were submitted. Whoever finds the inbox idle schedules a
+ * drain on the executor; a drain runs a bounded batch and reschedules itself,
+ * so a busy table does not hold a thread of the pool shared with other tables.
+ * Everything the commands touch is confined to the inbox and needs no lock.
+ */
+public class TableInbox {
+
+    private static final int MAXIMUM_COMMANDS_PER_DRAIN = 64;
+
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<Runnable>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Executor executor;
+
+    public TableInbox(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void submit(Runnable command) {
+        this.commands.add(command);
+        this.scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            this.executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < MAXIMUM_COMMANDS_PER_DRAIN; i++) {
+            Runnable command = this.commands.poll();
+            if (command == null) {
+                break;
+            }
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Error running a table command.", e);
+            }
+        }
+        this.scheduled.set(false);
+        if (!this.commands.isEmpty()) {
+            this.scheduleDrain();
+        }
+    }
+
+    public int size() {
+        return this.commands.size();
+    }
+
+}
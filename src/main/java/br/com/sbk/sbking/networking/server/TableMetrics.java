@@ -0,0 +1,37 @@
+package br.com.sbk.sbking.networking.server;
+
+import br.com.sbk.sbking.metrics.Counter;
+
+/**
+ * The counters of one table, which also add to the totals of the server.
+ */
+public class TableMetrics {
+
+    private final ServerMetrics serverMetrics;
+    private final Counter playedCards;
+    private final Counter finishedDeals;
+
+    TableMetrics(ServerMetrics serverMetrics, Counter playedCards, Counter finishedDeals) {
+        this.serverMetrics = serverMetrics;
+        this.playedCards = playedCards;
+        this.finishedDeals = finishedDeals;
+    }
+
+    void cardPlayed() {
+        this.playedCards.increment();
+    }
+
+    void recordCardPlay(long nanoseconds) {
+        this.serverMetrics.recordCardPlay(nanoseconds);
+    }
+
+    void dealFinished() {
+        this.finishedDeals.increment();
+        this.serverMetrics.dealFinished();
+    }
+
+    public ServerMetrics getServerMetrics() {
+        return this.serverMetrics;
+    }
+
+}
@@ -0,0 +1,135 @@
+package br.com.sbk.sbking.networking.server;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timer wheel shared by every table. One thread advances the wheel a
+ * slot per tick and hands expired tasks to an executor, so thousands of
+ * pending timeouts cost one thread and a list entry each. Timeouts fire up to
+ * one tick late.
+ */
+public class TimerWheel {
+
+    private final long tickInMilliseconds;
+    private final List<List<Timeout>> slots;
+    private final Executor executor;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<Timeout>();
+    private final Thread ticker;
+
+    private volatile boolean running = true;
+    private long startTime;
+    private long tick = 0;
+
+    public TimerWheel(long tickInMilliseconds, int numberOfSlots, Executor executor) {
+        this.tickInMilliseconds = tickInMilliseconds;
+        this.slots = new ArrayList<List<Timeout>>(numberOfSlots);
+        for (int i = 0; i < numberOfSlots; i++) {
+            this.slots.add(new ArrayList<Timeout>());
+        }
+        this.executor = executor;
+        this.ticker = new Thread(this::run, "timer-wheel");
+        this.ticker.setDaemon(true);
+        this.startTime = System.nanoTime();
+        this.ticker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delayInMilliseconds) {
+        long deadline = this.elapsedMilliseconds() + Math.max(0, delayInMilliseconds);
+        Timeout timeout = new Timeout(task, deadline);
+        this.newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    public void stop() {
+        this.running = false;
+        this.ticker.interrupt();
+    }
+
+    private long elapsedMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime);
+    }
+
+    private void run() {
+        while (this.running) {
+            long nextTickTime = (this.tick + 1) * this.tickInMilliseconds;
+            long sleepTime = nextTickTime - this.elapsedMilliseconds();
+            if (sleepTime > 0) {
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+            }
+            this.tick++;
+            this.addNewTimeouts();
+            this.expire(this.slots.get((int) (this.tick % this.slots.size())));
+        }
+    }
+
+    private void addNewTimeouts() {
+        Timeout timeout;
+        while ((timeout = this.newTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long deadlineTick = (timeout.deadline + this.tickInMilliseconds - 1) / this.tickInMilliseconds;
+            long slot = Math.max(deadlineTick, this.tick);
+            timeout.remainingRounds = (slot - this.tick) / this.slots.size();
+            this.slots.get((int) (slot % this.slots.size())).add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> slot) {
+        Iterator<Timeout> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                this.fire(timeout);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            this.executor.execute(timeout.task);
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not run an expired timeout.", e);
+        }
+    }
+
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile boolean cancelled = false;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+    }
+
+}
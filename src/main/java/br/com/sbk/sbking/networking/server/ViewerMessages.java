@@ -0,0 +1,32 @@
+package br.com.sbk.sbking.networking.server;
+
+import java.util.function.Function;
+
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.networking.core.serialization.PreparedMessage;
+
+/**
+ * One prepared message per visibility class: each of the four seats and the
+ * spectators. A class is projected and encoded the first time one of its
+ * members needs it, and then shared by all of them.
+ */
+public class ViewerMessages {
+
+    private static final int SPECTATORS = Direction.values().length;
+
+    private final Function<Direction, Object> projection;
+    private final PreparedMessage[] preparedMessages = new PreparedMessage[SPECTATORS + 1];
+
+    public ViewerMessages(Function<Direction, Object> projection) {
+        this.projection = projection;
+    }
+
+    public PreparedMessage getFor(Direction viewer) {
+        int visibilityClass = viewer == null ? SPECTATORS : viewer.ordinal();
+        if (this.preparedMessages[visibilityClass] == null) {
+            this.preparedMessages[visibilityClass] = new PreparedMessage(this.projection.apply(viewer));
+        }
+        return this.preparedMessages[visibilityClass];
+    }
+
+}
@@ -0,0 +1,253 @@
+package br.com.sbk.sbking.networking.server.nio;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import br.com.sbk.sbking.networking.core.serialization.FramedSerializator;
+import br.com.sbk.sbking.networking.core.serialization.MessageCodec;
+import br.com.sbk.sbking.networking.core.serialization.OutboundQueue;
+import br.com.sbk.sbking.networking.core.serialization.PreparedMessage;
+import br.com.sbk.sbking.networking.server.ServerMetrics;
+
+/**
+ * A non-blocking connection owned by one EventLoop. Reads, writes and selection
+ * key changes only happen on that loop; other threads enqueue messages with
+ * send. A connection whose OutboundQueue refuses a message is closed.
+ */
+public class ChannelConnection {
+
+    private static final int INITIAL_READ_BUFFER_LENGTH = 4096;
+
+    private final SocketChannel socketChannel;
+    private final EventLoop eventLoop;
+    private final MessageCodec messageCodec;
+    private final ServerMetrics serverMetrics;
+
+    private SelectionKey selectionKey;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_LENGTH);
+
+    private final OutboundQueue outboundQueue;
+    private final Deque<ByteBuffer> writingFrames = new ArrayDeque<ByteBuffer>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private volatile ChannelMessageListener channelMessageListener;
+
+    public ChannelConnection(SocketChannel socketChannel, EventLoop eventLoop, MessageCodec messageCodec,
+            OutboundQueue outboundQueue, ServerMetrics serverMetrics) throws IOException {
+        this.socketChannel = socketChannel;
+        this.eventLoop = eventLoop;
+        this.messageCodec = messageCodec;
+        this.outboundQueue = outboundQueue;
+        this.serverMetrics = serverMetrics;
+        this.socketChannel.configureBlocking(false);
+    }
+
+    public void setChannelMessageListener(ChannelMessageListener channelMessageListener) {
+        this.channelMessageListener = channelMessageListener;
+        this.eventLoop.execute(this::processReadBuffer);
+    }
+
+    public void send(Object message) {
+        this.send(new PreparedMessage[] {new PreparedMessage(message)});
+    }
+
+    public void send(PreparedMessage... preparedMessages) {
+        if (this.closed.get()) {
+            return;
+        }
+        if (!this.outboundQueue.offer(preparedMessages)) {
+            LOGGER.info("Closing {} that fell behind with {} queued messages.", this, this.outboundQueue.size());
+            this.eventLoop.execute(this::closeAndNotify);
+            return;
+        }
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            this.eventLoop.execute(this::flush);
+        }
+    }
+
+    void registerWith(Selector selector) {
+        try {
+            this.selectionKey = this.socketChannel.register(selector, SelectionKey.OP_READ, this);
+        } catch (ClosedChannelException e) {
+            LOGGER.info("Channel was closed before registration.");
+            this.closeAndNotify();
+            return;
+        }
+        if (!this.outboundQueue.isEmpty()) {
+            this.flush();
+        }
+    }
+
+    void flush() {
+        if (this.selectionKey == null || this.closed.get()) {
+            return;
+        }
+        try {
+            while (this.hasFramesToWrite()) {
+                ByteBuffer frame = this.writingFrames.peekFirst();
+                this.socketChannel.write(frame);
+                if (frame.hasRemaining()) {
+                    this.selectionKey.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                this.writingFrames.pollFirst();
+            }
+            this.selectionKey.interestOps(SelectionKey.OP_READ);
+            this.flushScheduled.set(false);
+            if (!this.outboundQueue.isEmpty() && this.flushScheduled.compareAndSet(false, true)) {
+                this.eventLoop.execute(this::flush);
+            }
+        } catch (IOException e) {
+            LOGGER.debug(e);
+            this.closeAndNotify();
+        }
+    }
+
+    private boolean hasFramesToWrite() throws IOException {
+        if (this.writingFrames.isEmpty()) {
+            PreparedMessage[] preparedMessages = this.outboundQueue.poll();
+            if (preparedMessages == null) {
+                return false;
+            }
+            int bytes = 0;
+            for (PreparedMessage preparedMessage : preparedMessages) {
+                ByteBuffer frame = preparedMessage.getFrame(this.messageCodec);
+                bytes += frame.remaining();
+                this.writingFrames.addLast(frame);
+            }
+            this.serverMetrics.recordSentBytes(preparedMessages[0].getMessage(), bytes);
+        }
+        return true;
+    }
+
+    void read() {
+        try {
+            if (!this.readBuffer.hasRemaining()) {
+                this.growReadBuffer(this.readBuffer.capacity() * 2);
+            }
+            int readBytes = this.socketChannel.read(this.readBuffer);
+            if (readBytes < 0) {
+                this.closeAndNotify();
+                return;
+            }
+        } catch (IOException e) {
+            LOGGER.debug(e);
+            this.closeAndNotify();
+            return;
+        }
+        this.processReadBuffer();
+    }
+
+    private void processReadBuffer() {
+        ChannelMessageListener listener = this.channelMessageListener;
+        if (listener == null || this.closed.get()) {
+            return;
+        }
+        this.readBuffer.flip();
+        try {
+            while (this.readBuffer.remaining() >= FramedSerializator.FRAME_HEADER_LENGTH) {
+                int frameLength = this.readBuffer.getInt(this.readBuffer.position());
+                if (frameLength < 0 || frameLength > FramedSerializator.MAXIMUM_FRAME_LENGTH) {
+                    LOGGER.error("Closing connection that sent a frame of {} bytes.", frameLength);
+                    this.closeAndNotify();
+                    return;
+                }
+                if (this.readBuffer.remaining() < FramedSerializator.FRAME_HEADER_LENGTH + frameLength) {
+                    if (this.readBuffer.capacity() < FramedSerializator.FRAME_HEADER_LENGTH + frameLength) {
+                        this.readBuffer.compact();
+                        this.growReadBuffer(FramedSerializator.FRAME_HEADER_LENGTH + frameLength);
+                        this.readBuffer.flip();
+                    }
+                    break;
+                }
+                this.readBuffer.position(this.readBuffer.position() + FramedSerializator.FRAME_HEADER_LENGTH);
+                ByteBuffer payload = this.readBuffer.slice();
+                payload.limit(frameLength);
+                this.readBuffer.position(this.readBuffer.position() + frameLength);
+                listener.onMessage(this.messageCodec.decode(payload));
+                if (this.closed.get()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Closing connection that sent an invalid message.");
+            LOGGER.debug(e);
+            this.closeAndNotify();
+            return;
+        }
+        this.readBuffer.compact();
+    }
+
+    private void growReadBuffer(int minimumCapacity) {
+        int capacity = Math.min(Math.max(minimumCapacity, this.readBuffer.capacity() * 2),
+                FramedSerializator.FRAME_HEADER_LENGTH + FramedSerializator.MAXIMUM_FRAME_LENGTH);
+        ByteBuffer biggerReadBuffer = ByteBuffer.allocate(capacity);
+        this.readBuffer.flip();
+        biggerReadBuffer.put(this.readBuffer);
+        this.readBuffer = biggerReadBuffer;
+    }
+
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        this.outboundQueue.clear();
+        if (this.selectionKey != null) {
+            this.selectionKey.cancel();
+        }
+        try {
+            this.socketChannel.close();
+        } catch (IOException e) {
+            LOGGER.error(e);
+        }
+    }
+
+    void closeAndNotify() {
+        if (this.closed.get()) {
+            return;
+        }
+        this.close();
+        ChannelMessageListener listener = this.channelMessageListener;
+        if (listener != null) {
+            listener.onDisconnect();
+        }
+    }
+
+    public boolean isClosed() {
+        return this.closed.get();
+    }
+
+    public Socket getSocket() {
+        return this.socketChannel.socket();
+    }
+
+    public int getNumberOfQueuedMessages() {
+        return this.outboundQueue.size();
+    }
+
+    /**
+     * Whether the connection waits for the channel to take the rest of a frame
+     * it only wrote in part.
+     */
+    boolean isWaitingToWrite() {
+        SelectionKey key = this.selectionKey;
+        return key != null && key.isValid() && (key.interestOps() & SelectionKey.OP_WRITE) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelConnection[" + this.socketChannel.socket().getRemoteSocketAddress() + "]";
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.sbk.sbking.networking.server.nio;
+
+public interface ChannelMessageListener {
+
+    void onMessage(Object message);
+
+    void onDisconnect();
+
+}
@@ -0,0 +1,33 @@
+package br.com.sbk.sbking.networking.server.nio;
+
+import br.com.sbk.sbking.networking.core.serialization.MessageWriter;
+import br.com.sbk.sbking.networking.core.serialization.PreparedMessage;
+
+/**
+ * Writes to a channel through its event loop. Messages of a channel are read
+ * by the event loop too and delivered to its ChannelMessageListener.
+ */
+public class ChannelMessageWriter implements MessageWriter {
+
+    private final ChannelConnection channelConnection;
+
+    public ChannelMessageWriter(ChannelConnection channelConnection) {
+        this.channelConnection = channelConnection;
+    }
+
+    @Override
+    public void tryToSerialize(Object object) {
+        this.channelConnection.send(object);
+    }
+
+    @Override
+    public void tryToSerializePrepared(PreparedMessage... preparedMessages) {
+        this.channelConnection.send(preparedMessages);
+    }
+
+    @Override
+    public void close() {
+        this.channelConnection.close();
+    }
+
+}
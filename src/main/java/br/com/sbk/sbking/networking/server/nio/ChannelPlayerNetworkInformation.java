@@ -0,0 +1,28 @@
+package br.com.sbk.sbking.networking.server.nio;
+
+import java.util.concurrent.Executor;
+
+import br.com.sbk.sbking.core.Player;
+import br.com.sbk.sbking.networking.server.ClientGameSocket;
+import br.com.sbk.sbking.networking.server.PlayerNetworkInformation;
+
+public class ChannelPlayerNetworkInformation extends PlayerNetworkInformation {
+
+    private final ChannelConnection channelConnection;
+
+    public ChannelPlayerNetworkInformation(ChannelConnection channelConnection, Player player) {
+        super(channelConnection.getSocket(), new ChannelMessageWriter(channelConnection), player);
+        this.channelConnection = channelConnection;
+    }
+
+    @Override
+    public void start(ClientGameSocket clientGameSocket, Executor executor) {
+        clientGameSocket.sendSeatInformation();
+        this.channelConnection.setChannelMessageListener(clientGameSocket);
+    }
+
+    public ChannelConnection getChannelConnection() {
+        return channelConnection;
+    }
+
+}
@@ -0,0 +1,98 @@
+package br.com.sbk.sbking.networking.server.nio;
+
+import static br.com.sbk.sbking.logging.SBKingLogger.LOGGER;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class EventLoop implements Runnable {
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public EventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+    }
+
+    public void start() {
+        this.thread.start();
+    }
+
+    public void execute(Runnable task) {
+        this.tasks.add(task);
+        if (Thread.currentThread() != this.thread) {
+            this.selector.wakeup();
+        }
+    }
+
+    public void register(ChannelConnection channelConnection) {
+        this.execute(() -> channelConnection.registerWith(this.selector));
+    }
+
+    public void shutdown() {
+        this.running = false;
+        this.selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        LOGGER.info("Event loop {} is running.", this.thread.getName());
+        while (this.running) {
+            try {
+                this.selector.select();
+                this.runPendingTasks();
+                this.processSelectedKeys();
+                // Tasks queued by this loop itself, while handling the keys, do not wake up the selector
+                this.runPendingTasks();
+            } catch (IOException e) {
+                LOGGER.error("Error while selecting on {}", this.thread.getName());
+                LOGGER.error(e);
+            }
+        }
+        try {
+            this.selector.close();
+        } catch (IOException e) {
+            LOGGER.error(e);
+        }
+        LOGGER.info("Event loop {} has finished.", this.thread.getName());
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Error running task on {}", this.thread.getName(), e);
+            }
+        }
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> selectedKeys = this.selector.selectedKeys().iterator();
+        while (selectedKeys.hasNext()) {
+            SelectionKey selectionKey = selectedKeys.next();
+            selectedKeys.remove();
+            ChannelConnection channelConnection = (ChannelConnection) selectionKey.attachment();
+            try {
+                if (selectionKey.isValid() && selectionKey.isWritable()) {
+                    channelConnection.flush();
+                }
+                if (selectionKey.isValid() && selectionKey.isReadable()) {
+                    channelConnection.read();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Error handling connection {}", channelConnection, e);
+                channelConnection.closeAndNotify();
+            }
+        }
+    }
+
+}
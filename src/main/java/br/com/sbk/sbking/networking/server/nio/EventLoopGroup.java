@@ -0,0 +1,35 @@
+package br.com.sbk.sbking.networking.server.nio;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EventLoopGroup {
+
+    private final EventLoop[] eventLoops;
+    private final AtomicInteger nextEventLoop = new AtomicInteger();
+
+    public EventLoopGroup(int numberOfEventLoops) throws IOException {
+        this.eventLoops = new EventLoop[numberOfEventLoops];
+        for (int i = 0; i < numberOfEventLoops; i++) {
+            this.eventLoops[i] = new EventLoop("event-loop-" + i);
+        }
+    }
+
+    public void start() {
+        for (EventLoop eventLoop : this.eventLoops) {
+            eventLoop.start();
+        }
+    }
+
+    public EventLoop next() {
+        int index = Math.floorMod(this.nextEventLoop.getAndIncrement(), this.eventLoops.length);
+        return this.eventLoops[index];
+    }
+
+    public void shutdown() {
+        for (EventLoop eventLoop : this.eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package br.com.sbk.sbking.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.KingGame;
+import br.com.sbk.sbking.core.bot.PlayingStrategy;
+import br.com.sbk.sbking.core.bot.RulesetChooser;
+import br.com.sbk.sbking.core.dealing.NumberedBoardDealer;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+
+/**
+ * Plays whole King games with no table and no client, the four seats played by
+ * the same strategy and the rulesets chosen by a RulesetChooser, as the server
+ * does for its bots. The games are played in chunks of a fixed size, each from
+ * its own split of a random seeded once, so the same seed plays the same games
+ * whatever the number of threads.
+ *
+ * Every card goes through Deal.playCard, so a strategy or a rule that breaks
+ * the rules stops the simulation with the seed of the game it happened in.
+ */
+public final class SelfPlaySimulation {
+
+    private static final int GAMES_PER_CHUNK = 64;
+
+    private final ExecutorService executorService;
+    private final LongFunction<PlayingStrategy> strategyFactory;
+    private final RulesetChooser rulesetChooser = new RulesetChooser();
+
+    /**
+     * Each chunk of games plays with its own strategy, made by the factory from
+     * a seed.
+     */
+    public SelfPlaySimulation(ExecutorService executorService, LongFunction<PlayingStrategy> strategyFactory) {
+        this.executorService = executorService;
+        this.strategyFactory = strategyFactory;
+    }
+
+    public SimulationStatistics run(int numberOfGames, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Future<SimulationStatistics>> futures = new ArrayList<Future<SimulationStatistics>>();
+        for (int first = 0; first < numberOfGames; first += GAMES_PER_CHUNK) {
+            int gamesOfChunk = Math.min(GAMES_PER_CHUNK, numberOfGames - first);
+            SplittableRandom randomOfChunk = random.split();
+            futures.add(this.executorService.submit(() -> this.playChunk(gamesOfChunk, randomOfChunk)));
+        }
+        SimulationStatistics statistics = new SimulationStatistics();
+        for (Future<SimulationStatistics> future : futures) {
+            statistics.merge(getResult(future));
+        }
+        return statistics;
+    }
+
+    private SimulationStatistics playChunk(int numberOfGames, SplittableRandom random) {
+        PlayingStrategy strategy = this.strategyFactory.apply(random.nextLong());
+        SimulationStatistics statistics = new SimulationStatistics();
+        for (int game = 0; game < numberOfGames; game++) {
+            this.playGame(random.nextLong(), strategy, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Plays the game whose boards the seed deals, adding its deals to the
+     * statistics.
+     */
+    public void playGame(long seed, PlayingStrategy strategy, SimulationStatistics statistics) {
+        try {
+            KingGame kingGame = new KingGame(new NumberedBoardDealer(seed));
+            while (!kingGame.isFinished()) {
+                kingGame.dealNewBoard();
+                Direction dealer = kingGame.getDealer();
+                Direction chooser = dealer.getPositiveOrNegativeChooserWhenDealer();
+                // The choosers of positive or negative and of the game mode are partners, permitted the same rulesets
+                Predicate<Ruleset> permitted = ruleset -> kingGame.isGameModePermitted(ruleset, chooser);
+                boolean positive = this.rulesetChooser.choosesPositive(kingGame.getCurrentBoard().getHandOf(chooser),
+                        permitted);
+                Direction gameModeChooser = dealer.getGameModeOrStrainChooserWhenDealer();
+                kingGame.addRuleset(this.rulesetChooser.chooseGameModeOrStrain(
+                        kingGame.getCurrentBoard().getHandOf(gameModeChooser), positive, permitted));
+
+                Deal deal = kingGame.getCurrentDeal();
+                while (!deal.isFinished()) {
+                    deal.playCard(strategy.chooseCard(deal));
+                }
+                checkEveryPointWasTaken(deal);
+                statistics.addDeal(deal, chooser);
+                kingGame.finishDeal();
+            }
+            statistics.addGame();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("The game of seed " + seed + " broke a rule.", e);
+        }
+    }
+
+    private static void checkEveryPointWasTaken(Deal deal) {
+        int takenPoints = deal.getNorthSouthPoints() + deal.getEastWestPoints();
+        if (takenPoints != deal.getRuleset().getTotalPoints()) {
+            throw new IllegalStateException("A deal of " + deal.getRuleset().getShortDescription() + " ended with "
+                    + takenPoints + " of its " + deal.getRuleset().getTotalPoints() + " points taken.");
+        }
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating games.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not simulate games.", e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package br.com.sbk.sbking.simulation;
+
+import static br.com.sbk.sbking.core.GameConstants.NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND;
+
+import java.util.Arrays;
+
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.rulesets.NegativeRulesetsEnum;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+
+/**
+ * What the deals of a simulation ended with, seen from the side that chose the
+ * ruleset: for each negative ruleset the points that side took and its score,
+ * and for the positive rulesets how many tricks it took and its score. Each
+ * part of a simulation counts its own deals and the parts are merged at the
+ * end.
+ */
+public final class SimulationStatistics {
+
+    private static final int NUMBER_OF_NEGATIVES = NegativeRulesetsEnum.values().length;
+
+    private long numberOfGames;
+    private final long[] negativeDeals = new long[NUMBER_OF_NEGATIVES];
+    private final long[] negativePointsOfChooser = new long[NUMBER_OF_NEGATIVES];
+    private final long[] negativeScoreOfChooser = new long[NUMBER_OF_NEGATIVES];
+    private final long[] positiveDealsByTricksOfChooser = new long[NUMBER_OF_TRICKS_IN_A_COMPLETE_HAND + 1];
+    private long positiveScoreOfChooser;
+
+    void addGame() {
+        this.numberOfGames++;
+    }
+
+    void addDeal(Deal deal, Direction chooser) {
+        int pointsOfChooser = chooser.isNorthSouth() ? deal.getNorthSouthPoints() : deal.getEastWestPoints();
+        int northSouthScore = deal.getScore().getFinalPunctuation();
+        int scoreOfChooser = chooser.isNorthSouth() ? northSouthScore : -northSouthScore;
+        NegativeRulesetsEnum negative = negativeOf(deal.getRuleset());
+        if (negative == null) {
+            this.positiveDealsByTricksOfChooser[pointsOfChooser]++;
+            this.positiveScoreOfChooser += scoreOfChooser;
+        } else {
+            this.negativeDeals[negative.ordinal()]++;
+            this.negativePointsOfChooser[negative.ordinal()] += pointsOfChooser;
+            this.negativeScoreOfChooser[negative.ordinal()] += scoreOfChooser;
+        }
+    }
+
+    private static NegativeRulesetsEnum negativeOf(Ruleset ruleset) {
+        for (NegativeRulesetsEnum negative : NegativeRulesetsEnum.values()) {
+            if (negative.getNegativeRuleset().equals(ruleset)) {
+                return negative;
+            }
+        }
+        return null;
+    }
+
+    void merge(SimulationStatistics other) {
+        this.numberOfGames += other.numberOfGames;
+        for (int negative = 0; negative < NUMBER_OF_NEGATIVES; negative++) {
+            this.negativeDeals[negative] += other.negativeDeals[negative];
+            this.negativePointsOfChooser[negative] += other.negativePointsOfChooser[negative];
+            this.negativeScoreOfChooser[negative] += other.negativeScoreOfChooser[negative];
+        }
+        for (int tricks = 0; tricks < this.positiveDealsByTricksOfChooser.length; tricks++) {
+            this.positiveDealsByTricksOfChooser[tricks] += other.positiveDealsByTricksOfChooser[tricks];
+        }
+        this.positiveScoreOfChooser += other.positiveScoreOfChooser;
+    }
+
+    public long getNumberOfGames() {
+        return this.numberOfGames;
+    }
+
+    public long getNumberOfDeals() {
+        return this.getNumberOfPositiveDeals() + Arrays.stream(this.negativeDeals).sum();
+    }
+
+    public long getNumberOfDeals(NegativeRulesetsEnum negative) {
+        return this.negativeDeals[negative.ordinal()];
+    }
+
+    public double getAveragePointsOfChooser(NegativeRulesetsEnum negative) {
+        return average(this.negativePointsOfChooser[negative.ordinal()], this.negativeDeals[negative.ordinal()]);
+    }
+
+    public double getAverageScoreOfChooser(NegativeRulesetsEnum negative) {
+        return average(this.negativeScoreOfChooser[negative.ordinal()], this.negativeDeals[negative.ordinal()]);
+    }
+
+    public long getNumberOfPositiveDeals() {
+        return Arrays.stream(this.positiveDealsByTricksOfChooser).sum();
+    }
+
+    /**
+     * How many positive deals ended with the choosing side taking each number
+     * of tricks, indexed by that number.
+     */
+    public long[] getPositiveDealsByTricksOfChooser() {
+        return this.positiveDealsByTricksOfChooser.clone();
+    }
+
+    public double getAveragePositiveScoreOfChooser() {
+        return average(this.positiveScoreOfChooser, this.getNumberOfPositiveDeals());
+    }
+
+    private static double average(long total, long count) {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+}
@@ -0,0 +1,92 @@
+package br.com.sbk.sbking.simulation.main;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongFunction;
+
+import br.com.sbk.sbking.core.bot.GreedyStrategy;
+import br.com.sbk.sbking.core.bot.MonteCarloBot;
+import br.com.sbk.sbking.core.bot.PlayingStrategy;
+import br.com.sbk.sbking.core.bot.RandomStrategy;
+import br.com.sbk.sbking.core.rulesets.NegativeRulesetsEnum;
+import br.com.sbk.sbking.simulation.SelfPlaySimulation;
+import br.com.sbk.sbking.simulation.SimulationStatistics;
+
+/**
+ * Plays King games headless on every processor and prints how fast they went
+ * and what the deals ended with:
+ *
+ * java -jar sbking-simulation.jar [games] [random|greedy|bot] [threads] [seed]
+ *
+ * The bot plays with a short time budget and few samples a move, and searches
+ * on the thread of its game, so its games run in parallel instead of its
+ * samples.
+ */
+public final class SimulationStarter {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 10000;
+    private static final String DEFAULT_STRATEGY = "greedy";
+    private static final long BOT_TIME_BUDGET_IN_MILLISECONDS = 50;
+    private static final int BOT_MAXIMUM_NUMBER_OF_SAMPLES = 20;
+    private static final double NANOSECONDS_IN_A_SECOND = 1e9;
+
+    private SimulationStarter() {
+    }
+
+    public static void main(String[] args) {
+        int numberOfGames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_GAMES;
+        String strategyName = args.length > 1 ? args[1] : DEFAULT_STRATEGY;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        SelfPlaySimulation simulation = new SelfPlaySimulation(executorService, strategyFactoryOf(strategyName));
+        long start = System.nanoTime();
+        SimulationStatistics statistics = simulation.run(numberOfGames, seed);
+        double seconds = (System.nanoTime() - start) / NANOSECONDS_IN_A_SECOND;
+        executorService.shutdown();
+
+        System.out.println(String.format("%d games, %d deals in %.1f s with %s on %d threads, seed %d",
+                statistics.getNumberOfGames(), statistics.getNumberOfDeals(), seconds, strategyName, threads, seed));
+        System.out.println(String.format("%.1f games/s, %.1f deals/s", statistics.getNumberOfGames() / seconds,
+                statistics.getNumberOfDeals() / seconds));
+        printNegatives(statistics);
+        printPositives(statistics);
+    }
+
+    private static LongFunction<PlayingStrategy> strategyFactoryOf(String strategyName) {
+        if ("random".equals(strategyName)) {
+            return seed -> new RandomStrategy(new SplittableRandom(seed));
+        } else if ("greedy".equals(strategyName)) {
+            return seed -> new GreedyStrategy();
+        } else if ("bot".equals(strategyName)) {
+            return seed -> new MonteCarloBot(Runnable::run, 1, BOT_TIME_BUDGET_IN_MILLISECONDS,
+                    BOT_MAXIMUM_NUMBER_OF_SAMPLES, seed);
+        }
+        throw new IllegalArgumentException("Unknown strategy --" + strategyName + "--. Use random, greedy or bot.");
+    }
+
+    private static void printNegatives(SimulationStatistics statistics) {
+        System.out.println();
+        System.out.println(String.format("%-10s %10s %16s %16s", "negative", "deals", "chooser points", "chooser score"));
+        for (NegativeRulesetsEnum negative : NegativeRulesetsEnum.values()) {
+            System.out.println(String.format("%-10s %10d %16.2f %16.1f", negative, statistics.getNumberOfDeals(negative),
+                    statistics.getAveragePointsOfChooser(negative), statistics.getAverageScoreOfChooser(negative)));
+        }
+    }
+
+    private static void printPositives(SimulationStatistics statistics) {
+        System.out.println();
+        System.out.println(String.format("positive: %d deals, chooser score %.1f", statistics.getNumberOfPositiveDeals(),
+                statistics.getAveragePositiveScoreOfChooser()));
+        System.out.println(String.format("%-10s %10s %10s", "tricks", "deals", "share"));
+        long[] dealsByTricks = statistics.getPositiveDealsByTricksOfChooser();
+        long positiveDeals = Math.max(1, statistics.getNumberOfPositiveDeals());
+        for (int tricks = 0; tricks < dealsByTricks.length; tricks++) {
+            System.out.println(String.format("%-10d %10d %9.1f%%", tricks, dealsByTricks[tricks],
+                    100.0 * dealsByTricks[tricks] / positiveDeals));
+        }
+    }
+
+}
@@ -2,8 +2,14 @@ package br.com.sbk.sbking.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -25,20 +31,20 @@ public class CardTest {
     public static void setup() {
         diamonds = Suit.DIAMONDS;
         two = Rank.TWO;
-        twoOfDiamonds = new Card(diamonds, two);
+        twoOfDiamonds = Card.of(diamonds, two);
         clubs = Suit.CLUBS;
         three = Rank.THREE;
-        threeOfClubs = new Card(clubs, three);
-        jackOfClubs = new Card(Suit.CLUBS, Rank.JACK);
-        queenOfHearts = new Card(Suit.HEARTS, Rank.QUEEN);
-        queenOfDiamonds = new Card(Suit.DIAMONDS, Rank.QUEEN);
-        kingOfDiamonds = new Card(Suit.DIAMONDS, Rank.KING);
-        kingOfHearts = new Card(Suit.HEARTS, Rank.KING);
+        threeOfClubs = Card.of(clubs, three);
+        jackOfClubs = Card.of(Suit.CLUBS, Rank.JACK);
+        queenOfHearts = Card.of(Suit.HEARTS, Rank.QUEEN);
+        queenOfDiamonds = Card.of(Suit.DIAMONDS, Rank.QUEEN);
+        kingOfDiamonds = Card.of(Suit.DIAMONDS, Rank.KING);
+        kingOfHearts = Card.of(Suit.HEARTS, Rank.KING);
     }
 
     @Test
     public void shouldConstructACardWithASuitAndARank() {
-        twoOfDiamonds = new Card(diamonds, two);
+        twoOfDiamonds = Card.of(diamonds, two);
     }
 
     @Test
@@ -101,4 +107,39 @@ public class CardTest {
         assertEquals(threeOfClubsString, threeOfClubs.toString());
     }
 
+    @Test
+    public void shouldReturnTheSameInstanceForTheSameSuitAndRank() {
+        assertSame(kingOfHearts, Card.of(Suit.HEARTS, Rank.KING));
+        assertSame(kingOfHearts, Card.byIndex(kingOfHearts.getIndex()));
+    }
+
+    @Test
+    public void shouldIndexEveryCardOnce() {
+        for (int index = 0; index < Card.NUMBER_OF_CARDS; index++) {
+            assertEquals(index, Card.byIndex(index).getIndex());
+        }
+        assertEquals(0, twoOfDiamonds.getIndex());
+        assertEquals(Card.NUMBER_OF_CARDS - 1, Card.of(Suit.SPADES, Rank.ACE).getIndex());
+    }
+
+    @Test
+    public void shouldBeTheSameInstanceAfterDeserialization() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(queenOfHearts);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(queenOfHearts, in.readObject());
+        }
+    }
+
+    @Test
+    public void shouldGetHighCardPoints() {
+        assertEquals(4, Card.of(Suit.SPADES, Rank.ACE).getPoints());
+        assertEquals(3, kingOfDiamonds.getPoints());
+        assertEquals(2, queenOfHearts.getPoints());
+        assertEquals(1, jackOfClubs.getPoints());
+        assertEquals(0, threeOfClubs.getPoints());
+    }
+
 }
@@ -8,12 +8,18 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.Test;
 
 import br.com.sbk.sbking.core.exceptions.DoesNotFollowSuitException;
+import br.com.sbk.sbking.core.exceptions.NoCardToUnplayException;
 import br.com.sbk.sbking.core.exceptions.PlayedCardInAnotherPlayersTurnException;
 import br.com.sbk.sbking.core.exceptions.PlayedHeartsWhenProhibitedException;
 import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeHeartsRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveNoTrumpsRuleset;
 
 public class DealTest {
 
@@ -101,7 +107,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
 
         when(board.getDealer()).thenReturn(dealer);
         when(board.getHandOf(currentPlayer)).thenReturn(handOfCurrentPlayer);
@@ -118,14 +124,13 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.HEARTS, Rank.TWO);
 
         when(board.getDealer()).thenReturn(dealer);
         when(board.getHandOf(currentPlayer)).thenReturn(handOfCurrentPlayer);
         when(handOfCurrentPlayer.containsCard(card)).thenReturn(true);
 
         when(ruleset.prohibitsHeartsUntilOnlySuitLeft()).thenReturn(true);
-        when(card.isHeart()).thenReturn(true);
         when(handOfCurrentPlayer.onlyHasHearts()).thenReturn(false);
 
         Deal deal = new Deal(board, ruleset);
@@ -138,7 +143,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
 
         when(board.getDealer()).thenReturn(currentPlayer);
         when(board.getHandOf(any(Direction.class))).thenReturn(handOfCurrentPlayer);
@@ -158,7 +163,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
 
         when(board.getDealer()).thenReturn(currentPlayer);
         when(board.getHandOf(any(Direction.class))).thenReturn(handOfCurrentPlayer);
@@ -179,7 +184,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
 
         when(board.getDealer()).thenReturn(currentPlayer);
         when(board.getHandOf(any(Direction.class))).thenReturn(handOfCurrentPlayer);
@@ -199,7 +204,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
         int numberOfCardsInTheTrick;
 
         when(board.getDealer()).thenReturn(currentPlayer);
@@ -222,7 +227,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
 
         when(board.getDealer()).thenReturn(dealer);
         when(board.getHandOf(any(Direction.class))).thenReturn(handOfCurrentPlayer);
@@ -241,7 +246,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
 
         when(board.getDealer()).thenReturn(currentPlayer);
         when(board.getHandOf(any(Direction.class))).thenReturn(handOfCurrentPlayer);
@@ -268,7 +273,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
         int trickPoints = 1;
 
         when(board.getDealer()).thenReturn(currentPlayer);
@@ -297,7 +302,7 @@ public class DealTest {
         Hand handOfCurrentPlayer = mock(Hand.class);
         Board board = mock(Board.class);
         Ruleset ruleset = mock(Ruleset.class);
-        Card card = mock(Card.class);
+        Card card = Card.of(Suit.CLUBS, Rank.TWO);
         int noCompletedTricks = 0;
         int oneCompletedTricks = noCompletedTricks + 1;
 
@@ -320,4 +325,114 @@ public class DealTest {
 
     }
 
+    private static final Card ACE_OF_HEARTS = Card.of(Suit.HEARTS, Rank.ACE);
+    private static final Card KING_OF_HEARTS = Card.of(Suit.HEARTS, Rank.KING);
+    private static final Card TWO_OF_HEARTS = Card.of(Suit.HEARTS, Rank.TWO);
+    private static final Card TWO_OF_CLUBS = Card.of(Suit.CLUBS, Rank.TWO);
+    private static final Card NINE_OF_CLUBS = Card.of(Suit.CLUBS, Rank.NINE);
+    private static final Card THREE_OF_SPADES = Card.of(Suit.SPADES, Rank.THREE);
+    private static final Card FIVE_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.FIVE);
+    private static final Card SIX_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.SIX);
+
+    private Board createTwoCardBoard() {
+        Map<Direction, Hand> hands = new HashMap<Direction, Hand>();
+        hands.put(Direction.SOUTH, createHand(ACE_OF_HEARTS, TWO_OF_CLUBS));
+        hands.put(Direction.WEST, createHand(KING_OF_HEARTS, THREE_OF_SPADES));
+        hands.put(Direction.NORTH, createHand(FIVE_OF_DIAMONDS, SIX_OF_DIAMONDS));
+        hands.put(Direction.EAST, createHand(TWO_OF_HEARTS, NINE_OF_CLUBS));
+        return new Board(hands, Direction.NORTH);
+    }
+
+    private Hand createHand(Card... cards) {
+        Hand hand = new Hand();
+        for (Card card : cards) {
+            hand.addCard(card);
+        }
+        return hand;
+    }
+
+    private long maskOf(Card... cards) {
+        long mask = 0;
+        for (Card card : cards) {
+            mask |= 1L << card.getIndex();
+        }
+        return mask;
+    }
+
+    @Test
+    public void legalMovesShouldBeTheWholeHandWhenLeading() {
+        Deal deal = new Deal(createTwoCardBoard(), new PositiveNoTrumpsRuleset());
+
+        assertEquals(Direction.SOUTH, deal.getCurrentPlayer());
+        assertEquals(maskOf(ACE_OF_HEARTS, TWO_OF_CLUBS), deal.legalMoves());
+    }
+
+    @Test
+    public void legalMovesShouldNotLeadHeartsWhenRulesetProhibitsIt() {
+        Deal deal = new Deal(createTwoCardBoard(), new NegativeHeartsRuleset());
+
+        assertEquals(maskOf(TWO_OF_CLUBS), deal.legalMoves());
+        assertFalse(deal.isLegalMove(ACE_OF_HEARTS));
+    }
+
+    @Test
+    public void legalMovesShouldFollowSuitWhenPossible() {
+        Deal deal = new Deal(createTwoCardBoard(), new PositiveNoTrumpsRuleset());
+
+        deal.playCard(TWO_OF_CLUBS);
+        assertEquals(maskOf(KING_OF_HEARTS, THREE_OF_SPADES), deal.legalMoves());
+        deal.playCard(THREE_OF_SPADES);
+        assertEquals(maskOf(FIVE_OF_DIAMONDS, SIX_OF_DIAMONDS), deal.legalMoves());
+        deal.playCard(FIVE_OF_DIAMONDS);
+        assertEquals(maskOf(NINE_OF_CLUBS), deal.legalMoves());
+        assertTrue(deal.isLegalMove(NINE_OF_CLUBS));
+    }
+
+    @Test
+    public void unplayShouldUndoACompletedTrick() {
+        Deal deal = new Deal(createTwoCardBoard(), new PositiveNoTrumpsRuleset());
+        Deal untouchedDeal = new Deal(createTwoCardBoard(), new PositiveNoTrumpsRuleset());
+
+        deal.play(TWO_OF_CLUBS);
+        deal.play(THREE_OF_SPADES);
+        deal.play(FIVE_OF_DIAMONDS);
+        deal.play(NINE_OF_CLUBS);
+        assertEquals(Direction.EAST, deal.getCurrentPlayer());
+        assertEquals(1, deal.getEastWestPoints());
+        assertEquals(1, deal.getCompletedTricks());
+
+        deal.unplay();
+        assertEquals(Direction.EAST, deal.getCurrentPlayer());
+        assertEquals(0, deal.getEastWestPoints());
+        assertEquals(0, deal.getCompletedTricks());
+        assertTrue(deal.getHandOf(Direction.EAST).containsCard(NINE_OF_CLUBS));
+
+        deal.unplay();
+        deal.unplay();
+        deal.unplay();
+        assertEquals(untouchedDeal, deal);
+        assertTrue(deal.getCurrentTrick().isEmpty());
+    }
+
+    @Test
+    public void playShouldReuseTheTricksTakenBackByUnplay() {
+        Deal deal = new Deal(createTwoCardBoard(), new PositiveNoTrumpsRuleset());
+
+        deal.play(TWO_OF_CLUBS);
+        Trick firstTrick = deal.getCurrentTrick();
+        deal.unplay();
+        deal.play(ACE_OF_HEARTS);
+
+        assertTrue(firstTrick == deal.getCurrentTrick());
+        assertEquals(1, deal.getTricks().size());
+        assertEquals(ACE_OF_HEARTS, deal.getCurrentTrick().getCard(0));
+    }
+
+    @Test(expected = NoCardToUnplayException.class)
+    public void unplayShouldThrowExceptionWhenNoCardWasPlayed() {
+        Deal deal = new Deal(createTwoCardBoard(), new PositiveNoTrumpsRuleset());
+
+        deal.unplay();
+    }
+
 }
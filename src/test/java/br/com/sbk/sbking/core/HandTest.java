@@ -2,20 +2,24 @@ package br.com.sbk.sbking.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collections;
 
 import org.junit.Test;
-import org.mockito.Mockito;
 
 public class HandTest {
 
+    private final Card aceOfSpades = Card.of(Suit.SPADES, Rank.ACE);
+    private final Card kingOfSpades = Card.of(Suit.SPADES, Rank.KING);
+    private final Card queenOfSpades = Card.of(Suit.SPADES, Rank.QUEEN);
+    private final Card aceOfHearts = Card.of(Suit.HEARTS, Rank.ACE);
+    private final Card kingOfHearts = Card.of(Suit.HEARTS, Rank.KING);
+    private final Card jackOfClubs = Card.of(Suit.CLUBS, Rank.JACK);
+    private final Card twoOfDiamonds = Card.of(Suit.DIAMONDS, Rank.TWO);
+
     @Test
     public void shouldBeConstructedEmpty() {
         Hand hand = new Hand();
@@ -23,71 +27,55 @@ public class HandTest {
         assertEquals(0, hand.size());
     }
 
+    @Test
+    public void shouldBeConstructedWithTheCardsOfAMask() {
+        long cardMask = (1L << aceOfSpades.getIndex()) | (1L << twoOfDiamonds.getIndex());
+
+        Hand hand = new Hand(cardMask);
+
+        assertEquals(2, hand.size());
+        assertTrue(hand.containsCard(aceOfSpades));
+        assertTrue(hand.containsCard(twoOfDiamonds));
+        assertEquals(4, Hand.hcpOf(cardMask));
+        assertEquals(0, Hand.shortestSuitLengthOf(cardMask));
+    }
+
     @Test
     public void shouldAddAndGetACard() {
         Hand hand = new Hand();
 
-        Card card = Mockito.mock(Card.class);
-        hand.addCard(card);
+        hand.addCard(kingOfHearts);
 
         assertEquals(1, hand.size());
-        assertEquals(card, hand.get(0));
+        assertEquals(kingOfHearts, hand.get(0));
     }
 
     @Test
     public void shouldRemoveOnlyTheCorrectCard() {
         Hand hand = new Hand();
 
-        Card firstCard = Mockito.mock(Card.class);
-        Card secondCard = Mockito.mock(Card.class);
-        hand.addCard(firstCard);
-        hand.addCard(secondCard);
+        hand.addCard(aceOfSpades);
+        hand.addCard(twoOfDiamonds);
 
-        hand.removeCard(firstCard);
+        hand.removeCard(aceOfSpades);
 
         assertEquals(1, hand.size());
-        assertEquals(secondCard, hand.get(0));
+        assertEquals(twoOfDiamonds, hand.get(0));
     }
 
     @Test
-    public void shouldSortUsingCardInsideHandRules() {
-        // The rules should be these:
+    public void shouldKeepTheCardsInsideHandOrder() {
         // The cards are ordered by suit, first Spades, then Hearts, then Clubs, then
         // Diamonds
         // Then, inside each suit, the cards are ordered by rank, so
         // Ace first, then King, ... , then Three, then Two
-
-        Card kingOfSpades = mock(Card.class);
-        Card queenOfSpades = mock(Card.class);
-        Card aceOfHearts = mock(Card.class);
-        Card kingOfHearts = mock(Card.class);
-
-        when(kingOfSpades.compareSuit(queenOfSpades)).thenReturn(0);
-        when(kingOfSpades.compareSuit(aceOfHearts)).thenReturn(1);
-        when(kingOfSpades.compareSuit(kingOfHearts)).thenReturn(1);
-
-        when(queenOfSpades.compareSuit(kingOfSpades)).thenReturn(0);
-        when(queenOfSpades.compareSuit(aceOfHearts)).thenReturn(1);
-        when(queenOfSpades.compareSuit(kingOfHearts)).thenReturn(1);
-
-        when(aceOfHearts.compareSuit(kingOfSpades)).thenReturn(-1);
-        when(aceOfHearts.compareSuit(queenOfSpades)).thenReturn(-1);
-        when(aceOfHearts.compareSuit(kingOfHearts)).thenReturn(0);
-
-        when(kingOfHearts.compareSuit(kingOfSpades)).thenReturn(-1);
-        when(kingOfHearts.compareSuit(queenOfSpades)).thenReturn(-1);
-        when(kingOfHearts.compareSuit(aceOfHearts)).thenReturn(0);
-
-        when(kingOfSpades.compareRank(queenOfSpades)).thenReturn(1);
-        when(queenOfSpades.compareRank(kingOfSpades)).thenReturn(-1);
-        when(aceOfHearts.compareRank(kingOfHearts)).thenReturn(1);
-        when(kingOfHearts.compareRank(aceOfHearts)).thenReturn(-1);
-
         ArrayList<Card> listOfCards = new ArrayList<Card>();
         listOfCards.add(kingOfSpades);
         listOfCards.add(queenOfSpades);
         listOfCards.add(aceOfHearts);
         listOfCards.add(kingOfHearts);
+        listOfCards.add(jackOfClubs);
+        listOfCards.add(twoOfDiamonds);
         Collections.shuffle(listOfCards);
 
         Hand hand = new Hand();
@@ -101,61 +89,36 @@ public class HandTest {
         assertEquals(queenOfSpades, hand.get(1));
         assertEquals(aceOfHearts, hand.get(2));
         assertEquals(kingOfHearts, hand.get(3));
-
-        verify(kingOfSpades, never()).compareRank(aceOfHearts);
-        verify(kingOfSpades, never()).compareRank(kingOfHearts);
-
-        verify(queenOfSpades, never()).compareRank(aceOfHearts);
-        verify(queenOfSpades, never()).compareRank(kingOfHearts);
-
-        verify(aceOfHearts, never()).compareRank(kingOfSpades);
-        verify(aceOfHearts, never()).compareRank(queenOfSpades);
-
-        verify(kingOfHearts, never()).compareRank(kingOfSpades);
-        verify(kingOfHearts, never()).compareRank(queenOfSpades);
+        assertEquals(jackOfClubs, hand.get(4));
+        assertEquals(twoOfDiamonds, hand.get(5));
     }
 
     @Test
     public void shouldReturnIfItContainsACard() {
         Hand hand = new Hand();
 
-        Card firstCard = Mockito.mock(Card.class);
-        Card secondCard = Mockito.mock(Card.class);
-        hand.addCard(firstCard);
+        hand.addCard(aceOfSpades);
 
-        assertTrue(hand.containsCard(firstCard));
-        assertFalse(hand.containsCard(secondCard));
+        assertTrue(hand.containsCard(aceOfSpades));
+        assertTrue(hand.containsCard(Card.of(Suit.SPADES, Rank.ACE)));
+        assertFalse(hand.containsCard(kingOfSpades));
     }
 
     @Test
     public void shouldReturnIfItHasASuit() {
-        Suit spades = Suit.SPADES;
-        Suit hearts = Suit.HEARTS;
-        Suit clubs = Suit.CLUBS;
-        Suit diamonds = Suit.DIAMONDS;
-
-        Card aceOfSpades = mock(Card.class);
-        Card kingOfHearts = mock(Card.class);
-        when(aceOfSpades.getSuit()).thenReturn(spades);
-        when(kingOfHearts.getSuit()).thenReturn(hearts);
-
         Hand hand = new Hand();
 
         hand.addCard(aceOfSpades);
         hand.addCard(kingOfHearts);
 
-        assertTrue(hand.hasSuit(spades));
-        assertTrue(hand.hasSuit(hearts));
-        assertFalse(hand.hasSuit(clubs));
-        assertFalse(hand.hasSuit(diamonds));
+        assertTrue(hand.hasSuit(Suit.SPADES));
+        assertTrue(hand.hasSuit(Suit.HEARTS));
+        assertFalse(hand.hasSuit(Suit.CLUBS));
+        assertFalse(hand.hasSuit(Suit.DIAMONDS));
     }
 
     @Test
     public void shouldReturnIfItOnlyHasHearts() {
-        Card aceOfSpades = mock(Card.class);
-        when(aceOfSpades.isHeart()).thenReturn(false);
-        Card kingOfHearts = mock(Card.class);
-        when(kingOfHearts.isHeart()).thenReturn(true);
         Hand hand = new Hand();
         hand.addCard(kingOfHearts);
         assertTrue(hand.onlyHasHearts());
@@ -165,18 +128,97 @@ public class HandTest {
 
     @Test
     public void shouldTransformToStringByPipeSeparatingCards() {
-        Card aceOfSpades = mock(Card.class);
-        String aceOfSpadesString = "sA";
-        when(aceOfSpades.toString()).thenReturn(aceOfSpadesString);
-        Card kingOfHearts = mock(Card.class);
-        String kingOfHeartsString = "hK";
-        when(kingOfHearts.toString()).thenReturn(kingOfHeartsString);
         Hand hand = new Hand();
-        hand.addCard(aceOfSpades);
         hand.addCard(kingOfHearts);
+        hand.addCard(aceOfSpades);
         String finalString = "|sA|hK|";
 
         assertEquals(finalString, hand.toString());
     }
 
+    @Test
+    public void shouldCountHiddenCardsWithoutShowingThem() {
+        Hand hand = new Hand();
+        hand.addCard(jackOfClubs);
+        hand.addHiddenCards(2);
+
+        assertEquals(3, hand.size());
+        assertEquals(2, hand.getNumberOfHiddenCards());
+        assertEquals(jackOfClubs, hand.get(0));
+        assertNull(hand.get(1));
+        assertNull(hand.get(2));
+        assertEquals("|cJ|?|?|", hand.toString());
+    }
+
+    @Test
+    public void shouldRevealAHiddenCardWhenItIsRemoved() {
+        Hand hand = new Hand();
+        hand.addCard(jackOfClubs);
+        hand.addHiddenCards(1);
+
+        assertTrue(hand.containsCard(aceOfSpades));
+        hand.removeCard(aceOfSpades);
+
+        assertEquals(1, hand.size());
+        assertEquals(0, hand.getNumberOfHiddenCards());
+        assertFalse(hand.containsCard(aceOfSpades));
+    }
+
+    @Test
+    public void shouldCountHighCardPoints() {
+        Hand hand = new Hand();
+        hand.addCard(aceOfSpades);
+        hand.addCard(kingOfSpades);
+        hand.addCard(queenOfSpades);
+        hand.addCard(jackOfClubs);
+        hand.addCard(twoOfDiamonds);
+
+        assertEquals(10, hand.getHCP());
+    }
+
+    @Test
+    public void shouldCountTheCardsOfEachSuit() {
+        Hand hand = new Hand();
+        hand.addCard(aceOfSpades);
+        hand.addCard(kingOfSpades);
+        hand.addCard(aceOfHearts);
+
+        assertEquals(2, hand.getNumberOfCardsOf(Suit.SPADES));
+        assertEquals(1, hand.getNumberOfCardsOf(Suit.HEARTS));
+        assertEquals(0, hand.getNumberOfCardsOf(Suit.CLUBS));
+        assertEquals(0, hand.getShortestSuitLength());
+
+        hand.addCard(jackOfClubs);
+        hand.addCard(twoOfDiamonds);
+
+        assertEquals(1, hand.getShortestSuitLength());
+    }
+
+    @Test
+    public void shouldRemoveOneRandomCardThatWasInTheHand() {
+        Hand hand = new Hand();
+        hand.addCard(aceOfSpades);
+        hand.addCard(twoOfDiamonds);
+
+        Card removedCard = hand.removeOneRandomCard();
+
+        assertEquals(1, hand.size());
+        assertTrue(removedCard.equals(aceOfSpades) || removedCard.equals(twoOfDiamonds));
+        assertFalse(hand.containsCard(removedCard));
+        assertNull(new Hand().removeOneRandomCard());
+    }
+
+    @Test
+    public void shouldBeEqualToAHandWithTheSameCards() {
+        Hand hand = new Hand();
+        hand.addCard(aceOfSpades);
+        hand.addCard(twoOfDiamonds);
+        Hand sameHand = new Hand();
+        sameHand.addCard(twoOfDiamonds);
+        sameHand.addCard(aceOfSpades);
+
+        assertEquals(hand, sameHand);
+        assertEquals(hand.hashCode(), sameHand.hashCode());
+    }
+
 }
@@ -1,9 +1,11 @@
 package br.com.sbk.sbking.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 
 import org.junit.Test;
@@ -54,4 +56,14 @@ public class ShuffledDeckTest {
         shuffledDeck.dealCard();
     }
 
+    @Test
+    public void constructorShouldShuffleTheSameWayWithTheSameSeed() {
+        ShuffledDeck firstShuffledDeck = new ShuffledDeck(new Random(42));
+        ShuffledDeck secondShuffledDeck = new ShuffledDeck(new Random(42));
+
+        for (int i = 0; i < DECK_SIZE; i++) {
+            assertEquals(firstShuffledDeck.dealCard(), secondShuffledDeck.dealCard());
+        }
+    }
+
 }
@@ -3,21 +3,10 @@ package br.com.sbk.sbking.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Mockito.atLeast;
-import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.only;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
-import static org.mockito.Mockito.verifyZeroInteractions;
-import static org.mockito.Mockito.when;
 
 import java.util.List;
 
 import org.junit.Test;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Mockito;
 
 import br.com.sbk.sbking.core.exceptions.TrickAlreadyFullException;
 
@@ -25,26 +14,30 @@ public class TrickTest {
 
     private static final int COMPLETE_TRICK_NUMBER_OF_CARDS = 4;
 
+    private final Card jackOfClubs = Card.of(Suit.CLUBS, Rank.JACK);
+    private final Card kingOfClubs = Card.of(Suit.CLUBS, Rank.KING);
+    private final Card queenOfHearts = Card.of(Suit.HEARTS, Rank.QUEEN);
+    private final Card kingOfHearts = Card.of(Suit.HEARTS, Rank.KING);
+    private final Card aceOfSpades = Card.of(Suit.SPADES, Rank.ACE);
+    private final Card kingOfDiamonds = Card.of(Suit.DIAMONDS, Rank.KING);
+
     @Test
     public void shouldBePossibleToAddCardsUpToAMaximum() {
         Trick trick = new Trick(Direction.NORTH);
-        Card card = mock(Card.class);
         for (int i = 0; i < COMPLETE_TRICK_NUMBER_OF_CARDS; i++) {
-            trick.addCard(card);
+            trick.addCard(jackOfClubs);
         }
 
-        verifyZeroInteractions(card);
+        assertEquals(COMPLETE_TRICK_NUMBER_OF_CARDS, trick.getCards().size());
     }
 
     @Test(expected = TrickAlreadyFullException.class)
     public void shouldThrowExceptionWhenAddingMoreCardsThanTheMaximum() {
         Trick trick = new Trick(Direction.NORTH);
-        Card card = mock(Card.class);
         for (int i = 0; i < COMPLETE_TRICK_NUMBER_OF_CARDS; i++) {
-            trick.addCard(card);
+            trick.addCard(jackOfClubs);
         }
-        trick.addCard(card);
-        verifyZeroInteractions(card);
+        trick.addCard(jackOfClubs);
     }
 
     @Test
@@ -56,12 +49,11 @@ public class TrickTest {
     @Test
     public void shouldReturnIfItIsComplete() {
         Trick trick = new Trick(Direction.NORTH);
-        Card card = mock(Card.class);
         for (int i = 0; i < COMPLETE_TRICK_NUMBER_OF_CARDS; i++) {
-            trick.addCard(card);
+            assertFalse(trick.isComplete());
+            trick.addCard(jackOfClubs);
         }
         assertTrue(trick.isComplete());
-        verifyZeroInteractions(card);
     }
 
     @Test
@@ -74,14 +66,9 @@ public class TrickTest {
     @Test
     public void shouldGetLeadSuitFromFirstCardAdded() {
         Trick trick = new Trick(Direction.NORTH);
-        Suit clubs = Suit.CLUBS;
-        Card cardOfClubs = mock(Card.class);
-        when(cardOfClubs.getSuit()).thenReturn(clubs);
-        Card anyOtherCard = mock(Card.class);
-        trick.addCard(cardOfClubs);
-        trick.addCard(anyOtherCard);
-        assertEquals(clubs, trick.getLeadSuit());
-        verify(cardOfClubs, only()).getSuit();
+        trick.addCard(jackOfClubs);
+        trick.addCard(queenOfHearts);
+        assertEquals(Suit.CLUBS, trick.getLeadSuit());
     }
 
     @Test
@@ -89,25 +76,6 @@ public class TrickTest {
         Direction leader = Direction.SOUTH;
         Trick trick = new Trick(leader);
 
-        Card jackOfClubs = mock(Card.class);
-        when(jackOfClubs.getRank()).thenReturn(Rank.JACK);
-        when(jackOfClubs.getSuit()).thenReturn(Suit.CLUBS);
-
-        Card queenOfHearts = mock(Card.class);
-        when(queenOfHearts.getRank()).thenReturn(Rank.QUEEN);
-        when(queenOfHearts.getSuit()).thenReturn(Suit.HEARTS);
-
-        Card aceOfSpades = mock(Card.class);
-        when(aceOfSpades.getRank()).thenReturn(Rank.ACE);
-        when(aceOfSpades.getSuit()).thenReturn(Suit.SPADES);
-
-        Card kingOfClubs = mock(Card.class);
-        when(kingOfClubs.getRank()).thenReturn(Rank.KING);
-        when(kingOfClubs.getSuit()).thenReturn(Suit.CLUBS);
-
-        when(jackOfClubs.compareRank(kingOfClubs)).thenReturn(-1);
-        when(kingOfClubs.compareRank(jackOfClubs)).thenReturn(1);
-
         trick.addCard(jackOfClubs);
         trick.addCard(queenOfHearts);
         trick.addCard(aceOfSpades);
@@ -115,29 +83,6 @@ public class TrickTest {
 
         Direction winner = Direction.EAST;
         assertEquals(winner, trick.getWinnerWithoutTrumpSuit());
-
-        verify(jackOfClubs, atLeastOnce()).getSuit();
-        verify(queenOfHearts, atLeastOnce()).getSuit();
-        verify(aceOfSpades, atLeastOnce()).getSuit();
-        verify(kingOfClubs, atLeastOnce()).getSuit();
-
-        // Java's Treeset compares the Card with itself!
-        // That is why if we do verifications like
-        // verify(jackOfClubs, atLeastOnce()).compareRank(kingOfClubs);
-        // Then the verifyNoMoreInteractions(jackOfClubs) would break.
-        // We probably should not care about implementation, but...
-
-        verifyNoMoreInteractions(queenOfHearts);
-        verifyNoMoreInteractions(aceOfSpades);
-
-        ArgumentCaptor<Card> cardsJackOfClubsComparedTo = ArgumentCaptor.forClass(Card.class);
-        ArgumentCaptor<Card> cardsKingOfClubsComparedTo = ArgumentCaptor.forClass(Card.class);
-        Mockito.verify(jackOfClubs).compareRank(cardsJackOfClubsComparedTo.capture());
-        Mockito.verify(kingOfClubs).compareRank(cardsKingOfClubsComparedTo.capture());
-        // There must be a comparison between Jack of Clubs and King of Clubs at some
-        // point
-        assertTrue(cardsJackOfClubsComparedTo.getAllValues().contains(kingOfClubs)
-                || cardsKingOfClubsComparedTo.getAllValues().contains(jackOfClubs));
     }
 
     @Test
@@ -145,25 +90,6 @@ public class TrickTest {
         Direction leader = Direction.SOUTH;
         Trick trick = new Trick(leader);
 
-        Card jackOfClubs = mock(Card.class);
-        when(jackOfClubs.getRank()).thenReturn(Rank.JACK);
-        when(jackOfClubs.getSuit()).thenReturn(Suit.CLUBS);
-
-        Card queenOfHearts = mock(Card.class);
-        when(queenOfHearts.getRank()).thenReturn(Rank.QUEEN);
-        when(queenOfHearts.getSuit()).thenReturn(Suit.HEARTS);
-
-        Card aceOfSpades = mock(Card.class);
-        when(aceOfSpades.getRank()).thenReturn(Rank.ACE);
-        when(aceOfSpades.getSuit()).thenReturn(Suit.SPADES);
-
-        Card kingOfClubs = mock(Card.class);
-        when(kingOfClubs.getRank()).thenReturn(Rank.KING);
-        when(kingOfClubs.getSuit()).thenReturn(Suit.CLUBS);
-
-        when(jackOfClubs.compareRank(kingOfClubs)).thenReturn(-1);
-        when(kingOfClubs.compareRank(jackOfClubs)).thenReturn(1);
-
         trick.addCard(jackOfClubs);
         trick.addCard(queenOfHearts);
         trick.addCard(aceOfSpades);
@@ -177,55 +103,58 @@ public class TrickTest {
         assertEquals(winnerWithClubsAsTrump, trick.getWinnerWithTrumpSuit(Suit.CLUBS));
         assertEquals(winnerWithHeartsAsTrump, trick.getWinnerWithTrumpSuit(Suit.HEARTS));
         assertEquals(winnerWithSpadesAsTrump, trick.getWinnerWithTrumpSuit(Suit.SPADES));
+    }
 
-        verify(jackOfClubs, atLeastOnce()).getSuit();
-        verify(queenOfHearts, atLeastOnce()).getSuit();
-        verify(aceOfSpades, atLeastOnce()).getSuit();
-        verify(kingOfClubs, atLeastOnce()).getSuit();
-
-        verify(jackOfClubs, never()).compareRank(queenOfHearts);
-        verify(jackOfClubs, never()).compareRank(aceOfSpades);
+    @Test
+    public void shouldGetWinnerOfAnIncompleteTrick() {
+        Trick trick = new Trick(Direction.WEST);
 
-        verify(queenOfHearts, never()).compareRank(jackOfClubs);
-        verify(queenOfHearts, never()).compareRank(aceOfSpades);
-        verify(queenOfHearts, never()).compareRank(kingOfClubs);
+        trick.addCard(queenOfHearts);
+        assertEquals(Direction.WEST, trick.getWinnerWithoutTrumpSuit());
+        trick.addCard(kingOfHearts);
+        trick.addCard(kingOfClubs);
 
-        verify(aceOfSpades, never()).compareRank(jackOfClubs);
-        verify(aceOfSpades, never()).compareRank(queenOfHearts);
-        verify(aceOfSpades, never()).compareRank(kingOfClubs);
+        assertEquals(Direction.NORTH, trick.getWinnerWithoutTrumpSuit());
+        assertEquals(Direction.EAST, trick.getWinnerWithTrumpSuit(Suit.CLUBS));
+    }
 
-        verify(kingOfClubs, never()).compareRank(queenOfHearts);
-        verify(kingOfClubs, never()).compareRank(aceOfSpades);
+    @Test
+    public void shouldGetWinnerAmongTrumpsOverTheLeadSuit() {
+        Trick trick = new Trick(Direction.NORTH);
 
-        ArgumentCaptor<Card> cardsJackOfClubsComparedTo = ArgumentCaptor.forClass(Card.class);
-        ArgumentCaptor<Card> cardsKingOfClubsComparedTo = ArgumentCaptor.forClass(Card.class);
-        Mockito.verify(jackOfClubs, atLeast(0)).compareRank(cardsJackOfClubsComparedTo.capture());
-        Mockito.verify(kingOfClubs, atLeast(0)).compareRank(cardsKingOfClubsComparedTo.capture());
-        // There must be a comparison between Jack of Clubs and King of Clubs at some
-        // point
-        assertTrue(cardsJackOfClubsComparedTo.getAllValues().contains(kingOfClubs)
-                || cardsKingOfClubsComparedTo.getAllValues().contains(jackOfClubs));
+        trick.addCard(kingOfHearts);
+        trick.addCard(jackOfClubs);
+        trick.addCard(queenOfHearts);
+        trick.addCard(kingOfClubs);
 
+        assertEquals(Direction.WEST, trick.getWinnerWithTrumpSuit(Suit.CLUBS));
+        assertEquals(Direction.NORTH, trick.getWinnerWithTrumpSuit(Suit.HEARTS));
     }
 
     @Test
-    public void getListOfCardsShouldReturnTheCorrectList() {
+    public void shouldGetCardsByPosition() {
+        Trick trick = new Trick(Direction.NORTH);
+
+        trick.addCard(jackOfClubs);
+        trick.addCard(queenOfHearts);
+
+        assertEquals(2, trick.getNumberOfCards());
+        assertEquals(jackOfClubs, trick.getCard(0));
+        assertEquals(queenOfHearts, trick.getCard(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldNotGetACardThatWasNotPlayed() {
         Trick trick = new Trick(Direction.NORTH);
-        Card jackOfClubs = mock(Card.class);
-        when(jackOfClubs.getRank()).thenReturn(Rank.JACK);
-        when(jackOfClubs.getSuit()).thenReturn(Suit.CLUBS);
 
-        Card queenOfHearts = mock(Card.class);
-        when(queenOfHearts.getRank()).thenReturn(Rank.QUEEN);
-        when(queenOfHearts.getSuit()).thenReturn(Suit.HEARTS);
+        trick.addCard(jackOfClubs);
 
-        Card aceOfSpades = mock(Card.class);
-        when(aceOfSpades.getRank()).thenReturn(Rank.ACE);
-        when(aceOfSpades.getSuit()).thenReturn(Suit.SPADES);
+        trick.getCard(1);
+    }
 
-        Card kingOfClubs = mock(Card.class);
-        when(kingOfClubs.getRank()).thenReturn(Rank.KING);
-        when(kingOfClubs.getSuit()).thenReturn(Suit.CLUBS);
+    @Test
+    public void getListOfCardsShouldReturnTheCorrectList() {
+        Trick trick = new Trick(Direction.NORTH);
 
         trick.addCard(jackOfClubs);
         trick.addCard(queenOfHearts);
@@ -234,92 +163,43 @@ public class TrickTest {
 
         List<Card> receivedList = trick.getCards();
 
-        verifyZeroInteractions(jackOfClubs);
-        verifyZeroInteractions(queenOfHearts);
-        verifyZeroInteractions(aceOfSpades);
-        verifyZeroInteractions(kingOfClubs);
-
-        assertEquals(jackOfClubs.getRank(), receivedList.get(0).getRank());
-        assertEquals(jackOfClubs.getSuit(), receivedList.get(0).getSuit());
-        assertEquals(queenOfHearts.getRank(), receivedList.get(1).getRank());
-        assertEquals(queenOfHearts.getSuit(), receivedList.get(1).getSuit());
-        assertEquals(aceOfSpades.getRank(), receivedList.get(2).getRank());
-        assertEquals(aceOfSpades.getSuit(), receivedList.get(2).getSuit());
-        assertEquals(kingOfClubs.getRank(), receivedList.get(3).getRank());
-        assertEquals(kingOfClubs.getSuit(), receivedList.get(3).getSuit());
-
+        assertEquals(jackOfClubs, receivedList.get(0));
+        assertEquals(queenOfHearts, receivedList.get(1));
+        assertEquals(aceOfSpades, receivedList.get(2));
+        assertEquals(kingOfClubs, receivedList.get(3));
     }
 
     @Test(expected = UnsupportedOperationException.class)
     public void getListOfCardsShouldReturnAnUnmodifiableList() {
         Trick trick = new Trick(Direction.NORTH);
-        Card jackOfClubs = mock(Card.class);
-        when(jackOfClubs.getRank()).thenReturn(Rank.JACK);
-        when(jackOfClubs.getSuit()).thenReturn(Suit.CLUBS);
         for (int i = 0; i < COMPLETE_TRICK_NUMBER_OF_CARDS; i++) {
             trick.addCard(jackOfClubs);
         }
         List<Card> receivedList = trick.getCards();
-        verifyZeroInteractions(jackOfClubs);
         receivedList.add(0, jackOfClubs);
-
     }
 
     @Test
     public void shouldGetNumberOfMen() {
         Trick trick = new Trick(Direction.NORTH);
 
-        Card jackOfClubs = mock(Card.class);
-        when(jackOfClubs.isMan()).thenReturn(true);
-
-        Card queenOfHearts = mock(Card.class);
-        when(queenOfHearts.isMan()).thenReturn(false);
-
-        Card kingOfDiamonds = mock(Card.class);
-        when(kingOfDiamonds.isMan()).thenReturn(true);
-
-        Card aceOfSpades = mock(Card.class);
-        when(aceOfSpades.isMan()).thenReturn(false);
-
         trick.addCard(jackOfClubs);
         trick.addCard(queenOfHearts);
         trick.addCard(kingOfDiamonds);
         trick.addCard(aceOfSpades);
 
         assertEquals(2, trick.getNumberOfMen());
-
-        verify(jackOfClubs, only()).isMan();
-        verify(queenOfHearts, only()).isMan();
-        verify(kingOfDiamonds, only()).isMan();
-        verify(aceOfSpades, only()).isMan();
     }
 
     @Test
     public void shouldGetNumberOfWomen() {
         Trick trick = new Trick(Direction.NORTH);
 
-        Card jackOfClubs = mock(Card.class);
-        when(jackOfClubs.isWoman()).thenReturn(false);
-
-        Card queenOfHearts = mock(Card.class);
-        when(queenOfHearts.isWoman()).thenReturn(true);
-
-        Card kingOfDiamonds = mock(Card.class);
-        when(kingOfDiamonds.isWoman()).thenReturn(false);
-
-        Card aceOfSpades = mock(Card.class);
-        when(aceOfSpades.isWoman()).thenReturn(false);
-
         trick.addCard(jackOfClubs);
         trick.addCard(queenOfHearts);
         trick.addCard(kingOfDiamonds);
         trick.addCard(aceOfSpades);
         assertEquals(1, trick.getNumberOfWomen());
-
-        verify(jackOfClubs, only()).isWoman();
-        verify(queenOfHearts, only()).isWoman();
-        verify(kingOfDiamonds, only()).isWoman();
-        verify(aceOfSpades, only()).isWoman();
     }
 
     @Test
@@ -334,63 +214,24 @@ public class TrickTest {
     public void shouldReturnIfItHasTheKingOfHearts() {
         Trick trick = new Trick(Direction.NORTH);
 
-        Card jackOfClubs = mock(Card.class);
-        when(jackOfClubs.isKingOfHearts()).thenReturn(false);
-
-        Card queenOfHearts = mock(Card.class);
-        when(queenOfHearts.isKingOfHearts()).thenReturn(false);
-
-        Card kingOfHearts = mock(Card.class);
-        when(kingOfHearts.isKingOfHearts()).thenReturn(true);
-
-        Card aceOfSpades = mock(Card.class);
-        when(aceOfSpades.isKingOfHearts()).thenReturn(false);
-
         trick.addCard(jackOfClubs);
         trick.addCard(queenOfHearts);
         assertFalse(trick.hasKingOfHearts());
         trick.addCard(kingOfHearts);
         trick.addCard(aceOfSpades);
         assertTrue(trick.hasKingOfHearts());
-
-        verify(jackOfClubs, atLeast(0)).isKingOfHearts();
-        verify(queenOfHearts, atLeast(0)).isKingOfHearts();
-        verify(kingOfHearts, atLeast(0)).isKingOfHearts();
-        verify(aceOfSpades, atLeast(0)).isKingOfHearts();
-        verifyNoMoreInteractions(jackOfClubs);
-        verifyNoMoreInteractions(queenOfHearts);
-        verifyNoMoreInteractions(kingOfHearts);
-        verifyNoMoreInteractions(aceOfSpades);
-
     }
 
     @Test
     public void shouldReturnTheNumberOfHeartsCards() {
         Trick trick = new Trick(Direction.NORTH);
 
-        Card jackOfClubs = mock(Card.class);
-        when(jackOfClubs.isHeart()).thenReturn(false);
-
-        Card queenOfHearts = mock(Card.class);
-        when(queenOfHearts.isHeart()).thenReturn(true);
-
-        Card kingOfHearts = mock(Card.class);
-        when(kingOfHearts.isHeart()).thenReturn(true);
-
-        Card aceOfSpades = mock(Card.class);
-        when(aceOfSpades.isHeart()).thenReturn(false);
-
         trick.addCard(jackOfClubs);
         trick.addCard(queenOfHearts);
         trick.addCard(kingOfHearts);
         trick.addCard(aceOfSpades);
 
         assertEquals(2, trick.getNumberOfHeartsCards());
-
-        verify(jackOfClubs, only()).isHeart();
-        verify(queenOfHearts, only()).isHeart();
-        verify(kingOfHearts, only()).isHeart();
-        verify(aceOfSpades, only()).isHeart();
     }
 
 }
@@ -0,0 +1,84 @@
+package br.com.sbk.sbking.core.bot;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Rank;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeTricksRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveNoTrumpsRuleset;
+
+public class GreedyStrategyTest {
+
+    private static final Card ACE_OF_SPADES = Card.of(Suit.SPADES, Rank.ACE);
+    private static final Card KING_OF_SPADES = Card.of(Suit.SPADES, Rank.KING);
+    private static final Card QUEEN_OF_SPADES = Card.of(Suit.SPADES, Rank.QUEEN);
+    private static final Card JACK_OF_SPADES = Card.of(Suit.SPADES, Rank.JACK);
+    private static final Card TWO_OF_SPADES = Card.of(Suit.SPADES, Rank.TWO);
+    private static final Card TWO_OF_HEARTS = Card.of(Suit.HEARTS, Rank.TWO);
+    private static final Card TWO_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.TWO);
+    private static final Card THREE_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.THREE);
+
+    private final GreedyStrategy greedyStrategy = new GreedyStrategy();
+
+    @Test
+    public void shouldWinTheTrickAsCheaplyAsItCanUnderAPositiveRuleset() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(QUEEN_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(ACE_OF_SPADES, KING_OF_SPADES), this.createHand(TWO_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(JACK_OF_SPADES, THREE_OF_DIAMONDS));
+        deal.playCard(QUEEN_OF_SPADES);
+
+        assertEquals(KING_OF_SPADES, this.greedyStrategy.chooseCard(deal));
+    }
+
+    @Test
+    public void shouldPlayLowWhenThePartnerWinsTheTrick() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(JACK_OF_SPADES, THREE_OF_DIAMONDS), this.createHand(KING_OF_SPADES, TWO_OF_SPADES),
+                this.createHand(QUEEN_OF_SPADES, TWO_OF_HEARTS));
+        deal.playCard(ACE_OF_SPADES);
+        deal.playCard(JACK_OF_SPADES);
+
+        assertEquals(TWO_OF_SPADES, this.greedyStrategy.chooseCard(deal));
+    }
+
+    @Test
+    public void shouldPlayTheHighestCardThatLosesUnderANegativeRuleset() {
+        Deal deal = this.createDeal(new NegativeTricksRuleset(), this.createHand(QUEEN_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(ACE_OF_SPADES, JACK_OF_SPADES), this.createHand(TWO_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(KING_OF_SPADES, THREE_OF_DIAMONDS));
+        deal.playCard(QUEEN_OF_SPADES);
+
+        assertEquals(JACK_OF_SPADES, this.greedyStrategy.chooseCard(deal));
+    }
+
+    private Deal createDeal(Ruleset ruleset, Hand north, Hand east, Hand south, Hand west) {
+        Map<Direction, Hand> hands = new HashMap<Direction, Hand>();
+        hands.put(Direction.NORTH, north);
+        hands.put(Direction.EAST, east);
+        hands.put(Direction.SOUTH, south);
+        hands.put(Direction.WEST, west);
+        Deal deal = new Deal(new Board(hands, Direction.NORTH), ruleset);
+        deal.setCurrentPlayer(Direction.NORTH);
+        return deal;
+    }
+
+    private Hand createHand(Card... cards) {
+        Hand hand = new Hand();
+        for (Card card : cards) {
+            hand.addCard(card);
+        }
+        return hand;
+    }
+
+}
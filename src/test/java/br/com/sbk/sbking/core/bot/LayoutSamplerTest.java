@@ -0,0 +1,94 @@
+package br.com.sbk.sbking.core.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Trick;
+import br.com.sbk.sbking.core.dealing.BitmaskDealer;
+import br.com.sbk.sbking.core.dealing.DealConstraint;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeHeartsRuleset;
+
+public class LayoutSamplerTest {
+
+    private static final int NUMBER_OF_SAMPLES = 200;
+    private static final int PLAYED_CARDS = 22;
+
+    private Deal deal;
+    private long playedCards;
+
+    @Before
+    public void playPartOfADeal() {
+        BitmaskDealer dealer = new BitmaskDealer(new SplittableRandom(7));
+        this.deal = new Deal(dealer.dealBoard(Direction.NORTH, DealConstraint.ANY), new NegativeHeartsRuleset());
+        GreedyStrategy greedyStrategy = new GreedyStrategy();
+        for (int played = 0; played < PLAYED_CARDS; played++) {
+            Card card = greedyStrategy.chooseCard(this.deal);
+            this.playedCards |= 1L << card.getIndex();
+            this.deal.playCard(card);
+        }
+    }
+
+    @Test
+    public void shouldKeepTheHandOfThePlayerOnTurnAndTheSizeOfTheOthers() {
+        LayoutSampler sampler = new LayoutSampler(this.deal);
+        SplittableRandom random = new SplittableRandom(1);
+        Direction player = this.deal.getCurrentPlayer();
+
+        for (int sample = 0; sample < NUMBER_OF_SAMPLES; sample++) {
+            long[] hands = sampler.sampleHands(random);
+            long allCards = this.playedCards;
+            for (Direction direction : Direction.values()) {
+                assertEquals(this.deal.getHandOf(direction).size(), Long.bitCount(hands[direction.ordinal()]));
+                assertEquals(0, allCards & hands[direction.ordinal()]);
+                allCards |= hands[direction.ordinal()];
+            }
+            assertEquals(this.deal.getHandOf(player).getCardMask(), hands[player.ordinal()]);
+            assertEquals(-1L >>> (Long.SIZE - Card.NUMBER_OF_CARDS), allCards);
+        }
+    }
+
+    @Test
+    public void shouldNotGiveASuitToAHandThatDidNotFollowIt() {
+        LayoutSampler sampler = new LayoutSampler(this.deal);
+        SplittableRandom random = new SplittableRandom(2);
+        long[] voidSuits = new long[Direction.values().length];
+        for (Trick trick : this.deal.getTricks()) {
+            for (int position = 1; position < trick.getNumberOfCards(); position++) {
+                if (trick.getCard(position).getSuit() != trick.getLeadSuit()) {
+                    voidSuits[trick.getLeader().next(position).ordinal()] |= Hand.suitMaskOf(trick.getLeadSuit());
+                }
+            }
+        }
+
+        for (int sample = 0; sample < NUMBER_OF_SAMPLES; sample++) {
+            long[] hands = sampler.sampleHands(random);
+            for (Direction direction : Direction.values()) {
+                assertEquals(0, hands[direction.ordinal()] & voidSuits[direction.ordinal()]);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplayTheCardsPlayedSoFar() {
+        LayoutSampler sampler = new LayoutSampler(this.deal);
+
+        Deal sample = sampler.sampleDeal(new SplittableRandom(3));
+
+        assertEquals(this.deal.getCurrentPlayer(), sample.getCurrentPlayer());
+        assertEquals(this.deal.getCompletedTricks(), sample.getCompletedTricks());
+        assertEquals(this.deal.getNorthSouthPoints(), sample.getNorthSouthPoints());
+        assertEquals(this.deal.getEastWestPoints(), sample.getEastWestPoints());
+        assertEquals(this.deal.getTricks(), sample.getTricks());
+        assertFalse(sample.isFinished());
+    }
+
+}
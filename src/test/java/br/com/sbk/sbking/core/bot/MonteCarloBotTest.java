@@ -0,0 +1,124 @@
+package br.com.sbk.sbking.core.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Rank;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.dealing.BitmaskDealer;
+import br.com.sbk.sbking.core.dealing.DealConstraint;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeTricksRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveNoTrumpsRuleset;
+
+public class MonteCarloBotTest {
+
+    private static final Card ACE_OF_SPADES = Card.of(Suit.SPADES, Rank.ACE);
+    private static final Card KING_OF_SPADES = Card.of(Suit.SPADES, Rank.KING);
+    private static final Card TWO_OF_SPADES = Card.of(Suit.SPADES, Rank.TWO);
+    private static final Card THREE_OF_SPADES = Card.of(Suit.SPADES, Rank.THREE);
+    private static final Card FOUR_OF_SPADES = Card.of(Suit.SPADES, Rank.FOUR);
+    private static final Card ACE_OF_HEARTS = Card.of(Suit.HEARTS, Rank.ACE);
+    private static final Card KING_OF_HEARTS = Card.of(Suit.HEARTS, Rank.KING);
+    private static final Card TWO_OF_HEARTS = Card.of(Suit.HEARTS, Rank.TWO);
+    private static final Card TWO_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.TWO);
+    private static final Card THREE_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.THREE);
+    private static final Card FOUR_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.FOUR);
+
+    private static final Executor SAME_THREAD = Runnable::run;
+    private static final long TIME_BUDGET_IN_MILLISECONDS = 10000;
+    private static final int NUMBER_OF_SAMPLES = 100;
+
+    private final MonteCarloBot bot = new MonteCarloBot(SAME_THREAD, 1, TIME_BUDGET_IN_MILLISECONDS, NUMBER_OF_SAMPLES, 1);
+
+    @Test
+    public void shouldCashTheTopCardUnderAPositiveRuleset() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(ACE_OF_HEARTS, KING_OF_HEARTS), this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(THREE_OF_SPADES, THREE_OF_DIAMONDS));
+
+        assertEquals(ACE_OF_SPADES, this.bot.chooseCard(deal));
+    }
+
+    @Test
+    public void shouldDuckUnderANegativeRuleset() {
+        Deal deal = this.createDeal(new NegativeTricksRuleset(), this.createHand(KING_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(ACE_OF_SPADES, THREE_OF_SPADES), this.createHand(FOUR_OF_SPADES, THREE_OF_DIAMONDS),
+                this.createHand(TWO_OF_SPADES, FOUR_OF_DIAMONDS));
+        deal.playCard(KING_OF_SPADES);
+
+        assertEquals(THREE_OF_SPADES, this.bot.chooseCard(deal));
+    }
+
+    @Test
+    public void shouldPlayTheOnlyLegalCard() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(THREE_OF_SPADES, KING_OF_HEARTS), this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(FOUR_OF_SPADES, THREE_OF_DIAMONDS));
+        deal.playCard(ACE_OF_SPADES);
+
+        assertEquals(THREE_OF_SPADES, this.bot.chooseCard(deal));
+    }
+
+    @Test
+    public void shouldPlayALegalCardFromTheStartOfADeal() {
+        BitmaskDealer dealer = new BitmaskDealer(new SplittableRandom(5));
+        Deal deal = new Deal(dealer.dealBoard(Direction.NORTH, DealConstraint.ANY), new NegativeTricksRuleset());
+
+        Card card = new MonteCarloBot(SAME_THREAD, 1, TIME_BUDGET_IN_MILLISECONDS, NUMBER_OF_SAMPLES, 2).chooseCard(deal);
+
+        assertTrue(deal.isLegalMove(card));
+    }
+
+    @Test
+    public void shouldStillSampleAMoveWhoseBudgetRanOutInTheQueue() throws InterruptedException {
+        Queue<Runnable> queue = new ArrayDeque<Runnable>();
+        MonteCarloBot queuedBot = new MonteCarloBot(queue::add, 2, 1, NUMBER_OF_SAMPLES, 3);
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(ACE_OF_HEARTS, KING_OF_HEARTS), this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(THREE_OF_SPADES, THREE_OF_DIAMONDS));
+
+        CompletableFuture<Card> card = queuedBot.chooseCardAsync(deal);
+        Thread.sleep(10);
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+
+        assertEquals(ACE_OF_SPADES, card.getNow(null));
+    }
+
+    private Deal createDeal(Ruleset ruleset, Hand north, Hand east, Hand south, Hand west) {
+        Map<Direction, Hand> hands = new HashMap<Direction, Hand>();
+        hands.put(Direction.NORTH, north);
+        hands.put(Direction.EAST, east);
+        hands.put(Direction.SOUTH, south);
+        hands.put(Direction.WEST, west);
+        Deal deal = new Deal(new Board(hands, Direction.NORTH), ruleset);
+        deal.setCurrentPlayer(Direction.NORTH);
+        return deal;
+    }
+
+    private Hand createHand(Card... cards) {
+        Hand hand = new Hand();
+        for (Card card : cards) {
+            hand.addCard(card);
+        }
+        return hand;
+    }
+
+}
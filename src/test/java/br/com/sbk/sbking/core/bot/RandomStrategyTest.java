@@ -0,0 +1,34 @@
+package br.com.sbk.sbking.core.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.dealing.BitmaskDealer;
+import br.com.sbk.sbking.core.dealing.DealConstraint;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeHeartsRuleset;
+
+public class RandomStrategyTest {
+
+    @Test
+    public void shouldOnlyPlayLegalCardsUntilTheDealIsFinished() {
+        BitmaskDealer dealer = new BitmaskDealer(new SplittableRandom(3));
+        Deal deal = new Deal(dealer.dealBoard(Direction.NORTH, DealConstraint.ANY), new NegativeHeartsRuleset());
+        RandomStrategy randomStrategy = new RandomStrategy(new SplittableRandom(4));
+
+        while (!deal.isFinished()) {
+            Card card = randomStrategy.chooseCard(deal);
+            assertTrue(deal.isLegalMove(card));
+            deal.playCard(card);
+        }
+
+        assertEquals(new NegativeHeartsRuleset().getTotalPoints(), deal.getNorthSouthPoints() + deal.getEastWestPoints());
+    }
+
+}
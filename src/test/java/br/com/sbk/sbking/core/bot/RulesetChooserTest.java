@@ -0,0 +1,64 @@
+package br.com.sbk.sbking.core.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Rank;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.PositiveRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeHeartsRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeTricksRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveNoTrumpsRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveWithTrumpsRuleset;
+
+public class RulesetChooserTest {
+
+    private final RulesetChooser rulesetChooser = new RulesetChooser();
+
+    @Test
+    public void shouldChooseTheLongestSuitOfFiveOrMoreAsTrumps() {
+        Hand hand = this.createHand(Suit.HEARTS, Rank.ACE, Rank.KING, Rank.SEVEN, Rank.FIVE, Rank.TWO);
+
+        assertEquals(new PositiveWithTrumpsRuleset(Suit.HEARTS), this.rulesetChooser.chooseStrain(hand));
+    }
+
+    @Test
+    public void shouldChooseNoTrumpsWithoutALongSuit() {
+        Hand hand = this.createHand(Suit.HEARTS, Rank.ACE, Rank.KING, Rank.SEVEN, Rank.FIVE);
+
+        assertEquals(new PositiveNoTrumpsRuleset(), this.rulesetChooser.chooseStrain(hand));
+    }
+
+    @Test
+    public void shouldChooseTheFirstNegativeStillPermitted() {
+        assertEquals(new NegativeHeartsRuleset(),
+                this.rulesetChooser.chooseNegative(ruleset -> !(ruleset instanceof NegativeTricksRuleset)));
+        assertNull(this.rulesetChooser.chooseNegative(ruleset -> false));
+    }
+
+    @Test
+    public void shouldChoosePositiveOnlyWithAStrongHandWhenBothArePermitted() {
+        Hand strongHand = this.createHand(Suit.SPADES, Rank.ACE, Rank.KING, Rank.QUEEN, Rank.JACK);
+        strongHand.addCard(Card.of(Suit.HEARTS, Rank.ACE));
+        Hand weakHand = this.createHand(Suit.SPADES, Rank.ACE, Rank.TWO);
+
+        assertTrue(this.rulesetChooser.choosesPositive(strongHand, ruleset -> true));
+        assertFalse(this.rulesetChooser.choosesPositive(weakHand, ruleset -> true));
+        assertTrue(this.rulesetChooser.choosesPositive(weakHand, ruleset -> ruleset instanceof PositiveRuleset));
+    }
+
+    private Hand createHand(Suit suit, Rank... ranks) {
+        Hand hand = new Hand();
+        for (Rank rank : ranks) {
+            hand.addCard(Card.of(suit, rank));
+        }
+        return hand;
+    }
+
+}
@@ -0,0 +1,61 @@
+package br.com.sbk.sbking.core.dealing;
+
+import static br.com.sbk.sbking.core.GameConstants.SIZE_OF_HAND;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Direction;
+
+public class BitmaskDealerTest {
+
+    private static final int NUMBER_OF_HANDS = 4;
+    private static final long ALL_CARDS = (1L << Card.NUMBER_OF_CARDS) - 1;
+
+    @Test
+    public void shouldDealFourDisjointHandsOfThirteenCards() {
+        BitmaskDealer bitmaskDealer = new BitmaskDealer(new SplittableRandom(1));
+        long[] hands = new long[NUMBER_OF_HANDS];
+
+        for (int i = 0; i < 100; i++) {
+            bitmaskDealer.deal(hands, DealConstraint.ANY);
+
+            long dealtCards = 0;
+            for (long hand : hands) {
+                assertEquals(SIZE_OF_HAND, Long.bitCount(hand));
+                assertEquals(0, dealtCards & hand);
+                dealtCards |= hand;
+            }
+            assertEquals(ALL_CARDS, dealtCards);
+        }
+    }
+
+    @Test
+    public void shouldDealOnlyWhatTheConstraintAccepts() {
+        BitmaskDealer bitmaskDealer = new BitmaskDealer(new SplittableRandom(2));
+        SeatConstraint constraint = new SeatConstraint(Direction.WEST).withMinimumHCP(20);
+
+        Board board = bitmaskDealer.dealBoard(Direction.NORTH, constraint);
+
+        assertEquals(Direction.NORTH, board.getDealer());
+        assertTrue(board.getHandOf(Direction.WEST).getHCP() >= 20);
+    }
+
+    @Test
+    public void shouldDealTheSameHandsFromTheSameSeed() {
+        long[] hands = new long[NUMBER_OF_HANDS];
+        long[] sameHands = new long[NUMBER_OF_HANDS];
+
+        new BitmaskDealer(new SplittableRandom(3)).deal(hands, DealConstraint.ANY);
+        new BitmaskDealer(new SplittableRandom(3)).deal(sameHands, DealConstraint.ANY);
+
+        assertArrayEquals(hands, sameHands);
+    }
+
+}
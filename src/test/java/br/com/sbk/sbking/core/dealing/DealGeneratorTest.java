@@ -0,0 +1,51 @@
+package br.com.sbk.sbking.core.dealing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+
+public class DealGeneratorTest {
+
+    private static final int NUMBER_OF_DEALS = 10000;
+
+    @Test
+    public void shouldGenerateTheAskedNumberOfDealsMeetingTheConstraint() {
+        DealConstraint constraint = new SeatConstraint(Direction.EAST).withMinimumHCP(15)
+                .and(new SeatConstraint(Direction.WEST).withShortestSuitLength(2));
+
+        PackedDeals deals = new DealGenerator().generate(NUMBER_OF_DEALS, constraint, 42);
+
+        assertEquals(NUMBER_OF_DEALS, deals.size());
+        for (int deal = 0; deal < deals.size(); deal++) {
+            assertTrue(Hand.hcpOf(deals.getHandOf(deal, Direction.EAST)) >= 15);
+            assertTrue(Hand.shortestSuitLengthOf(deals.getHandOf(deal, Direction.WEST)) >= 2);
+        }
+    }
+
+    @Test
+    public void shouldGenerateTheSameDealsFromTheSameSeedWhateverTheNumberOfThreads() {
+        ExecutorService oneThread = Executors.newSingleThreadExecutor();
+        ExecutorService threeThreads = Executors.newFixedThreadPool(3);
+
+        PackedDeals deals = new DealGenerator(oneThread).generate(NUMBER_OF_DEALS, DealConstraint.ANY, 7);
+        PackedDeals sameDeals = new DealGenerator(threeThreads).generate(NUMBER_OF_DEALS, DealConstraint.ANY, 7);
+        oneThread.shutdown();
+        threeThreads.shutdown();
+
+        for (int deal = 0; deal < NUMBER_OF_DEALS; deal++) {
+            for (Direction direction : Direction.values()) {
+                assertEquals(deals.getHandOf(deal, direction), sameDeals.getHandOf(deal, direction));
+            }
+        }
+        assertEquals(deals.getBoard(0, Direction.SOUTH).getHandOf(Direction.NORTH),
+                new Hand(deals.getHandOf(0, Direction.NORTH)));
+    }
+
+}
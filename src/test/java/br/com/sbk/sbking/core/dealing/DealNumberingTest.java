@@ -0,0 +1,59 @@
+package br.com.sbk.sbking.core.dealing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Suit;
+
+public class DealNumberingTest {
+
+    private static final int NUMBER_OF_HANDS = 4;
+
+    @Test
+    public void shouldCountEveryDeal() {
+        assertEquals(new BigInteger("53644737765488792839237440000"), DealNumbering.NUMBER_OF_DEALS);
+    }
+
+    @Test
+    public void shouldGiveTheFirstDealTheHighestCardsToNorth() {
+        long[] hands = DealNumbering.handsOf(BigInteger.ZERO);
+
+        assertEquals(Hand.suitMaskOf(Suit.SPADES), hands[Direction.NORTH.ordinal()]);
+        assertEquals(Hand.suitMaskOf(Suit.HEARTS), hands[Direction.EAST.ordinal()]);
+        assertEquals(Hand.suitMaskOf(Suit.CLUBS), hands[Direction.SOUTH.ordinal()]);
+        assertEquals(Hand.suitMaskOf(Suit.DIAMONDS), hands[Direction.WEST.ordinal()]);
+    }
+
+    @Test
+    public void shouldGiveTheLastDealTheHighestCardsToWest() {
+        long[] hands = DealNumbering.handsOf(DealNumbering.NUMBER_OF_DEALS.subtract(BigInteger.ONE));
+
+        assertEquals(Hand.suitMaskOf(Suit.SPADES), hands[Direction.WEST.ordinal()]);
+        assertEquals(Hand.suitMaskOf(Suit.DIAMONDS), hands[Direction.NORTH.ordinal()]);
+    }
+
+    @Test
+    public void shouldNumberADealBackToTheSameHands() {
+        BitmaskDealer bitmaskDealer = new BitmaskDealer(new SplittableRandom(5));
+        long[] hands = new long[NUMBER_OF_HANDS];
+
+        for (int i = 0; i < 100; i++) {
+            bitmaskDealer.deal(hands, DealConstraint.ANY);
+
+            assertArrayEquals(hands, DealNumbering.handsOf(DealNumbering.numberOf(hands)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotDealANumberOutOfRange() {
+        DealNumbering.handsOf(DealNumbering.NUMBER_OF_DEALS);
+    }
+
+}
@@ -0,0 +1,41 @@
+package br.com.sbk.sbking.core.dealing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Direction;
+
+public class NumberedBoardDealerTest {
+
+    @Test
+    public void shouldDealTheSameBoardFromTheSameSeedAndBoardNumber() {
+        Board board = new NumberedBoardDealer(2024).dealBoard(7, Direction.EAST);
+        Board sameBoard = new NumberedBoardDealer(2024).dealBoard(7, Direction.EAST);
+
+        assertEquals(board, sameBoard);
+        assertEquals(Direction.EAST, board.getDealer());
+    }
+
+    @Test
+    public void shouldDealDifferentBoardsForDifferentNumbersOrSeeds() {
+        NumberedBoardDealer numberedBoardDealer = new NumberedBoardDealer(2024);
+
+        assertNotEquals(numberedBoardDealer.getDealNumber(1), numberedBoardDealer.getDealNumber(2));
+        assertNotEquals(numberedBoardDealer.getDealNumber(1), new NumberedBoardDealer(2025).getDealNumber(1));
+    }
+
+    @Test
+    public void shouldDealTheBoardsInOrderOfTheirNumbers() {
+        NumberedBoardDealer numberedBoardDealer = new NumberedBoardDealer(11);
+
+        Board firstBoard = numberedBoardDealer.dealBoard(Direction.NORTH);
+        Board secondBoard = numberedBoardDealer.dealBoard(Direction.EAST);
+
+        assertEquals(new NumberedBoardDealer(11).dealBoard(1, Direction.NORTH), firstBoard);
+        assertEquals(new NumberedBoardDealer(11).dealBoard(2, Direction.EAST), secondBoard);
+    }
+
+}
@@ -0,0 +1,75 @@
+package br.com.sbk.sbking.core.dealing;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Rank;
+import br.com.sbk.sbking.core.Suit;
+
+public class SeatConstraintTest {
+
+    private static final int NUMBER_OF_HANDS = 4;
+
+    @Test
+    public void shouldAcceptAHandWithinTheHCPRange() {
+        long[] hands = this.handsWithSouth(this.maskOf(Suit.SPADES, Rank.ACE, Rank.KING, Rank.QUEEN, Rank.JACK));
+
+        assertTrue(new SeatConstraint(Direction.SOUTH).withHCP(10, 10).accepts(hands));
+        assertFalse(new SeatConstraint(Direction.SOUTH).withMinimumHCP(11).accepts(hands));
+        assertFalse(new SeatConstraint(Direction.SOUTH).withHCP(0, 9).accepts(hands));
+    }
+
+    @Test
+    public void shouldOnlyTestItsOwnSeat() {
+        long[] hands = this.handsWithSouth(0);
+
+        assertTrue(new SeatConstraint(Direction.NORTH).withHCP(0, 0).accepts(hands));
+        assertFalse(new SeatConstraint(Direction.SOUTH).withMinimumHCP(1).accepts(hands));
+        assertTrue(new SeatConstraint(Direction.SOUTH).withMinimumHCP(1).acceptsHand(Direction.NORTH.ordinal(), 0));
+    }
+
+    @Test
+    public void shouldTestTheLengthOfASuit() {
+        long[] hands = this.handsWithSouth(this.maskOf(Suit.HEARTS, Rank.TWO, Rank.THREE, Rank.FOUR));
+
+        assertTrue(new SeatConstraint(Direction.SOUTH).withSuitLength(Suit.HEARTS, 3, 5).accepts(hands));
+        assertFalse(new SeatConstraint(Direction.SOUTH).withSuitLength(Suit.HEARTS, 4, 5).accepts(hands));
+        assertFalse(new SeatConstraint(Direction.SOUTH).withShortestSuitLength(1).accepts(hands));
+    }
+
+    @Test
+    public void shouldTestTheShapeInAnyOrderOfSuits() {
+        long south = this.maskOf(Suit.SPADES, Rank.TWO, Rank.THREE, Rank.FOUR, Rank.FIVE)
+                | this.maskOf(Suit.HEARTS, Rank.TWO, Rank.THREE, Rank.FOUR, Rank.FIVE)
+                | this.maskOf(Suit.CLUBS, Rank.TWO, Rank.THREE, Rank.FOUR)
+                | this.maskOf(Suit.DIAMONDS, Rank.TWO, Rank.THREE);
+        long[] hands = this.handsWithSouth(south);
+
+        assertTrue(new SeatConstraint(Direction.SOUTH).withShape(2, 3, 4, 4).accepts(hands));
+        assertFalse(new SeatConstraint(Direction.SOUTH).withShape(4, 3, 3, 3).accepts(hands));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotTakeAShapeThatIsNotAHand() {
+        new SeatConstraint(Direction.SOUTH).withShape(4, 4, 4, 4);
+    }
+
+    private long[] handsWithSouth(long south) {
+        long[] hands = new long[NUMBER_OF_HANDS];
+        hands[Direction.SOUTH.ordinal()] = south;
+        return hands;
+    }
+
+    private long maskOf(Suit suit, Rank... ranks) {
+        long mask = 0;
+        for (Rank rank : ranks) {
+            mask |= 1L << Card.of(suit, rank).getIndex();
+        }
+        return mask;
+    }
+
+}
@@ -0,0 +1,335 @@
+package br.com.sbk.sbking.core.solver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Rank;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeHeartsRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeKingRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeLastTwoRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeMenRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeTricksRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeWomenRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveNoTrumpsRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveWithTrumpsRuleset;
+
+public class DoubleDummySolverTest {
+
+    private static final Card ACE_OF_SPADES = Card.of(Suit.SPADES, Rank.ACE);
+    private static final Card KING_OF_SPADES = Card.of(Suit.SPADES, Rank.KING);
+    private static final Card QUEEN_OF_SPADES = Card.of(Suit.SPADES, Rank.QUEEN);
+    private static final Card TWO_OF_SPADES = Card.of(Suit.SPADES, Rank.TWO);
+    private static final Card THREE_OF_SPADES = Card.of(Suit.SPADES, Rank.THREE);
+    private static final Card FOUR_OF_SPADES = Card.of(Suit.SPADES, Rank.FOUR);
+    private static final Card FIVE_OF_SPADES = Card.of(Suit.SPADES, Rank.FIVE);
+    private static final Card JACK_OF_SPADES = Card.of(Suit.SPADES, Rank.JACK);
+    private static final Card ACE_OF_HEARTS = Card.of(Suit.HEARTS, Rank.ACE);
+    private static final Card KING_OF_HEARTS = Card.of(Suit.HEARTS, Rank.KING);
+    private static final Card TWO_OF_HEARTS = Card.of(Suit.HEARTS, Rank.TWO);
+    private static final Card THREE_OF_HEARTS = Card.of(Suit.HEARTS, Rank.THREE);
+    private static final Card ACE_OF_CLUBS = Card.of(Suit.CLUBS, Rank.ACE);
+    private static final Card KING_OF_CLUBS = Card.of(Suit.CLUBS, Rank.KING);
+    private static final Card ACE_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.ACE);
+    private static final Card TWO_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.TWO);
+    private static final Card THREE_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.THREE);
+    private static final Card FOUR_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.FOUR);
+    private static final Card FIVE_OF_DIAMONDS = Card.of(Suit.DIAMONDS, Rank.FIVE);
+    private static final Card FOUR_OF_HEARTS = Card.of(Suit.HEARTS, Rank.FOUR);
+    private static final Card FIVE_OF_HEARTS = Card.of(Suit.HEARTS, Rank.FIVE);
+
+    private static final long RANDOM_ENDINGS_SEED = 7;
+    private static final int RANDOM_ENDINGS_PER_SIZE = 12;
+    private static final int SMALLEST_ENDING = 3;
+    private static final int LARGEST_ENDING = 4;
+
+    private final DoubleDummySolver solver = new DoubleDummySolver();
+
+    @Test
+    public void shouldCashTheTopCardsInNoTrumps() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, KING_OF_SPADES),
+                this.createHand(QUEEN_OF_SPADES, ACE_OF_HEARTS), this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(THREE_OF_SPADES, THREE_OF_DIAMONDS));
+
+        DoubleDummyResult result = this.solver.solve(deal);
+
+        assertEquals(2, result.getNorthSouthPoints());
+        assertEquals(0, result.getEastWestPoints());
+        assertEquals(Arrays.asList(ACE_OF_SPADES, KING_OF_SPADES), result.getBestCards());
+    }
+
+    @Test
+    public void shouldFindTheOnlyCardThatTakesATrick() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(ACE_OF_HEARTS, KING_OF_HEARTS), this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(THREE_OF_SPADES, THREE_OF_DIAMONDS));
+
+        DoubleDummyResult result = this.solver.solve(deal);
+
+        assertEquals(1, result.getNorthSouthPoints());
+        assertEquals(1, result.getEastWestPoints());
+        assertEquals(Arrays.asList(ACE_OF_SPADES), result.getBestCards());
+    }
+
+    @Test
+    public void shouldRuffTheTopCardsOfAnotherSuit() {
+        Deal deal = this.createDeal(new PositiveWithTrumpsRuleset(Suit.SPADES), this.createHand(ACE_OF_HEARTS, KING_OF_HEARTS),
+                this.createHand(TWO_OF_SPADES, THREE_OF_SPADES), this.createHand(TWO_OF_DIAMONDS, THREE_OF_DIAMONDS),
+                this.createHand(FOUR_OF_DIAMONDS, FIVE_OF_DIAMONDS));
+
+        DoubleDummyResult result = this.solver.solve(deal);
+
+        assertEquals(0, result.getNorthSouthPoints());
+        assertEquals(2, result.getEastWestPoints());
+    }
+
+    @Test
+    public void shouldSolveFromTheMiddleOfATrick() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(ACE_OF_HEARTS, KING_OF_HEARTS), this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(THREE_OF_SPADES, THREE_OF_DIAMONDS));
+        deal.playCard(TWO_OF_HEARTS);
+
+        DoubleDummyResult result = this.solver.solve(deal);
+
+        assertEquals(0, result.getNorthSouthPoints());
+        assertEquals(2, result.getEastWestPoints());
+        assertEquals(Arrays.asList(ACE_OF_HEARTS, KING_OF_HEARTS), result.getBestCards());
+    }
+
+    @Test
+    public void shouldTakeTheSpadeFinesseTwice() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, QUEEN_OF_SPADES, TWO_OF_HEARTS, TWO_OF_DIAMONDS),
+                this.createHand(FOUR_OF_HEARTS, FIVE_OF_HEARTS, FOUR_OF_DIAMONDS, FIVE_OF_DIAMONDS),
+                this.createHand(TWO_OF_SPADES, THREE_OF_SPADES, ACE_OF_HEARTS, ACE_OF_DIAMONDS),
+                this.createHand(KING_OF_SPADES, JACK_OF_SPADES, THREE_OF_HEARTS, THREE_OF_DIAMONDS));
+
+        DoubleDummyResult result = this.solver.solve(deal);
+
+        assertEquals(4, result.getNorthSouthPoints());
+        assertEquals(0, result.getEastWestPoints());
+        assertEquals(Arrays.asList(TWO_OF_HEARTS, TWO_OF_DIAMONDS), result.getBestCards());
+    }
+
+    @Test
+    public void shouldSolveACompleteDeal() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand("sJ s8 s6 h5 h4 cJ c7 c6 dK dQ dJ d7 d5"),
+                this.createHand("sT s9 s5 s3 h9 h8 h6 cK c3 dT d8 d6 d4"), this.createHand("sK sQ s4 s2 hA h3 h2 cQ c9 c5 c2 dA d2"),
+                this.createHand("sA s7 hK hQ hJ hT h7 cA cT c8 c4 d9 d3"));
+        deal.setCurrentPlayer(Direction.SOUTH);
+
+        DoubleDummyResult result = this.solver.solve(deal);
+
+        assertEquals(9, result.getNorthSouthPoints());
+        assertEquals(4, result.getEastWestPoints());
+        assertEquals(this.cardsOf("s4 s2 dA d2"), result.getBestCards());
+    }
+
+    @Test
+    public void shouldMinimizeTheHeartsTakenUnderNegativeHearts() {
+        Deal deal = this.createDeal(new NegativeHeartsRuleset(), this.createHand(TWO_OF_HEARTS, ACE_OF_CLUBS),
+                this.createHand(THREE_OF_HEARTS, KING_OF_CLUBS), this.createHand(TWO_OF_DIAMONDS, THREE_OF_DIAMONDS),
+                this.createHand(ACE_OF_HEARTS, FOUR_OF_DIAMONDS));
+
+        DoubleDummyResult result = this.solver.solve(deal);
+
+        assertEquals(1, result.getNorthSouthPoints());
+        assertEquals(2, result.getEastWestPoints());
+        assertEquals(Arrays.asList(ACE_OF_CLUBS), result.getBestCards());
+    }
+
+    @Test
+    public void shouldGetRidOfTheKingOfHeartsUnderNegativeKing() {
+        Deal deal = this.createDeal(new NegativeKingRuleset(), this.createHand(TWO_OF_SPADES, KING_OF_HEARTS),
+                this.createHand(THREE_OF_SPADES, TWO_OF_HEARTS), this.createHand(FOUR_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(FIVE_OF_SPADES, THREE_OF_DIAMONDS));
+        int pointsOfTheKing = new NegativeKingRuleset().getTotalPoints();
+
+        DoubleDummyResult result = this.solver.solve(deal);
+
+        assertEquals(0, result.getNorthSouthPoints());
+        assertEquals(pointsOfTheKing, result.getEastWestPoints());
+    }
+
+    @Test
+    public void shouldGiveTheSameResultWhenSplitAmongSearches() {
+        Deal deal = this.createDeal(new NegativeTricksRuleset(), this.createHand(ACE_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(ACE_OF_HEARTS, KING_OF_HEARTS), this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(THREE_OF_SPADES, THREE_OF_DIAMONDS));
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        DoubleDummyResult sequential = new DoubleDummySolver(executorService, 1).solve(deal);
+        DoubleDummyResult parallel = new DoubleDummySolver(executorService, 2).solve(deal);
+        executorService.shutdown();
+
+        assertEquals(sequential.getNorthSouthPoints(), parallel.getNorthSouthPoints());
+        assertEquals(sequential.getEastWestPoints(), parallel.getEastWestPoints());
+        assertEquals(sequential.getBestCards(), parallel.getBestCards());
+    }
+
+    @Test
+    public void shouldSolveEachCardThePlayerMayPlay() {
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, TWO_OF_HEARTS),
+                this.createHand(ACE_OF_HEARTS, KING_OF_HEARTS), this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS),
+                this.createHand(THREE_OF_SPADES, THREE_OF_DIAMONDS));
+
+        Map<Card, Integer> pointsByCard = this.solver.solveEachCard(deal);
+
+        assertEquals(2, pointsByCard.size());
+        assertEquals(Integer.valueOf(1), pointsByCard.get(ACE_OF_SPADES));
+        assertEquals(Integer.valueOf(0), pointsByCard.get(TWO_OF_HEARTS));
+    }
+
+    @Test
+    public void shouldAgreeWithABruteForceSearchOnRandomEndings() {
+        Ruleset[] rulesets = {new PositiveNoTrumpsRuleset(), new PositiveWithTrumpsRuleset(Suit.SPADES),
+            new PositiveWithTrumpsRuleset(Suit.HEARTS), new NegativeHeartsRuleset(), new NegativeTricksRuleset(),
+            new NegativeKingRuleset(), new NegativeMenRuleset(), new NegativeWomenRuleset(), new NegativeLastTwoRuleset()};
+        Random random = new Random(RANDOM_ENDINGS_SEED);
+
+        for (Ruleset ruleset : rulesets) {
+            for (int tricks = SMALLEST_ENDING; tricks <= LARGEST_ENDING; tricks++) {
+                for (int ending = 0; ending < RANDOM_ENDINGS_PER_SIZE; ending++) {
+                    Deal deal = this.createRandomEnding(ruleset, tricks, random);
+                    String description = ruleset.getClass().getSimpleName() + " " + deal.getCurrentPlayer() + " "
+                            + Arrays.asList(deal.getHandOf(Direction.NORTH), deal.getHandOf(Direction.EAST),
+                                    deal.getHandOf(Direction.SOUTH), deal.getHandOf(Direction.WEST));
+                    int expectedPoints = this.bruteForce(deal);
+                    List<Card> expectedBestCards = new ArrayList<Card>();
+                    for (long moves = deal.legalMoves(); moves != 0; moves &= moves - 1) {
+                        Card card = Card.byIndex(Long.numberOfTrailingZeros(moves));
+                        deal.play(card);
+                        if (this.bruteForce(deal) == expectedPoints) {
+                            expectedBestCards.add(card);
+                        }
+                        deal.unplay();
+                    }
+
+                    DoubleDummyResult result = this.solver.solve(deal);
+
+                    assertEquals(description, expectedPoints, result.getNorthSouthPoints());
+                    assertEquals(description, new HashSet<Card>(expectedBestCards),
+                            new HashSet<Card>(result.getBestCards()));
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotSolveADealWithHiddenCards() {
+        Hand hiddenHand = new Hand();
+        hiddenHand.addHiddenCards(2);
+        Deal deal = this.createDeal(new PositiveNoTrumpsRuleset(), this.createHand(ACE_OF_SPADES, KING_OF_SPADES), hiddenHand,
+                this.createHand(TWO_OF_SPADES, TWO_OF_DIAMONDS), this.createHand(THREE_OF_SPADES, THREE_OF_DIAMONDS));
+
+        this.solver.solve(deal);
+    }
+
+    private Deal createDeal(Ruleset ruleset, Hand north, Hand east, Hand south, Hand west) {
+        Map<Direction, Hand> hands = new HashMap<Direction, Hand>();
+        hands.put(Direction.NORTH, north);
+        hands.put(Direction.EAST, east);
+        hands.put(Direction.SOUTH, south);
+        hands.put(Direction.WEST, west);
+        Deal deal = new Deal(new Board(hands, Direction.NORTH), ruleset);
+        deal.setCurrentPlayer(Direction.NORTH);
+        return deal;
+    }
+
+    /**
+     * Deals the given number of tricks to each hand, half the time from only
+     * two suits so that more tricks are contested, and plays up to two cards of
+     * the first trick.
+     */
+    private Deal createRandomEnding(Ruleset ruleset, int tricks, Random random) {
+        List<Card> cards = new ArrayList<Card>();
+        for (int index = 0; index < Card.NUMBER_OF_CARDS; index++) {
+            cards.add(Card.byIndex(index));
+        }
+        if (random.nextBoolean()) {
+            int numberOfSuits = Suit.values().length;
+            int firstSuit = random.nextInt(numberOfSuits);
+            Suit first = Suit.values()[firstSuit];
+            Suit second = Suit.values()[(firstSuit + 1 + random.nextInt(numberOfSuits - 1)) % numberOfSuits];
+            cards.removeIf(card -> card.getSuit() != first && card.getSuit() != second);
+        }
+        Collections.shuffle(cards, random);
+        Map<Direction, Hand> hands = new HashMap<Direction, Hand>();
+        int dealt = 0;
+        for (Direction direction : Direction.values()) {
+            Hand hand = new Hand();
+            for (int card = 0; card < tricks; card++) {
+                hand.addCard(cards.get(dealt++));
+            }
+            hands.put(direction, hand);
+        }
+        Deal deal = new Deal(new Board(hands, Direction.NORTH), ruleset);
+        deal.setCurrentPlayer(Direction.values()[random.nextInt(Direction.values().length)]);
+        int playedCards = random.nextInt(3);
+        for (int played = 0; played < playedCards; played++) {
+            deal.play(Card.byIndex(Long.numberOfTrailingZeros(deal.legalMoves())));
+        }
+        return deal;
+    }
+
+    private int bruteForce(Deal deal) {
+        long moves = deal.legalMoves();
+        if (moves == 0) {
+            return deal.getNorthSouthPoints();
+        }
+        Direction currentPlayer = deal.getCurrentPlayer();
+        boolean northSouth = currentPlayer == Direction.NORTH || currentPlayer == Direction.SOUTH;
+        boolean maximizing = northSouth != deal.getRuleset().isNegative();
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (; moves != 0; moves &= moves - 1) {
+            deal.play(Card.byIndex(Long.numberOfTrailingZeros(moves)));
+            int points = this.bruteForce(deal);
+            deal.unplay();
+            best = maximizing ? Math.max(best, points) : Math.min(best, points);
+        }
+        return best;
+    }
+
+    private Hand createHand(String cards) {
+        return this.createHand(this.cardsOf(cards).toArray(new Card[0]));
+    }
+
+    private List<Card> cardsOf(String symbols) {
+        List<Card> cards = new ArrayList<Card>();
+        for (String symbol : symbols.split(" ")) {
+            for (int index = 0; index < Card.NUMBER_OF_CARDS; index++) {
+                if (Card.byIndex(index).toString().equals(symbol)) {
+                    cards.add(Card.byIndex(index));
+                }
+            }
+        }
+        return cards;
+    }
+
+    private Hand createHand(Card... cards) {
+        Hand hand = new Hand();
+        for (Card card : cards) {
+            hand.addCard(card);
+        }
+        return hand;
+    }
+
+}
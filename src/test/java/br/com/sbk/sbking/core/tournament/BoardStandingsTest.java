@@ -0,0 +1,48 @@
+package br.com.sbk.sbking.core.tournament;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BoardStandingsTest {
+
+    private BoardStandings boardStandings;
+
+    @Before
+    public void setup() {
+        this.boardStandings = new BoardStandings(-325, 325);
+    }
+
+    @Test
+    public void shouldGiveTwoMatchpointsPerResultBeatenAndOnePerTie() {
+        this.boardStandings.addResult(50);
+        this.boardStandings.addResult(-100);
+        this.boardStandings.addResult(50);
+        this.boardStandings.addResult(325);
+
+        assertEquals(4, this.boardStandings.getNumberOfResults());
+        assertEquals(6, this.boardStandings.getTop());
+        assertEquals(6, this.boardStandings.getMatchpoints(325));
+        assertEquals(3, this.boardStandings.getMatchpoints(50));
+        assertEquals(0, this.boardStandings.getMatchpoints(-100));
+    }
+
+    @Test
+    public void shouldAddUpTheImpsAgainstEveryOtherResult() {
+        this.boardStandings.addResult(0);
+        this.boardStandings.addResult(20);
+        this.boardStandings.addResult(-325);
+
+        // 20 against 0 is worth 5 IMPs, both 345 and 325 are worth 22
+        assertEquals(27, this.boardStandings.getCrossImps(20));
+        assertEquals(-5 + 22, this.boardStandings.getCrossImps(0));
+        assertEquals(-22 - 22, this.boardStandings.getCrossImps(-325));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAddAScoreOutOfRange() {
+        this.boardStandings.addResult(326);
+    }
+
+}
@@ -0,0 +1,80 @@
+package br.com.sbk.sbking.core.tournament;
+
+import static br.com.sbk.sbking.core.GameConstants.TOTAL_GAMES;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.BoardDealer;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.GameModeSummary;
+import br.com.sbk.sbking.gui.models.KingGameScoreboard;
+
+public class DuplicateTournamentTest {
+
+    private static final int FIRST_TABLE = 1;
+    private static final int SECOND_TABLE = 2;
+    private static final int THIRD_TABLE = 3;
+
+    @Test
+    public void shouldDealTheSameBoardsAtEveryTable() {
+        DuplicateTournament tournament = new DuplicateTournament(99);
+        BoardDealer firstTableDealer = tournament.newBoardDealer();
+        BoardDealer secondTableDealer = tournament.newBoardDealer();
+
+        for (int i = 0; i < 3; i++) {
+            Board board = firstTableDealer.dealBoard(Direction.NORTH);
+            assertEquals(board, secondTableDealer.dealBoard(Direction.NORTH));
+        }
+    }
+
+    @Test
+    public void shouldCompareEachTableWithTheOthersOnEachBoard() {
+        DuplicateTournament tournament = new DuplicateTournament(1);
+
+        tournament.addResult(FIRST_TABLE, 1, 100);
+        tournament.addResult(SECOND_TABLE, 1, -40);
+        tournament.addResult(THIRD_TABLE, 1, -40);
+        tournament.addResult(FIRST_TABLE, 2, -20);
+        tournament.addResult(SECOND_TABLE, 2, 0);
+
+        assertEquals(3, tournament.getNumberOfResults(1));
+        assertEquals(4 + 0, tournament.getNorthSouthMatchpoints(FIRST_TABLE));
+        assertEquals(1 + 2, tournament.getNorthSouthMatchpoints(SECOND_TABLE));
+        assertEquals(1, tournament.getNorthSouthMatchpoints(THIRD_TABLE));
+        // 140 is worth 16 IMPs, 20 is worth 5
+        assertEquals(16 + 16 - 5, tournament.getNorthSouthImps(FIRST_TABLE));
+    }
+
+    @Test
+    public void shouldAddEachDealOfAScoreboardOnce() {
+        DuplicateTournament tournament = new DuplicateTournament(1);
+        GameModeSummary firstDeal = mock(GameModeSummary.class);
+        when(firstDeal.getOrderOfPlayNumber()).thenReturn(1);
+        when(firstDeal.getScore()).thenReturn(75);
+        GameModeSummary[] gameModeSummaries = new GameModeSummary[10];
+        gameModeSummaries[6] = firstDeal;
+        KingGameScoreboard scoreboard = new KingGameScoreboard(gameModeSummaries, 1, 1);
+
+        tournament.addScoreboard(FIRST_TABLE, scoreboard);
+        tournament.addScoreboard(FIRST_TABLE, scoreboard);
+        tournament.addResult(SECOND_TABLE, 1, 0);
+
+        assertEquals(2, tournament.getNumberOfResults(1));
+        assertEquals(2, tournament.getNorthSouthMatchpoints(FIRST_TABLE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAddAResultBeforeTheFirstBoard() {
+        new DuplicateTournament(1).addResult(FIRST_TABLE, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAddAResultAfterTheLastBoard() {
+        new DuplicateTournament(1).addResult(FIRST_TABLE, TOTAL_GAMES + 1, 0);
+    }
+
+}
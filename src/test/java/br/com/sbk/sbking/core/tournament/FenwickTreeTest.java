@@ -0,0 +1,37 @@
+package br.com.sbk.sbking.core.tournament;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class FenwickTreeTest {
+
+    @Test
+    public void shouldSumTheCountsBelowAPosition() {
+        FenwickTree fenwickTree = new FenwickTree(10);
+
+        fenwickTree.add(0, 1);
+        fenwickTree.add(3, 2);
+        fenwickTree.add(9, 4);
+
+        assertEquals(0, fenwickTree.sumBelow(0));
+        assertEquals(1, fenwickTree.sumBelow(1));
+        assertEquals(1, fenwickTree.sumBelow(3));
+        assertEquals(3, fenwickTree.sumBelow(4));
+        assertEquals(3, fenwickTree.sumBelow(9));
+        assertEquals(7, fenwickTree.sumBelow(10));
+        assertEquals(7, fenwickTree.sumBelow(15));
+    }
+
+    @Test
+    public void shouldTakeCountsBack() {
+        FenwickTree fenwickTree = new FenwickTree(5);
+
+        fenwickTree.add(2, 3);
+        fenwickTree.add(2, -1);
+
+        assertEquals(2, fenwickTree.sumBelow(5));
+        assertEquals(5, fenwickTree.size());
+    }
+
+}
@@ -0,0 +1,71 @@
+package br.com.sbk.sbking.loadtest;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.GameModeSummary;
+import br.com.sbk.sbking.core.Score;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.PositiveRuleset;
+import br.com.sbk.sbking.core.rulesets.abstractClasses.Ruleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeHeartsRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeKingRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeMenRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeTricksRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveNoTrumpsRuleset;
+import br.com.sbk.sbking.core.rulesets.concrete.PositiveWithTrumpsRuleset;
+import br.com.sbk.sbking.gui.models.KingGameScoreboard;
+
+public class LoadTestPlayerTest {
+
+    @Test
+    public void shouldNotPermitANegativeAlreadyPlayed() {
+        KingGameScoreboard gameScoreboard = this.createScoreboard(summaryOf(Direction.EAST, new NegativeHeartsRuleset(), 1));
+
+        Predicate<Ruleset> permitted = LoadTestPlayer.permittedBy(gameScoreboard, Direction.NORTH);
+
+        assertFalse(permitted.test(new NegativeHeartsRuleset()));
+        assertTrue(permitted.test(new NegativeTricksRuleset()));
+        assertTrue(permitted.test(new PositiveNoTrumpsRuleset()));
+    }
+
+    @Test
+    public void shouldNotPermitASideMoreNegativesOrPositivesThanTheRulesDo() {
+        KingGameScoreboard gameScoreboard = this.createScoreboard(
+                summaryOf(Direction.NORTH, new NegativeHeartsRuleset(), 1),
+                summaryOf(Direction.SOUTH, new NegativeTricksRuleset(), 2),
+                summaryOf(Direction.NORTH, new NegativeMenRuleset(), 3),
+                summaryOf(Direction.EAST, new PositiveNoTrumpsRuleset(), 4),
+                summaryOf(Direction.WEST, new PositiveWithTrumpsRuleset(Suit.SPADES), 5));
+
+        Predicate<Ruleset> permittedToNorthSouth = LoadTestPlayer.permittedBy(gameScoreboard, Direction.SOUTH);
+        Predicate<Ruleset> permittedToEastWest = LoadTestPlayer.permittedBy(gameScoreboard, Direction.EAST);
+
+        assertFalse(permittedToNorthSouth.test(new NegativeKingRuleset()));
+        assertTrue(permittedToNorthSouth.test(new PositiveNoTrumpsRuleset()));
+        assertTrue(permittedToEastWest.test(new NegativeKingRuleset()));
+        assertFalse(permittedToEastWest.test(new PositiveWithTrumpsRuleset(Suit.HEARTS)));
+    }
+
+    private KingGameScoreboard createScoreboard(GameModeSummary... summaries) {
+        GameModeSummary[] games = new GameModeSummary[10];
+        int positivesPlayed = 0;
+        for (int i = 0; i < summaries.length; i++) {
+            games[i] = summaries[i];
+            if (summaries[i].getRuleset() instanceof PositiveRuleset) {
+                positivesPlayed++;
+            }
+        }
+        return new KingGameScoreboard(games, summaries.length, positivesPlayed);
+    }
+
+    private static GameModeSummary summaryOf(Direction chosenBy, Ruleset ruleset, int orderOfPlay) {
+        return new GameModeSummary(chosenBy, ruleset, orderOfPlay, new Score(ruleset));
+    }
+
+}
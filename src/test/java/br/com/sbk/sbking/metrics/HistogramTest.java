@@ -0,0 +1,92 @@
+package br.com.sbk.sbking.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+    @Test
+    public void shouldKeepSmallValuesExactly() {
+        Histogram histogram = new Histogram(1000);
+
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(50.5, histogram.getMean(), 0.0001);
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+        assertEquals(100, histogram.getMaximumValue());
+    }
+
+    @Test
+    public void shouldKeepLargeValuesWithinOnePercent() {
+        Histogram histogram = new Histogram(1L << 40);
+        long value = 123456789L;
+
+        histogram.record(value);
+        histogram.record(2 * value);
+
+        long percentile = histogram.getValueAtPercentile(50);
+        assertTrue(percentile >= value);
+        assertTrue(percentile <= value + value / 100);
+        assertEquals(2 * value, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void shouldReportEveryValueWithinOnePercent() {
+        for (long value = 1; value < 1L << 40; value += value / 7 + 1) {
+            assertTrue(Histogram.highestValueOf(Histogram.indexOf(value)) <= value + value / 100);
+        }
+    }
+
+    @Test
+    public void shouldPutEveryValueInTheBucketItReportsBack() {
+        for (long value = 0; value < 1 << 16; value++) {
+            int index = Histogram.indexOf(value);
+            assertTrue(value <= Histogram.highestValueOf(index));
+            assertTrue(index == 0 || value > Histogram.highestValueOf(index - 1));
+        }
+    }
+
+    @Test
+    public void shouldCountValuesAboveTheHighestTrackableOneAsThatOne() {
+        Histogram histogram = new Histogram(1000);
+
+        histogram.record(5000);
+        histogram.record(-3);
+
+        assertEquals(1000, histogram.getMaximumValue());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void shouldAddAndReset() {
+        Histogram histogram = new Histogram(1000);
+        Histogram other = new Histogram(1000);
+        histogram.record(10);
+        other.record(20);
+        other.record(30);
+
+        histogram.add(other);
+
+        assertEquals(3, histogram.getTotalCount());
+        assertEquals(30, histogram.getMaximumValue());
+        assertEquals(20, histogram.getValueAtPercentile(50));
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAddHistogramsTrackingOtherValues() {
+        new Histogram(1000).add(new Histogram(2000));
+    }
+
+}
@@ -0,0 +1,104 @@
+package br.com.sbk.sbking.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void shouldWriteCountersAndGaugesWithTheirLabels() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        Counter counter = metricsRegistry.counter("played_cards_total", "Cards played.", "table", "2");
+        metricsRegistry.gauge("tables", "Tables.", () -> 7);
+
+        counter.increment();
+        counter.add(2);
+        StringBuilder text = new StringBuilder();
+        metricsRegistry.writeText(text);
+
+        assertEquals("# HELP played_cards_total Cards played.\n"
+                + "# TYPE played_cards_total counter\n"
+                + "played_cards_total{table=\"2\"} 3\n"
+                + "# HELP tables Tables.\n"
+                + "# TYPE tables gauge\n"
+                + "tables 7\n", text.toString());
+    }
+
+    @Test
+    public void shouldWriteHistogramsAsSummaries() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        Histogram histogram = metricsRegistry.histogram("latency", "Latency.", 1000, "kind", "deal");
+
+        histogram.record(10);
+        histogram.record(30);
+        StringBuilder text = new StringBuilder();
+        metricsRegistry.writeText(text);
+
+        String written = text.toString();
+        assertTrue(written.contains("# TYPE latency summary\n"));
+        assertTrue(written.contains("latency{kind=\"deal\",quantile=\"0.5\"} 10\n"));
+        assertTrue(written.contains("latency{kind=\"deal\",quantile=\"1.0\"} 30\n"));
+        assertTrue(written.contains("latency_sum{kind=\"deal\"} 40\n"));
+        assertTrue(written.contains("latency_count{kind=\"deal\"} 2\n"));
+    }
+
+    @Test
+    public void shouldEscapeQuotesInLabelValues() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("messages_total", "Messages.", "message", "say \"hi\"");
+
+        StringBuilder text = new StringBuilder();
+        metricsRegistry.writeText(text);
+
+        assertTrue(text.toString().contains("messages_total{message=\"say \\\"hi\\\"\"} 0\n"));
+    }
+
+    @Test
+    public void shouldNameAttributesByTheMetricAndItsLabelValues() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("played_cards_total", "Cards played.", "table", "2").increment();
+        metricsRegistry.histogram("latency", "Latency.", 1000).record(20);
+
+        Map<String, Number> attributes = metricsRegistry.getAttributes();
+
+        assertEquals(1L, attributes.get("played_cards_total.2"));
+        assertEquals(20L, attributes.get("latency.p99"));
+        assertEquals(20L, attributes.get("latency.max"));
+        assertEquals(1L, attributes.get("latency.count"));
+    }
+
+    @Test
+    public void shouldForgetAnUnregisteredMetric() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("played_cards_total", "Cards played.", "table", "1");
+        metricsRegistry.counter("played_cards_total", "Cards played.", "table", "2");
+
+        metricsRegistry.unregister("played_cards_total", "table", "1");
+        StringBuilder text = new StringBuilder();
+        metricsRegistry.writeText(text);
+
+        assertEquals("# HELP played_cards_total Cards played.\n"
+                + "# TYPE played_cards_total counter\n"
+                + "played_cards_total{table=\"2\"} 0\n", text.toString());
+
+        metricsRegistry.unregister("played_cards_total", "table", "2");
+        assertTrue(metricsRegistry.getAttributes().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotRegisterALabelWithoutAValue() {
+        new MetricsRegistry().counter("played_cards_total", "Cards played.", "table");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotRegisterANameAgainAsAnotherType() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("tables", "Tables.");
+        metricsRegistry.gauge("tables", "Tables.", () -> 1);
+    }
+
+}
@@ -0,0 +1,47 @@
+package br.com.sbk.sbking.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class SlidingWindowCounterTest {
+
+    @Test
+    public void shouldCountWhatHappenedInTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+
+        counter.increment(5000);
+        counter.increment(5350);
+        counter.increment(5999);
+
+        assertEquals(3, counter.getCount(5999));
+    }
+
+    @Test
+    public void shouldForgetWhatHappenedBeforeTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+
+        counter.increment(5000);
+        counter.increment(5500);
+
+        assertEquals(1, counter.getCount(6000));
+        assertEquals(0, counter.getCount(6500));
+    }
+
+    @Test
+    public void shouldClearASlotWhenItsTimeComesRoundAgain() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+
+        counter.increment(5000);
+        counter.increment(5000);
+        counter.increment(6000);
+
+        assertEquals(1, counter.getCount(6000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateAWindowWithoutSlots() {
+        new SlidingWindowCounter(1000, 0);
+    }
+
+}
@@ -0,0 +1,185 @@
+package br.com.sbk.sbking.networking.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.ShuffledBoardDealer;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeHeartsRuleset;
+import br.com.sbk.sbking.networking.messages.CardPlayedEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
+import br.com.sbk.sbking.networking.messages.HandRevealedEvent;
+import br.com.sbk.sbking.networking.messages.RulesetChosenEvent;
+import br.com.sbk.sbking.networking.messages.SeatChangedEvent;
+import br.com.sbk.sbking.networking.messages.TrickWonEvent;
+import br.com.sbk.sbking.networking.server.DealProjector;
+
+public class DealReplicaTest {
+
+    private DealReplica dealReplica;
+    private Deal serverDeal;
+    private long sequence;
+
+    @Before
+    public void setup() {
+        Board board = new ShuffledBoardDealer().dealBoard(Direction.NORTH);
+        this.dealReplica = new DealReplica();
+        this.dealReplica.setBoard(board);
+        this.serverDeal = new Deal(board, new NegativeHeartsRuleset());
+        this.sequence = 0;
+    }
+
+    private boolean chooseRuleset() {
+        return this.dealReplica.apply(new RulesetChosenEvent(++this.sequence, this.serverDeal.getRuleset(),
+                this.serverDeal.getCurrentPlayer(), null));
+    }
+
+    private void playAndApplyAnyValidCard() {
+        Direction playedBy = this.serverDeal.getCurrentPlayer();
+        int completedTricks = this.serverDeal.getCompletedTricks();
+        Hand hand = this.serverDeal.getHandOf(playedBy);
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            try {
+                this.serverDeal.playCard(card);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            assertTrue(this.dealReplica.apply(new CardPlayedEvent(++this.sequence, playedBy, card)));
+            if (this.serverDeal.getCompletedTricks() > completedTricks) {
+                assertTrue(this.dealReplica.apply(new TrickWonEvent(++this.sequence,
+                        this.serverDeal.getCurrentPlayer(), this.serverDeal.getNorthSouthPoints(),
+                        this.serverDeal.getEastWestPoints())));
+            }
+            return;
+        }
+    }
+
+    @Test
+    public void shouldFollowTheServerDealThroughEvents() {
+        assertTrue(chooseRuleset());
+        while (!this.serverDeal.isFinished()) {
+            playAndApplyAnyValidCard();
+        }
+
+        Deal replicatedDeal = this.dealReplica.getDeal();
+        assertEquals(this.serverDeal.getCompletedTricks(), replicatedDeal.getCompletedTricks());
+        assertEquals(this.serverDeal.getNorthSouthPoints(), replicatedDeal.getNorthSouthPoints());
+        assertEquals(this.serverDeal.getEastWestPoints(), replicatedDeal.getEastWestPoints());
+        assertEquals(this.serverDeal.getCurrentTrick(), replicatedDeal.getCurrentTrick());
+        assertTrue(replicatedDeal.isFinished());
+    }
+
+    @Test
+    public void shouldPublishANewDealAfterEveryEvent() {
+        chooseRuleset();
+        Deal before = this.dealReplica.getDeal();
+
+        playAndApplyAnyValidCard();
+
+        assertNotSame(before, this.dealReplica.getDeal());
+        assertTrue(before.getCurrentTrick().isEmpty());
+    }
+
+    @Test
+    public void shouldAskForSnapshotWhenAnEventIsMissing() {
+        chooseRuleset();
+
+        this.sequence++;
+
+        assertFalse(this.dealReplica.apply(new SeatChangedEvent(++this.sequence, Direction.EAST, "East")));
+    }
+
+    @Test
+    public void shouldIgnoreEventsAlreadyInTheReplica() {
+        chooseRuleset();
+        playAndApplyAnyValidCard();
+        Deal current = this.dealReplica.getDeal();
+
+        assertTrue(this.dealReplica.apply(new SeatChangedEvent(1, Direction.EAST, "Late")));
+        assertEquals(current, this.dealReplica.getDeal());
+    }
+
+    @Test
+    public void shouldRefuseACardFromAnotherPlayer() {
+        chooseRuleset();
+        Direction notCurrentPlayer = this.serverDeal.getCurrentPlayer().next();
+        Card card = this.serverDeal.getHandOf(notCurrentPlayer).get(0);
+
+        assertFalse(this.dealReplica.apply(new CardPlayedEvent(++this.sequence, notCurrentPlayer, card)));
+        assertEquals(1, this.dealReplica.getLastSequence());
+    }
+
+    @Test
+    public void shouldContinueFromASnapshotInTheMiddleOfPlay() {
+        chooseRuleset();
+        for (int i = 0; i < 6; i++) {
+            playAndApplyAnyValidCard();
+        }
+        DealReplica lateReplica = new DealReplica();
+        lateReplica.applySnapshot(new DealSnapshot(this.sequence, this.serverDeal));
+        this.dealReplica = lateReplica;
+
+        playAndApplyAnyValidCard();
+        playAndApplyAnyValidCard();
+
+        assertEquals(this.serverDeal.getCurrentTrick(), this.dealReplica.getDeal().getCurrentTrick());
+        assertEquals(this.serverDeal.getCompletedTricks(), this.dealReplica.getDeal().getCompletedTricks());
+    }
+
+    @Test
+    public void shouldKeepPlayerNamesFromSeatChanges() {
+        assertTrue(this.dealReplica.apply(new SeatChangedEvent(++this.sequence, Direction.SOUTH, "South player")));
+        chooseRuleset();
+
+        assertEquals("South player", this.dealReplica.getDeal().getPlayerOf(Direction.SOUTH).getName());
+
+        this.dealReplica.apply(new SeatChangedEvent(++this.sequence, Direction.SOUTH, null));
+
+        assertNull(this.dealReplica.getDeal().getPlayerOf(Direction.SOUTH));
+    }
+
+    @Test
+    public void shouldFollowPlayWithHiddenHandsUntilTheyAreRevealed() {
+        Board board = new ShuffledBoardDealer().dealBoard(Direction.NORTH);
+        this.dealReplica = new DealReplica();
+        this.dealReplica.setBoard(DealProjector.projectBoard(board, Direction.SOUTH));
+        this.serverDeal = new Deal(board, new NegativeHeartsRuleset());
+        chooseRuleset();
+
+        for (int i = 0; i < 5; i++) {
+            playAndApplyAnyValidCard();
+        }
+        Hand eastHand = this.dealReplica.getDeal().getHandOf(Direction.EAST);
+        assertEquals(this.serverDeal.getHandOf(Direction.EAST).size(), eastHand.size());
+        assertNull(eastHand.get(0));
+
+        List<Card> eastStartingCards = DealProjector.getStartingCardsOf(this.serverDeal, Direction.EAST);
+        assertTrue(this.dealReplica.apply(new HandRevealedEvent(++this.sequence, Direction.EAST, eastStartingCards)));
+
+        assertEquals(this.serverDeal.getHandOf(Direction.EAST), this.dealReplica.getDeal().getHandOf(Direction.EAST));
+        assertEquals(this.serverDeal.getCurrentTrick(), this.dealReplica.getDeal().getCurrentTrick());
+    }
+
+    @Test
+    public void shouldForgetTheDealWhenItIsUnset() {
+        chooseRuleset();
+
+        this.dealReplica.unsetDeal();
+
+        assertNull(this.dealReplica.getDeal());
+    }
+
+}
@@ -1,6 +1,8 @@
 package br.com.sbk.sbking.networking.core.properties;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import org.junit.Before;
@@ -20,6 +22,8 @@ public class NetworkingPropertiesTest {
     private final String portString = "60000";
     private final int portNumber = 60000;
     private final String host = "localhost";
+    private final String protocol = "framed";
+    private final String transport = "nio";
 
     @Before
     public void setup() {
@@ -62,4 +66,104 @@ public class NetworkingPropertiesTest {
         assertEquals(portNumber, this.networkingProperties.getPort());
     }
 
+    @Test
+    public void shouldGetProtocolFromSystemPropertiesIfItReturnsNotNull() {
+        Mockito.when(systemProperties.getProtocol()).thenReturn(protocol);
+
+        assertEquals(protocol, this.networkingProperties.getProtocol());
+
+        Mockito.verifyZeroInteractions(fileProperties);
+    }
+
+    @Test
+    public void shouldGetProtocolFromFilePropertiesIfSystemPropertiesReturnsNull() {
+        Mockito.when(systemProperties.getProtocol()).thenReturn(null);
+        Mockito.when(fileProperties.getProtocol()).thenReturn(protocol);
+
+        assertEquals(protocol, this.networkingProperties.getProtocol());
+    }
+
+    @Test
+    public void shouldGetTransportFromSystemPropertiesIfItReturnsNotNull() {
+        Mockito.when(systemProperties.getTransport()).thenReturn(transport);
+
+        assertEquals(transport, this.networkingProperties.getTransport());
+
+        Mockito.verifyZeroInteractions(fileProperties);
+    }
+
+    @Test
+    public void shouldGetTransportFromFilePropertiesIfSystemPropertiesReturnsNull() {
+        Mockito.when(systemProperties.getTransport()).thenReturn(null);
+        Mockito.when(fileProperties.getTransport()).thenReturn(transport);
+
+        assertEquals(transport, this.networkingProperties.getTransport());
+    }
+
+    @Test
+    public void shouldGetOutboundQueueCapacityFromSystemPropertiesIfItReturnsNotNull() {
+        Mockito.when(systemProperties.getOutboundQueueCapacity()).thenReturn("64");
+
+        assertEquals(64, this.networkingProperties.getOutboundQueueCapacity());
+    }
+
+    @Test
+    public void shouldUseTheDefaultOutboundQueueMaximumLagWhenItIsNotConfigured() {
+        Mockito.when(systemProperties.getOutboundQueueMaximumLag()).thenReturn(null);
+        Mockito.when(fileProperties.getOutboundQueueMaximumLag()).thenReturn(null);
+
+        assertEquals(NetworkingProperties.DEFAULT_OUTBOUND_QUEUE_MAXIMUM_LAG,
+                this.networkingProperties.getOutboundQueueMaximumLag());
+    }
+
+    @Test
+    public void shouldGetThreadsFromSystemPropertiesIfItReturnsNotNull() {
+        Mockito.when(systemProperties.getThreads()).thenReturn("virtual");
+
+        assertEquals("virtual", this.networkingProperties.getThreads());
+
+        Mockito.verifyZeroInteractions(fileProperties);
+    }
+
+    @Test
+    public void shouldUsePlatformThreadsWhenThreadsIsNotConfigured() {
+        Mockito.when(systemProperties.getThreads()).thenReturn(null);
+        Mockito.when(fileProperties.getThreads()).thenReturn(null);
+
+        assertEquals(NetworkingProperties.DEFAULT_THREADS, this.networkingProperties.getThreads());
+    }
+
+    @Test
+    public void shouldGetMaximumTablesFromFilePropertiesIfSystemPropertiesReturnsNull() {
+        Mockito.when(systemProperties.getMaximumTables()).thenReturn(null);
+        Mockito.when(fileProperties.getMaximumTables()).thenReturn("20");
+
+        assertEquals(20, this.networkingProperties.getMaximumTables());
+    }
+
+    @Test
+    public void shouldUseTheDefaultMaximumTablesWhenItIsNotConfigured() {
+        Mockito.when(systemProperties.getMaximumTables()).thenReturn(null);
+        Mockito.when(fileProperties.getMaximumTables()).thenReturn(null);
+
+        assertEquals(NetworkingProperties.DEFAULT_MAXIMUM_TABLES, this.networkingProperties.getMaximumTables());
+    }
+
+    @Test
+    public void shouldNotServeMetricsWhenTheyAreNotConfigured() {
+        Mockito.when(systemProperties.getMetricsPort()).thenReturn(null);
+        Mockito.when(fileProperties.getMetricsPort()).thenReturn(null);
+
+        assertEquals(NetworkingProperties.DEFAULT_METRICS_PORT, this.networkingProperties.getMetricsPort());
+        assertFalse(this.networkingProperties.isJmxMetricsEnabled());
+    }
+
+    @Test
+    public void shouldGetJmxMetricsFromSystemPropertiesIfItReturnsNotNull() {
+        Mockito.when(systemProperties.getJmxMetrics()).thenReturn("true");
+        Mockito.when(fileProperties.getJmxMetrics()).thenReturn("false");
+
+        assertTrue(this.networkingProperties.isJmxMetricsEnabled());
+    }
+
 }
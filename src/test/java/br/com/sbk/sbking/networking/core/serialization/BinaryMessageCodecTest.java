@@ -0,0 +1,230 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.Player;
+import br.com.sbk.sbking.core.Rank;
+import br.com.sbk.sbking.core.ShuffledBoardDealer;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeHeartsRuleset;
+import br.com.sbk.sbking.gui.models.KingGameScoreboard;
+import br.com.sbk.sbking.gui.models.TableSummary;
+import br.com.sbk.sbking.networking.messages.CardPlayedEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
+import br.com.sbk.sbking.networking.messages.HandRevealedEvent;
+import br.com.sbk.sbking.networking.messages.RulesetChosenEvent;
+import br.com.sbk.sbking.networking.messages.SeatChangedEvent;
+import br.com.sbk.sbking.networking.messages.TrickWonEvent;
+import br.com.sbk.sbking.networking.server.DealProjector;
+
+public class BinaryMessageCodecTest {
+
+    private BinaryMessageCodec binaryMessageCodec;
+
+    @Before
+    public void setup() {
+        this.binaryMessageCodec = new BinaryMessageCodec();
+    }
+
+    private Object roundTrip(Object message) throws IOException {
+        return this.binaryMessageCodec.decode(ByteBuffer.wrap(this.binaryMessageCodec.encode(message)));
+    }
+
+    private void playAnyValidCard(Deal deal) {
+        Hand hand = deal.getHandOf(deal.getCurrentPlayer());
+        for (int i = 0; i < hand.size(); i++) {
+            try {
+                deal.playCard(hand.get(i));
+                return;
+            } catch (RuntimeException e) {
+                continue;
+            }
+        }
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeStringsCardsAndDirections() throws IOException {
+        Card queenOfHearts = Card.of(Suit.HEARTS, Rank.QUEEN);
+
+        assertEquals("NICKNAMEJoão", roundTrip("NICKNAMEJoão"));
+        assertEquals(queenOfHearts, roundTrip(queenOfHearts));
+        assertEquals(Direction.WEST, roundTrip(Direction.WEST));
+    }
+
+    @Test
+    public void shouldEncodeACardInOneByteAfterTheHeader() throws IOException {
+        assertEquals(3, this.binaryMessageCodec.encode(Card.of(Suit.SPADES, Rank.ACE)).length);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeBoard() throws IOException {
+        Board board = new ShuffledBoardDealer().dealBoard(Direction.EAST);
+
+        assertEquals(board, roundTrip(board));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeDealInTheMiddleOfPlay() throws IOException {
+        Board board = new ShuffledBoardDealer().dealBoard(Direction.SOUTH);
+        Deal deal = new Deal(board, new NegativeHeartsRuleset());
+        deal.setPlayerOf(Direction.NORTH, new Player("North player"));
+        for (int i = 0; i < 22; i++) {
+            playAnyValidCard(deal);
+        }
+
+        Deal decodedDeal = (Deal) roundTrip(deal);
+
+        assertEquals(deal, decodedDeal);
+        assertEquals(deal.getCurrentPlayer(), decodedDeal.getCurrentPlayer());
+        assertEquals(deal.getNorthSouthPoints(), decodedDeal.getNorthSouthPoints());
+        assertEquals("North player", decodedDeal.getPlayerOf(Direction.NORTH).getName());
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeGameScoreboard() throws IOException {
+        Deal deal = new Deal(new ShuffledBoardDealer().dealBoard(Direction.NORTH), new NegativeHeartsRuleset());
+        while (!deal.isFinished()) {
+            playAnyValidCard(deal);
+        }
+        KingGameScoreboard gameScoreboard = new KingGameScoreboard();
+        gameScoreboard.addFinishedDeal(deal);
+
+        KingGameScoreboard decodedGameScoreboard = (KingGameScoreboard) roundTrip(gameScoreboard);
+
+        for (int line = 1; line <= 10; line++) {
+            assertEquals(gameScoreboard.getLine(line), decodedGameScoreboard.getLine(line));
+        }
+        assertEquals(gameScoreboard.getSummary(), decodedGameScoreboard.getSummary());
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeTableSummaries() throws IOException {
+        List<TableSummary> tableSummaries = new ArrayList<TableSummary>();
+        tableSummaries.add(new TableSummary(7, "KING", 4, 12));
+
+        @SuppressWarnings("unchecked")
+        List<TableSummary> decodedTableSummaries = (List<TableSummary>) roundTrip(tableSummaries);
+
+        assertEquals(1, decodedTableSummaries.size());
+        assertEquals(tableSummaries.get(0).toString(), decodedTableSummaries.get(0).toString());
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeDealEvents() throws IOException {
+        Card aceOfSpades = Card.of(Suit.SPADES, Rank.ACE);
+        CardPlayedEvent cardPlayedEvent = (CardPlayedEvent) roundTrip(
+                new CardPlayedEvent(41L, Direction.EAST, aceOfSpades));
+        TrickWonEvent trickWonEvent = (TrickWonEvent) roundTrip(new TrickWonEvent(42L, Direction.SOUTH, -20, 0));
+        SeatChangedEvent seatChangedEvent = (SeatChangedEvent) roundTrip(new SeatChangedEvent(43L, Direction.WEST, null));
+        RulesetChosenEvent rulesetChosenEvent = (RulesetChosenEvent) roundTrip(
+                new RulesetChosenEvent(44L, new NegativeHeartsRuleset(), Direction.NORTH, null));
+
+        assertEquals(41L, cardPlayedEvent.getSequence());
+        assertEquals(Direction.EAST, cardPlayedEvent.getDirection());
+        assertEquals(aceOfSpades, cardPlayedEvent.getCard());
+        assertEquals(Direction.SOUTH, trickWonEvent.getWinner());
+        assertEquals(-20, trickWonEvent.getNorthSouthPoints());
+        assertTrue(seatChangedEvent.isEmptySeat());
+        assertEquals(Direction.WEST, seatChangedEvent.getDirection());
+        assertEquals(new NegativeHeartsRuleset(), rulesetChosenEvent.getRuleset());
+        assertEquals(Direction.NORTH, rulesetChosenEvent.getLeader());
+        assertNull(rulesetChosenEvent.getDummy());
+    }
+
+    @Test
+    public void shouldEncodeACardPlayedEventInTwelveBytes() throws IOException {
+        assertEquals(12, this.binaryMessageCodec
+                .encode(new CardPlayedEvent(1L, Direction.NORTH, Card.of(Suit.CLUBS, Rank.TWO))).length);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeDealSnapshots() throws IOException {
+        Deal deal = new Deal(new ShuffledBoardDealer().dealBoard(Direction.WEST), new NegativeHeartsRuleset());
+        playAnyValidCard(deal);
+
+        DealSnapshot dealSnapshot = (DealSnapshot) roundTrip(new DealSnapshot(7L, deal));
+        DealSnapshot emptySnapshot = (DealSnapshot) roundTrip(new DealSnapshot(8L, null));
+
+        assertEquals(7L, dealSnapshot.getSequence());
+        assertEquals(deal.getCurrentTrick(), dealSnapshot.getDeal().getCurrentTrick());
+        assertEquals(8L, emptySnapshot.getSequence());
+        assertNull(emptySnapshot.getDeal());
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeHiddenCards() throws IOException {
+        Deal deal = new Deal(new ShuffledBoardDealer().dealBoard(Direction.WEST), new NegativeHeartsRuleset());
+        Direction leader = deal.getCurrentPlayer();
+        Direction viewer = leader.next();
+        playAnyValidCard(deal);
+        Deal projectedDeal = DealProjector.projectDeal(deal, viewer);
+
+        Deal decodedDeal = ((DealSnapshot) roundTrip(new DealSnapshot(9L, projectedDeal))).getDeal();
+
+        assertEquals(deal.getCurrentTrick(), decodedDeal.getCurrentTrick());
+        assertEquals(deal.getHandOf(viewer), decodedDeal.getHandOf(viewer));
+        for (Direction direction : Direction.values()) {
+            assertEquals(projectedDeal.getHandOf(direction), decodedDeal.getHandOf(direction));
+            assertEquals(deal.getHandOf(direction).size(), decodedDeal.getHandOf(direction).size());
+        }
+        assertEquals(12, decodedDeal.getHandOf(leader).getNumberOfHiddenCards());
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeRevealedHands() throws IOException {
+        List<Card> cards = new ArrayList<Card>();
+        cards.add(Card.of(Suit.SPADES, Rank.ACE));
+        cards.add(Card.of(Suit.DIAMONDS, Rank.TWO));
+
+        HandRevealedEvent handRevealedEvent = (HandRevealedEvent) roundTrip(
+                new HandRevealedEvent(45L, Direction.NORTH, cards));
+
+        assertEquals(45L, handRevealedEvent.getSequence());
+        assertEquals(Direction.NORTH, handRevealedEvent.getDirection());
+        assertTrue(handRevealedEvent.getCards().containsAll(cards));
+        assertEquals(2, handRevealedEvent.getCards().size());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRefuseToEncodeUnknownObjects() throws IOException {
+        this.binaryMessageCodec.encode(new Object());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRefuseUnknownVersions() throws IOException {
+        byte[] payload = this.binaryMessageCodec.encode(Direction.NORTH);
+        payload[0] = (byte) (BinaryMessageCodec.VERSION + 1);
+
+        this.binaryMessageCodec.decode(ByteBuffer.wrap(payload));
+    }
+
+    @Test
+    public void shouldRefuseTruncatedAndInvalidPayloads() {
+        byte[][] invalidPayloads = { {}, { BinaryMessageCodec.VERSION }, { BinaryMessageCodec.VERSION, 2, 52 },
+            { BinaryMessageCodec.VERSION, 3, 4 }, { BinaryMessageCodec.VERSION, 99 } };
+        for (byte[] invalidPayload : invalidPayloads) {
+            try {
+                this.binaryMessageCodec.decode(ByteBuffer.wrap(invalidPayload));
+            } catch (IOException e) {
+                continue;
+            }
+            assertTrue("Payload should have been refused", false);
+        }
+    }
+
+}
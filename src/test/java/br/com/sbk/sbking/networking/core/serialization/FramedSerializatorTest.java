@@ -0,0 +1,72 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Test;
+
+public class FramedSerializatorTest {
+
+    private FramedSerializator framedSerializatorReading(byte[] bytes) {
+        return framedSerializatorReading(bytes, new JavaSerializationMessageCodec());
+    }
+
+    private FramedSerializator framedSerializatorReading(byte[] bytes, MessageCodec messageCodec) {
+        DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes));
+        DataOutputStream dataOutputStream = new DataOutputStream(new ByteArrayOutputStream());
+        return new FramedSerializator(dataInputStream, dataOutputStream, messageCodec);
+    }
+
+    @Test
+    public void shouldDeserializeWhatWasSerializedInTheSameOrder() {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        FramedSerializator writer = new FramedSerializator(
+                new DataInputStream(new ByteArrayInputStream(new byte[0])),
+                new DataOutputStream(byteArrayOutputStream), new JavaSerializationMessageCodec());
+
+        writer.tryToSerialize("DEAL");
+        writer.tryToSerialize(Integer.valueOf(42));
+
+        FramedSerializator reader = framedSerializatorReading(byteArrayOutputStream.toByteArray());
+        assertEquals("DEAL", reader.tryToDeserialize(String.class));
+        assertEquals(Integer.valueOf(42), reader.tryToDeserialize(Integer.class));
+    }
+
+    @Test
+    public void shouldWriteTheSameBytesForAPreparedMessage() {
+        ByteArrayOutputStream firstOutput = new ByteArrayOutputStream();
+        ByteArrayOutputStream secondOutput = new ByteArrayOutputStream();
+        PreparedMessage preparedMessage = new PreparedMessage("DEAL");
+
+        new FramedSerializator(new DataInputStream(new ByteArrayInputStream(new byte[0])),
+                new DataOutputStream(firstOutput), new BinaryMessageCodec()).tryToSerializePrepared(preparedMessage);
+        new FramedSerializator(new DataInputStream(new ByteArrayInputStream(new byte[0])),
+                new DataOutputStream(secondOutput), new BinaryMessageCodec()).tryToSerializePrepared(preparedMessage);
+
+        assertArrayEquals(firstOutput.toByteArray(), secondOutput.toByteArray());
+        FramedSerializator reader = framedSerializatorReading(firstOutput.toByteArray(), new BinaryMessageCodec());
+        assertEquals("DEAL", reader.tryToDeserialize(String.class));
+    }
+
+    @Test
+    public void shouldReturnDisconnectedObjectWhenStreamEnds() {
+        FramedSerializator reader = framedSerializatorReading(new byte[0]);
+
+        assertTrue(reader.tryToDeserialize(Object.class) instanceof DisconnectedObject);
+    }
+
+    @Test
+    public void shouldReturnDisconnectedObjectWhenFrameIsTooLong() {
+        byte[] header = { (byte) 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff };
+        FramedSerializator reader = framedSerializatorReading(header);
+
+        assertTrue(reader.tryToDeserialize(Object.class) instanceof DisconnectedObject);
+    }
+
+}
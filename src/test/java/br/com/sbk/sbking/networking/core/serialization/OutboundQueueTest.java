@@ -0,0 +1,98 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Card;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Rank;
+import br.com.sbk.sbking.core.Suit;
+import br.com.sbk.sbking.networking.messages.CardPlayedEvent;
+import br.com.sbk.sbking.networking.messages.DealSnapshot;
+
+public class OutboundQueueTest {
+
+    private OutboundQueueMetrics outboundQueueMetrics;
+    private OutboundQueue outboundQueue;
+
+    @Before
+    public void setup() {
+        this.outboundQueueMetrics = new OutboundQueueMetrics();
+        this.outboundQueue = new OutboundQueue(3, 60000, this.outboundQueueMetrics);
+    }
+
+    private PreparedMessage[] cardPlayed(long sequence) {
+        return new PreparedMessage[] { new PreparedMessage("EVENT"),
+            new PreparedMessage(new CardPlayedEvent(sequence, Direction.NORTH, Card.of(Suit.CLUBS, Rank.TWO))) };
+    }
+
+    private PreparedMessage[] snapshot(long sequence) {
+        return new PreparedMessage[] { new PreparedMessage("SNAPSHOT"), new PreparedMessage(new DealSnapshot(sequence, null)) };
+    }
+
+    @Test
+    public void shouldReturnEntriesInOrder() {
+        PreparedMessage[] first = cardPlayed(1);
+        PreparedMessage[] second = cardPlayed(2);
+
+        this.outboundQueue.offer(first);
+        this.outboundQueue.offer(second);
+
+        assertArrayEquals(first, this.outboundQueue.poll());
+        assertArrayEquals(second, this.outboundQueue.poll());
+        assertNull(this.outboundQueue.poll());
+        assertEquals(0, this.outboundQueueMetrics.getQueuedMessages());
+        assertEquals(2, this.outboundQueueMetrics.getMaximumQueueDepth());
+    }
+
+    @Test
+    public void shouldReplaceOlderSnapshotsAndEventsWithANewSnapshot() {
+        PreparedMessage[] message = { new PreparedMessage("MESSAGE"), new PreparedMessage("Hello") };
+        PreparedMessage[] newSnapshot = snapshot(2);
+        this.outboundQueue.offer(snapshot(1));
+        this.outboundQueue.offer(message);
+        this.outboundQueue.offer(cardPlayed(2));
+
+        assertTrue(this.outboundQueue.offer(newSnapshot));
+
+        assertEquals(2, this.outboundQueue.size());
+        assertArrayEquals(message, this.outboundQueue.poll());
+        assertArrayEquals(newSnapshot, this.outboundQueue.poll());
+        assertEquals(2, this.outboundQueueMetrics.getCoalescedMessages());
+    }
+
+    @Test
+    public void shouldKeepEventsThatComeAfterTheSnapshot() {
+        this.outboundQueue.offer(cardPlayed(3));
+
+        this.outboundQueue.offer(snapshot(2));
+
+        assertEquals(2, this.outboundQueue.size());
+    }
+
+    @Test
+    public void shouldRefuseEntriesWhenFull() {
+        this.outboundQueue.offer(cardPlayed(1));
+        this.outboundQueue.offer(cardPlayed(2));
+        this.outboundQueue.offer(cardPlayed(3));
+
+        assertFalse(this.outboundQueue.offer(cardPlayed(4)));
+        assertEquals(1, this.outboundQueueMetrics.getEvictedClients());
+    }
+
+    @Test
+    public void shouldRefuseEntriesWhenTheOldestOneWaitedTooLong() throws InterruptedException {
+        OutboundQueue impatientQueue = new OutboundQueue(10, 0, this.outboundQueueMetrics);
+        impatientQueue.offer(cardPlayed(1));
+        Thread.sleep(5);
+
+        assertFalse(impatientQueue.offer(cardPlayed(2)));
+    }
+
+}
@@ -0,0 +1,88 @@
+package br.com.sbk.sbking.networking.core.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class QueuedSerializatorTest {
+
+    private Serializator serializator;
+    private List<Runnable> scheduledWrites;
+    private Closeable connection;
+    private QueuedSerializator queuedSerializator;
+
+    @Before
+    public void setup() {
+        this.serializator = mock(Serializator.class);
+        this.scheduledWrites = new ArrayList<Runnable>();
+        this.connection = mock(Closeable.class);
+        this.queuedSerializator = new QueuedSerializator(this.serializator, this.scheduledWrites::add,
+                new OutboundQueue(2, 60000, new OutboundQueueMetrics()), this.connection);
+    }
+
+    private void runScheduledWrites() {
+        while (!this.scheduledWrites.isEmpty()) {
+            this.scheduledWrites.remove(0).run();
+        }
+    }
+
+    @Test
+    public void shouldNotWriteOnTheSendingThread() {
+        this.queuedSerializator.tryToSerialize("DEAL");
+
+        verify(this.serializator, never()).tryToSerializePrepared(any(PreparedMessage.class));
+        assertEquals(1, this.queuedSerializator.getNumberOfQueuedMessages());
+    }
+
+    @Test
+    public void shouldWriteEverythingInOrderWithOneScheduledWrite() {
+        PreparedMessage first = new PreparedMessage("BOARD");
+        PreparedMessage second = new PreparedMessage(Integer.valueOf(42));
+
+        this.queuedSerializator.tryToSerializePrepared(first);
+        this.queuedSerializator.tryToSerializePrepared(second);
+        assertEquals(1, this.scheduledWrites.size());
+        this.runScheduledWrites();
+
+        InOrder inOrder = inOrder(this.serializator);
+        inOrder.verify(this.serializator).tryToSerializePrepared(first);
+        inOrder.verify(this.serializator).tryToSerializePrepared(second);
+        assertEquals(0, this.queuedSerializator.getNumberOfQueuedMessages());
+    }
+
+    @Test
+    public void shouldCloseTheConnectionOfAClientThatFellBehind() throws IOException {
+        this.queuedSerializator.tryToSerialize("DEAL");
+        this.queuedSerializator.tryToSerialize("BOARD");
+        this.queuedSerializator.tryToSerialize("MESSAGE");
+
+        verify(this.connection).close();
+        assertEquals(0, this.queuedSerializator.getNumberOfQueuedMessages());
+        this.runScheduledWrites();
+        verify(this.serializator, never()).tryToSerializePrepared(any(PreparedMessage.class));
+    }
+
+    @Test
+    public void shouldDropQueuedMessagesWhenClosed() {
+        this.queuedSerializator.tryToSerialize("DEAL");
+
+        this.queuedSerializator.close();
+        this.runScheduledWrites();
+
+        verify(this.serializator, never()).tryToSerializePrepared(any(PreparedMessage.class));
+        verify(this.serializator).close();
+    }
+
+}
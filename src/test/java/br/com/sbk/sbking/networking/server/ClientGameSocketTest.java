@@ -0,0 +1,43 @@
+package br.com.sbk.sbking.networking.server;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Socket;
+
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import br.com.sbk.sbking.networking.core.serialization.DisconnectedObject;
+import br.com.sbk.sbking.networking.core.serialization.MessageWriter;
+import br.com.sbk.sbking.networking.messages.MessageConstants;
+
+public class ClientGameSocketTest {
+
+    @Test
+    public void shouldOnlyTakeAckFollowedByAnIdForAnAcknowledgement() {
+        assertTrue(ClientGameSocket.isAcknowledgement(MessageConstants.ACK + "12"));
+        assertFalse(ClientGameSocket.isAcknowledgement(MessageConstants.ACK));
+        assertFalse(ClientGameSocket.isAcknowledgement(MessageConstants.ACKREQUEST));
+        assertFalse(ClientGameSocket.isAcknowledgement(MessageConstants.ACK + "12x"));
+    }
+
+    @Test
+    public void shouldSendSeatInformationOnTheFirstMessageOfABlockingClient() {
+        Lobby lobby = Mockito.mock(Lobby.class);
+        MessageWriter messageWriter = Mockito.mock(MessageWriter.class);
+        PlayerNetworkInformation playerNetworkInformation = Mockito.mock(PlayerNetworkInformation.class);
+        Mockito.when(playerNetworkInformation.getSocket()).thenReturn(new Socket());
+        Mockito.when(playerNetworkInformation.getMessageWriter()).thenReturn(messageWriter);
+        Mockito.when(playerNetworkInformation.readMessage()).thenReturn(MessageConstants.NICKNAME + "north",
+                new DisconnectedObject());
+
+        new ClientGameSocket(playerNetworkInformation, lobby).run();
+
+        Mockito.verify(lobby).schedule(ArgumentMatchers.any(Runnable.class),
+                ArgumentMatchers.eq(ClientGameSocket.CLIENT_SETUP_TIMEOUT_IN_MILLISECONDS));
+        Mockito.verify(messageWriter).tryToSerializePrepared(ClientGameSocket.control(MessageConstants.ISSPECTATOR));
+    }
+
+}
@@ -0,0 +1,71 @@
+package br.com.sbk.sbking.networking.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.Board;
+import br.com.sbk.sbking.core.Deal;
+import br.com.sbk.sbking.core.Direction;
+import br.com.sbk.sbking.core.Hand;
+import br.com.sbk.sbking.core.ShuffledBoardDealer;
+import br.com.sbk.sbking.core.rulesets.concrete.NegativeTricksRuleset;
+
+public class DealProjectorTest {
+
+    private Deal deal;
+
+    @Before
+    public void setup() {
+        Board board = new ShuffledBoardDealer().dealBoard(Direction.NORTH);
+        this.deal = new Deal(board, new NegativeTricksRuleset());
+    }
+
+    private void playAnyLegalCard() {
+        Hand hand = this.deal.getHandOf(this.deal.getCurrentPlayer());
+        for (int i = 0; i < hand.size(); i++) {
+            if (this.deal.isLegalMove(hand.get(i))) {
+                this.deal.playCard(hand.get(i));
+                return;
+            }
+        }
+    }
+
+    @Test
+    public void shouldShowASpectatorNoHandWhileTheDealIsPlayed() {
+        playAnyLegalCard();
+
+        for (Direction direction : Direction.values()) {
+            assertFalse(DealProjector.canSee(this.deal, null, direction));
+        }
+        Deal projectedDeal = DealProjector.projectDeal(this.deal, null);
+        Direction nextPlayer = this.deal.getCurrentPlayer();
+        assertEquals(this.deal.getHandOf(nextPlayer).size(),
+                projectedDeal.getHandOf(nextPlayer).getNumberOfHiddenCards());
+    }
+
+    @Test
+    public void shouldShowASeatedPlayerOnlyItsOwnHandWhileTheDealIsPlayed() {
+        assertTrue(DealProjector.canSee(this.deal, Direction.SOUTH, Direction.SOUTH));
+        assertFalse(DealProjector.canSee(this.deal, Direction.SOUTH, Direction.NORTH));
+    }
+
+    @Test
+    public void shouldShowASpectatorEveryHandOnceTheDealIsFinished() {
+        while (!this.deal.isFinished()) {
+            playAnyLegalCard();
+        }
+
+        Deal projectedDeal = DealProjector.projectDeal(this.deal, null);
+        for (Direction direction : Direction.values()) {
+            assertTrue(DealProjector.canSee(this.deal, null, direction));
+            assertEquals(0, projectedDeal.getHandOf(direction).getNumberOfHiddenCards());
+            assertEquals(DealProjector.getStartingCardsOf(this.deal, direction).size(),
+                    DealProjector.getStartingCardsOf(projectedDeal, direction).size());
+        }
+    }
+
+}
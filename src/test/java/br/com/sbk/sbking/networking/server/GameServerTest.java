@@ -0,0 +1,88 @@
+package br.com.sbk.sbking.networking.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import br.com.sbk.sbking.core.TrickGame;
+
+public class GameServerTest {
+
+    private Table table;
+    private ClientGameSocket player;
+    private GameServer gameServer;
+    private TimerWheel timerWheel;
+
+    @Before
+    public void setup() {
+        this.table = Mockito.mock(Table.class);
+        Mockito.doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(this.table).submit(Mockito.any(Runnable.class));
+        Mockito.when(this.table.getMessageSender()).thenReturn(Mockito.mock(MessageSender.class));
+        this.player = Mockito.mock(ClientGameSocket.class);
+
+        this.gameServer = new GameServer() {
+            @Override
+            protected void onDealOffered() {
+            }
+        };
+        this.gameServer.game = Mockito.mock(TrickGame.class);
+        Mockito.when(this.gameServer.game.isFinished()).thenReturn(true);
+        this.gameServer.setTable(this.table);
+        this.timerWheel = new TimerWheel(5, 8, Runnable::run);
+        this.gameServer.start(this.timerWheel);
+    }
+
+    @After
+    public void tearDown() {
+        this.timerWheel.stop();
+    }
+
+    @Test
+    public void shouldWaitForAPlayerBeforeAcknowledgingOnAnEmptyTable() {
+        AtomicInteger acknowledged = new AtomicInteger();
+
+        this.gameServer.awaitAcknowledgements(acknowledged::incrementAndGet);
+        assertEquals(0, acknowledged.get());
+
+        this.sitThePlayer();
+        ArgumentCaptor<String> acknowledgement = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(this.player).sendAcknowledgementRequest(acknowledgement.capture());
+        assertEquals(0, acknowledged.get());
+
+        this.gameServer.notifyAcknowledgement(this.player, acknowledgement.getValue());
+        assertEquals(1, acknowledged.get());
+    }
+
+    @Test
+    public void shouldPauseAgainWhenTheLastPlayerLeaves() {
+        AtomicInteger acknowledged = new AtomicInteger();
+        this.sitThePlayer();
+        this.gameServer.awaitAcknowledgements(acknowledged::incrementAndGet);
+
+        Mockito.when(this.table.hasSeatedPlayers()).thenReturn(false);
+        Mockito.when(this.table.getSeatedSockets()).thenReturn(Collections.<ClientGameSocket>emptyList());
+        this.gameServer.stopAwaitingAcknowledgementOf(this.player);
+        this.gameServer.onSeatsChanged();
+        assertEquals(1, acknowledged.get());
+
+        this.gameServer.awaitAcknowledgements(acknowledged::incrementAndGet);
+        assertEquals(1, acknowledged.get());
+    }
+
+    private void sitThePlayer() {
+        Mockito.when(this.table.hasSeatedPlayers()).thenReturn(true);
+        Mockito.when(this.table.getSeatedSockets()).thenReturn(Collections.singletonList(this.player));
+        this.gameServer.onSeatsChanged();
+    }
+
+}
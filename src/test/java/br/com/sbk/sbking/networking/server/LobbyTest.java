@@ -0,0 +1,142 @@
+package br.com.sbk.sbking.networking.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import br.com.sbk.sbking.core.Player;
+import br.com.sbk.sbking.gui.models.TableSummary;
+import br.com.sbk.sbking.networking.core.serialization.MessageWriter;
+
+public class LobbyTest {
+
+    private static final String KING = GameServerFromGameNameIdentifier.KING;
+    private static final int RACES = 100;
+
+    @Test
+    public void shouldRefuseToCreateTablesBeyondTheMaximum() {
+        Lobby lobby = this.newLobby(2);
+
+        assertNotNull(lobby.createTable(this.newClient(), KING));
+        assertNotNull(lobby.createTable(this.newClient(), KING));
+        assertNull(lobby.createTable(this.newClient(), KING));
+
+        assertEquals(2, lobby.getNumberOfTables());
+    }
+
+    @Test
+    public void shouldNotCreateATableForAnUnknownGame() {
+        Lobby lobby = this.newLobby(2);
+
+        assertNull(lobby.createTable(this.newClient(), "Poker"));
+        assertEquals(0, lobby.getNumberOfTables());
+    }
+
+    @Test
+    public void shouldJoinATableById() {
+        Lobby lobby = this.newLobby(2);
+        Table table = lobby.createTable(this.newClient(), KING);
+        ClientGameSocket client = this.newClient();
+
+        assertTrue(lobby.joinTable(client, table.getId()));
+        assertSame(table, client.getTable());
+
+        assertFalse(lobby.joinTable(client, table.getId() + 1));
+        assertSame(table, client.getTable());
+    }
+
+    @Test
+    public void shouldWatchTheDefaultTableWhenConnecting() {
+        Lobby lobby = this.newLobby(2);
+
+        lobby.addPlayer(this.newPlayerNetworkInformation());
+        lobby.addPlayer(this.newPlayerNetworkInformation());
+
+        List<TableSummary> tableSummaries = lobby.getTableSummaries();
+        assertEquals(1, tableSummaries.size());
+        assertEquals(GameServerFromGameNameIdentifier.MINIBRIDGE, tableSummaries.get(0).getGameName());
+        assertFalse(lobby.getTable(tableSummaries.get(0).getId()).isEmpty());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void shouldNotAddAPlayerToAFullLobby() {
+        this.newLobby(0).addPlayer(this.newPlayerNetworkInformation());
+    }
+
+    @Test
+    public void shouldRemoveATableOnceItsLastClientLeaves() {
+        Lobby lobby = this.newLobby(2);
+        ClientGameSocket owner = this.newClient();
+        Table table = lobby.createTable(owner, KING);
+        Table otherTable = lobby.createTable(this.newClient(), KING);
+        ClientGameSocket spectator = this.newClient();
+        lobby.joinTable(spectator, table.getId());
+
+        lobby.joinTable(owner, otherTable.getId());
+        assertSame(table, lobby.getTable(table.getId()));
+
+        lobby.joinTable(spectator, otherTable.getId());
+        assertNull(lobby.getTable(table.getId()));
+        assertEquals(1, lobby.getNumberOfTables());
+    }
+
+    @Test
+    public void shouldKeepATableJoinedWhileItsLastClientLeaves() throws InterruptedException {
+        Lobby lobby = this.newLobby(RACES);
+        for (int race = 0; race < RACES; race++) {
+            ClientGameSocket owner = this.newClient();
+            Table table = lobby.createTable(owner, KING);
+            ClientGameSocket joiner = this.newClient();
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicBoolean joined = new AtomicBoolean();
+            Thread joining = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                joined.set(lobby.joinTable(joiner, table.getId()));
+            });
+            joining.start();
+
+            start.countDown();
+            table.removeClientGameSocket(owner);
+            joining.join();
+
+            if (joined.get()) {
+                assertSame(table, lobby.getTable(table.getId()));
+                table.removeClientGameSocket(joiner);
+            }
+            assertNull(lobby.getTable(table.getId()));
+        }
+    }
+
+    private Lobby newLobby(int maximumNumberOfTables) {
+        return new Lobby(new ServerExecutors(ServerExecutors.PLATFORM_THREADS), new ServerMetrics(),
+                maximumNumberOfTables);
+    }
+
+    private ClientGameSocket newClient() {
+        return new ClientGameSocket(this.newPlayerNetworkInformation(), Mockito.mock(Lobby.class));
+    }
+
+    private PlayerNetworkInformation newPlayerNetworkInformation() {
+        PlayerNetworkInformation playerNetworkInformation = Mockito.mock(PlayerNetworkInformation.class);
+        Mockito.when(playerNetworkInformation.getSocket()).thenReturn(new Socket());
+        Mockito.when(playerNetworkInformation.getMessageWriter()).thenReturn(Mockito.mock(MessageWriter.class));
+        Mockito.when(playerNetworkInformation.getPlayer()).thenReturn(new Player("Spectator"));
+        return playerNetworkInformation;
+    }
+
+}
@@ -0,0 +1,108 @@
+package br.com.sbk.sbking.networking.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TableInboxTest {
+
+    private static final int NUMBER_OF_PRODUCERS = 4;
+    private static final int COMMANDS_PER_PRODUCER = 1000;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        this.executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunCommandsInTheOrderTheyWereSubmitted() throws InterruptedException {
+        List<Integer> ran = new ArrayList<Integer>();
+        CountDownLatch latch = new CountDownLatch(1);
+        TableInbox tableInbox = new TableInbox(this.executor);
+
+        for (int i = 0; i < 200; i++) {
+            int command = i;
+            tableInbox.submit(() -> ran.add(command));
+        }
+        tableInbox.submit(latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(200, ran.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, ran.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void shouldRunEveryCommandOfConcurrentProducersOneAtATime() throws InterruptedException {
+        TableInbox tableInbox = new TableInbox(this.executor);
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        int[] lastCommandOfProducer = new int[NUMBER_OF_PRODUCERS];
+        AtomicBoolean outOfOrder = new AtomicBoolean(false);
+        CountDownLatch latch = new CountDownLatch(NUMBER_OF_PRODUCERS * COMMANDS_PER_PRODUCER);
+
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int p = 0; p < NUMBER_OF_PRODUCERS; p++) {
+            int producer = p;
+            producers.add(new Thread(() -> {
+                for (int i = 1; i <= COMMANDS_PER_PRODUCER; i++) {
+                    int command = i;
+                    tableInbox.submit(() -> {
+                        if (running.incrementAndGet() > 1) {
+                            overlapped.set(true);
+                        }
+                        if (lastCommandOfProducer[producer] != command - 1) {
+                            outOfOrder.set(true);
+                        }
+                        lastCommandOfProducer[producer] = command;
+                        running.decrementAndGet();
+                        latch.countDown();
+                    });
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.start();
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        assertFalse(outOfOrder.get());
+        assertEquals(0, tableInbox.size());
+    }
+
+    @Test
+    public void shouldKeepRunningCommandsAfterOneFails() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        TableInbox tableInbox = new TableInbox(this.executor);
+
+        tableInbox.submit(() -> {
+            throw new IllegalStateException("Invalid command");
+        });
+        tableInbox.submit(latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+}
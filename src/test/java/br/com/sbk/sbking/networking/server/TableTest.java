@@ -0,0 +1,57 @@
+package br.com.sbk.sbking.networking.server;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TableTest {
+
+    private Lobby lobby;
+    private GameServer gameServer;
+    private ClientGameSocket owner;
+    private Table table;
+
+    @Before
+    public void setup() {
+        this.lobby = Mockito.mock(Lobby.class);
+        this.gameServer = Mockito.mock(GameServer.class);
+        this.owner = Mockito.mock(ClientGameSocket.class);
+        Mockito.when(this.owner.getTable()).then(invocation -> this.table);
+        this.table = new Table(1, "King", this.owner, this.gameServer, this.lobby, Runnable::run,
+                Mockito.mock(TableMetrics.class));
+    }
+
+    @Test
+    public void shouldAskTheLobbyToRemoveItWhenTheLastClientLeaves() {
+        ClientGameSocket spectator = Mockito.mock(ClientGameSocket.class);
+        this.table.addSpectator(spectator);
+
+        this.table.removeClientGameSocket(this.owner);
+        assertFalse(this.table.isEmpty());
+        Mockito.verify(this.lobby, Mockito.never()).removeTableIfEmpty(this.table);
+
+        this.table.removeClientGameSocket(spectator);
+        assertTrue(this.table.isEmpty());
+        Mockito.verify(this.lobby).removeTableIfEmpty(this.table);
+    }
+
+    @Test
+    public void shouldIgnoreAClientThatAlreadyLeft() {
+        this.table.removeClientGameSocket(this.owner);
+        this.table.removeClientGameSocket(this.owner);
+
+        Mockito.verify(this.lobby, Mockito.times(1)).removeTableIfEmpty(this.table);
+        Mockito.verify(this.gameServer, Mockito.times(1)).stopAwaitingAcknowledgementOf(this.owner);
+    }
+
+    @Test
+    public void shouldStopTheGameWhenClosed() {
+        this.table.close();
+
+        Mockito.verify(this.gameServer).stop();
+    }
+
+}
@@ -0,0 +1,79 @@
+package br.com.sbk.sbking.networking.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimerWheelTest {
+
+    private TimerWheel timerWheel;
+
+    @Before
+    public void setup() {
+        this.timerWheel = new TimerWheel(5, 8, Runnable::run);
+    }
+
+    @After
+    public void tearDown() {
+        this.timerWheel.stop();
+    }
+
+    @Test
+    public void shouldRunTasksInTheOrderOfTheirDeadlines() throws InterruptedException {
+        List<String> ran = new CopyOnWriteArrayList<String>();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        this.timerWheel.schedule(() -> {
+            ran.add("late");
+            latch.countDown();
+        }, 120);
+        this.timerWheel.schedule(() -> {
+            ran.add("soon");
+            latch.countDown();
+        }, 0);
+        this.timerWheel.schedule(() -> {
+            ran.add("middle");
+            latch.countDown();
+        }, 60);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals("soon", ran.get(0));
+        assertEquals("middle", ran.get(1));
+        assertEquals("late", ran.get(2));
+    }
+
+    @Test
+    public void shouldNotRunATaskBeforeItsDelayWhenItTakesMoreThanOneRound() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long scheduledAt = System.nanoTime();
+
+        this.timerWheel.schedule(latch::countDown, 100);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduledAt) >= 100);
+    }
+
+    @Test
+    public void shouldNotRunACancelledTask() throws InterruptedException {
+        CountDownLatch cancelledLatch = new CountDownLatch(1);
+        CountDownLatch laterLatch = new CountDownLatch(1);
+
+        TimerWheel.Timeout timeout = this.timerWheel.schedule(cancelledLatch::countDown, 20);
+        timeout.cancel();
+        this.timerWheel.schedule(laterLatch::countDown, 60);
+
+        assertTrue(laterLatch.await(2, TimeUnit.SECONDS));
+        assertFalse(cancelledLatch.await(0, TimeUnit.MILLISECONDS));
+        assertTrue(timeout.isCancelled());
+    }
+
+}
@@ -0,0 +1,196 @@
+package br.com.sbk.sbking.networking.server.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.sbk.sbking.networking.core.serialization.FramedSerializator;
+import br.com.sbk.sbking.networking.core.serialization.JavaSerializationMessageCodec;
+import br.com.sbk.sbking.networking.core.serialization.MessageCodec;
+import br.com.sbk.sbking.networking.core.serialization.OutboundQueue;
+import br.com.sbk.sbking.networking.core.serialization.OutboundQueueMetrics;
+import br.com.sbk.sbking.networking.server.ServerMetrics;
+
+public class ChannelConnectionTest {
+
+    private static final long TIMEOUT_IN_SECONDS = 5;
+    private static final long PAUSE_IN_MILLISECONDS = 50;
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long QUEUE_MAXIMUM_LAG = 30000;
+    private static final int SMALL_SOCKET_BUFFER = 4096;
+    private static final int LARGE_MESSAGE_LENGTH = 20000;
+    private static final int NUMBER_OF_LARGE_MESSAGES = 100;
+
+    private final MessageCodec messageCodec = new JavaSerializationMessageCodec();
+    private final BlockingQueue<Object> received = new LinkedBlockingQueue<Object>();
+    private final CountDownLatch disconnected = new CountDownLatch(1);
+
+    private EventLoop eventLoop;
+    private SocketChannel client;
+    private SocketChannel serverSide;
+    private ChannelConnection channelConnection;
+
+    @Before
+    public void setup() throws IOException {
+        try (ServerSocketChannel listener = ServerSocketChannel.open()) {
+            listener.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            this.client = SocketChannel.open(listener.getLocalAddress());
+            this.serverSide = listener.accept();
+        }
+        this.eventLoop = new EventLoop("test-event-loop");
+        this.eventLoop.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.eventLoop.shutdown();
+        this.client.close();
+        this.serverSide.close();
+    }
+
+    @Test
+    public void shouldReadFramesSplitAcrossReads() throws Exception {
+        this.connect();
+        byte[] first = this.frameOf("first");
+        byte[] second = this.frameOf("second");
+        byte[] both = new byte[first.length + second.length];
+        System.arraycopy(first, 0, both, 0, first.length);
+        System.arraycopy(second, 0, both, first.length, second.length);
+
+        this.writeInPieces(both, 2, first.length - 1, first.length + 3);
+
+        assertEquals("first", this.received.poll(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+        assertEquals("second", this.received.poll(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldReadAFrameLargerThanTheReadBuffer() throws Exception {
+        this.connect();
+        String largeMessage = this.largeMessage('a');
+        byte[] frame = this.frameOf(largeMessage);
+
+        this.writeInPieces(frame, 100, 5000, frame.length - 10);
+        this.client.write(ByteBuffer.wrap(this.frameOf("after")));
+
+        assertEquals(largeMessage, this.received.poll(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+        assertEquals("after", this.received.poll(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldCloseAConnectionSendingANegativeFrameLength() throws Exception {
+        this.connect();
+
+        this.client.write((ByteBuffer) ByteBuffer.allocate(FramedSerializator.FRAME_HEADER_LENGTH).putInt(-1).flip());
+
+        this.assertClosed();
+    }
+
+    @Test
+    public void shouldCloseAConnectionSendingAnOversizedFrameLength() throws Exception {
+        this.connect();
+
+        this.client.write((ByteBuffer) ByteBuffer.allocate(FramedSerializator.FRAME_HEADER_LENGTH)
+                .putInt(FramedSerializator.MAXIMUM_FRAME_LENGTH + 1).flip());
+
+        this.assertClosed();
+    }
+
+    @Test
+    public void shouldWaitToWriteOnlyWhileAFrameIsPartlyWritten() throws Exception {
+        this.serverSide.socket().setSendBufferSize(SMALL_SOCKET_BUFFER);
+        this.connect();
+
+        for (int message = 0; message < NUMBER_OF_LARGE_MESSAGES; message++) {
+            this.channelConnection.send(this.largeMessage((char) ('a' + message % 26)));
+        }
+        this.awaitWaitingToWrite(true);
+
+        DataInputStream input = new DataInputStream(this.client.socket().getInputStream());
+        for (int message = 0; message < NUMBER_OF_LARGE_MESSAGES; message++) {
+            byte[] payload = new byte[input.readInt()];
+            input.readFully(payload);
+            assertEquals(this.largeMessage((char) ('a' + message % 26)),
+                    this.messageCodec.decode(ByteBuffer.wrap(payload)));
+        }
+        this.awaitWaitingToWrite(false);
+        assertEquals(0, this.channelConnection.getNumberOfQueuedMessages());
+    }
+
+    private void connect() throws IOException {
+        this.channelConnection = new ChannelConnection(this.serverSide, this.eventLoop, this.messageCodec,
+                new OutboundQueue(QUEUE_CAPACITY, QUEUE_MAXIMUM_LAG, new OutboundQueueMetrics()), new ServerMetrics());
+        this.eventLoop.register(this.channelConnection);
+        this.channelConnection.setChannelMessageListener(new ChannelMessageListener() {
+            @Override
+            public void onMessage(Object message) {
+                ChannelConnectionTest.this.received.add(message);
+            }
+
+            @Override
+            public void onDisconnect() {
+                ChannelConnectionTest.this.disconnected.countDown();
+            }
+        });
+    }
+
+    private byte[] frameOf(Object message) throws IOException {
+        return FramedSerializator.frameOf(this.messageCodec.encode(message));
+    }
+
+    private String largeMessage(char character) {
+        char[] characters = new char[LARGE_MESSAGE_LENGTH];
+        Arrays.fill(characters, character);
+        return new String(characters);
+    }
+
+    /**
+     * Writes the bytes from the client, pausing at each cut so the connection
+     * reads them in separate pieces.
+     */
+    private void writeInPieces(byte[] bytes, int... cuts) throws Exception {
+        int start = 0;
+        for (int cut : cuts) {
+            this.client.write(ByteBuffer.wrap(bytes, start, cut - start));
+            start = cut;
+            Thread.sleep(PAUSE_IN_MILLISECONDS);
+        }
+        this.client.write(ByteBuffer.wrap(bytes, start, bytes.length - start));
+    }
+
+    private void assertClosed() throws Exception {
+        assertTrue(this.disconnected.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+        assertTrue(this.channelConnection.isClosed());
+        assertEquals(-1, this.client.read(ByteBuffer.allocate(1)));
+        assertTrue(this.received.isEmpty());
+    }
+
+    private void awaitWaitingToWrite(boolean waitingToWrite) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_IN_SECONDS);
+        while (this.channelConnection.isWaitingToWrite() != waitingToWrite && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        if (waitingToWrite) {
+            assertTrue(this.channelConnection.isWaitingToWrite());
+        } else {
+            assertFalse(this.channelConnection.isWaitingToWrite());
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package br.com.sbk.sbking.networking.server.nio;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import br.com.sbk.sbking.networking.core.serialization.PreparedMessage;
+
+public class ChannelMessageWriterTest {
+
+    private ChannelConnection channelConnection;
+    private ChannelMessageWriter channelMessageWriter;
+
+    @Before
+    public void setup() {
+        this.channelConnection = Mockito.mock(ChannelConnection.class);
+        this.channelMessageWriter = new ChannelMessageWriter(this.channelConnection);
+    }
+
+    @Test
+    public void shouldQueuePreparedMessagesOnTheChannel() {
+        PreparedMessage control = new PreparedMessage("BOARD");
+        PreparedMessage payload = new PreparedMessage("payload");
+
+        this.channelMessageWriter.tryToSerializePrepared(control, payload);
+
+        Mockito.verify(this.channelConnection).send(control, payload);
+    }
+
+    @Test
+    public void shouldCloseTheChannelWhenClosed() {
+        this.channelMessageWriter.close();
+
+        Mockito.verify(this.channelConnection).close();
+    }
+
+}
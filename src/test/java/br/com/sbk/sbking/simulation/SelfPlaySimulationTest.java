@@ -0,0 +1,63 @@
+package br.com.sbk.sbking.simulation;
+
+import static br.com.sbk.sbking.core.GameConstants.MAXIMUM_POSITIVES_PERMITTED_BY_DIRECTION;
+import static br.com.sbk.sbking.core.GameConstants.TOTAL_GAMES;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import br.com.sbk.sbking.core.bot.GreedyStrategy;
+import br.com.sbk.sbking.core.bot.RandomStrategy;
+import br.com.sbk.sbking.core.rulesets.NegativeRulesetsEnum;
+
+public class SelfPlaySimulationTest {
+
+    private static final int NUMBER_OF_GAMES = 150;
+    private static final long SEED = 11;
+    private static final double DELTA = 1e-9;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @After
+    public void shutdownExecutor() {
+        this.executorService.shutdown();
+    }
+
+    @Test
+    public void shouldPlayEveryDealOfEveryGame() {
+        SelfPlaySimulation simulation = new SelfPlaySimulation(this.executorService, seed -> new GreedyStrategy());
+
+        SimulationStatistics statistics = simulation.run(NUMBER_OF_GAMES, SEED);
+
+        assertEquals(NUMBER_OF_GAMES, statistics.getNumberOfGames());
+        assertEquals(NUMBER_OF_GAMES * TOTAL_GAMES, statistics.getNumberOfDeals());
+        assertEquals(NUMBER_OF_GAMES * 2 * MAXIMUM_POSITIVES_PERMITTED_BY_DIRECTION, statistics.getNumberOfPositiveDeals());
+        for (NegativeRulesetsEnum negative : NegativeRulesetsEnum.values()) {
+            assertEquals(NUMBER_OF_GAMES, statistics.getNumberOfDeals(negative));
+        }
+    }
+
+    @Test
+    public void shouldPlayTheSameGamesWhateverTheNumberOfThreads() {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        SimulationStatistics sequential = new SelfPlaySimulation(singleThread,
+                seed -> new RandomStrategy(new SplittableRandom(seed))).run(NUMBER_OF_GAMES, SEED);
+        singleThread.shutdown();
+
+        SimulationStatistics parallel = new SelfPlaySimulation(this.executorService,
+                seed -> new RandomStrategy(new SplittableRandom(seed))).run(NUMBER_OF_GAMES, SEED);
+
+        assertArrayEquals(sequential.getPositiveDealsByTricksOfChooser(), parallel.getPositiveDealsByTricksOfChooser());
+        assertEquals(sequential.getAveragePositiveScoreOfChooser(), parallel.getAveragePositiveScoreOfChooser(), DELTA);
+        for (NegativeRulesetsEnum negative : NegativeRulesetsEnum.values()) {
+            assertEquals(sequential.getAverageScoreOfChooser(negative), parallel.getAverageScoreOfChooser(negative), DELTA);
+        }
+    }
+
+}